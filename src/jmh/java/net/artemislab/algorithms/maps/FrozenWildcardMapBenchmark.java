@@ -0,0 +1,139 @@
+package net.artemislab.algorithms.maps;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@code FrozenWildcardMapBenchmark} class implements benchmarks comparing loading and lookups
+ * of the {@link FrozenWildcardMap}, built sequentially or in parallel, with the mutable {@link
+ * WildcardMap}.
+ *
+ * <p>Run with {@code ./mvnw -Pbenchmarks test-compile exec:exec
+ * -Djmh.args="FrozenWildcardMapBenchmark -prof gc"} to also compare the memory allocated while
+ * loading.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FrozenWildcardMapBenchmark {
+  private static final int QUERY_COUNT = 1024;
+
+  /** The implementation under test. */
+  @Param({"STRING", "DICTIONARY", "FROZEN", "FROZEN_PARALLEL"})
+  public String implementation;
+
+  /** The number of entries of the map. */
+  @Param({"100000", "1000000"})
+  public int entries;
+
+  private WildcardMap.Entry[] data;
+
+  private String[][] wildcardQueries;
+
+  private String[][] fallbackQueries;
+
+  private WildcardMap wildcardMap;
+
+  private FrozenWildcardMap frozenMap;
+
+  private int next;
+
+  /** Creates the entries and loads the map under test. */
+  @Setup(Level.Trial)
+  public void setUp() {
+    SplittableRandom random = new SplittableRandom(42);
+    data = new WildcardMap.Entry[entries];
+    for (int i = 0; i < entries; i++) {
+      data[i] =
+          new WildcardMap.Entry(
+              "Make" + random.nextInt(100),
+              "Model" + random.nextInt(1000),
+              "Color" + random.nextInt(16),
+              "VIN" + i);
+    }
+    wildcardQueries = new String[QUERY_COUNT][];
+    fallbackQueries = new String[QUERY_COUNT][];
+    for (int i = 0; i < QUERY_COUNT; i++) {
+      WildcardMap.Entry entry = data[random.nextInt(entries)];
+      wildcardQueries[i] =
+          random.nextBoolean()
+              ? new String[] {entry.key1(), entry.key2(), entry.key3()}
+              : new String[] {entry.key1(), null, entry.key3()};
+      // Unknown colors resolve to the slot of the make and model
+      fallbackQueries[i] = new String[] {entry.key1(), entry.key2(), "Unknown" + i};
+    }
+
+    Object map = load();
+    if (map instanceof FrozenWildcardMap frozen) {
+      frozenMap = frozen;
+    } else {
+      wildcardMap = (WildcardMap) map;
+    }
+  }
+
+  /**
+   * Measures loading all entries into a new map.
+   *
+   * @return the loaded map.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 10)
+  public Object load() {
+    if (implementation.startsWith("FROZEN")) {
+      return FrozenWildcardMap.builder()
+          .parallel("FROZEN_PARALLEL".equals(implementation))
+          .putAll(List.of(data))
+          .build();
+    }
+    WildcardMap map = new WildcardMap(WildcardMap.KeyEncoding.valueOf(implementation));
+    for (WildcardMap.Entry entry : data) {
+      map.put(entry.key1(), entry.key2(), entry.key3(), entry.value());
+    }
+    return map;
+  }
+
+  /**
+   * Measures a lookup, with all key components given or the second one replaced by a wildcard.
+   *
+   * @return the matching values.
+   */
+  @Benchmark
+  public List<String> get() {
+    String[] query = wildcardQueries[next++ & (QUERY_COUNT - 1)];
+    return frozenMap == null
+        ? wildcardMap.get(query[0], query[1], query[2])
+        : frozenMap.get(query[0], query[1], query[2]);
+  }
+
+  /**
+   * Measures a best match resolution whose most specific combination is not found, falling back to
+   * the next one.
+   *
+   * @return the values of the best match.
+   */
+  @Benchmark
+  public List<String> getBestMatch() {
+    String[] query = fallbackQueries[next++ & (QUERY_COUNT - 1)];
+    return frozenMap == null
+        ? wildcardMap.getBestMatch(query[0], query[1], query[2])
+        : frozenMap.getBestMatch(query[0], query[1], query[2]);
+  }
+}
@@ -0,0 +1,141 @@
+package net.artemislab.algorithms.maps;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@code MappedWildcardMapBenchmark} class implements benchmarks comparing the startup and the
+ * lookups of a {@link FrozenWildcardMap} built from its entries with those of a {@link
+ * MappedWildcardMap} reopened from a snapshot.
+ *
+ * <p>Startup covers building or opening the map and a first lookup. The snapshot is written once
+ * per trial, so that it is usually in the page cache of the operating system, like the snapshot of
+ * a restarted service.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappedWildcardMapBenchmark {
+  private static final int QUERY_COUNT = 1024;
+
+  /** The implementation under test. */
+  @Param({"FROZEN", "MAPPED"})
+  public String implementation;
+
+  /** The number of entries of the map. */
+  @Param({"100000", "1000000"})
+  public int entries;
+
+  private WildcardMap.Entry[] data;
+
+  private String[][] queries;
+
+  private Path snapshot;
+
+  private FrozenWildcardMap frozenMap;
+
+  private MappedWildcardMap mappedMap;
+
+  private int next;
+
+  /**
+   * Creates the entries, writes their snapshot and opens the map under test.
+   *
+   * @throws IOException if the snapshot cannot be written or opened.
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    SplittableRandom random = new SplittableRandom(42);
+    data = new WildcardMap.Entry[entries];
+    for (int i = 0; i < entries; i++) {
+      data[i] =
+          new WildcardMap.Entry(
+              "Make" + random.nextInt(100),
+              "Model" + random.nextInt(1000),
+              "Color" + random.nextInt(16),
+              "Rule" + random.nextInt(1000));
+    }
+    queries = new String[QUERY_COUNT][];
+    for (int i = 0; i < QUERY_COUNT; i++) {
+      WildcardMap.Entry entry = data[random.nextInt(entries)];
+      queries[i] =
+          random.nextBoolean()
+              ? new String[] {entry.key1(), entry.key2(), entry.key3()}
+              : new String[] {entry.key1(), null, entry.key3()};
+    }
+
+    frozenMap = FrozenWildcardMap.builder().putAll(List.of(data)).build();
+    snapshot = Files.createTempFile("wildcard-map", ".snapshot");
+    MappedWildcardMap.write(frozenMap, snapshot);
+    if ("MAPPED".equals(implementation)) {
+      mappedMap = MappedWildcardMap.open(snapshot);
+    }
+  }
+
+  /**
+   * Closes the map under test and deletes the snapshot.
+   *
+   * @throws IOException if the snapshot cannot be deleted.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    if (mappedMap != null) {
+      mappedMap.close();
+    }
+    Files.delete(snapshot);
+  }
+
+  /**
+   * Measures building or opening a map, and a first lookup.
+   *
+   * @return the values of the first lookup.
+   * @throws IOException if the snapshot cannot be opened.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 10)
+  public List<String> startup() throws IOException {
+    String[] query = queries[0];
+    if ("FROZEN".equals(implementation)) {
+      FrozenWildcardMap map = FrozenWildcardMap.builder().putAll(List.of(data)).build();
+      return map.get(query[0], query[1], query[2]);
+    }
+    try (MappedWildcardMap map = MappedWildcardMap.open(snapshot)) {
+      return map.get(query[0], query[1], query[2]);
+    }
+  }
+
+  /**
+   * Measures a lookup, with all key components given or the second one replaced by a wildcard.
+   *
+   * @return the matching values.
+   */
+  @Benchmark
+  public List<String> get() {
+    String[] query = queries[next++ & (QUERY_COUNT - 1)];
+    return mappedMap == null
+        ? frozenMap.get(query[0], query[1], query[2])
+        : mappedMap.get(query[0], query[1], query[2]);
+  }
+}
@@ -0,0 +1,113 @@
+package net.artemislab.algorithms.maps;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@code WildcardMapBatchBenchmark} class implements benchmarks comparing a batch of lookups
+ * performed one {@link WildcardMap#get(String, String, String)} call at a time with the same batch
+ * performed by {@link WildcardMap#getAll(java.util.Collection, boolean)}.
+ *
+ * <p>Run with {@code ./mvnw -Pbenchmarks test-compile exec:exec
+ * -Djmh.args="WildcardMapBatchBenchmark"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WildcardMapBatchBenchmark {
+  private static final int ENTRIES = 100_000;
+
+  /** The encoding of the map under test. */
+  @Param({"STRING", "DICTIONARY"})
+  public String keyEncoding;
+
+  /** The number of queries of a batch. */
+  @Param({"10000"})
+  public int batchSize;
+
+  /** The number of distinct queries of a batch. */
+  @Param({"1000", "10000"})
+  public int distinctQueries;
+
+  private WildcardMap map;
+
+  private List<WildcardMap.Query> batch;
+
+  /** Creates and fills the map under test, and creates the batch of queries. */
+  @Setup(Level.Trial)
+  public void setUp() {
+    SplittableRandom random = new SplittableRandom(42);
+    map = new WildcardMap(WildcardMap.KeyEncoding.valueOf(keyEncoding));
+    String[][] keys = new String[ENTRIES][];
+    for (int i = 0; i < ENTRIES; i++) {
+      keys[i] =
+          new String[] {
+            "Make" + random.nextInt(100),
+            "Model" + random.nextInt(1000),
+            "Color" + random.nextInt(16)
+          };
+      map.put(keys[i][0], keys[i][1], keys[i][2], "VIN" + i);
+    }
+
+    List<WildcardMap.Query> distinct = new ArrayList<>();
+    for (int i = 0; i < distinctQueries; i++) {
+      String[] entry = keys[random.nextInt(ENTRIES)];
+      distinct.add(new WildcardMap.Query(entry[0], i % 2 == 0 ? null : entry[1], entry[2]));
+    }
+    batch = new ArrayList<>();
+    for (int i = 0; i < batchSize; i++) {
+      batch.add(distinct.get(random.nextInt(distinctQueries)));
+    }
+  }
+
+  /**
+   * Measures the batch looked up one query at a time.
+   *
+   * @return the lists of matching values.
+   */
+  @Benchmark
+  public List<List<String>> getEach() {
+    List<List<String>> results = new ArrayList<>(batch.size());
+    for (WildcardMap.Query query : batch) {
+      results.add(map.get(query.key1(), query.key2(), query.key3()));
+    }
+    return results;
+  }
+
+  /**
+   * Measures the batch looked up at once.
+   *
+   * @return the lists of matching values.
+   */
+  @Benchmark
+  public List<List<String>> getAll() {
+    return map.getAll(batch);
+  }
+
+  /**
+   * Measures the batch looked up at once, in parallel.
+   *
+   * @return the lists of matching values.
+   */
+  @Benchmark
+  public List<List<String>> getAllParallel() {
+    return map.getAll(batch, true);
+  }
+}
@@ -0,0 +1,175 @@
+package net.artemislab.algorithms.maps;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@code WildcardMapBenchmark} class implements benchmarks comparing the eager {@link
+ * WildcardMap}, which stores each entry under 2^n key combinations, with the {@link
+ * IndexedWildcardMap}, which intersects per-component inverted indexes at query time. The {@code
+ * INSTRUMENTED} implementation is the {@code DICTIONARY} map built with {@link
+ * WildcardMap.Builder#instrumented(boolean) instrumentation}, to measure its overhead.
+ *
+ * <p>Run with {@code ./mvnw -Pbenchmarks test-compile exec:exec -Djmh.args="WildcardMapBenchmark
+ * -prof gc"} to also compare allocations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WildcardMapBenchmark {
+  private static final int QUERY_COUNT = 1024;
+
+  /** The implementation under test. */
+  @Param({"STRING", "DICTIONARY", "INSTRUMENTED", "INDEXED"})
+  public String implementation;
+
+  /** The number of entries of the map. */
+  @Param({"100000"})
+  public int entries;
+
+  private Target target;
+
+  private String[][] keys;
+
+  private String[][] exactQueries;
+
+  private String[][] wildcardQueries;
+
+  private int next;
+
+  /** Creates and fills the map under test. */
+  @Setup(Level.Trial)
+  public void setUp() {
+    SplittableRandom random = new SplittableRandom(42);
+    keys = new String[entries][];
+    for (int i = 0; i < entries; i++) {
+      keys[i] =
+          new String[] {
+            "Make" + random.nextInt(100),
+            "Model" + random.nextInt(1000),
+            "Color" + random.nextInt(16)
+          };
+    }
+    exactQueries = new String[QUERY_COUNT][];
+    wildcardQueries = new String[QUERY_COUNT][];
+    for (int i = 0; i < QUERY_COUNT; i++) {
+      String[] entry = keys[random.nextInt(entries)];
+      exactQueries[i] = entry;
+      wildcardQueries[i] = new String[] {entry[0], null, entry[2]};
+    }
+
+    target = createTarget(implementation);
+    for (int i = 0; i < entries; i++) {
+      target.put(keys[i], "VIN" + i);
+    }
+  }
+
+  /**
+   * Measures a lookup with all key components given.
+   *
+   * @return the matching values.
+   */
+  @Benchmark
+  public List<String> getExact() {
+    return target.get(exactQueries[next++ & (QUERY_COUNT - 1)]);
+  }
+
+  /**
+   * Measures a lookup with the second key component replaced by a wildcard.
+   *
+   * @return the matching values.
+   */
+  @Benchmark
+  public List<String> getWildcard() {
+    return target.get(wildcardQueries[next++ & (QUERY_COUNT - 1)]);
+  }
+
+  /**
+   * Measures filling an empty map with all entries.
+   *
+   * @return the filled map.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 10)
+  public Target putAll() {
+    Target filled = createTarget(implementation);
+    for (int i = 0; i < entries; i++) {
+      filled.put(keys[i], "VIN" + i);
+    }
+    return filled;
+  }
+
+  private static Target createTarget(String implementation) {
+    if ("INDEXED".equals(implementation)) {
+      IndexedWildcardMap<String, String> map = new IndexedWildcardMap<>(3);
+      return new Target() {
+        @Override
+        public void put(String[] keys, String value) {
+          map.put(Arrays.asList(keys), value);
+        }
+
+        @Override
+        public List<String> get(String[] keys) {
+          return map.get(Arrays.asList(keys));
+        }
+      };
+    }
+    WildcardMap map =
+        "INSTRUMENTED".equals(implementation)
+            ? WildcardMap.builder()
+                .keyEncoding(WildcardMap.KeyEncoding.DICTIONARY)
+                .instrumented(true)
+                .build()
+            : new WildcardMap(WildcardMap.KeyEncoding.valueOf(implementation));
+    return new Target() {
+      @Override
+      public void put(String[] keys, String value) {
+        map.put(keys[0], keys[1], keys[2], value);
+      }
+
+      @Override
+      public List<String> get(String[] keys) {
+        return map.get(keys[0], keys[1], keys[2]);
+      }
+    };
+  }
+
+  /** A map under test. */
+  public interface Target {
+
+    /**
+     * Adds a new entry into the map.
+     *
+     * @param keys the key components.
+     * @param value the value to store.
+     */
+    void put(String[] keys, String value);
+
+    /**
+     * Retrieves the values matching the given key components.
+     *
+     * @param keys the key components, {@code null} standing for a wildcard.
+     * @return the matching values.
+     */
+    List<String> get(String[] keys);
+  }
+}
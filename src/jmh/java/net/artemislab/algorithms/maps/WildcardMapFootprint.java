@@ -0,0 +1,109 @@
+package net.artemislab.algorithms.maps;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * The {@code WildcardMapFootprint} class implements a report of the heap retained by the same
+ * entries stored in each layout of a wildcard map, measured with JOL.
+ *
+ * <p>The baseline is the original layout, a {@code Map<String, List<String>>} mapping the composite
+ * string key of each of the 2^3 key combinations of an entry to an {@link ArrayList} of values.
+ * Values are drawn from a fixed number of distinct rule outcomes, each created as a new string like
+ * values read from a database.
+ *
+ * <p>Run with {@code ./mvnw -Pbenchmarks test-compile exec:exec@footprint
+ * -Dfootprint.args="<entries> <distinct values>"}, both arguments being optional.
+ */
+public final class WildcardMapFootprint {
+  private static final String SEPARATOR = "\u001F";
+
+  private static final String NULL_MARKER = "\u001E";
+
+  private WildcardMapFootprint() {}
+
+  /**
+   * Prints the footprint report.
+   *
+   * @param args the number of entries and the number of distinct values, both optional.
+   */
+  public static void main(String[] args) {
+    int entries = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+    int distinctValues = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+    SplittableRandom random = new SplittableRandom(42);
+    List<WildcardMap.Entry> data = new ArrayList<>(entries);
+    for (int i = 0; i < entries; i++) {
+      data.add(
+          new WildcardMap.Entry(
+              "Make" + random.nextInt(100),
+              "Model" + random.nextInt(1000),
+              "Color" + random.nextInt(16),
+              "Rule" + random.nextInt(distinctValues)));
+    }
+
+    System.out.printf(Locale.ROOT, "%,d entries, %,d distinct values%n%n", entries, distinctValues);
+    System.out.printf(
+        Locale.ROOT, "%-24s %14s %12s %8s%n", "Layout", "Bytes", "Bytes/entry", "Ratio");
+    long baseline = report("Map<String, List<String>>", entries, 0, () -> baseline(data));
+    report(
+        "WildcardMap STRING",
+        entries,
+        baseline,
+        () -> mutable(data, WildcardMap.KeyEncoding.STRING));
+    report(
+        "WildcardMap DICTIONARY",
+        entries,
+        baseline,
+        () -> mutable(data, WildcardMap.KeyEncoding.DICTIONARY));
+    report(
+        "FrozenWildcardMap",
+        entries,
+        baseline,
+        () -> FrozenWildcardMap.builder().putAll(data).build());
+  }
+
+  private static long report(String layout, int entries, long baseline, Supplier<Object> loader) {
+    long bytes = GraphLayout.parseInstance(loader.get()).totalSize();
+    System.out.printf(
+        Locale.ROOT,
+        "%-24s %,14d %12.1f %8s%n",
+        layout,
+        bytes,
+        (double) bytes / entries,
+        baseline == 0 ? "1.0x" : String.format(Locale.ROOT, "%.1fx", (double) baseline / bytes));
+    return bytes;
+  }
+
+  private static Map<String, List<String>> baseline(List<WildcardMap.Entry> data) {
+    Map<String, List<String>> storage = new HashMap<>();
+    for (WildcardMap.Entry entry : data) {
+      // Copies the value like the original trimming did for every put
+      String value = new StringBuilder(entry.value()).toString();
+      for (int subset = 0; subset < 8; subset++) {
+        String key =
+            ((subset & 4) == 0 ? NULL_MARKER : entry.key1())
+                + SEPARATOR
+                + ((subset & 2) == 0 ? NULL_MARKER : entry.key2())
+                + SEPARATOR
+                + ((subset & 1) == 0 ? NULL_MARKER : entry.key3());
+        storage.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
+      }
+    }
+    return storage;
+  }
+
+  private static WildcardMap mutable(
+      List<WildcardMap.Entry> data, WildcardMap.KeyEncoding keyEncoding) {
+    WildcardMap map = new WildcardMap(keyEncoding);
+    for (WildcardMap.Entry entry : data) {
+      map.put(entry.key1(), entry.key2(), entry.key3(), entry.value());
+    }
+    return map;
+  }
+}
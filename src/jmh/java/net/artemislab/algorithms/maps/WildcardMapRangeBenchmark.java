@@ -0,0 +1,102 @@
+package net.artemislab.algorithms.maps;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@code WildcardMapRangeBenchmark} class implements benchmarks comparing a prefix query
+ * answered by {@link WildcardMap#getMatching(WildcardMap.KeyRange, WildcardMap.KeyRange,
+ * WildcardMap.KeyRange)} with the same query answered by scanning all entries.
+ *
+ * <p>Run with {@code ./mvnw -Pbenchmarks test-compile exec:exec
+ * -Djmh.args="WildcardMapRangeBenchmark"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WildcardMapRangeBenchmark {
+  private static final int REGIONS = 1000;
+
+  private static final int SERVICES = 50;
+
+  /** The encoding of the map under test. */
+  @Param({"STRING", "DICTIONARY"})
+  public String keyEncoding;
+
+  /** The number of entries of the map. */
+  @Param({"100000", "1000000"})
+  public int entries;
+
+  private WildcardMap map;
+
+  private List<WildcardMap.Entry> scanned;
+
+  private final WildcardMap.KeyRange regions = WildcardMap.KeyRange.prefix("region-01");
+
+  private final WildcardMap.KeyRange service = WildcardMap.KeyRange.exactly("service-7");
+
+  /** Creates and fills the map under test, and the list of entries scanned by the baseline. */
+  @Setup(Level.Trial)
+  public void setUp() {
+    SplittableRandom random = new SplittableRandom(42);
+    map =
+        WildcardMap.builder()
+            .keyEncoding(WildcardMap.KeyEncoding.valueOf(keyEncoding))
+            .sortedKeys(true)
+            .build();
+    scanned = new ArrayList<>(entries);
+    for (int i = 0; i < entries; i++) {
+      WildcardMap.Entry entry =
+          new WildcardMap.Entry(
+              String.format("region-%03d", random.nextInt(REGIONS)),
+              "service-" + random.nextInt(SERVICES),
+              "instance-" + i,
+              "rule" + i);
+      map.put(entry.key1(), entry.key2(), entry.key3(), entry.value());
+      scanned.add(entry);
+    }
+  }
+
+  /**
+   * Measures the prefix query answered from the sorted indexes.
+   *
+   * @return the matching values.
+   */
+  @Benchmark
+  public List<String> getMatching() {
+    return map.getMatching(regions, service, WildcardMap.KeyRange.all());
+  }
+
+  /**
+   * Measures the prefix query answered by scanning all entries, as done without sorted keys.
+   *
+   * @return the matching values.
+   */
+  @Benchmark
+  public List<String> scan() {
+    List<String> matches = new ArrayList<>();
+    for (WildcardMap.Entry entry : scanned) {
+      if (entry.key1().startsWith("region-01") && entry.key2().equals("service-7")) {
+        matches.add(entry.value());
+      }
+    }
+    return matches;
+  }
+}
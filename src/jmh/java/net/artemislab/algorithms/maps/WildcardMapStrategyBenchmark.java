@@ -0,0 +1,122 @@
+package net.artemislab.algorithms.maps;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@code WildcardMapStrategyBenchmark} class implements benchmarks comparing the {@link
+ * WildcardMap.IndexingStrategy indexing strategies} of {@link WildcardMap} on workloads mixing
+ * wildcard lookups and writes in various ratios.
+ *
+ * <p>Each operation is either a wildcard lookup, drawn from a fixed set of queries so that lazily
+ * indexed maps can answer repeated ones from their query cache, or a write, alternately putting and
+ * removing the entries of a fixed set so that the size of the map stays stable.
+ *
+ * <p>Run with {@code ./mvnw -Pbenchmarks test-compile exec:exec
+ * -Djmh.args="WildcardMapStrategyBenchmark"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WildcardMapStrategyBenchmark {
+  private static final int OPERATION_COUNT = 1024;
+
+  /** The indexing strategy of the map under test. */
+  @Param({"EAGER", "LAZY"})
+  public String indexingStrategy;
+
+  /** The percentage of operations which are wildcard lookups, the others being writes. */
+  @Param({"1", "10", "50", "90", "99"})
+  public int readPercent;
+
+  /** The number of entries of the map. */
+  @Param({"100000"})
+  public int entries;
+
+  private WildcardMap map;
+
+  private boolean[] reads;
+
+  private String[][] queries;
+
+  private String[][] writes;
+
+  private boolean[] written;
+
+  private int next;
+
+  /**
+   * Creates and fills the map under test, draws the sequence of operations and runs its lookups.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    SplittableRandom random = new SplittableRandom(42);
+    map =
+        WildcardMap.builder()
+            .indexingStrategy(WildcardMap.IndexingStrategy.valueOf(indexingStrategy))
+            .build();
+    for (int i = 0; i < entries; i++) {
+      String[] key = randomKey(random);
+      map.put(key[0], key[1], key[2], "VIN" + i);
+    }
+
+    reads = new boolean[OPERATION_COUNT];
+    queries = new String[OPERATION_COUNT][];
+    writes = new String[OPERATION_COUNT][];
+    written = new boolean[OPERATION_COUNT];
+    for (int i = 0; i < OPERATION_COUNT; i++) {
+      reads[i] = random.nextInt(100) < readPercent;
+      String[] key = randomKey(random);
+      queries[i] = new String[] {key[0], null, key[2]};
+      writes[i] = randomKey(random);
+    }
+    // Starts from the steady state, where the query cache holds the result of every query
+    for (String[] query : queries) {
+      map.get(query[0], query[1], query[2]);
+    }
+  }
+
+  /**
+   * Measures one operation of the workload, either a wildcard lookup or a write.
+   *
+   * @return the matching values of a lookup, or {@code null} for a write.
+   */
+  @Benchmark
+  public List<String> mixed() {
+    int operation = next++ & (OPERATION_COUNT - 1);
+    if (reads[operation]) {
+      String[] query = queries[operation];
+      return map.get(query[0], query[1], query[2]);
+    }
+    String[] key = writes[operation];
+    if (written[operation]) {
+      map.remove(key[0], key[1], key[2], "written" + operation);
+    } else {
+      map.put(key[0], key[1], key[2], "written" + operation);
+    }
+    written[operation] = !written[operation];
+    return null;
+  }
+
+  private static String[] randomKey(SplittableRandom random) {
+    return new String[] {
+      "Make" + random.nextInt(100), "Model" + random.nextInt(1000), "Color" + random.nextInt(16)
+    };
+  }
+}
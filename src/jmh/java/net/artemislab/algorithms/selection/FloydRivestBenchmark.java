@@ -0,0 +1,141 @@
+package net.artemislab.algorithms.selection;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@code FloydRivestBenchmark} class implements benchmarks comparing the selection of an
+ * element of a given rank from an array of comparable objects by {@link FloydRivest} and by {@link
+ * QuickSelect}, reporting the number of comparisons per selection along with the time.
+ *
+ * <p>Run with {@code ./mvnw -Pbenchmarks test-compile exec:exec -Djmh.args="FloydRivestBenchmark"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FloydRivestBenchmark {
+
+  /** The number of elements of the array. */
+  @Param({"100000", "1000000"})
+  public int length;
+
+  /** The rank of the element to select, as a fraction of the length of the array. */
+  @Param({"0.5", "0.99"})
+  public double rank;
+
+  private Sample[] samples;
+
+  private int k;
+
+  /** Draws the elements of the array. */
+  @Setup(Level.Trial)
+  public void setUp() {
+    SplittableRandom random = new SplittableRandom(42);
+    samples = new Sample[length];
+    for (int i = 0; i < length; i++) {
+      samples[i] = new Sample(random.nextLong());
+    }
+    k = (int) (rank * (length - 1));
+  }
+
+  /**
+   * Measures the selection by the Floyd-Rivest algorithm.
+   *
+   * @param counters the counters of comparisons.
+   * @return the selected element.
+   */
+  @Benchmark
+  public Sample floydRivest(Comparisons counters) {
+    long before = Sample.comparisons;
+    Sample selected = FloydRivest.select(samples, k);
+    counters.count(Sample.comparisons - before);
+    return selected;
+  }
+
+  /**
+   * Measures the selection by the QuickSelect algorithm.
+   *
+   * @param counters the counters of comparisons.
+   * @return the selected element.
+   */
+  @Benchmark
+  public Sample quickSelect(Comparisons counters) {
+    long before = Sample.comparisons;
+    Sample selected = QuickSelect.quickSelect(samples, k);
+    counters.count(Sample.comparisons - before);
+    return selected;
+  }
+
+  /**
+   * The {@code Comparisons} class counts the comparisons and the selections of the benchmarks. JMH
+   * reports the sum of each counter over the measurement iterations, whose ratio is the average
+   * number of comparisons per selection.
+   */
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  @State(Scope.Thread)
+  public static class Comparisons {
+    /** The number of comparisons of the iteration. */
+    public long comparisons;
+
+    /** The number of selections of the iteration. */
+    public long selections;
+
+    /** Resets the counters at the start of each iteration. */
+    @Setup(Level.Iteration)
+    public void reset() {
+      comparisons = 0;
+      selections = 0;
+    }
+
+    void count(long selectionComparisons) {
+      comparisons += selectionComparisons;
+      selections++;
+    }
+  }
+
+  /**
+   * The {@code Sample} class represents a domain object compared by a value, counting its
+   * comparisons. The benchmarks run on a single thread, which alone updates the count.
+   */
+  public static final class Sample implements Comparable<Sample> {
+    private static long comparisons;
+
+    private final long value;
+
+    Sample(long value) {
+      this.value = value;
+    }
+
+    @Override
+    public int compareTo(Sample other) {
+      comparisons++;
+      return Long.compare(value, other.value);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof Sample sample && sample.value == value;
+    }
+
+    @Override
+    public int hashCode() {
+      return Long.hashCode(value);
+    }
+  }
+}
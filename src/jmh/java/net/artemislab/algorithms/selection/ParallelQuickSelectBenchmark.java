@@ -0,0 +1,84 @@
+package net.artemislab.algorithms.selection;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@code ParallelQuickSelectBenchmark} class implements benchmarks measuring how the selection
+ * of the median of a large array by {@link ParallelQuickSelect} scales with the number of workers
+ * of its pool, against the sequential selection by {@link QuickSelect}, which does not depend on
+ * it.
+ *
+ * <p>The default length keeps the array within a small heap; selecting from 100M elements takes
+ * {@code -p length=100000000} and a heap of at least 2 GB.
+ *
+ * <p>Run with {@code ./mvnw -Pbenchmarks test-compile exec:exec
+ * -Djmh.args="ParallelQuickSelectBenchmark"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelQuickSelectBenchmark {
+
+  /** The number of workers of the pool. */
+  @Param({"1", "2", "4", "8", "16", "32"})
+  public int threads;
+
+  /** The length of the array. */
+  @Param({"10000000"})
+  public int length;
+
+  private long[] array;
+
+  private ForkJoinPool pool;
+
+  /** Draws the elements of the array and starts the pool. */
+  @Setup(Level.Trial)
+  public void setUp() {
+    array = new SplittableRandom(42).longs(length).toArray();
+    pool = new ForkJoinPool(threads);
+  }
+
+  /** Shuts the pool down. */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  /**
+   * Measures the parallel selection of the median.
+   *
+   * @return the median.
+   */
+  @Benchmark
+  public long parallel() {
+    return ParallelQuickSelect.quickSelect(array, length / 2, pool);
+  }
+
+  /**
+   * Measures the sequential selection of the median.
+   *
+   * @return the median.
+   */
+  @Benchmark
+  public long sequential() {
+    return QuickSelect.quickSelect(array, length / 2);
+  }
+}
@@ -0,0 +1,84 @@
+package net.artemislab.algorithms.selection;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@code QuickSelectBenchmark} class implements benchmarks comparing the selection of the p50,
+ * p90, p99 and p99.9 percentiles of latency samples by {@link QuickSelect#percentiles(long[],
+ * double...)}, which copies the samples once, with four independent selections, which copy them
+ * four times, and with a single selection.
+ *
+ * <p>Run with {@code ./mvnw -Pbenchmarks test-compile exec:exec -Djmh.args="QuickSelectBenchmark"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuickSelectBenchmark {
+  private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+  /** The number of samples. */
+  @Param({"10000", "1000000"})
+  public int samples;
+
+  private long[] latencies;
+
+  /** Draws the latency samples, quantized to microseconds like the ones of a histogram. */
+  @Setup(Level.Trial)
+  public void setUp() {
+    SplittableRandom random = new SplittableRandom(42);
+    latencies = new long[samples];
+    for (int i = 0; i < samples; i++) {
+      latencies[i] = (long) (-Math.log(1 - random.nextDouble()) * 1_000);
+    }
+  }
+
+  /**
+   * Measures the selection of the median alone.
+   *
+   * @return the median.
+   */
+  @Benchmark
+  public long singleSelection() {
+    return QuickSelect.percentile(latencies, 50);
+  }
+
+  /**
+   * Measures the selection of the four percentiles by independent selections.
+   *
+   * @return the four percentiles.
+   */
+  @Benchmark
+  public long[] independentSelections() {
+    long[] result = new long[PERCENTILES.length];
+    for (int i = 0; i < PERCENTILES.length; i++) {
+      result[i] = QuickSelect.percentile(latencies, PERCENTILES[i]);
+    }
+    return result;
+  }
+
+  /**
+   * Measures the selection of the four percentiles together.
+   *
+   * @return the four percentiles.
+   */
+  @Benchmark
+  public long[] percentiles() {
+    return QuickSelect.percentiles(latencies, PERCENTILES);
+  }
+}
@@ -0,0 +1,145 @@
+package net.artemislab.algorithms.maps;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * The {@code ArrayValues} class represents an immutable snapshot of values backed by an array.
+ *
+ * <p>Snapshots share their backing array: appending a value to a snapshot claims the array element
+ * past the end of that snapshot with a compare-and-set, and returns a new snapshot covering it, so
+ * that neither the earlier snapshots nor their values are ever copied. Only the first append to a
+ * given snapshot is done in place, which makes appending amortized O(1) as long as only the latest
+ * snapshot of a slot is appended to.
+ */
+final class ArrayValues extends Values {
+  /** The snapshot without values. */
+  static final ArrayValues EMPTY = new ArrayValues(new String[0], 0);
+
+  /** The snapshot of a retired slot, which no value may be appended to. */
+  static final ArrayValues RETIRED = new ArrayValues(new String[0], 0);
+
+  private static final VarHandle ELEMENTS = MethodHandles.arrayElementVarHandle(String[].class);
+
+  private static final int MIN_CAPACITY = 4;
+
+  private final String[] elements;
+
+  private final int size;
+
+  private ArrayValues(String[] elements, int size) {
+    this.elements = elements;
+    this.size = size;
+  }
+
+  /**
+   * Returns a snapshot of the given values, which must not be modified afterwards.
+   *
+   * @param elements the values.
+   * @return the snapshot of the values.
+   */
+  static ArrayValues of(String[] elements) {
+    return elements.length == 0 ? EMPTY : new ArrayValues(elements, elements.length);
+  }
+
+  /**
+   * Returns a new snapshot made of the values of this snapshot followed by the given value.
+   *
+   * <p>The value is written in place past the end of this snapshot if the backing array has room
+   * for it and no value has been appended to this snapshot yet, otherwise the values of this
+   * snapshot are copied to a new backing array.
+   *
+   * @param value the value to append.
+   * @return the new snapshot.
+   */
+  ArrayValues append(String value) {
+    if (size < elements.length && ELEMENTS.compareAndSet(elements, size, (String) null, value)) {
+      return new ArrayValues(elements, size + 1);
+    }
+    String[] target = Arrays.copyOf(elements, Math.max(MIN_CAPACITY, size + (size >> 1) + 1));
+    target[size] = value;
+    return new ArrayValues(target, size + 1);
+  }
+
+  /**
+   * Returns the number of occurrences of the given value in this snapshot, up to the given limit.
+   *
+   * @param value the value to count.
+   * @param limit the maximum number of occurrences to count.
+   * @return the number of occurrences of the value, at most {@code limit}.
+   */
+  int count(String value, int limit) {
+    int count = 0;
+    for (int i = 0; i < size && count < limit; i++) {
+      if (elements[i].equals(value)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Returns a new snapshot made of the values of this snapshot without the first occurrences of the
+   * given value.
+   *
+   * @param value the value to remove.
+   * @param count the number of occurrences to remove. Must not exceed the number of occurrences.
+   * @return the new snapshot.
+   */
+  ArrayValues without(String value, int count) {
+    String[] target = new String[size - count];
+    int removed = 0;
+    int length = 0;
+    for (int i = 0; i < size; i++) {
+      if (removed < count && elements[i].equals(value)) {
+        removed++;
+      } else {
+        target[length++] = elements[i];
+      }
+    }
+    return new ArrayValues(target, length);
+  }
+
+  /**
+   * Returns a new snapshot made of the values of this snapshot with the first occurrences of the
+   * given value replaced, in place, by the given replacement.
+   *
+   * @param value the value to replace.
+   * @param replacement the value replacing it.
+   * @param count the number of occurrences to replace.
+   * @return the new snapshot.
+   */
+  ArrayValues replacing(String value, String replacement, int count) {
+    String[] target = Arrays.copyOf(elements, size);
+    int replaced = 0;
+    for (int i = 0; i < size && replaced < count; i++) {
+      if (target[i].equals(value)) {
+        target[i] = replacement;
+        replaced++;
+      }
+    }
+    return new ArrayValues(target, size);
+  }
+
+  @Override
+  int copyTo(Collection<? super String> target) {
+    for (int i = 0; i < size; i++) {
+      target.add(elements[i]);
+    }
+    return size;
+  }
+
+  @Override
+  public String get(int index) {
+    Objects.checkIndex(index, size);
+    return elements[index];
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+}
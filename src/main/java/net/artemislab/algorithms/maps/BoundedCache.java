@@ -0,0 +1,162 @@
+package net.artemislab.algorithms.maps;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * The {@code BoundedCache} class implements a {@link Cache} holding at most a fixed number of
+ * values, evicting the least frequently used values first.
+ *
+ * <p>Each cached value counts the lookups that found it. When the cache is full, the value with the
+ * lowest count among a small random sample of cached values is evicted to make room for a new one,
+ * which approximates LFU eviction in O(1). Counts saturate, and are halved each time as many values
+ * as the cache holds have been evicted, so that values that were popular long ago eventually age
+ * out.
+ *
+ * <p>This implementation is thread-safe. Lookups of cached values never lock; adding a value takes
+ * the lock of the cache.
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the values.
+ */
+final class BoundedCache<K, V> implements Cache<K, V> {
+  /** The number of cached values compared to select the value to evict. */
+  static final int SAMPLE_SIZE = 8;
+
+  /** The largest lookup count of a cached value. */
+  static final int MAX_FREQUENCY = 255;
+
+  private final int maximumSize;
+
+  private final Map<K, Entry<K, V>> entries;
+
+  /** The cached entries, indexed for random sampling. Guarded by the lock of the cache. */
+  private final List<Entry<K, V>> sample;
+
+  /** The number of evictions since the counts were last halved. Guarded by the lock. */
+  private int evictionsSinceAging;
+
+  private final LongAdder hits = new LongAdder();
+
+  private final LongAdder misses = new LongAdder();
+
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * Creates a new instance of {@code BoundedCache}.
+   *
+   * @param maximumSize the maximum number of values to cache. Must be positive.
+   * @throws IllegalArgumentException if {@code maximumSize} is not positive.
+   */
+  BoundedCache(int maximumSize) {
+    if (maximumSize <= 0) {
+      throw new IllegalArgumentException(
+          "The maximum size must be positive, but was " + maximumSize + ".");
+    }
+    this.maximumSize = maximumSize;
+    this.entries = new ConcurrentHashMap<>();
+    this.sample = new ArrayList<>();
+  }
+
+  @Override
+  public V get(K key, Function<? super K, ? extends V> loader) {
+    Entry<K, V> entry = entries.get(key);
+    if (entry != null) {
+      hits.increment();
+      entry.touch();
+      return entry.value;
+    }
+    misses.increment();
+    V value = Objects.requireNonNull(loader.apply(key), "The value must not be null.");
+    return add(key, value);
+  }
+
+  @Override
+  public int size() {
+    return entries.size();
+  }
+
+  @Override
+  public CacheStats stats() {
+    return new CacheStats(hits.sum(), misses.sum(), evictions.sum());
+  }
+
+  @Override
+  public synchronized void clear() {
+    entries.clear();
+    sample.clear();
+    evictionsSinceAging = 0;
+  }
+
+  private synchronized V add(K key, V value) {
+    Entry<K, V> existing = entries.get(key);
+    if (existing != null) {
+      // Computed concurrently by another thread
+      return existing.value;
+    }
+    if (sample.size() == maximumSize) {
+      evict();
+    }
+    Entry<K, V> entry = new Entry<>(key, value, sample.size());
+    sample.add(entry);
+    entries.put(key, entry);
+    return value;
+  }
+
+  private void evict() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    Entry<K, V> victim = sample.get(random.nextInt(sample.size()));
+    for (int i = 1; i < SAMPLE_SIZE; i++) {
+      Entry<K, V> candidate = sample.get(random.nextInt(sample.size()));
+      if (candidate.frequency.get() < victim.frequency.get()) {
+        victim = candidate;
+      }
+    }
+
+    Entry<K, V> last = sample.remove(sample.size() - 1);
+    if (last != victim) {
+      last.index = victim.index;
+      sample.set(victim.index, last);
+    }
+    entries.remove(victim.key);
+    evictions.increment();
+
+    if (++evictionsSinceAging == maximumSize) {
+      evictionsSinceAging = 0;
+      for (Entry<K, V> entry : sample) {
+        entry.frequency.set(entry.frequency.get() >>> 1);
+      }
+    }
+  }
+
+  /** A cached value with its lookup count. */
+  private static final class Entry<K, V> {
+    private final K key;
+
+    private final V value;
+
+    private final AtomicInteger frequency = new AtomicInteger();
+
+    /** The index of the entry in the sample. Guarded by the lock of the cache. */
+    private int index;
+
+    private Entry(K key, V value, int index) {
+      this.key = key;
+      this.value = value;
+      this.index = index;
+    }
+
+    private void touch() {
+      if (frequency.get() < MAX_FREQUENCY) {
+        frequency.incrementAndGet();
+      }
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package net.artemislab.algorithms.maps;
+
+import java.util.function.Function;
+
+/**
+ * The {@code Cache} interface represents a thread-safe cache memoizing values computed from keys.
+ *
+ * <p>Instances are created with the {@link #bounded(int)}, {@link #unbounded()} and {@link
+ * #disabled()} factories, or by implementing this interface.
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the values.
+ */
+public interface Cache<K, V> {
+
+  /**
+   * Returns the value cached for the given key, computing it with the given loader and caching it
+   * if it is not cached yet.
+   *
+   * <p>Concurrent calls for the same key may compute the value more than once, but the loader must
+   * always compute equal values for equal keys.
+   *
+   * @param key the key to look up. Must not be null.
+   * @param loader the function computing the value of a key. Must not return null.
+   * @return the value of the given key.
+   */
+  V get(K key, Function<? super K, ? extends V> loader);
+
+  /**
+   * Returns the number of values currently cached.
+   *
+   * @return the number of values currently cached.
+   */
+  int size();
+
+  /**
+   * Returns the statistics of this cache, accumulated since it was created.
+   *
+   * @return the statistics of this cache.
+   */
+  CacheStats stats();
+
+  /** Removes all values from this cache, keeping its statistics. */
+  void clear();
+
+  /**
+   * Returns a new cache holding at most the given number of values, evicting the least frequently
+   * used values first.
+   *
+   * @param <K> the type of the keys.
+   * @param <V> the type of the values.
+   * @param maximumSize the maximum number of values to cache. Must be positive.
+   * @return a new bounded cache.
+   * @throws IllegalArgumentException if {@code maximumSize} is not positive.
+   */
+  static <K, V> Cache<K, V> bounded(int maximumSize) {
+    return new BoundedCache<>(maximumSize);
+  }
+
+  /**
+   * Returns a new cache holding every value it computes, until it is cleared.
+   *
+   * @param <K> the type of the keys.
+   * @param <V> the type of the values.
+   * @return a new unbounded cache.
+   */
+  static <K, V> Cache<K, V> unbounded() {
+    return new UnboundedCache<>();
+  }
+
+  /**
+   * Returns a new cache holding no values, computing the value of every key on each lookup.
+   *
+   * @param <K> the type of the keys.
+   * @param <V> the type of the values.
+   * @return a new disabled cache.
+   */
+  static <K, V> Cache<K, V> disabled() {
+    return new DisabledCache<>();
+  }
+}
@@ -0,0 +1,21 @@
+package net.artemislab.algorithms.maps;
+
+/**
+ * The {@code CacheStats} record represents the statistics of a {@link Cache}.
+ *
+ * @param hits the number of lookups that found a cached value.
+ * @param misses the number of lookups that computed the value.
+ * @param evictions the number of values evicted to make room for others.
+ */
+public record CacheStats(long hits, long misses, long evictions) {
+
+  /**
+   * Returns the ratio of lookups that found a cached value, or 1.0 if there was no lookup.
+   *
+   * @return the ratio of lookups that found a cached value.
+   */
+  public double hitRate() {
+    long lookups = hits + misses;
+    return lookups == 0 ? 1.0 : (double) hits / lookups;
+  }
+}
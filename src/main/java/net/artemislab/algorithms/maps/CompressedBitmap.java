@@ -0,0 +1,333 @@
+package net.artemislab.algorithms.maps;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * The {@code CompressedBitmap} class represents a compressed set of non-negative {@code int}
+ * values, in the style of Roaring bitmaps.
+ *
+ * <p>Values are partitioned into chunks by their 16 most significant bits. Each chunk stores the 16
+ * least significant bits of its values either in a sorted {@code char[]} array, when it holds at
+ * most 4096 values, or in a 65536-bit bitmap otherwise. A chunk therefore never takes more than 8
+ * KiB, and sparse chunks take about 2 bytes per value.
+ *
+ * <p>Intersections are computed chunk by chunk, choosing the algorithm from the representation of
+ * both chunks: merging or binary searching sorted arrays, filtering an array through a bitmap, or
+ * combining bitmaps word by word.
+ *
+ * <p>This class is not thread-safe.
+ */
+final class CompressedBitmap {
+  /** The maximum number of values of a chunk stored in a sorted array. */
+  static final int MAX_ARRAY_SIZE = 4096;
+
+  private static final int INITIAL_CAPACITY = 4;
+
+  /** The 16 most significant bits of the values of each chunk, in increasing order. */
+  private char[] keys;
+
+  private Container[] containers;
+
+  private int size;
+
+  /** Creates a new, empty instance of {@code CompressedBitmap}. */
+  CompressedBitmap() {
+    this(new char[INITIAL_CAPACITY], new Container[INITIAL_CAPACITY], 0);
+  }
+
+  private CompressedBitmap(char[] keys, Container[] containers, int size) {
+    this.keys = keys;
+    this.containers = containers;
+    this.size = size;
+  }
+
+  /**
+   * Adds the given value to this bitmap. Adding values in increasing order is O(1).
+   *
+   * @param value the value to add. Must not be negative.
+   */
+  void add(int value) {
+    char key = (char) (value >>> 16);
+    char low = (char) value;
+    if (size > 0 && keys[size - 1] == key) {
+      containers[size - 1] = containers[size - 1].add(low);
+      return;
+    }
+    int index = Arrays.binarySearch(keys, 0, size, key);
+    if (index >= 0) {
+      containers[index] = containers[index].add(low);
+      return;
+    }
+    index = -index - 1;
+    if (size == keys.length) {
+      keys = Arrays.copyOf(keys, 2 * size);
+      containers = Arrays.copyOf(containers, 2 * size);
+    }
+    System.arraycopy(keys, index, keys, index + 1, size - index);
+    System.arraycopy(containers, index, containers, index + 1, size - index);
+    keys[index] = key;
+    containers[index] = new ArrayContainer().add(low);
+    size++;
+  }
+
+  /**
+   * Returns {@code true} if this bitmap contains the given value.
+   *
+   * @param value the value to look up.
+   * @return {@code true} if this bitmap contains the given value.
+   */
+  boolean contains(int value) {
+    int index = Arrays.binarySearch(keys, 0, size, (char) (value >>> 16));
+    return index >= 0 && containers[index].contains((char) value);
+  }
+
+  /**
+   * Returns the number of values in this bitmap.
+   *
+   * @return the number of values in this bitmap.
+   */
+  int cardinality() {
+    int cardinality = 0;
+    for (int i = 0; i < size; i++) {
+      cardinality += containers[i].cardinality();
+    }
+    return cardinality;
+  }
+
+  /**
+   * Returns {@code true} if this bitmap contains no values.
+   *
+   * @return {@code true} if this bitmap contains no values.
+   */
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns a new bitmap containing the values contained in both this bitmap and the given one.
+   *
+   * @param other the bitmap to intersect with.
+   * @return the intersection of this bitmap and the given one.
+   */
+  CompressedBitmap and(CompressedBitmap other) {
+    int capacity = Math.max(1, Math.min(size, other.size));
+    char[] resultKeys = new char[capacity];
+    Container[] resultContainers = new Container[capacity];
+    int resultSize = 0;
+    int i = 0;
+    int j = 0;
+    while (i < size && j < other.size) {
+      if (keys[i] < other.keys[j]) {
+        i++;
+      } else if (keys[i] > other.keys[j]) {
+        j++;
+      } else {
+        Container container = containers[i].and(other.containers[j]);
+        if (container != null) {
+          resultKeys[resultSize] = keys[i];
+          resultContainers[resultSize] = container;
+          resultSize++;
+        }
+        i++;
+        j++;
+      }
+    }
+    return new CompressedBitmap(resultKeys, resultContainers, resultSize);
+  }
+
+  /**
+   * Passes each value of this bitmap, in increasing order, to the given consumer.
+   *
+   * @param consumer the consumer of the values.
+   */
+  void forEach(IntConsumer consumer) {
+    for (int i = 0; i < size; i++) {
+      containers[i].forEach(keys[i] << 16, consumer);
+    }
+  }
+
+  /** The 16 least significant bits of the values of a chunk. */
+  private interface Container {
+
+    /** Adds the given value, returning the container holding the result. */
+    Container add(char value);
+
+    /** Returns {@code true} if this container contains the given value. */
+    boolean contains(char value);
+
+    /** Returns the number of values in this container. */
+    int cardinality();
+
+    /** Returns the intersection with the given container, or {@code null} if it is empty. */
+    Container and(Container other);
+
+    /** Passes each value, combined with the given high bits, to the given consumer. */
+    void forEach(int high, IntConsumer consumer);
+  }
+
+  /** A container holding its values in a sorted array. */
+  private static final class ArrayContainer implements Container {
+    private char[] values;
+
+    private int cardinality;
+
+    private ArrayContainer() {
+      this(new char[INITIAL_CAPACITY], 0);
+    }
+
+    private ArrayContainer(char[] values, int cardinality) {
+      this.values = values;
+      this.cardinality = cardinality;
+    }
+
+    @Override
+    public Container add(char value) {
+      int index =
+          cardinality > 0 && values[cardinality - 1] < value
+              ? -cardinality - 1
+              : Arrays.binarySearch(values, 0, cardinality, value);
+      if (index >= 0) {
+        return this;
+      }
+      if (cardinality == MAX_ARRAY_SIZE) {
+        return toBitmapContainer().add(value);
+      }
+      index = -index - 1;
+      if (cardinality == values.length) {
+        values = Arrays.copyOf(values, Math.min(MAX_ARRAY_SIZE, 2 * cardinality));
+      }
+      System.arraycopy(values, index, values, index + 1, cardinality - index);
+      values[index] = value;
+      cardinality++;
+      return this;
+    }
+
+    @Override
+    public boolean contains(char value) {
+      return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+    }
+
+    @Override
+    public int cardinality() {
+      return cardinality;
+    }
+
+    @Override
+    public Container and(Container other) {
+      char[] result = new char[cardinality];
+      int resultCardinality = 0;
+      if (other instanceof ArrayContainer array && array.cardinality <= 64 * cardinality) {
+        int i = 0;
+        int j = 0;
+        while (i < cardinality && j < array.cardinality) {
+          if (values[i] < array.values[j]) {
+            i++;
+          } else if (values[i] > array.values[j]) {
+            j++;
+          } else {
+            result[resultCardinality++] = values[i];
+            i++;
+            j++;
+          }
+        }
+      } else {
+        // Filters through a bitmap, or binary searches a much larger array
+        for (int i = 0; i < cardinality; i++) {
+          if (other.contains(values[i])) {
+            result[resultCardinality++] = values[i];
+          }
+        }
+      }
+      return resultCardinality == 0 ? null : new ArrayContainer(result, resultCardinality);
+    }
+
+    @Override
+    public void forEach(int high, IntConsumer consumer) {
+      for (int i = 0; i < cardinality; i++) {
+        consumer.accept(high | values[i]);
+      }
+    }
+
+    private BitmapContainer toBitmapContainer() {
+      BitmapContainer bitmap = new BitmapContainer();
+      for (int i = 0; i < cardinality; i++) {
+        bitmap.add(values[i]);
+      }
+      return bitmap;
+    }
+  }
+
+  /** A container holding its values in a 65536-bit bitmap. */
+  private static final class BitmapContainer implements Container {
+    private final long[] words;
+
+    private int cardinality;
+
+    private BitmapContainer() {
+      this(new long[1 << 10], 0);
+    }
+
+    private BitmapContainer(long[] words, int cardinality) {
+      this.words = words;
+      this.cardinality = cardinality;
+    }
+
+    @Override
+    public Container add(char value) {
+      long word = words[value >>> 6];
+      long updated = word | (1L << value);
+      if (updated != word) {
+        words[value >>> 6] = updated;
+        cardinality++;
+      }
+      return this;
+    }
+
+    @Override
+    public boolean contains(char value) {
+      return (words[value >>> 6] & (1L << value)) != 0;
+    }
+
+    @Override
+    public int cardinality() {
+      return cardinality;
+    }
+
+    @Override
+    public Container and(Container other) {
+      if (other instanceof BitmapContainer bitmap) {
+        long[] result = new long[words.length];
+        int resultCardinality = 0;
+        for (int i = 0; i < words.length; i++) {
+          result[i] = words[i] & bitmap.words[i];
+          resultCardinality += Long.bitCount(result[i]);
+        }
+        if (resultCardinality == 0) {
+          return null;
+        }
+        BitmapContainer intersection = new BitmapContainer(result, resultCardinality);
+        return resultCardinality > MAX_ARRAY_SIZE ? intersection : intersection.toArrayContainer();
+      }
+      return other.and(this);
+    }
+
+    @Override
+    public void forEach(int high, IntConsumer consumer) {
+      for (int i = 0; i < words.length; i++) {
+        long word = words[i];
+        while (word != 0) {
+          consumer.accept(high | (i << 6) | Long.numberOfTrailingZeros(word));
+          word &= word - 1;
+        }
+      }
+    }
+
+    private ArrayContainer toArrayContainer() {
+      char[] values = new char[cardinality];
+      int[] index = new int[1];
+      forEach(0, value -> values[index[0]++] = (char) value);
+      return new ArrayContainer(values, cardinality);
+    }
+  }
+}
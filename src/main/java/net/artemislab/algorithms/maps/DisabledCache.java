@@ -0,0 +1,38 @@
+package net.artemislab.algorithms.maps;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * The {@code DisabledCache} class implements a {@link Cache} holding no values, computing the value
+ * of every key on each lookup.
+ *
+ * <p>This implementation is thread-safe.
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the values.
+ */
+final class DisabledCache<K, V> implements Cache<K, V> {
+  private final LongAdder misses = new LongAdder();
+
+  @Override
+  public V get(K key, Function<? super K, ? extends V> loader) {
+    misses.increment();
+    return loader.apply(key);
+  }
+
+  @Override
+  public int size() {
+    return 0;
+  }
+
+  @Override
+  public CacheStats stats() {
+    return new CacheStats(0, misses.sum(), 0);
+  }
+
+  @Override
+  public void clear() {
+    // Holds no values
+  }
+}
@@ -0,0 +1,242 @@
+package net.artemislab.algorithms.maps;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * The {@code EncodedSlotStorage} class implements a {@link SlotStorage} addressing slots by packed
+ * {@code long} keys.
+ *
+ * <p>Each key component is interned to an {@code int} id in a per-component {@link KeyDictionary},
+ * and the ids are packed into a single {@code long}, with id 0 standing for a wildcard. A lookup
+ * therefore costs one dictionary probe per key component plus one probe of a {@link
+ * LongObjectTable}, without building any composite string key.
+ *
+ * <p>Each key component is encoded on 21 bits, so that at most 2^21-1 distinct values are supported
+ * per key component. Ids are not reclaimed when entries are removed.
+ */
+final class EncodedSlotStorage implements SlotStorage {
+  private static final int BITS_PER_COMPONENT = 21;
+
+  /** The largest id of a key component, which also masks the id of a key component. */
+  static final long COMPONENT_MASK = (1L << BITS_PER_COMPONENT) - 1;
+
+  /**
+   * The masks keeping the ids of the key components selected by each subset of key components,
+   * where bit {@code i} of the subset selects the {@code i}-th key component counting from the last
+   * one.
+   */
+  private static final long[] SUBSET_MASKS = subsetMasks(3);
+
+  /** The packed key returned for key components that are not in their dictionaries. */
+  private static final long NOT_FOUND = -1;
+
+  private final KeyDictionary[] dictionaries;
+
+  private final LongObjectTable<Slot> slots;
+
+  /** Creates a new instance of {@code EncodedSlotStorage}. */
+  EncodedSlotStorage() {
+    dictionaries = new KeyDictionary[3];
+    for (int i = 0; i < dictionaries.length; i++) {
+      dictionaries[i] = new KeyDictionary((int) COMPONENT_MASK);
+    }
+    slots = new LongObjectTable<>();
+  }
+
+  @Override
+  public void add(String key1, String key2, String key3, String value) {
+    long key =
+        pack(
+            dictionaries[0].intern(key1),
+            dictionaries[1].intern(key2),
+            dictionaries[2].intern(key3));
+
+    for (long subsetMask : SUBSET_MASKS) {
+      long subsetKey = key & subsetMask;
+      Slot slot = slots.computeIfAbsent(subsetKey, k -> new Slot());
+      while (!slot.add(value)) {
+        // The slot was retired by a concurrent removal, which this helps reclaim
+        slots.remove(subsetKey, slot);
+        slot = slots.computeIfAbsent(subsetKey, k -> new Slot());
+      }
+    }
+  }
+
+  @Override
+  public boolean remove(String key1, String key2, String key3, String value) {
+    long key = find(key1, key2, key3);
+    Slot fullSlot = key == NOT_FOUND ? null : slots.get(key);
+    if (fullSlot == null || fullSlot.remove(value, 1) == 0) {
+      return false;
+    }
+
+    for (long subsetMask : SUBSET_MASKS) {
+      long subsetKey = key & subsetMask;
+      Slot slot = subsetKey == key ? fullSlot : slots.get(subsetKey);
+      if (slot != null) {
+        if (slot != fullSlot) {
+          slot.remove(value, 1);
+        }
+        if (slot.size() == 0 && slot.retire()) {
+          slots.remove(subsetKey, slot);
+        }
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean replace(String key1, String key2, String key3, String oldValue, String newValue) {
+    long key = find(key1, key2, key3);
+    Slot fullSlot = key == NOT_FOUND ? null : slots.get(key);
+    if (fullSlot == null || fullSlot.replace(oldValue, newValue, 1) == 0) {
+      return false;
+    }
+
+    for (long subsetMask : SUBSET_MASKS) {
+      Slot slot = slots.get(key & subsetMask);
+      if (slot != null && slot != fullSlot) {
+        slot.replace(oldValue, newValue, 1);
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public Values get(String key1, String key2, String key3) {
+    long key = find(key1, key2, key3);
+    Slot slot = key == NOT_FOUND ? null : slots.get(key);
+    return slot == null ? null : slot.values();
+  }
+
+  @Override
+  public Values[] getAll(WildcardMap.Query[] queries, boolean parallel) {
+    // Encode each query once, then probe the slots in the order of their buckets in the table
+    long[] keys = new long[queries.length];
+    long[] order = new long[queries.length];
+    for (int i = 0; i < queries.length; i++) {
+      keys[i] = find(queries[i].key1(), queries[i].key2(), queries[i].key3());
+      long bucket = LongObjectTable.spread(keys[i]) >>> 32;
+      // Flips the sign bit so that the signed sort orders buckets as unsigned
+      order[i] = ((bucket << 32) | i) ^ Long.MIN_VALUE;
+    }
+    if (parallel) {
+      Arrays.parallelSort(order);
+    } else {
+      Arrays.sort(order);
+    }
+
+    Values[] results = new Values[queries.length];
+    IntStream positions = IntStream.range(0, order.length);
+    (parallel ? positions.parallel() : positions)
+        .forEach(
+            position -> {
+              int i = (int) order[position];
+              Slot slot = keys[i] == NOT_FOUND ? null : slots.get(keys[i]);
+              results[i] = slot == null ? null : slot.values();
+            });
+    return results;
+  }
+
+  @Override
+  public Values getBestMatch(String key1, String key2, String key3, int[] subsets) {
+    // Look up each key component once, excluding the combinations of unknown key components
+    int id1 = idOf(0, key1);
+    int id2 = idOf(1, key2);
+    int id3 = idOf(2, key3);
+    long key = pack(Math.max(id1, 0), Math.max(id2, 0), Math.max(id3, 0));
+    int unknown =
+        (id1 == KeyDictionary.NOT_FOUND ? 4 : 0)
+            | (id2 == KeyDictionary.NOT_FOUND ? 2 : 0)
+            | (id3 == KeyDictionary.NOT_FOUND ? 1 : 0);
+    int present = MatchOrder.subsetOf(key1, key2, key3);
+    int probed = 0;
+    for (int subset : subsets) {
+      int effective = subset & present;
+      if ((effective & unknown) == 0 && (probed & (1 << effective)) == 0) {
+        probed |= 1 << effective;
+        Slot slot = slots.get(key & SUBSET_MASKS[effective]);
+        Values values = slot == null ? null : slot.values();
+        if (values != null && !values.isEmpty()) {
+          return values;
+        }
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public int count(String key1, String key2, String key3) {
+    long key = find(key1, key2, key3);
+    Slot slot = key == NOT_FOUND ? null : slots.get(key);
+    return slot == null ? 0 : slot.size();
+  }
+
+  @Override
+  public void forEachSlot(Consumer<? super Slot> action) {
+    slots.forEach(action);
+  }
+
+  @Override
+  public int slotsPerWrite() {
+    return SUBSET_MASKS.length;
+  }
+
+  /**
+   * Returns the packed key of the given key components, where {@code null} stands for a wildcard,
+   * or {@link #NOT_FOUND} if a key component is not in its dictionary.
+   */
+  private long find(String key1, String key2, String key3) {
+    int id1 = idOf(0, key1);
+    int id2 = idOf(1, key2);
+    int id3 = idOf(2, key3);
+    if (id1 == KeyDictionary.NOT_FOUND
+        || id2 == KeyDictionary.NOT_FOUND
+        || id3 == KeyDictionary.NOT_FOUND) {
+      return NOT_FOUND;
+    }
+    return pack(id1, id2, id3);
+  }
+
+  private int idOf(int component, String key) {
+    return key == null ? 0 : dictionaries[component].find(key);
+  }
+
+  /**
+   * Returns the mask keeping the ids of the key components selected by the given subset of key
+   * components, where bit {@code i} of the subset selects the {@code i}-th key component counting
+   * from the last one.
+   *
+   * @param subset the subset of key components, between 0 and 7.
+   * @return the mask keeping the ids of the selected key components.
+   */
+  static long subsetMask(int subset) {
+    return SUBSET_MASKS[subset];
+  }
+
+  /**
+   * Packs the given ids of key components into a single {@code long} key.
+   *
+   * @param id1 the id of the first key component, or 0 for a wildcard.
+   * @param id2 the id of the second key component, or 0 for a wildcard.
+   * @param id3 the id of the third key component, or 0 for a wildcard.
+   * @return the packed key.
+   */
+  static long pack(int id1, int id2, int id3) {
+    return ((long) id1 << (2 * BITS_PER_COMPONENT)) | ((long) id2 << BITS_PER_COMPONENT) | id3;
+  }
+
+  private static long[] subsetMasks(int components) {
+    long[] masks = new long[1 << components];
+    for (int subset = 0; subset < masks.length; subset++) {
+      for (int i = 0; i < components; i++) {
+        if ((subset & (1 << i)) != 0) {
+          masks[subset] |= COMPONENT_MASK << (i * BITS_PER_COMPONENT);
+        }
+      }
+    }
+    return masks;
+  }
+}
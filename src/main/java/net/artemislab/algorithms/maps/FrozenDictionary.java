@@ -0,0 +1,96 @@
+package net.artemislab.algorithms.maps;
+
+import java.util.Map;
+
+/**
+ * The {@code FrozenDictionary} class represents an immutable dictionary mapping the values of a
+ * single key component to {@code int} ids.
+ *
+ * <p>Keys are stored in a {@code String[]} array using open addressing with linear probing, at most
+ * half full, so that a lookup costs one hash computation, which strings cache, and a few probes,
+ * without allocating.
+ */
+final class FrozenDictionary {
+  /** The id returned by {@link #find(String)} for keys that are not in the dictionary. */
+  static final int NOT_FOUND = -1;
+
+  private static final int GOLDEN_RATIO = 0x9E3779B9;
+
+  private final String[] keys;
+
+  private final int[] ids;
+
+  private final int shift;
+
+  /**
+   * Creates a new instance of {@code FrozenDictionary}.
+   *
+   * @param ids the ids of the keys of the dictionary.
+   */
+  FrozenDictionary(Map<String, Integer> ids) {
+    int capacity = Math.max(2, Integer.highestOneBit(Math.max(1, 2 * ids.size() - 1)) << 1);
+    this.keys = new String[capacity];
+    this.ids = new int[capacity];
+    this.shift = Integer.numberOfLeadingZeros(capacity - 1);
+    int mask = capacity - 1;
+    for (Map.Entry<String, Integer> entry : ids.entrySet()) {
+      int i = indexOf(entry.getKey());
+      while (keys[i] != null) {
+        i = (i + 1) & mask;
+      }
+      keys[i] = entry.getKey();
+      this.ids[i] = entry.getValue();
+    }
+  }
+
+  /**
+   * Returns the id of the given key.
+   *
+   * @param key the key to look up.
+   * @return the id of the key, or {@link #NOT_FOUND} if the key is not in the dictionary.
+   */
+  int find(String key) {
+    int mask = keys.length - 1;
+    for (int i = indexOf(key); keys[i] != null; i = (i + 1) & mask) {
+      if (keys[i].equals(key)) {
+        return ids[i];
+      }
+    }
+    return NOT_FOUND;
+  }
+
+  /**
+   * Returns the keys of this dictionary indexed by bucket, {@code null} marking an empty bucket.
+   * The returned array must not be modified.
+   *
+   * @return the keys of this dictionary indexed by bucket.
+   */
+  String[] keys() {
+    return keys;
+  }
+
+  /**
+   * Returns the ids of the keys of this dictionary indexed by bucket. The returned array must not
+   * be modified.
+   *
+   * @return the ids of the keys of this dictionary indexed by bucket.
+   */
+  int[] ids() {
+    return ids;
+  }
+
+  /**
+   * Returns the bucket of the key with the given hash code in a table of the given capacity.
+   *
+   * @param hash the hash code of the key.
+   * @param shift the number of leading zeros of the capacity minus one.
+   * @return the bucket of the key.
+   */
+  static int indexOf(int hash, int shift) {
+    return (hash * GOLDEN_RATIO) >>> shift;
+  }
+
+  private int indexOf(String key) {
+    return indexOf(key.hashCode(), shift);
+  }
+}
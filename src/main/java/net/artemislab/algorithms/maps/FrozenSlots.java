@@ -0,0 +1,210 @@
+package net.artemislab.algorithms.maps;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * The {@code FrozenSlots} class represents an immutable table of the slots of a {@link
+ * FrozenWildcardMap} for a single subset of key components, addressed by packed {@code long} keys.
+ *
+ * <p>Slot keys are stored in a {@code long[]} array using open addressing with linear probing, at
+ * most half full. The ids of the values of all slots are stored contiguously in a single {@code
+ * int[]} array, in which each slot owns the range between its start and end indexes, in insertion
+ * order. Compared to a table of per-slot value arrays, this saves an object header and a reference
+ * per slot, and keeps the values of a slot next to each other in memory. Ids are translated to
+ * values through a value dictionary shared by all slots of a map, only when the values are read.
+ */
+final class FrozenSlots {
+  private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+  private final long[] keys;
+
+  private final int[] starts;
+
+  /** The end indexes of the value ranges of the slots, where 0 marks an empty bucket. */
+  private final int[] ends;
+
+  private final int[] valueIds;
+
+  /** The values indexed by their ids. */
+  private final String[] dictionary;
+
+  private final int shift;
+
+  private FrozenSlots(long[] keys, int[] starts, int[] ends, int[] valueIds, String[] dictionary) {
+    this.keys = keys;
+    this.starts = starts;
+    this.ends = ends;
+    this.valueIds = valueIds;
+    this.dictionary = dictionary;
+    this.shift = Long.numberOfLeadingZeros(keys.length - 1L);
+  }
+
+  /**
+   * Builds the slots of the given entries for the subset of key components selected by the given
+   * mask.
+   *
+   * @param entryKeys the packed keys of the entries.
+   * @param entryValueIds the ids of the values of the entries.
+   * @param size the number of entries.
+   * @param subsetMask the mask keeping the ids of the key components of the subset.
+   * @param dictionary the values indexed by their ids, shared with the caller.
+   * @return the slots of the entries.
+   */
+  static FrozenSlots build(
+      long[] entryKeys, int[] entryValueIds, int size, long subsetMask, String[] dictionary) {
+    // Count the values of each slot in a temporary table, then lay out the final table tightly
+    int[] slotOfEntry = new int[size];
+    long[] distinctKeys = new long[Math.max(1, size)];
+    int[] counts = new int[distinctKeys.length];
+    int distinct = 0;
+    int[] table = new int[capacityFor(size)];
+    Arrays.fill(table, -1);
+    int tableShift = Long.numberOfLeadingZeros(table.length - 1L);
+    for (int i = 0; i < size; i++) {
+      long key = entryKeys[i] & subsetMask;
+      int bucket = indexOf(key, tableShift);
+      while (table[bucket] >= 0 && distinctKeys[table[bucket]] != key) {
+        bucket = (bucket + 1) & (table.length - 1);
+      }
+      if (table[bucket] < 0) {
+        table[bucket] = distinct;
+        distinctKeys[distinct++] = key;
+      }
+      slotOfEntry[i] = table[bucket];
+      counts[table[bucket]]++;
+    }
+
+    int capacity = capacityFor(distinct);
+    long[] keys = new long[capacity];
+    int[] starts = new int[capacity];
+    int[] ends = new int[capacity];
+    int[] cursors = new int[distinct];
+    int shift = Long.numberOfLeadingZeros(capacity - 1L);
+    int offset = 0;
+    for (int slot = 0; slot < distinct; slot++) {
+      int bucket = indexOf(distinctKeys[slot], shift);
+      while (ends[bucket] != 0) {
+        bucket = (bucket + 1) & (capacity - 1);
+      }
+      keys[bucket] = distinctKeys[slot];
+      starts[bucket] = offset;
+      cursors[slot] = offset;
+      offset += counts[slot];
+      ends[bucket] = offset;
+    }
+
+    int[] valueIds = new int[size];
+    for (int i = 0; i < size; i++) {
+      valueIds[cursors[slotOfEntry[i]]++] = entryValueIds[i];
+    }
+    return new FrozenSlots(keys, starts, ends, valueIds, dictionary);
+  }
+
+  /**
+   * Returns the values of the slot with the given key.
+   *
+   * @param key the packed key of the slot.
+   * @return the values of the slot, or {@code null} if there is no slot with the given key.
+   */
+  Values get(long key) {
+    int bucket = find(key);
+    return bucket < 0 ? null : new SliceValues(dictionary, valueIds, starts[bucket], ends[bucket]);
+  }
+
+  /**
+   * Adds the values of the slot with the given key to the given collection, without allocating.
+   *
+   * @param key the packed key of the slot.
+   * @param target the collection to add the values to.
+   * @return the number of values added.
+   */
+  int copyTo(long key, Collection<? super String> target) {
+    int bucket = find(key);
+    if (bucket < 0) {
+      return 0;
+    }
+    for (int i = starts[bucket]; i < ends[bucket]; i++) {
+      target.add(dictionary[valueIds[i]]);
+    }
+    return ends[bucket] - starts[bucket];
+  }
+
+  /**
+   * Returns the number of slots.
+   *
+   * @return the number of slots.
+   */
+  int size() {
+    int size = 0;
+    for (int end : ends) {
+      if (end != 0) {
+        size++;
+      }
+    }
+    return size;
+  }
+
+  private int find(long key) {
+    int mask = keys.length - 1;
+    for (int bucket = indexOf(key, shift); ends[bucket] != 0; bucket = (bucket + 1) & mask) {
+      if (keys[bucket] == key) {
+        return bucket;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the keys of the slots indexed by bucket. The returned array must not be modified.
+   *
+   * @return the keys of the slots indexed by bucket.
+   */
+  long[] keys() {
+    return keys;
+  }
+
+  /**
+   * Returns the start indexes of the value ranges of the slots indexed by bucket. The returned
+   * array must not be modified.
+   *
+   * @return the start indexes of the value ranges of the slots.
+   */
+  int[] starts() {
+    return starts;
+  }
+
+  /**
+   * Returns the end indexes of the value ranges of the slots indexed by bucket, where 0 marks an
+   * empty bucket. The returned array must not be modified.
+   *
+   * @return the end indexes of the value ranges of the slots.
+   */
+  int[] ends() {
+    return ends;
+  }
+
+  /**
+   * Returns the ids of the values of all slots. The returned array must not be modified.
+   *
+   * @return the ids of the values of all slots.
+   */
+  int[] valueIds() {
+    return valueIds;
+  }
+
+  /**
+   * Returns the bucket of the given key in a table of the given capacity.
+   *
+   * @param key the packed key of the slot.
+   * @param shift the number of leading zeros of the capacity minus one.
+   * @return the bucket of the key.
+   */
+  static int indexOf(long key, int shift) {
+    return (int) ((key * GOLDEN_RATIO) >>> shift);
+  }
+
+  private static int capacityFor(int size) {
+    return Math.max(2, Integer.highestOneBit(Math.max(1, 2 * size - 1)) << 1);
+  }
+}
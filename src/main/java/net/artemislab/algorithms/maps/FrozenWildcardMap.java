@@ -0,0 +1,417 @@
+package net.artemislab.algorithms.maps;
+
+import static net.artemislab.algorithms.maps.WildcardMap.checkForNullOrEmptyOrBlank;
+import static net.artemislab.algorithms.maps.WildcardMap.trimToNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * The {@code FrozenWildcardMap} class represents an immutable map that supports wildcard queries on
+ * composite keys, built in bulk for read-mostly workloads.
+ *
+ * <p>Values are indexed by three string keys, and retrieval supports wildcards (null/empty/blank)
+ * for any key component, exactly like a {@link WildcardMap}. Maps are created with a {@link
+ * Builder}, which collects all entries first and then lays them out in one pass, optionally in
+ * parallel using the common {@link java.util.concurrent.ForkJoinPool}.
+ *
+ * <p>Each key component is interned to an {@code int} id in a per-component dictionary, and each of
+ * the 2^3 key combinations of an entry is addressed by the ids packed into a primitive {@code long}
+ * key. Dictionaries and slots are stored in flat, open-addressing arrays. Values are interned into
+ * a value dictionary, so that equal values are stored once, and the slots of a key combination hold
+ * the {@code int} ids of their values contiguously in a single array; strings are only looked up
+ * when the values are read. Compared to a {@link WildcardMap}, loading does not update any
+ * concurrent hash table, and each entry costs a few array elements per key combination rather than
+ * hash table nodes and per-slot snapshots.
+ *
+ * <p>At most 2^21-1 distinct values are supported per key component.
+ *
+ * <p>This implementation is thread-safe, since it is immutable. Lookups never lock.
+ */
+public final class FrozenWildcardMap {
+  private static final int COMPONENTS = 3;
+
+  private final FrozenDictionary[] dictionaries;
+
+  /** The slots of each subset of key components, indexed like {@link EncodedSlotStorage}. */
+  private final FrozenSlots[] slots;
+
+  /** The distinct values indexed by their ids, starting from 1. */
+  private final String[] values;
+
+  private final int size;
+
+  private FrozenWildcardMap(
+      FrozenDictionary[] dictionaries, FrozenSlots[] slots, String[] values, int size) {
+    this.dictionaries = dictionaries;
+    this.slots = slots;
+    this.values = values;
+    this.size = size;
+  }
+
+  /**
+   * Returns a new builder of {@code FrozenWildcardMap} instances.
+   *
+   * @return a new builder of {@code FrozenWildcardMap} instances.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Retrieves a list of values matching the given key components.
+   *
+   * <p>Any or all of the given arguments may have null, empty or blank value, which acts as a
+   * wildcard matching all values for that key component. Values are returned in the order in which
+   * they were added to the builder.
+   *
+   * @param key1 the first key component. May be null, empty or blank (wildcard).
+   * @param key2 the second key component. May be null, empty or blank (wildcard).
+   * @param key3 the third key component. May be null, empty or blank (wildcard).
+   * @return the immutable list of values matching the given key components, or an empty list if
+   *     none found.
+   */
+  public List<String> get(String key1, String key2, String key3) {
+    String trimmedKey1 = trimToNull(key1);
+    String trimmedKey2 = trimToNull(key2);
+    String trimmedKey3 = trimToNull(key3);
+    long key = find(trimmedKey1, trimmedKey2, trimmedKey3);
+    Values values =
+        key < 0 ? null : slots[MatchOrder.subsetOf(trimmedKey1, trimmedKey2, trimmedKey3)].get(key);
+    return values == null ? List.of() : values;
+  }
+
+  /**
+   * Adds the values matching the given key components to the given collection.
+   *
+   * <p>Any or all of the given key components may have null, empty or blank value, which acts as a
+   * wildcard matching all values for that key component.
+   *
+   * <p>A lookup of key components without leading or trailing white space characters does not
+   * allocate, other than what the given collection allocates to hold the values.
+   *
+   * @param key1 the first key component. May be null, empty or blank (wildcard).
+   * @param key2 the second key component. May be null, empty or blank (wildcard).
+   * @param key3 the third key component. May be null, empty or blank (wildcard).
+   * @param buffer the collection to add the values to.
+   * @return the number of values added to the collection.
+   * @throws NullPointerException if {@code buffer} is {@code null}.
+   */
+  public int get(String key1, String key2, String key3, Collection<? super String> buffer) {
+    Objects.requireNonNull(buffer, "The buffer must not be null.");
+    String trimmedKey1 = trimToNull(key1);
+    String trimmedKey2 = trimToNull(key2);
+    String trimmedKey3 = trimToNull(key3);
+    long key = find(trimmedKey1, trimmedKey2, trimmedKey3);
+    return key < 0
+        ? 0
+        : slots[MatchOrder.subsetOf(trimmedKey1, trimmedKey2, trimmedKey3)].copyTo(key, buffer);
+  }
+
+  /**
+   * Retrieves the values of the most specific combination of the given key components matching any
+   * value, probing the combinations in the {@link MatchOrder#MOST_SPECIFIC_FIRST} order.
+   *
+   * @param key1 the first key component. May be null, empty or blank (wildcard).
+   * @param key2 the second key component. May be null, empty or blank (wildcard).
+   * @param key3 the third key component. May be null, empty or blank (wildcard).
+   * @return the immutable list of values of the best match, or an empty list if none found.
+   * @see #getBestMatch(String, String, String, MatchOrder)
+   */
+  public List<String> getBestMatch(String key1, String key2, String key3) {
+    return getBestMatch(key1, key2, key3, MatchOrder.MOST_SPECIFIC_FIRST);
+  }
+
+  /**
+   * Retrieves the values of the first combination of the given key components, in the given match
+   * order, matching any value.
+   *
+   * <p>Any or all of the given key components may have null, empty or blank value, which acts as a
+   * wildcard in every probed combination. Key components are trimmed and looked up in their
+   * dictionaries once, so that resolving a fallback costs little more than a single lookup.
+   *
+   * @param key1 the first key component. May be null, empty or blank (wildcard).
+   * @param key2 the second key component. May be null, empty or blank (wildcard).
+   * @param key3 the third key component. May be null, empty or blank (wildcard).
+   * @param order the order in which the combinations of key components are probed.
+   * @return the immutable list of values of the best match, or an empty list if none found.
+   * @throws NullPointerException if {@code order} is {@code null}.
+   */
+  public List<String> getBestMatch(String key1, String key2, String key3, MatchOrder order) {
+    Objects.requireNonNull(order, "The match order must not be null.");
+    String trimmedKey1 = trimToNull(key1);
+    String trimmedKey2 = trimToNull(key2);
+    String trimmedKey3 = trimToNull(key3);
+    int id1 = idOf(0, trimmedKey1);
+    int id2 = idOf(1, trimmedKey2);
+    int id3 = idOf(2, trimmedKey3);
+    long key = EncodedSlotStorage.pack(Math.max(id1, 0), Math.max(id2, 0), Math.max(id3, 0));
+    int unknown =
+        (id1 == FrozenDictionary.NOT_FOUND ? 4 : 0)
+            | (id2 == FrozenDictionary.NOT_FOUND ? 2 : 0)
+            | (id3 == FrozenDictionary.NOT_FOUND ? 1 : 0);
+    int present = MatchOrder.subsetOf(trimmedKey1, trimmedKey2, trimmedKey3);
+    int probed = 0;
+    for (int subset : order.subsets()) {
+      int effective = subset & present;
+      if ((effective & unknown) == 0 && (probed & (1 << effective)) == 0) {
+        probed |= 1 << effective;
+        Values values = slots[effective].get(key & EncodedSlotStorage.subsetMask(effective));
+        if (values != null) {
+          return values;
+        }
+      }
+    }
+    return List.of();
+  }
+
+  /**
+   * Returns the number of entries in this map.
+   *
+   * @return the number of entries in this map.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the number of distinct values in this map, each of which is stored once.
+   *
+   * @return the number of distinct values in this map.
+   */
+  public int distinctValues() {
+    return values.length - 1;
+  }
+
+  /**
+   * Returns {@code true} if this map contains no entries.
+   *
+   * @return {@code true} if this map contains no entries.
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns the dictionary of the given key component.
+   *
+   * @param component the index of the key component, from 0.
+   * @return the dictionary of the key component.
+   */
+  FrozenDictionary dictionary(int component) {
+    return dictionaries[component];
+  }
+
+  /**
+   * Returns the slots of the given subset of key components.
+   *
+   * @param subset the subset of key components, indexed like {@link EncodedSlotStorage}.
+   * @return the slots of the subset.
+   */
+  FrozenSlots slots(int subset) {
+    return slots[subset];
+  }
+
+  /**
+   * Returns the distinct values indexed by their ids, starting from 1. The returned array must not
+   * be modified.
+   *
+   * @return the distinct values indexed by their ids.
+   */
+  String[] values() {
+    return values;
+  }
+
+  /**
+   * Returns the packed key of the given key components, where {@code null} stands for a wildcard,
+   * or -1 if a key component is not in its dictionary.
+   */
+  private long find(String key1, String key2, String key3) {
+    int id1 = idOf(0, key1);
+    int id2 = idOf(1, key2);
+    int id3 = idOf(2, key3);
+    if (id1 == FrozenDictionary.NOT_FOUND
+        || id2 == FrozenDictionary.NOT_FOUND
+        || id3 == FrozenDictionary.NOT_FOUND) {
+      return -1;
+    }
+    return EncodedSlotStorage.pack(id1, id2, id3);
+  }
+
+  private int idOf(int component, String key) {
+    return key == null ? 0 : dictionaries[component].find(key);
+  }
+
+  /**
+   * Assigns ids to the distinct values of the given field of the given entries, in insertion order
+   * starting from 1.
+   *
+   * @param entries the key components and values of the entries, four elements per entry.
+   * @param size the number of entries.
+   * @param field the index of the key component, or 3 for the value.
+   * @param maxId the largest id that may be assigned.
+   * @param entryIds the array receiving the id of the field of each entry.
+   * @return the ids of the distinct values of the field.
+   * @throws IllegalStateException if the field has more than {@code maxId} distinct values.
+   */
+  static Map<String, Integer> intern(
+      String[] entries, int size, int field, int maxId, int[] entryIds) {
+    Map<String, Integer> ids = new HashMap<>();
+    for (int i = 0; i < size; i++) {
+      String key = entries[Builder.FIELDS * i + field];
+      Integer id = ids.get(key);
+      if (id == null) {
+        if (ids.size() == maxId) {
+          throw new IllegalStateException(
+              "The dictionary must not contain more than " + maxId + " distinct keys.");
+        }
+        id = ids.size() + 1;
+        ids.put(key, id);
+      }
+      entryIds[i] = id;
+    }
+    return ids;
+  }
+
+  /**
+   * The {@code Builder} class represents a builder of {@link FrozenWildcardMap} instances.
+   *
+   * <p>Entries are validated and trimmed like in {@link WildcardMap#put(String, String, String,
+   * String)} as they are added, and stored in a flat array until the map is built. A builder may
+   * keep collecting entries after building a map, to build further maps.
+   */
+  public static final class Builder {
+    /** The number of array elements holding an entry: three key components and a value. */
+    static final int FIELDS = 4;
+
+    private String[] entries = new String[FIELDS * 16];
+
+    private int size;
+
+    private boolean parallel;
+
+    private Builder() {}
+
+    /**
+     * Adds a new entry to the map to build.
+     *
+     * @param key1 the first key component. Must not be null, empty or blank.
+     * @param key2 the second key component. Must not be null, empty or blank.
+     * @param key3 the third key component. Must not be null, empty or blank.
+     * @param value the value to store. Must not be null, empty or blank.
+     * @return this builder.
+     * @throws IllegalArgumentException if any argument is null, empty or blank.
+     */
+    public Builder put(String key1, String key2, String key3, String value) {
+      if (FIELDS * (size + 1) > entries.length) {
+        entries = Arrays.copyOf(entries, 2 * entries.length);
+      }
+      // The entry is only counted once all its fields are valid
+      int offset = FIELDS * size;
+      entries[offset] = checkForNullOrEmptyOrBlank(key1, "Key1 must not be null, empty or blank.");
+      entries[offset + 1] =
+          checkForNullOrEmptyOrBlank(key2, "Key2 must not be null, empty or blank.");
+      entries[offset + 2] =
+          checkForNullOrEmptyOrBlank(key3, "Key3 must not be null, empty or blank.");
+      entries[offset + 3] =
+          checkForNullOrEmptyOrBlank(value, "Value must not be null, empty or blank.");
+      size++;
+      return this;
+    }
+
+    /**
+     * Adds all given entries to the map to build, in iteration order.
+     *
+     * @param entries the entries to add.
+     * @return this builder.
+     * @throws NullPointerException if {@code entries} or any entry is {@code null}.
+     * @throws IllegalArgumentException if any key component or value is null, empty or blank.
+     */
+    public Builder putAll(Iterable<? extends WildcardMap.Entry> entries) {
+      Objects.requireNonNull(entries, "The entries must not be null.");
+      for (WildcardMap.Entry entry : entries) {
+        Objects.requireNonNull(entry, "The entry must not be null.");
+        put(entry.key1(), entry.key2(), entry.key3(), entry.value());
+      }
+      return this;
+    }
+
+    /**
+     * Sets whether the map is built in parallel, using the common {@link
+     * java.util.concurrent.ForkJoinPool}. Defaults to {@code false}.
+     *
+     * <p>A parallel build interns the key components and values and lays out the slots of each key
+     * combination in separate tasks, which pays off for large maps.
+     *
+     * @param parallel {@code true} to build the map in parallel.
+     * @return this builder.
+     */
+    public Builder parallel(boolean parallel) {
+      this.parallel = parallel;
+      return this;
+    }
+
+    /**
+     * Creates a new instance of {@code FrozenWildcardMap} holding the entries added to this
+     * builder.
+     *
+     * @return a new instance of {@code FrozenWildcardMap}.
+     * @throws IllegalStateException if a key component has more distinct values than supported.
+     */
+    public FrozenWildcardMap build() {
+      // Interns the key components and the values, the latter without limit
+      int[][] entryIds = new int[FIELDS][size];
+      List<Map<String, Integer>> ids = new ArrayList<>(Collections.nCopies(FIELDS, Map.of()));
+      List<Runnable> interning = new ArrayList<>();
+      for (int i = 0; i < FIELDS; i++) {
+        int field = i;
+        int maxId =
+            field < COMPONENTS ? (int) EncodedSlotStorage.COMPONENT_MASK : Integer.MAX_VALUE;
+        interning.add(() -> ids.set(field, intern(entries, size, field, maxId, entryIds[field])));
+      }
+      run(interning);
+
+      FrozenDictionary[] dictionaries = new FrozenDictionary[COMPONENTS];
+      for (int i = 0; i < COMPONENTS; i++) {
+        dictionaries[i] = new FrozenDictionary(ids.get(i));
+      }
+      String[] values = new String[ids.get(COMPONENTS).size() + 1];
+      ids.get(COMPONENTS).forEach((value, id) -> values[id] = value);
+      long[] keys = new long[size];
+      for (int i = 0; i < size; i++) {
+        keys[i] = EncodedSlotStorage.pack(entryIds[0][i], entryIds[1][i], entryIds[2][i]);
+      }
+
+      int[] valueIds = entryIds[COMPONENTS];
+      FrozenSlots[] slots = new FrozenSlots[1 << COMPONENTS];
+      List<Runnable> layout = new ArrayList<>();
+      for (int i = 0; i < slots.length; i++) {
+        int subset = i;
+        long subsetMask = EncodedSlotStorage.subsetMask(subset);
+        layout.add(
+            () -> slots[subset] = FrozenSlots.build(keys, valueIds, size, subsetMask, values));
+      }
+      run(layout);
+      return new FrozenWildcardMap(dictionaries, slots, values, size);
+    }
+
+    private void run(List<Runnable> tasks) {
+      if (parallel) {
+        List<ForkJoinTask<?>> forkJoinTasks = new ArrayList<>();
+        for (Runnable task : tasks) {
+          forkJoinTasks.add(ForkJoinTask.adapt(task));
+        }
+        ForkJoinTask.invokeAll(forkJoinTasks);
+      } else {
+        tasks.forEach(Runnable::run);
+      }
+    }
+  }
+}
@@ -0,0 +1,192 @@
+package net.artemislab.algorithms.maps;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The {@code IndexedWildcardMap} class represents a map that supports wildcard queries on composite
+ * keys made of any fixed number of key components.
+ *
+ * <p>Unlike {@link WildcardMap}, which stores each entry under 2^n key combinations, this
+ * implementation stores each entry once and maintains one inverted index per key component, mapping
+ * each key component to the {@link CompressedBitmap} of the ids of the entries having it. A query
+ * intersects the bitmaps of its non-wildcard key components, from the smallest to the largest, so
+ * that memory scales with n&times;entries rather than 2^n&times;entries, at the cost of lookups
+ * proportional to the size of the intersected bitmaps rather than O(1).
+ *
+ * <p>Key components and values must not be {@code null}; a {@code null} key component in a query
+ * acts as a wildcard. Key components are compared with {@link Object#equals(Object)}.
+ *
+ * <p>This implementation is thread-safe, using a {@link ReadWriteLock}: lookups run concurrently
+ * with each other, and entries are added one at a time. Values are returned in insertion order.
+ *
+ * @param <K> the type of the key components.
+ * @param <V> the type of the values.
+ */
+public final class IndexedWildcardMap<K, V> {
+  private final int arity;
+
+  /** The inverted index of each key component. */
+  private final List<Map<K, CompressedBitmap>> indexes;
+
+  /** The values of the entries, indexed by entry id. */
+  private final List<V> values;
+
+  private final ReadWriteLock lock;
+
+  /**
+   * Creates a new instance of {@code IndexedWildcardMap} with the given number of key components.
+   *
+   * @param arity the number of key components. Must be positive.
+   * @throws IllegalArgumentException if {@code arity} is not positive.
+   */
+  public IndexedWildcardMap(int arity) {
+    if (arity <= 0) {
+      throw new IllegalArgumentException("The arity must be positive, but was " + arity + ".");
+    }
+    this.arity = arity;
+    this.indexes = new ArrayList<>(arity);
+    for (int i = 0; i < arity; i++) {
+      indexes.add(new HashMap<>());
+    }
+    this.values = new ArrayList<>();
+    this.lock = new ReentrantReadWriteLock();
+  }
+
+  /**
+   * Adds a new entry into the map.
+   *
+   * @param keys the key components. Must contain exactly {@link #arity()} non-null key components.
+   * @param value the value to store. Must not be null.
+   * @throws NullPointerException if {@code keys} or {@code value} is {@code null}.
+   * @throws IllegalArgumentException if {@code keys} does not contain {@link #arity()} key
+   *     components, or contains a {@code null} key component.
+   */
+  public void put(List<? extends K> keys, V value) {
+    checkArity(keys);
+    for (int i = 0; i < arity; i++) {
+      if (keys.get(i) == null) {
+        throw new IllegalArgumentException("Key" + (i + 1) + " must not be null.");
+      }
+    }
+    Objects.requireNonNull(value, "The value must not be null.");
+
+    lock.writeLock().lock();
+    try {
+      int id = values.size();
+      values.add(value);
+      for (int i = 0; i < arity; i++) {
+        indexes.get(i).computeIfAbsent(keys.get(i), k -> new CompressedBitmap()).add(id);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Retrieves a list of values matching the given key components.
+   *
+   * <p>Any or all of the given key components may be {@code null}, which acts as a wildcard
+   * matching all values for that key component.
+   *
+   * @param keys the key components. Must contain exactly {@link #arity()} key components.
+   * @return the unmodifiable list of values matching the given key components, in insertion order,
+   *     or an empty list if none found.
+   * @throws NullPointerException if {@code keys} is {@code null}.
+   * @throws IllegalArgumentException if {@code keys} does not contain {@link #arity()} key
+   *     components.
+   */
+  public List<V> get(List<? extends K> keys) {
+    checkArity(keys);
+
+    lock.readLock().lock();
+    try {
+      List<CompressedBitmap> bitmaps = new ArrayList<>(arity);
+      for (int i = 0; i < arity; i++) {
+        K key = keys.get(i);
+        if (key != null) {
+          CompressedBitmap bitmap = indexes.get(i).get(key);
+          if (bitmap == null) {
+            return List.of();
+          }
+          bitmaps.add(bitmap);
+        }
+      }
+      if (bitmaps.isEmpty()) {
+        return List.copyOf(values);
+      }
+
+      bitmaps.sort(Comparator.comparingInt(CompressedBitmap::cardinality));
+      CompressedBitmap result = bitmaps.get(0);
+      for (int i = 1; i < bitmaps.size() && !result.isEmpty(); i++) {
+        result = result.and(bitmaps.get(i));
+      }
+
+      List<V> matches = new ArrayList<>();
+      result.forEach(id -> matches.add(values.get(id)));
+      return Collections.unmodifiableList(matches);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Returns the number of key components of this map.
+   *
+   * @return the number of key components of this map.
+   */
+  public int arity() {
+    return arity;
+  }
+
+  /**
+   * Returns the number of entries in this map.
+   *
+   * @return the number of entries in this map.
+   */
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return values.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Returns {@code true} if this map contains no entries.
+   *
+   * @return {@code true} if this map contains no entries.
+   */
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /** Removes all entries from this map. */
+  public void clear() {
+    lock.writeLock().lock();
+    try {
+      values.clear();
+      for (Map<K, CompressedBitmap> index : indexes) {
+        index.clear();
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void checkArity(List<? extends K> keys) {
+    Objects.requireNonNull(keys, "The keys must not be null.");
+    if (keys.size() != arity) {
+      throw new IllegalArgumentException(
+          "The number of keys must be " + arity + ", but was " + keys.size() + ".");
+    }
+  }
+}
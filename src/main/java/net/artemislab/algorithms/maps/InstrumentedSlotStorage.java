@@ -0,0 +1,264 @@
+package net.artemislab.algorithms.maps;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * The {@code InstrumentedSlotStorage} class implements a {@link SlotStorage} counting the
+ * operations of another storage, and recording JFR events for the slow ones.
+ *
+ * <p>Counters are {@link LongAdder} instances held by {@link Counters}, which outlive the storage
+ * when the map is cleared. Events are only committed when a recording enables them and the
+ * operation is slower than their threshold, so that the cost of an operation otherwise stays a few
+ * counter increments.
+ */
+final class InstrumentedSlotStorage implements SlotStorage {
+  private final SlotStorage storage;
+
+  private final Counters counters;
+
+  /**
+   * Creates a new instance of {@code InstrumentedSlotStorage}.
+   *
+   * @param storage the storage holding the slots.
+   * @param counters the counters of the operations.
+   */
+  InstrumentedSlotStorage(SlotStorage storage, Counters counters) {
+    this.storage = storage;
+    this.counters = counters;
+  }
+
+  @Override
+  public void add(String key1, String key2, String key3, String value) {
+    WriteEvent event = new WriteEvent();
+    event.begin();
+    storage.add(key1, key2, key3, value);
+    event.end();
+    counters.puts.increment();
+    counters.slotWrites.add(storage.slotsPerWrite());
+    commit(event, "put", key1, key2, key3, true);
+  }
+
+  @Override
+  public boolean remove(String key1, String key2, String key3, String value) {
+    WriteEvent event = new WriteEvent();
+    event.begin();
+    boolean removed = storage.remove(key1, key2, key3, value);
+    event.end();
+    if (removed) {
+      counters.removals.increment();
+      counters.slotWrites.add(storage.slotsPerWrite());
+    }
+    commit(event, "remove", key1, key2, key3, removed);
+    return removed;
+  }
+
+  @Override
+  public boolean replace(String key1, String key2, String key3, String oldValue, String newValue) {
+    WriteEvent event = new WriteEvent();
+    event.begin();
+    boolean replaced = storage.replace(key1, key2, key3, oldValue, newValue);
+    event.end();
+    if (replaced) {
+      counters.replacements.increment();
+      counters.slotWrites.add(storage.slotsPerWrite());
+    }
+    commit(event, "replace", key1, key2, key3, replaced);
+    return replaced;
+  }
+
+  @Override
+  public Values get(String key1, String key2, String key3) {
+    LookupEvent event = new LookupEvent();
+    event.begin();
+    Values values = storage.get(key1, key2, key3);
+    event.end();
+    int matched = values == null ? 0 : values.size();
+    counters.lookup(matched);
+    commit(event, "get", key1, key2, key3, matched);
+    return values;
+  }
+
+  @Override
+  public int count(String key1, String key2, String key3) {
+    LookupEvent event = new LookupEvent();
+    event.begin();
+    int matched = storage.count(key1, key2, key3);
+    event.end();
+    counters.lookup(matched);
+    commit(event, "count", key1, key2, key3, matched);
+    return matched;
+  }
+
+  @Override
+  public Values[] getAll(WildcardMap.Query[] queries, boolean parallel) {
+    LookupEvent event = new LookupEvent();
+    event.begin();
+    Values[] results = storage.getAll(queries, parallel);
+    event.end();
+    int matched = 0;
+    for (Values values : results) {
+      int size = values == null ? 0 : values.size();
+      counters.lookup(size);
+      matched += size;
+    }
+    commit(event, "getAll", null, null, null, matched);
+    return results;
+  }
+
+  @Override
+  public Values getBestMatch(String key1, String key2, String key3, int[] subsets) {
+    LookupEvent event = new LookupEvent();
+    event.begin();
+    Values values = storage.getBestMatch(key1, key2, key3, subsets);
+    event.end();
+    int matched = values == null ? 0 : values.size();
+    counters.lookup(matched);
+    commit(event, "getBestMatch", key1, key2, key3, matched);
+    return values;
+  }
+
+  @Override
+  public void collect(
+      WildcardMap.KeyRange range1,
+      WildcardMap.KeyRange range2,
+      WildcardMap.KeyRange range3,
+      Collection<? super String> target) {
+    LookupEvent event = new LookupEvent();
+    event.begin();
+    int before = target.size();
+    storage.collect(range1, range2, range3, target);
+    event.end();
+    int matched = target.size() - before;
+    counters.lookup(matched);
+    commit(event, "getMatching", null, null, null, matched);
+  }
+
+  @Override
+  public void forEachSlot(Consumer<? super Slot> action) {
+    storage.forEachSlot(action);
+  }
+
+  @Override
+  public int size() {
+    return storage.size();
+  }
+
+  @Override
+  public int slotsPerWrite() {
+    return storage.slotsPerWrite();
+  }
+
+  private static void commit(
+      LookupEvent event, String operation, String key1, String key2, String key3, int matched) {
+    if (event.shouldCommit()) {
+      event.operation = operation;
+      event.key1 = key1;
+      event.key2 = key2;
+      event.key3 = key3;
+      event.matchedValues = matched;
+      event.commit();
+    }
+  }
+
+  private static void commit(
+      WriteEvent event, String operation, String key1, String key2, String key3, boolean updated) {
+    if (event.shouldCommit()) {
+      event.operation = operation;
+      event.key1 = key1;
+      event.key2 = key2;
+      event.key3 = key3;
+      event.updated = updated;
+      event.commit();
+    }
+  }
+
+  /** The counters of the operations of a map, shared by its successive storages. */
+  static final class Counters {
+    private final LongAdder lookups = new LongAdder();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder matchedValues = new LongAdder();
+
+    private final LongAdder puts = new LongAdder();
+
+    private final LongAdder removals = new LongAdder();
+
+    private final LongAdder replacements = new LongAdder();
+
+    private final LongAdder slotWrites = new LongAdder();
+
+    /**
+     * Returns the number of lookups.
+     *
+     * @return the number of lookups.
+     */
+    long lookups() {
+      return lookups.sum();
+    }
+
+    /**
+     * Returns the number of lookups which matched values.
+     *
+     * @return the number of lookups which matched values.
+     */
+    long hits() {
+      return hits.sum();
+    }
+
+    /**
+     * Returns the total number of values matched by lookups.
+     *
+     * @return the total number of values matched by lookups.
+     */
+    long matchedValues() {
+      return matchedValues.sum();
+    }
+
+    /**
+     * Returns the number of entries put.
+     *
+     * @return the number of entries put.
+     */
+    long puts() {
+      return puts.sum();
+    }
+
+    /**
+     * Returns the number of entries removed.
+     *
+     * @return the number of entries removed.
+     */
+    long removals() {
+      return removals.sum();
+    }
+
+    /**
+     * Returns the number of values replaced.
+     *
+     * @return the number of values replaced.
+     */
+    long replacements() {
+      return replacements.sum();
+    }
+
+    /**
+     * Returns the number of slot updates made by writes.
+     *
+     * @return the number of slot updates made by writes.
+     */
+    long slotWrites() {
+      return slotWrites.sum();
+    }
+
+    private void lookup(int matched) {
+      lookups.increment();
+      if (matched > 0) {
+        hits.increment();
+        matchedValues.add(matched);
+      }
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package net.artemislab.algorithms.maps;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@code KeyDictionary} class represents a dictionary interning the values of a single key
+ * component to dense, positive {@code int} ids.
+ *
+ * <p>Ids are assigned in insertion order starting from 1, so that 0 remains available to encode a
+ * wildcard. Ids are never reused.
+ *
+ * <p>This implementation is thread-safe, using {@link ConcurrentHashMap} for storage.
+ */
+final class KeyDictionary {
+  /** The id returned by {@link #find(String)} for keys that are not in the dictionary. */
+  static final int NOT_FOUND = -1;
+
+  private final Map<String, Integer> ids;
+
+  private final AtomicInteger lastId;
+
+  private final int maxId;
+
+  /**
+   * Creates a new instance of {@code KeyDictionary}.
+   *
+   * @param maxId the largest id the dictionary may assign.
+   */
+  KeyDictionary(int maxId) {
+    this.ids = new ConcurrentHashMap<>();
+    this.lastId = new AtomicInteger();
+    this.maxId = maxId;
+  }
+
+  /**
+   * Returns the id of the given key, assigning the next available id if the key is not yet in the
+   * dictionary.
+   *
+   * @param key the key to intern.
+   * @return the id of the key.
+   * @throws IllegalStateException if the dictionary has already assigned all available ids.
+   */
+  int intern(String key) {
+    Integer id = ids.get(key);
+    if (id != null) {
+      return id;
+    }
+    return ids.computeIfAbsent(key, k -> nextId());
+  }
+
+  /**
+   * Returns the id of the given key.
+   *
+   * @param key the key to look up.
+   * @return the id of the key, or {@link #NOT_FOUND} if the key is not in the dictionary.
+   */
+  int find(String key) {
+    Integer id = ids.get(key);
+    return id == null ? NOT_FOUND : id;
+  }
+
+  /**
+   * Returns the number of keys in the dictionary.
+   *
+   * @return the number of keys in the dictionary.
+   */
+  int size() {
+    return ids.size();
+  }
+
+  private int nextId() {
+    int id = lastId.incrementAndGet();
+    if (id > maxId) {
+      throw new IllegalStateException(
+          "The dictionary must not contain more than " + maxId + " distinct keys.");
+    }
+    return id;
+  }
+}
@@ -0,0 +1,214 @@
+package net.artemislab.algorithms.maps;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * The {@code LazySlotStorage} class implements a {@link SlotStorage} storing each entry in the slot
+ * of its full key only, and answering wildcard lookups by scanning these slots.
+ *
+ * <p>The results of wildcard lookups are memoized in a query cache, from which each write drops the
+ * 2^n-1 wildcard queries matching its entry. A lookup missing the cache first reserves its query
+ * with a token of its own, then scans the slots, and only stores its result if the token is still
+ * there: a write dropping the token in between, after updating its slot, keeps a result which may
+ * have missed it from being cached.
+ *
+ * <p>Wildcard lookups return the values of the matching slots grouped by full key, in the order the
+ * first value of each slot was added, rather than in insertion order across full keys.
+ *
+ * <p>This implementation is thread-safe, using {@link ConcurrentHashMap} for storage.
+ */
+final class LazySlotStorage implements SlotStorage {
+  private static final Comparator<KeySlot> BY_SEQUENCE =
+      Comparator.comparingLong(KeySlot::sequence);
+
+  /** Maps full keys to the slots of their values, numbered in order of creation. */
+  private final Map<WildcardMap.Query, KeySlot> storage;
+
+  /** Maps wildcard queries to their results, or to the token of a lookup computing them. */
+  private final Map<WildcardMap.Query, Object> results;
+
+  private final int maximumSize;
+
+  private final Stats stats;
+
+  private final AtomicLong sequence = new AtomicLong();
+
+  private final LongAdder entries = new LongAdder();
+
+  /**
+   * Creates a new instance of {@code LazySlotStorage}.
+   *
+   * @param maximumSize the maximum number of results of the query cache.
+   * @param stats the statistics of the query cache.
+   */
+  LazySlotStorage(int maximumSize, Stats stats) {
+    this.storage = new ConcurrentHashMap<>();
+    this.results = new ConcurrentHashMap<>();
+    this.maximumSize = maximumSize;
+    this.stats = stats;
+  }
+
+  @Override
+  public void add(String key1, String key2, String key3, String value) {
+    WildcardMap.Query key = new WildcardMap.Query(key1, key2, key3);
+    KeySlot keySlot = storage.computeIfAbsent(key, k -> newKeySlot());
+    while (!keySlot.slot().add(value)) {
+      // The slot was retired by a concurrent removal, which this helps reclaim
+      storage.remove(key, keySlot);
+      keySlot = storage.computeIfAbsent(key, k -> newKeySlot());
+    }
+    entries.increment();
+    invalidate(key1, key2, key3);
+  }
+
+  @Override
+  public boolean remove(String key1, String key2, String key3, String value) {
+    WildcardMap.Query key = new WildcardMap.Query(key1, key2, key3);
+    KeySlot keySlot = storage.get(key);
+    if (keySlot == null || keySlot.slot().remove(value, 1) == 0) {
+      return false;
+    }
+    if (keySlot.slot().size() == 0 && keySlot.slot().retire()) {
+      storage.remove(key, keySlot);
+    }
+    entries.decrement();
+    invalidate(key1, key2, key3);
+    return true;
+  }
+
+  @Override
+  public boolean replace(String key1, String key2, String key3, String oldValue, String newValue) {
+    KeySlot keySlot = storage.get(new WildcardMap.Query(key1, key2, key3));
+    if (keySlot == null || keySlot.slot().replace(oldValue, newValue, 1) == 0) {
+      return false;
+    }
+    invalidate(key1, key2, key3);
+    return true;
+  }
+
+  @Override
+  public Values get(String key1, String key2, String key3) {
+    WildcardMap.Query query = new WildcardMap.Query(key1, key2, key3);
+    if (key1 != null && key2 != null && key3 != null) {
+      KeySlot keySlot = storage.get(query);
+      return keySlot == null ? null : keySlot.slot().values();
+    }
+
+    Object cached = results.get(query);
+    if (cached instanceof Values values) {
+      stats.hits.increment();
+      return values;
+    }
+    stats.misses.increment();
+    if (cached != null || results.size() >= maximumSize) {
+      // Another lookup is computing the same result, or the cache is full
+      return scan(query);
+    }
+    Object token = new Object();
+    if (results.putIfAbsent(query, token) != null) {
+      return scan(query);
+    }
+    Values values = scan(query);
+    // Fails if the token was dropped by a concurrent write, which the scan may have missed
+    results.replace(query, token, values);
+    return values;
+  }
+
+  @Override
+  public int count(String key1, String key2, String key3) {
+    Values values = get(key1, key2, key3);
+    return values == null ? 0 : values.size();
+  }
+
+  @Override
+  public void forEachSlot(Consumer<? super Slot> action) {
+    storage.values().forEach(keySlot -> action.accept(keySlot.slot()));
+  }
+
+  @Override
+  public int size() {
+    return entries.intValue();
+  }
+
+  @Override
+  public int slotsPerWrite() {
+    // Only the slot of the full key is written, while the query cache is merely invalidated
+    return 1;
+  }
+
+  private KeySlot newKeySlot() {
+    return new KeySlot(sequence.getAndIncrement(), new Slot());
+  }
+
+  private Values scan(WildcardMap.Query query) {
+    List<KeySlot> matches = new ArrayList<>();
+    for (Map.Entry<WildcardMap.Query, KeySlot> entry : storage.entrySet()) {
+      if (matches(query, entry.getKey())) {
+        matches.add(entry.getValue());
+      }
+    }
+    matches.sort(BY_SEQUENCE);
+    List<String> values = new ArrayList<>();
+    for (KeySlot keySlot : matches) {
+      keySlot.slot().values().copyTo(values);
+    }
+    return ArrayValues.of(values.toArray(new String[0]));
+  }
+
+  private void invalidate(String key1, String key2, String key3) {
+    // Drops the queries of all key combinations but the full key, which is never cached
+    for (int subset = 0; subset < 7; subset++) {
+      WildcardMap.Query query =
+          new WildcardMap.Query(
+              (subset & 4) == 0 ? null : key1,
+              (subset & 2) == 0 ? null : key2,
+              (subset & 1) == 0 ? null : key3);
+      Object removed = results.remove(query);
+      if (removed instanceof Values) {
+        stats.invalidations.increment();
+      }
+    }
+  }
+
+  private static boolean matches(WildcardMap.Query query, WildcardMap.Query key) {
+    return (query.key1() == null || query.key1().equals(key.key1()))
+        && (query.key2() == null || query.key2().equals(key.key2()))
+        && (query.key3() == null || query.key3().equals(key.key3()));
+  }
+
+  /**
+   * The {@code KeySlot} record represents the slot of a full key, numbered in order of creation.
+   *
+   * @param sequence the number of the slot.
+   * @param slot the slot.
+   */
+  private record KeySlot(long sequence, Slot slot) {}
+
+  /**
+   * The {@code Stats} class represents the statistics of the query cache of a {@code
+   * LazySlotStorage}, kept by the map across the storages replacing each other when it is cleared.
+   */
+  static final class Stats {
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * Returns a snapshot of these statistics, reporting the results dropped by writes as evictions.
+     *
+     * @return a snapshot of these statistics.
+     */
+    CacheStats snapshot() {
+      return new CacheStats(hits.sum(), misses.sum(), invalidations.sum());
+    }
+  }
+}
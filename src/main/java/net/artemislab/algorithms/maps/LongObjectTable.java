@@ -0,0 +1,206 @@
+package net.artemislab.algorithms.maps;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+/**
+ * The {@code LongObjectTable} class represents a hash table mapping primitive {@code long} keys to
+ * objects, without boxing the keys.
+ *
+ * <p>Keys are stored in a {@code long[]} array using open addressing with linear probing, and
+ * Fibonacci hashing to spread the keys over the table.
+ *
+ * <p>Removed keys leave a tombstone in their bucket, so that probing sequences stay intact, until
+ * the table is rebuilt once tombstones and keys fill half of it.
+ *
+ * <p>This implementation is thread-safe. Lookups never lock: values are published with release
+ * semantics and read with acquire semantics, and the arrays are replaced as a whole on resize.
+ * Insertions and removals are serialized on the table.
+ *
+ * @param <V> the type of the values.
+ */
+final class LongObjectTable<V> {
+  private static final VarHandle VALUES = MethodHandles.arrayElementVarHandle(Object[].class);
+
+  private static final int MIN_CAPACITY = 16;
+
+  private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+  /** The value of the buckets of removed keys. */
+  private static final Object TOMBSTONE = new Object();
+
+  private volatile Table table;
+
+  private int size;
+
+  private int tombstones;
+
+  /** Creates a new instance of {@code LongObjectTable}. */
+  LongObjectTable() {
+    table = new Table(MIN_CAPACITY);
+  }
+
+  /**
+   * Returns the value mapped to the given key.
+   *
+   * @param key the key to look up.
+   * @return the value mapped to the given key, or {@code null} if there is none.
+   */
+  V get(long key) {
+    Table current = table;
+    long[] keys = current.keys;
+    Object[] values = current.values;
+    int mask = keys.length - 1;
+    for (int i = current.indexOf(key); ; i = (i + 1) & mask) {
+      Object value = (Object) VALUES.getAcquire(values, i);
+      if (value == null) {
+        return null;
+      }
+      if (keys[i] == key && value != TOMBSTONE) {
+        @SuppressWarnings("unchecked")
+        V result = (V) value;
+        return result;
+      }
+    }
+  }
+
+  /**
+   * Returns the value mapped to the given key, mapping it to the value computed by the given
+   * function first if there is none.
+   *
+   * @param key the key to look up.
+   * @param mappingFunction the function computing the value for an absent key. Must not return
+   *     null.
+   * @return the value mapped to the given key.
+   * @throws NullPointerException if the mapping function returns {@code null}.
+   */
+  V computeIfAbsent(long key, LongFunction<? extends V> mappingFunction) {
+    V existing = get(key);
+    if (existing != null) {
+      return existing;
+    }
+    synchronized (this) {
+      existing = get(key);
+      if (existing != null) {
+        return existing;
+      }
+      V value = Objects.requireNonNull(mappingFunction.apply(key), "The value must not be null.");
+      Table current = table;
+      if (2 * (size + tombstones + 1) > current.keys.length) {
+        // Doubles the capacity, unless most of the used buckets only hold tombstones
+        int capacity = current.keys.length;
+        current = current.resize(4 * (size + 1) > capacity ? 2 * capacity : capacity);
+        table = current;
+        tombstones = 0;
+      }
+      current.insert(key, value);
+      size++;
+      return value;
+    }
+  }
+
+  /**
+   * Removes the given key if it is mapped to the given value.
+   *
+   * @param key the key to remove.
+   * @param value the value the key must be mapped to, compared by identity.
+   * @return {@code true} if the key was removed.
+   */
+  synchronized boolean remove(long key, V value) {
+    Table current = table;
+    long[] keys = current.keys;
+    Object[] values = current.values;
+    int mask = keys.length - 1;
+    for (int i = current.indexOf(key); values[i] != null; i = (i + 1) & mask) {
+      if (keys[i] == key && values[i] == value) {
+        VALUES.setRelease(values, i, TOMBSTONE);
+        size--;
+        tombstones++;
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Performs the given action on each value of the table, without locking. Values inserted or
+   * removed concurrently may or may not be visited.
+   *
+   * @param action the action to perform on each value.
+   */
+  void forEach(Consumer<? super V> action) {
+    Object[] values = table.values;
+    for (int i = 0; i < values.length; i++) {
+      Object value = (Object) VALUES.getAcquire(values, i);
+      if (value != null && value != TOMBSTONE) {
+        @SuppressWarnings("unchecked")
+        V result = (V) value;
+        action.accept(result);
+      }
+    }
+  }
+
+  /**
+   * Returns the spread hash of the given key. A key is stored in the bucket given by the most
+   * significant bits of its spread hash, or in a later bucket on collision, so that looking up keys
+   * in the unsigned order of their spread hashes scans the table from start to end whatever its
+   * capacity.
+   *
+   * @param key the key to spread.
+   * @return the spread hash of the key.
+   */
+  static long spread(long key) {
+    return key * GOLDEN_RATIO;
+  }
+
+  /**
+   * Returns the number of keys in the table.
+   *
+   * @return the number of keys in the table.
+   */
+  synchronized int size() {
+    return size;
+  }
+
+  /** The arrays of a table, replaced as a whole on resize. */
+  private static final class Table {
+    private final long[] keys;
+
+    private final Object[] values;
+
+    private final int shift;
+
+    private Table(int capacity) {
+      keys = new long[capacity];
+      values = new Object[capacity];
+      shift = Long.numberOfLeadingZeros(capacity - 1);
+    }
+
+    private int indexOf(long key) {
+      return (int) (spread(key) >>> shift);
+    }
+
+    private void insert(long key, Object value) {
+      int mask = keys.length - 1;
+      int i = indexOf(key);
+      while (values[i] != null) {
+        i = (i + 1) & mask;
+      }
+      keys[i] = key;
+      VALUES.setRelease(values, i, value);
+    }
+
+    private Table resize(int capacity) {
+      Table resized = new Table(capacity);
+      for (int i = 0; i < keys.length; i++) {
+        if (values[i] != null && values[i] != TOMBSTONE) {
+          resized.insert(keys[i], values[i]);
+        }
+      }
+      return resized;
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package net.artemislab.algorithms.maps;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * The {@code LookupEvent} class represents a JFR event recorded for a lookup of an instrumented
+ * {@link WildcardMap} slower than the threshold of the event, 1 ms by default.
+ *
+ * <p>The key components of a batched lookup are not recorded.
+ */
+@Name(LookupEvent.NAME)
+@Label("WildcardMap Lookup")
+@Category({"Artemis Lab", "WildcardMap"})
+@Description("A lookup of a WildcardMap slower than the threshold")
+@StackTrace(true)
+@Threshold("1 ms")
+final class LookupEvent extends Event {
+  /** The name of the event. */
+  static final String NAME = "net.artemislab.algorithms.maps.Lookup";
+
+  @Label("Operation")
+  String operation;
+
+  @Label("Key1")
+  String key1;
+
+  @Label("Key2")
+  String key2;
+
+  @Label("Key3")
+  String key3;
+
+  @Label("Matched Values")
+  @Description("The number of values matched by the lookup")
+  int matchedValues;
+}
@@ -0,0 +1,141 @@
+package net.artemislab.algorithms.maps;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * The {@code MapMetrics} class implements the {@link WildcardMapMetrics} of a {@link WildcardMap},
+ * reading its counters, if any, and visiting the slots of its current storage for gauges.
+ */
+final class MapMetrics implements WildcardMapMetrics {
+  /**
+   * The estimated bytes of a slot that is not striped: the slot, its base stripe, its snapshot and
+   * the header of the backing array of the snapshot, along with the entry of the slot in its
+   * storage.
+   */
+  static final long SLOT_BYTES = 128;
+
+  /** The estimated bytes added to a slot by each of its stripes once striped. */
+  static final long STRIPE_BYTES = 64;
+
+  /** The bytes of a compressed reference to a value. */
+  static final long REFERENCE_BYTES = 4;
+
+  private final Supplier<SlotStorage> storage;
+
+  private final InstrumentedSlotStorage.Counters counters;
+
+  private final Supplier<CacheStats> keySubsetsCacheStats;
+
+  /**
+   * Creates a new instance of {@code MapMetrics}.
+   *
+   * @param storage the supplier of the current storage of the map.
+   * @param counters the counters of the map, or {@code null} if the map is not instrumented.
+   * @param keySubsetsCacheStats the supplier of the statistics of the cache of key combinations.
+   */
+  MapMetrics(
+      Supplier<SlotStorage> storage,
+      InstrumentedSlotStorage.Counters counters,
+      Supplier<CacheStats> keySubsetsCacheStats) {
+    this.storage = storage;
+    this.counters = counters;
+    this.keySubsetsCacheStats = keySubsetsCacheStats;
+  }
+
+  @Override
+  public long lookups() {
+    return counters == null ? 0 : counters.lookups();
+  }
+
+  @Override
+  public long hits() {
+    return counters == null ? 0 : counters.hits();
+  }
+
+  @Override
+  public long misses() {
+    // Reads the hits first, so that concurrent lookups cannot make misses negative
+    long hits = hits();
+    return Math.max(0, lookups() - hits);
+  }
+
+  @Override
+  public long matchedValues() {
+    return counters == null ? 0 : counters.matchedValues();
+  }
+
+  @Override
+  public long puts() {
+    return counters == null ? 0 : counters.puts();
+  }
+
+  @Override
+  public long removals() {
+    return counters == null ? 0 : counters.removals();
+  }
+
+  @Override
+  public long replacements() {
+    return counters == null ? 0 : counters.replacements();
+  }
+
+  @Override
+  public long slotWrites() {
+    return counters == null ? 0 : counters.slotWrites();
+  }
+
+  @Override
+  public int slots() {
+    return census().slots;
+  }
+
+  @Override
+  public int largestSlot() {
+    return census().largestSlot;
+  }
+
+  @Override
+  public int stripedSlots() {
+    return census().stripedSlots;
+  }
+
+  @Override
+  public long estimatedHeapBytes() {
+    Census census = census();
+    return SLOT_BYTES * census.slots
+        + STRIPE_BYTES * Slot.STRIPE_COUNT * census.stripedSlots
+        + REFERENCE_BYTES * census.values;
+  }
+
+  @Override
+  public CacheStats keySubsetsCacheStats() {
+    return keySubsetsCacheStats.get();
+  }
+
+  private Census census() {
+    Census census = new Census();
+    storage.get().forEachSlot(census);
+    return census;
+  }
+
+  /** The census of the slots of a storage. */
+  private static final class Census implements Consumer<Slot> {
+    private int slots;
+
+    private int stripedSlots;
+
+    private int largestSlot;
+
+    private long values;
+
+    @Override
+    public void accept(Slot slot) {
+      int size = slot.size();
+      slots++;
+      stripedSlots += slot.isStriped() ? 1 : 0;
+      largestSlot = Math.max(largestSlot, size);
+      values += size;
+    }
+  }
+}
@@ -0,0 +1,165 @@
+package net.artemislab.algorithms.maps;
+
+import static net.artemislab.algorithms.maps.MappedWildcardMap.INT;
+import static net.artemislab.algorithms.maps.MappedWildcardMap.LONG;
+
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The {@code MappedDictionary} class represents a read-only dictionary mapping the values of a
+ * single key component to {@code int} ids, stored in a memory segment.
+ *
+ * <p>The section holds the open-addressing table of a {@link FrozenDictionary} as is: it starts
+ * with the capacity of the table, followed by its buckets and by a pool of keys. Each bucket is
+ * made of the hash code of its key, the id of its key, 0 marking an empty bucket, and the offset of
+ * its key in the pool. Each key of the pool is stored as its length followed by its UTF-8 bytes.
+ *
+ * <p>Since buckets keep the hash codes of their keys, a lookup only compares the bytes of the keys
+ * whose hash code matches. Keys made of ASCII characters are compared without encoding them.
+ */
+final class MappedDictionary {
+  private static final int HEADER_BYTES = 8;
+
+  private static final int BUCKET_BYTES = 16;
+
+  private static final int ID_OFFSET = 4;
+
+  private static final int KEY_OFFSET = 8;
+
+  private static final int ASCII_LIMIT = 0x80;
+
+  private final MemorySegment buckets;
+
+  private final MemorySegment pool;
+
+  private final int mask;
+
+  private final int shift;
+
+  private MappedDictionary(MemorySegment buckets, MemorySegment pool, int capacity) {
+    this.buckets = buckets;
+    this.pool = pool;
+    this.mask = capacity - 1;
+    this.shift = Integer.numberOfLeadingZeros(capacity - 1);
+  }
+
+  /**
+   * Returns the number of bytes taken by the given dictionary once written.
+   *
+   * @param dictionary the dictionary to write.
+   * @return the number of bytes taken by the dictionary.
+   */
+  static long byteSize(FrozenDictionary dictionary) {
+    String[] keys = dictionary.keys();
+    long size = HEADER_BYTES + (long) BUCKET_BYTES * keys.length;
+    for (String key : keys) {
+      if (key != null) {
+        size += Integer.BYTES + key.getBytes(StandardCharsets.UTF_8).length;
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Writes the given dictionary to the given section.
+   *
+   * @param dictionary the dictionary to write.
+   * @param section the section to write to, at least {@link #byteSize(FrozenDictionary)} bytes
+   *     long.
+   */
+  static void write(FrozenDictionary dictionary, MemorySegment section) {
+    String[] keys = dictionary.keys();
+    int[] ids = dictionary.ids();
+    section.set(INT, 0, keys.length);
+    long pool = HEADER_BYTES + (long) BUCKET_BYTES * keys.length;
+    long offset = 0;
+    for (int i = 0; i < keys.length; i++) {
+      if (keys[i] != null) {
+        long bucket = HEADER_BYTES + (long) BUCKET_BYTES * i;
+        byte[] bytes = keys[i].getBytes(StandardCharsets.UTF_8);
+        section.set(INT, bucket, keys[i].hashCode());
+        section.set(INT, bucket + ID_OFFSET, ids[i]);
+        section.set(LONG, bucket + KEY_OFFSET, offset);
+        section.set(INT, pool + offset, bytes.length);
+        MemorySegment.copy(
+            bytes, 0, section, ValueLayout.JAVA_BYTE, pool + offset + Integer.BYTES, bytes.length);
+        offset += Integer.BYTES + bytes.length;
+      }
+    }
+  }
+
+  /**
+   * Reads the dictionary stored in the given section, without copying it.
+   *
+   * @param section the section holding the dictionary.
+   * @return the dictionary stored in the section.
+   * @throws IOException if the header of the section is corrupted.
+   */
+  static MappedDictionary read(MemorySegment section) throws IOException {
+    int capacity = section.get(INT, 0);
+    MappedWildcardMap.checkCapacity("dictionary", capacity);
+    long pool = HEADER_BYTES + (long) BUCKET_BYTES * capacity;
+    if (pool > section.byteSize()) {
+      throw new IOException("The dictionary section must hold its " + capacity + " buckets.");
+    }
+    return new MappedDictionary(
+        section.asSlice(HEADER_BYTES, pool - HEADER_BYTES), section.asSlice(pool), capacity);
+  }
+
+  /**
+   * Returns the id of the given key.
+   *
+   * @param key the key to look up.
+   * @return the id of the key, or {@link FrozenDictionary#NOT_FOUND} if the key is not in the
+   *     dictionary.
+   */
+  int find(String key) {
+    int hash = key.hashCode();
+    int i = FrozenDictionary.indexOf(hash, shift);
+    // A written table always has an empty bucket, unlike a corrupted one, which is probed once
+    for (int probes = 0; probes <= mask; probes++) {
+      long bucket = (long) BUCKET_BYTES * i;
+      int id = buckets.get(INT, bucket + ID_OFFSET);
+      if (id == 0) {
+        return FrozenDictionary.NOT_FOUND;
+      }
+      if (buckets.get(INT, bucket) == hash
+          && matches(buckets.get(LONG, bucket + KEY_OFFSET), key)) {
+        return id;
+      }
+      i = (i + 1) & mask;
+    }
+    return FrozenDictionary.NOT_FOUND;
+  }
+
+  private boolean matches(long offset, String key) {
+    int length = pool.get(INT, offset);
+    long start = offset + Integer.BYTES;
+    if (length == key.length()) {
+      // ASCII characters are encoded as a single byte of the same value
+      int i = 0;
+      while (i < length && key.charAt(i) < ASCII_LIMIT) {
+        if (pool.get(ValueLayout.JAVA_BYTE, start + i) != key.charAt(i)) {
+          return false;
+        }
+        i++;
+      }
+      if (i == length) {
+        return true;
+      }
+    }
+    byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+    if (bytes.length != length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (pool.get(ValueLayout.JAVA_BYTE, start + i) != bytes[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
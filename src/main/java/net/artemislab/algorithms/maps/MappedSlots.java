@@ -0,0 +1,176 @@
+package net.artemislab.algorithms.maps;
+
+import static net.artemislab.algorithms.maps.MappedWildcardMap.INT;
+import static net.artemislab.algorithms.maps.MappedWildcardMap.LONG;
+
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The {@code MappedSlots} class represents a read-only table of the slots of a {@link
+ * MappedWildcardMap} for a single subset of key components, stored in a memory segment.
+ *
+ * <p>The section holds the open-addressing table of a {@link FrozenSlots} as is: it starts with the
+ * capacity of the table and the number of values, followed by the keys, the start indexes and the
+ * end indexes of the slots, indexed by bucket, and by the ids of the values of all slots. Ids are
+ * translated to values through a {@link MappedValues} dictionary shared by all slots of a map.
+ */
+final class MappedSlots {
+  private static final int HEADER_BYTES = 8;
+
+  private final MemorySegment keys;
+
+  private final MemorySegment starts;
+
+  /** The end indexes of the value ranges of the slots, where 0 marks an empty bucket. */
+  private final MemorySegment ends;
+
+  private final MemorySegment valueIds;
+
+  private final MappedValues dictionary;
+
+  private final int mask;
+
+  private final int shift;
+
+  private MappedSlots(
+      MemorySegment keys,
+      MemorySegment starts,
+      MemorySegment ends,
+      MemorySegment valueIds,
+      MappedValues dictionary,
+      int capacity) {
+    this.keys = keys;
+    this.starts = starts;
+    this.ends = ends;
+    this.valueIds = valueIds;
+    this.dictionary = dictionary;
+    this.mask = capacity - 1;
+    this.shift = Long.numberOfLeadingZeros(capacity - 1L);
+  }
+
+  /**
+   * Returns the number of bytes taken by the given slots once written.
+   *
+   * @param slots the slots to write.
+   * @return the number of bytes taken by the slots.
+   */
+  static long byteSize(FrozenSlots slots) {
+    return HEADER_BYTES
+        + (long) (Long.BYTES + 2 * Integer.BYTES) * slots.keys().length
+        + (long) Integer.BYTES * slots.valueIds().length;
+  }
+
+  /**
+   * Writes the given slots to the given section.
+   *
+   * @param slots the slots to write.
+   * @param section the section to write to, at least {@link #byteSize(FrozenSlots)} bytes long.
+   */
+  static void write(FrozenSlots slots, MemorySegment section) {
+    section.set(INT, 0, slots.keys().length);
+    section.set(INT, Integer.BYTES, slots.valueIds().length);
+    long offset = HEADER_BYTES;
+    for (long key : slots.keys()) {
+      section.set(LONG, offset, key);
+      offset += Long.BYTES;
+    }
+    for (int start : slots.starts()) {
+      section.set(INT, offset, start);
+      offset += Integer.BYTES;
+    }
+    for (int end : slots.ends()) {
+      section.set(INT, offset, end);
+      offset += Integer.BYTES;
+    }
+    for (int valueId : slots.valueIds()) {
+      section.set(INT, offset, valueId);
+      offset += Integer.BYTES;
+    }
+  }
+
+  /**
+   * Reads the slots stored in the given section, without copying them.
+   *
+   * @param section the section holding the slots.
+   * @param dictionary the values indexed by their ids, shared with the caller.
+   * @return the slots stored in the section.
+   * @throws IOException if the header of the section is corrupted.
+   */
+  static MappedSlots read(MemorySegment section, MappedValues dictionary) throws IOException {
+    int capacity = section.get(INT, 0);
+    MappedWildcardMap.checkCapacity("slots", capacity);
+    int count = section.get(INT, Integer.BYTES);
+    long keys = HEADER_BYTES;
+    long starts = keys + (long) Long.BYTES * capacity;
+    long ends = starts + (long) Integer.BYTES * capacity;
+    long valueIds = ends + (long) Integer.BYTES * capacity;
+    if (count < 0 || valueIds + (long) Integer.BYTES * count > section.byteSize()) {
+      throw new IOException(
+          "The slots section must hold its " + capacity + " buckets and " + count + " values.");
+    }
+    return new MappedSlots(
+        section.asSlice(keys, starts - keys),
+        section.asSlice(starts, ends - starts),
+        section.asSlice(ends, valueIds - ends),
+        section.asSlice(valueIds, (long) Integer.BYTES * count),
+        dictionary,
+        capacity);
+  }
+
+  /**
+   * Returns the values of the slot with the given key.
+   *
+   * @param key the packed key of the slot.
+   * @return the immutable list of values of the slot, which remains valid once the map is closed,
+   *     or {@code null} if there is no slot with the given key.
+   */
+  List<String> get(long key) {
+    int bucket = find(key);
+    if (bucket < 0) {
+      return null;
+    }
+    int start = starts.getAtIndex(INT, bucket);
+    String[] values = new String[ends.getAtIndex(INT, bucket) - start];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = dictionary.get(valueIds.getAtIndex(INT, start + i));
+    }
+    return Collections.unmodifiableList(Arrays.asList(values));
+  }
+
+  /**
+   * Adds the values of the slot with the given key to the given collection.
+   *
+   * @param key the packed key of the slot.
+   * @param target the collection to add the values to.
+   * @return the number of values added.
+   */
+  int copyTo(long key, Collection<? super String> target) {
+    int bucket = find(key);
+    if (bucket < 0) {
+      return 0;
+    }
+    int start = starts.getAtIndex(INT, bucket);
+    int end = ends.getAtIndex(INT, bucket);
+    for (int i = start; i < end; i++) {
+      target.add(dictionary.get(valueIds.getAtIndex(INT, i)));
+    }
+    return end - start;
+  }
+
+  private int find(long key) {
+    int bucket = FrozenSlots.indexOf(key, shift);
+    // A written table always has an empty bucket, unlike a corrupted one, which is probed once
+    for (int probes = 0; probes <= mask && ends.getAtIndex(INT, bucket) != 0; probes++) {
+      if (keys.getAtIndex(LONG, bucket) == key) {
+        return bucket;
+      }
+      bucket = (bucket + 1) & mask;
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,143 @@
+package net.artemislab.algorithms.maps;
+
+import static net.artemislab.algorithms.maps.MappedWildcardMap.INT;
+import static net.artemislab.algorithms.maps.MappedWildcardMap.LONG;
+
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The {@code MappedValues} class represents a read-only value dictionary stored in a memory
+ * segment, mapping {@code int} ids to values.
+ *
+ * <p>The section starts with the number of values, followed by a table of {@code long} end offsets
+ * indexed by id and by the UTF-8 bytes of all values, back to back in id order. The value with id
+ * {@code i} spans the bytes between the end offsets {@code i - 1} and {@code i}, where the end
+ * offset 0 is always 0.
+ *
+ * <p>Values are decoded when they are read, and cached in a direct-mapped cache of at most {@value
+ * #CACHE_SIZE} values indexed by the low bits of their ids, which keeps the last value decoded in
+ * each bucket. The heap used by the dictionary is thus bounded whatever the number of values. The
+ * cache is filled without synchronization, which is safe since its entries are immutable: threads
+ * racing on a bucket cache one of their values, each of which is complete.
+ */
+final class MappedValues {
+  /** The maximum number of decoded values cached, a power of two. */
+  static final int CACHE_SIZE = 1 << 12;
+
+  private static final int HEADER_BYTES = 8;
+
+  private final MemorySegment ends;
+
+  private final MemorySegment pool;
+
+  private final int count;
+
+  /** The last value decoded for each bucket of ids, a power of two long. */
+  private final Decoded[] cache;
+
+  private MappedValues(MemorySegment ends, MemorySegment pool, int count) {
+    this.ends = ends;
+    this.pool = pool;
+    this.count = count;
+    int cached = Math.min(count, CACHE_SIZE);
+    this.cache = new Decoded[Integer.highestOneBit(Math.max(1, 2 * cached - 1))];
+  }
+
+  /**
+   * Returns the number of bytes taken by the given values once written.
+   *
+   * @param values the values indexed by their ids, starting from 1.
+   * @return the number of bytes taken by the values.
+   */
+  static long byteSize(String[] values) {
+    long size = HEADER_BYTES + (long) Long.BYTES * values.length;
+    for (int id = 1; id < values.length; id++) {
+      size += values[id].getBytes(StandardCharsets.UTF_8).length;
+    }
+    return size;
+  }
+
+  /**
+   * Writes the given values to the given section.
+   *
+   * @param values the values indexed by their ids, starting from 1.
+   * @param section the section to write to, at least {@link #byteSize(String[])} bytes long.
+   */
+  static void write(String[] values, MemorySegment section) {
+    section.set(INT, 0, values.length - 1);
+    long pool = HEADER_BYTES + (long) Long.BYTES * values.length;
+    long end = 0;
+    section.set(LONG, HEADER_BYTES, end);
+    for (int id = 1; id < values.length; id++) {
+      byte[] bytes = values[id].getBytes(StandardCharsets.UTF_8);
+      MemorySegment.copy(bytes, 0, section, ValueLayout.JAVA_BYTE, pool + end, bytes.length);
+      end += bytes.length;
+      section.set(LONG, HEADER_BYTES + (long) Long.BYTES * id, end);
+    }
+  }
+
+  /**
+   * Reads the values stored in the given section, without copying them.
+   *
+   * @param section the section holding the values.
+   * @return the values stored in the section.
+   * @throws IOException if the header of the section is corrupted.
+   */
+  static MappedValues read(MemorySegment section) throws IOException {
+    int count = section.get(INT, 0);
+    long pool = HEADER_BYTES + Long.BYTES * (count + 1L);
+    if (count < 0
+        || pool > section.byteSize()
+        || section.get(LONG, HEADER_BYTES) != 0
+        || section.get(LONG, pool - Long.BYTES) > section.byteSize() - pool) {
+      throw new IOException("The values section must hold its " + count + " values.");
+    }
+    return new MappedValues(
+        section.asSlice(HEADER_BYTES, pool - HEADER_BYTES), section.asSlice(pool), count);
+  }
+
+  /**
+   * Returns the value with the given id.
+   *
+   * @param id the id of the value, starting from 1.
+   * @return the value with the given id.
+   */
+  String get(int id) {
+    int bucket = id & (cache.length - 1);
+    Decoded cached = cache[bucket];
+    if (cached != null && cached.id() == id) {
+      return cached.value();
+    }
+    String value = decode(id);
+    cache[bucket] = new Decoded(id, value);
+    return value;
+  }
+
+  /**
+   * Returns the number of values.
+   *
+   * @return the number of values.
+   */
+  int size() {
+    return count;
+  }
+
+  private String decode(int id) {
+    long start = ends.get(LONG, (long) Long.BYTES * (id - 1));
+    int length = (int) (ends.get(LONG, (long) Long.BYTES * id) - start);
+    byte[] bytes = new byte[length];
+    MemorySegment.copy(pool, ValueLayout.JAVA_BYTE, start, bytes, 0, length);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * The {@code Decoded} record represents a decoded value cached with its id.
+   *
+   * @param id the id of the value.
+   * @param value the decoded value.
+   */
+  private record Decoded(int id, String value) {}
+}
@@ -0,0 +1,413 @@
+package net.artemislab.algorithms.maps;
+
+import static net.artemislab.algorithms.maps.WildcardMap.trimToNull;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The {@code MappedWildcardMap} class represents a read-only map that supports wildcard queries on
+ * composite keys, backed by a snapshot file mapped in memory.
+ *
+ * <p>Snapshots of a {@link FrozenWildcardMap} are written with {@link #write(FrozenWildcardMap,
+ * Path)} and reopened with {@link #open(Path)}, which maps the file without reading its content:
+ * opening a snapshot takes constant time whatever its size, and its content lives off-heap, where
+ * the garbage collector does not scan it. Pages are loaded by the operating system as lookups touch
+ * them, and shared between the processes mapping the same file.
+ *
+ * <p>A snapshot stores the tables of a {@link FrozenWildcardMap} as is, in little-endian byte
+ * order: a header, followed by a section per key component dictionary, a section per subset of key
+ * components holding its slots and the ids of their values, and a section holding the value
+ * dictionary. Strings are stored in UTF-8. Values are decoded when they are read, and the ones read
+ * last are cached in a bounded cache on heap, while keys are compared in place. Lookups otherwise
+ * behave exactly like the lookups of the written map.
+ *
+ * <p>Opening a snapshot checks its header and the header of each of its sections, so that a
+ * truncated or corrupted file fails to open with an {@link IOException}. The content of the tables
+ * is not checked, which would take time proportional to the size of the snapshot.
+ *
+ * <p>This implementation is thread-safe. Lookups never lock. Once the map is {@link #close()
+ * closed}, the file is unmapped and lookups throw an {@link IllegalStateException}, while the lists
+ * of values returned earlier remain valid. The file must not be modified while it is mapped.
+ */
+public final class MappedWildcardMap implements AutoCloseable {
+  /** The layout of the {@code int} values of snapshots. */
+  static final ValueLayout.OfInt INT =
+      ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+  /** The layout of the {@code long} values of snapshots. */
+  static final ValueLayout.OfLong LONG =
+      ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+  /** The first four bytes of snapshots, "WCMS" in ASCII. */
+  static final int MAGIC = 0x534D4357;
+
+  /** The version of the format of snapshots. */
+  static final int FORMAT_VERSION = 1;
+
+  private static final int COMPONENTS = 3;
+
+  private static final int SUBSETS = 1 << COMPONENTS;
+
+  /** The number of sections: the key component dictionaries, the slots and the values. */
+  private static final int SECTIONS = COMPONENTS + SUBSETS + 1;
+
+  private static final int VALUES_SECTION = SECTIONS - 1;
+
+  /**
+   * The size of the header: the magic number, the format version, the number of entries, a padding
+   * and the offsets of the sections followed by the size of the file.
+   */
+  private static final long HEADER_BYTES = 4L * Integer.BYTES + (SECTIONS + 1L) * Long.BYTES;
+
+  /** The size of the header of each section, holding its capacity or its number of values. */
+  private static final long SECTION_HEADER_BYTES = 8;
+
+  private final Arena arena;
+
+  private final MappedDictionary[] dictionaries;
+
+  /** The slots of each subset of key components, indexed like {@link EncodedSlotStorage}. */
+  private final MappedSlots[] slots;
+
+  private final int distinctValues;
+
+  private final int size;
+
+  private MappedWildcardMap(
+      Arena arena,
+      MappedDictionary[] dictionaries,
+      MappedSlots[] slots,
+      int distinctValues,
+      int size) {
+    this.arena = arena;
+    this.dictionaries = dictionaries;
+    this.slots = slots;
+    this.distinctValues = distinctValues;
+    this.size = size;
+  }
+
+  /**
+   * Opens the snapshot stored in the given file, mapping it in memory.
+   *
+   * @param file the file holding the snapshot.
+   * @return the map of the snapshot, to close once it is no longer used.
+   * @throws NullPointerException if {@code file} is {@code null}.
+   * @throws IOException if an I/O error occurs, the file does not hold a snapshot of a supported
+   *     format version, or the headers of the snapshot are truncated or corrupted.
+   */
+  public static MappedWildcardMap open(Path file) throws IOException {
+    Objects.requireNonNull(file, "The file must not be null.");
+    Arena arena = Arena.ofShared();
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      MemorySegment segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+      return read(arena, segment, file);
+    } catch (IOException | RuntimeException e) {
+      arena.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Writes a snapshot of the given map to the given file, to be reopened with {@link #open(Path)}.
+   *
+   * <p>The snapshot is written to a temporary file in the same directory first, and then moved to
+   * the given file, replacing it if it exists. Readers of the given file therefore never see a
+   * partially written snapshot.
+   *
+   * @param map the map to write.
+   * @param file the file to write the snapshot to.
+   * @throws NullPointerException if {@code map} or {@code file} is {@code null}.
+   * @throws IOException if an I/O error occurs.
+   */
+  public static void write(FrozenWildcardMap map, Path file) throws IOException {
+    Objects.requireNonNull(map, "The map must not be null.");
+    Objects.requireNonNull(file, "The file must not be null.");
+    Path directory = file.toAbsolutePath().getParent();
+    if (directory == null) {
+      throw new IOException("The file \"" + file + "\" must not be a root directory.");
+    }
+    long[] offsets = new long[SECTIONS + 1];
+    offsets[0] = HEADER_BYTES;
+    for (int i = 0; i < SECTIONS; i++) {
+      long sectionSize;
+      if (i < COMPONENTS) {
+        sectionSize = MappedDictionary.byteSize(map.dictionary(i));
+      } else if (i < VALUES_SECTION) {
+        sectionSize = MappedSlots.byteSize(map.slots(i - COMPONENTS));
+      } else {
+        sectionSize = MappedValues.byteSize(map.values());
+      }
+      // Sections start on 8-byte boundaries
+      offsets[i + 1] = (offsets[i] + sectionSize + Long.BYTES - 1) & -Long.BYTES;
+    }
+
+    Path temp = Files.createTempFile(directory, ".snapshot", ".tmp");
+    try {
+      try (FileChannel channel =
+              FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE);
+          Arena arena = Arena.ofConfined()) {
+        MemorySegment segment =
+            channel.map(FileChannel.MapMode.READ_WRITE, 0, offsets[SECTIONS], arena);
+        segment.set(INT, 0, MAGIC);
+        segment.set(INT, Integer.BYTES, FORMAT_VERSION);
+        segment.set(INT, 2L * Integer.BYTES, map.size());
+        for (int i = 0; i <= SECTIONS; i++) {
+          segment.set(LONG, 4L * Integer.BYTES + (long) Long.BYTES * i, offsets[i]);
+        }
+        for (int i = 0; i < SECTIONS; i++) {
+          MemorySegment section = segment.asSlice(offsets[i], offsets[i + 1] - offsets[i]);
+          if (i < COMPONENTS) {
+            MappedDictionary.write(map.dictionary(i), section);
+          } else if (i < VALUES_SECTION) {
+            MappedSlots.write(map.slots(i - COMPONENTS), section);
+          } else {
+            MappedValues.write(map.values(), section);
+          }
+        }
+        segment.force();
+      }
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(temp);
+      throw e;
+    }
+  }
+
+  /**
+   * Retrieves a list of values matching the given key components, like {@link
+   * FrozenWildcardMap#get(String, String, String)}.
+   *
+   * @param key1 the first key component. May be null, empty or blank (wildcard).
+   * @param key2 the second key component. May be null, empty or blank (wildcard).
+   * @param key3 the third key component. May be null, empty or blank (wildcard).
+   * @return the immutable list of values matching the given key components, or an empty list if
+   *     none found.
+   * @throws IllegalStateException if this map is closed.
+   */
+  public List<String> get(String key1, String key2, String key3) {
+    String trimmedKey1 = trimToNull(key1);
+    String trimmedKey2 = trimToNull(key2);
+    String trimmedKey3 = trimToNull(key3);
+    long key = find(trimmedKey1, trimmedKey2, trimmedKey3);
+    List<String> values =
+        key < 0 ? null : slots[MatchOrder.subsetOf(trimmedKey1, trimmedKey2, trimmedKey3)].get(key);
+    return values == null ? List.of() : values;
+  }
+
+  /**
+   * Adds the values matching the given key components to the given collection, like {@link
+   * FrozenWildcardMap#get(String, String, String, Collection)}.
+   *
+   * @param key1 the first key component. May be null, empty or blank (wildcard).
+   * @param key2 the second key component. May be null, empty or blank (wildcard).
+   * @param key3 the third key component. May be null, empty or blank (wildcard).
+   * @param buffer the collection to add the values to.
+   * @return the number of values added to the collection.
+   * @throws NullPointerException if {@code buffer} is {@code null}.
+   * @throws IllegalStateException if this map is closed.
+   */
+  public int get(String key1, String key2, String key3, Collection<? super String> buffer) {
+    Objects.requireNonNull(buffer, "The buffer must not be null.");
+    String trimmedKey1 = trimToNull(key1);
+    String trimmedKey2 = trimToNull(key2);
+    String trimmedKey3 = trimToNull(key3);
+    long key = find(trimmedKey1, trimmedKey2, trimmedKey3);
+    return key < 0
+        ? 0
+        : slots[MatchOrder.subsetOf(trimmedKey1, trimmedKey2, trimmedKey3)].copyTo(key, buffer);
+  }
+
+  /**
+   * Retrieves the values of the most specific combination of the given key components matching any
+   * value, probing the combinations in the {@link MatchOrder#MOST_SPECIFIC_FIRST} order.
+   *
+   * @param key1 the first key component. May be null, empty or blank (wildcard).
+   * @param key2 the second key component. May be null, empty or blank (wildcard).
+   * @param key3 the third key component. May be null, empty or blank (wildcard).
+   * @return the immutable list of values of the best match, or an empty list if none found.
+   * @throws IllegalStateException if this map is closed.
+   * @see #getBestMatch(String, String, String, MatchOrder)
+   */
+  public List<String> getBestMatch(String key1, String key2, String key3) {
+    return getBestMatch(key1, key2, key3, MatchOrder.MOST_SPECIFIC_FIRST);
+  }
+
+  /**
+   * Retrieves the values of the first combination of the given key components, in the given match
+   * order, matching any value, like {@link FrozenWildcardMap#getBestMatch(String, String, String,
+   * MatchOrder)}.
+   *
+   * @param key1 the first key component. May be null, empty or blank (wildcard).
+   * @param key2 the second key component. May be null, empty or blank (wildcard).
+   * @param key3 the third key component. May be null, empty or blank (wildcard).
+   * @param order the order in which the combinations of key components are probed.
+   * @return the immutable list of values of the best match, or an empty list if none found.
+   * @throws NullPointerException if {@code order} is {@code null}.
+   * @throws IllegalStateException if this map is closed.
+   */
+  public List<String> getBestMatch(String key1, String key2, String key3, MatchOrder order) {
+    Objects.requireNonNull(order, "The match order must not be null.");
+    String trimmedKey1 = trimToNull(key1);
+    String trimmedKey2 = trimToNull(key2);
+    String trimmedKey3 = trimToNull(key3);
+    int id1 = idOf(0, trimmedKey1);
+    int id2 = idOf(1, trimmedKey2);
+    int id3 = idOf(2, trimmedKey3);
+    long key = EncodedSlotStorage.pack(Math.max(id1, 0), Math.max(id2, 0), Math.max(id3, 0));
+    int unknown =
+        (id1 == FrozenDictionary.NOT_FOUND ? 4 : 0)
+            | (id2 == FrozenDictionary.NOT_FOUND ? 2 : 0)
+            | (id3 == FrozenDictionary.NOT_FOUND ? 1 : 0);
+    int present = MatchOrder.subsetOf(trimmedKey1, trimmedKey2, trimmedKey3);
+    int probed = 0;
+    for (int subset : order.subsets()) {
+      int effective = subset & present;
+      if ((effective & unknown) == 0 && (probed & (1 << effective)) == 0) {
+        probed |= 1 << effective;
+        List<String> values = slots[effective].get(key & EncodedSlotStorage.subsetMask(effective));
+        if (values != null) {
+          return values;
+        }
+      }
+    }
+    return List.of();
+  }
+
+  /**
+   * Returns the number of entries in this map.
+   *
+   * @return the number of entries in this map.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the number of distinct values in this map, each of which is stored once.
+   *
+   * @return the number of distinct values in this map.
+   */
+  public int distinctValues() {
+    return distinctValues;
+  }
+
+  /**
+   * Returns {@code true} if this map contains no entries.
+   *
+   * @return {@code true} if this map contains no entries.
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Unmaps the file of this map. Closing a closed map has no effect.
+   *
+   * <p>Lookups in progress in other threads when the map is closed fail with an {@link
+   * IllegalStateException}, like the lookups started after the map is closed.
+   */
+  @Override
+  public synchronized void close() {
+    if (arena.scope().isAlive()) {
+      arena.close();
+    }
+  }
+
+  private static MappedWildcardMap read(Arena arena, MemorySegment segment, Path file)
+      throws IOException {
+    if (segment.byteSize() < HEADER_BYTES || segment.get(INT, 0) != MAGIC) {
+      throw new IOException("The file \"" + file + "\" must hold a wildcard map snapshot.");
+    }
+    int version = segment.get(INT, Integer.BYTES);
+    if (version != FORMAT_VERSION) {
+      throw new IOException(
+          "The snapshot format version must be " + FORMAT_VERSION + ", but was " + version + ".");
+    }
+    long[] offsets = new long[SECTIONS + 1];
+    for (int i = 0; i <= SECTIONS; i++) {
+      offsets[i] = segment.get(LONG, 4L * Integer.BYTES + (long) Long.BYTES * i);
+      if (offsets[i] < (i == 0 ? HEADER_BYTES : offsets[i - 1] + SECTION_HEADER_BYTES)) {
+        throw new IOException("The snapshot \"" + file + "\" must not be corrupted.");
+      }
+    }
+    if (offsets[SECTIONS] != segment.byteSize()) {
+      throw new IOException("The snapshot \"" + file + "\" must not be truncated.");
+    }
+    int size = segment.get(INT, 2L * Integer.BYTES);
+    if (size < 0) {
+      throw new IOException("The snapshot \"" + file + "\" must not be corrupted.");
+    }
+
+    MappedDictionary[] dictionaries = new MappedDictionary[COMPONENTS];
+    MappedSlots[] slots = new MappedSlots[SUBSETS];
+    MappedValues values;
+    try {
+      values =
+          MappedValues.read(
+              segment.asSlice(
+                  offsets[VALUES_SECTION], offsets[SECTIONS] - offsets[VALUES_SECTION]));
+      for (int i = 0; i < VALUES_SECTION; i++) {
+        MemorySegment section = segment.asSlice(offsets[i], offsets[i + 1] - offsets[i]);
+        if (i < COMPONENTS) {
+          dictionaries[i] = MappedDictionary.read(section);
+        } else {
+          slots[i - COMPONENTS] = MappedSlots.read(section, values);
+        }
+      }
+    } catch (IOException e) {
+      throw new IOException("The snapshot \"" + file + "\" must not be corrupted.", e);
+    }
+    return new MappedWildcardMap(arena, dictionaries, slots, values.size(), size);
+  }
+
+  /**
+   * Checks that the given capacity of an open-addressing table of a snapshot is a power of two of
+   * at least 2, like the capacities of the tables of a {@link FrozenWildcardMap}.
+   *
+   * @param table the name of the table, for the message of the exception.
+   * @param capacity the capacity of the table.
+   * @throws IOException if the capacity is not a power of two of at least 2.
+   */
+  static void checkCapacity(String table, int capacity) throws IOException {
+    if (capacity < 2 || (capacity & (capacity - 1)) != 0) {
+      throw new IOException(
+          "The "
+              + table
+              + " capacity must be a power of two of at least 2, but was "
+              + capacity
+              + ".");
+    }
+  }
+
+  /**
+   * Returns the packed key of the given key components, where {@code null} stands for a wildcard,
+   * or -1 if a key component is not in its dictionary.
+   */
+  private long find(String key1, String key2, String key3) {
+    int id1 = idOf(0, key1);
+    int id2 = idOf(1, key2);
+    int id3 = idOf(2, key3);
+    if (id1 == FrozenDictionary.NOT_FOUND
+        || id2 == FrozenDictionary.NOT_FOUND
+        || id3 == FrozenDictionary.NOT_FOUND) {
+      return -1;
+    }
+    return EncodedSlotStorage.pack(id1, id2, id3);
+  }
+
+  private int idOf(int component, String key) {
+    return key == null ? 0 : dictionaries[component].find(key);
+  }
+}
@@ -0,0 +1,132 @@
+package net.artemislab.algorithms.maps;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The {@code MatchOrder} class represents the order in which the combinations of key components are
+ * probed to find the best match of a lookup, from the most to the least specific.
+ *
+ * <p>Each combination is described by a pattern of three characters, one per key component: the
+ * letter of the key component ({@code a}, {@code b} or {@code c}) if the given key component is
+ * used, or {@code *} if it is replaced by a wildcard. For example, {@code "ab*"} probes the first
+ * two key components with a wildcard for the third one.
+ *
+ * <p>Instances are immutable and thread-safe.
+ */
+public final class MatchOrder {
+  /**
+   * Probes the key components from the first one, dropping the last remaining key component at each
+   * step: {@code abc}, {@code ab*}, {@code a**}, {@code ***}.
+   */
+  public static final MatchOrder HIERARCHICAL = of("abc", "ab*", "a**", "***");
+
+  /**
+   * Probes all combinations by decreasing number of key components, earlier key components taking
+   * precedence: {@code abc}, {@code ab*}, {@code a*c}, {@code *bc}, {@code a**}, {@code *b*},
+   * {@code **c}, {@code ***}.
+   */
+  public static final MatchOrder MOST_SPECIFIC_FIRST =
+      of("abc", "ab*", "a*c", "*bc", "a**", "*b*", "**c", "***");
+
+  private static final String LETTERS = "abc";
+
+  private final String[] patterns;
+
+  /**
+   * The combinations of key components to probe, where bit {@code i} selects the {@code i}-th key
+   * component counting from the last one.
+   */
+  private final int[] subsets;
+
+  private MatchOrder(String[] patterns, int[] subsets) {
+    this.patterns = patterns;
+    this.subsets = subsets;
+  }
+
+  /**
+   * Creates a match order probing the combinations of key components described by the given
+   * patterns, in the given order.
+   *
+   * @param patterns the patterns of the combinations to probe, from the most to the least specific.
+   * @return the match order.
+   * @throws NullPointerException if {@code patterns} or any pattern is {@code null}.
+   * @throws IllegalArgumentException if no pattern is given, or a pattern is malformed or repeated.
+   */
+  public static MatchOrder of(String... patterns) {
+    Objects.requireNonNull(patterns, "The patterns must not be null.");
+    if (patterns.length == 0) {
+      throw new IllegalArgumentException("The patterns must not be empty.");
+    }
+    int[] subsets = new int[patterns.length];
+    int seen = 0;
+    for (int i = 0; i < patterns.length; i++) {
+      int subset = parse(Objects.requireNonNull(patterns[i], "The pattern must not be null."));
+      if ((seen & (1 << subset)) != 0) {
+        throw new IllegalArgumentException(
+            "The pattern \"" + patterns[i] + "\" must not be repeated.");
+      }
+      seen |= 1 << subset;
+      subsets[i] = subset;
+    }
+    return new MatchOrder(patterns.clone(), subsets);
+  }
+
+  /**
+   * Returns the patterns of the combinations of key components probed by this match order.
+   *
+   * @return the immutable list of patterns, from the most to the least specific.
+   */
+  public List<String> patterns() {
+    return List.of(patterns);
+  }
+
+  /**
+   * Returns the combinations of key components to probe, where bit {@code i} selects the {@code
+   * i}-th key component counting from the last one. The returned array must not be modified.
+   *
+   * @return the combinations of key components to probe.
+   */
+  int[] subsets() {
+    return subsets;
+  }
+
+  /**
+   * Returns the combination of the given key components that are not wildcards, where bit {@code i}
+   * selects the {@code i}-th key component counting from the last one.
+   *
+   * @param key1 the first key component, or {@code null} for a wildcard.
+   * @param key2 the second key component, or {@code null} for a wildcard.
+   * @param key3 the third key component, or {@code null} for a wildcard.
+   * @return the combination of the key components that are not wildcards.
+   */
+  static int subsetOf(String key1, String key2, String key3) {
+    return (key1 == null ? 0 : 4) | (key2 == null ? 0 : 2) | (key3 == null ? 0 : 1);
+  }
+
+  @Override
+  public String toString() {
+    return "MatchOrder" + Arrays.toString(patterns);
+  }
+
+  private static int parse(String pattern) {
+    int subset = 0;
+    boolean valid = pattern.length() == LETTERS.length();
+    for (int i = 0; valid && i < LETTERS.length(); i++) {
+      char c = pattern.charAt(i);
+      if (c == LETTERS.charAt(i)) {
+        subset |= 1 << (LETTERS.length() - 1 - i);
+      } else {
+        valid = c == '*';
+      }
+    }
+    if (!valid) {
+      throw new IllegalArgumentException(
+          "The pattern must be made of 'a' or '*', 'b' or '*', then 'c' or '*', but was \""
+              + pattern
+              + "\".");
+    }
+    return subset;
+  }
+}
@@ -0,0 +1,52 @@
+package net.artemislab.algorithms.maps;
+
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * The {@code SliceValues} class represents an immutable view of a range of an array of value ids,
+ * translated to values through a value dictionary as they are read. Neither array may be modified.
+ */
+final class SliceValues extends Values {
+  private final String[] dictionary;
+
+  private final int[] ids;
+
+  private final int from;
+
+  private final int to;
+
+  /**
+   * Creates a new instance of {@code SliceValues}.
+   *
+   * @param dictionary the values indexed by their ids.
+   * @param ids the array of value ids.
+   * @param from the index of the first value id of the range, inclusive.
+   * @param to the index of the last value id of the range, exclusive.
+   */
+  SliceValues(String[] dictionary, int[] ids, int from, int to) {
+    this.dictionary = dictionary;
+    this.ids = ids;
+    this.from = from;
+    this.to = to;
+  }
+
+  @Override
+  int copyTo(Collection<? super String> target) {
+    for (int i = from; i < to; i++) {
+      target.add(dictionary[ids[i]]);
+    }
+    return to - from;
+  }
+
+  @Override
+  public String get(int index) {
+    Objects.checkIndex(index, to - from);
+    return dictionary[ids[from + index]];
+  }
+
+  @Override
+  public int size() {
+    return to - from;
+  }
+}
@@ -0,0 +1,258 @@
+package net.artemislab.algorithms.maps;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.List;
+
+/**
+ * The {@code Slot} class represents a slot of a {@link WildcardMap}, holding the values of all
+ * entries matching one combination of key components.
+ *
+ * <p>This implementation is lock-free. The values are held in immutable {@link ArrayValues}
+ * snapshots, published with a compare-and-set: readers never lock and never copy, and appending a
+ * value is amortized O(1).
+ *
+ * <p>Once writers contend on a slot, the slot is striped: each writer thread then appends to one of
+ * several stripes selected by its thread id, so that writers of hot slots, like the one matching
+ * all entries, do not all contend on the same snapshot. The snapshot of a striped slot is the
+ * concatenation of the snapshots of its stripes, so that values added by different threads to a
+ * striped slot are grouped by stripe. Values added by the same thread are always kept in insertion
+ * order.
+ *
+ * <p>Values are removed and replaced by publishing new snapshots of the stripes holding them, with
+ * the same compare-and-set. A slot that is empty and not striped can be retired, after which no
+ * value can be added to it, so that its storage can reclaim it without losing concurrent additions.
+ */
+final class Slot {
+  private static final VarHandle VALUES;
+
+  static {
+    try {
+      VALUES = MethodHandles.lookup().findVarHandle(Stripe.class, "values", ArrayValues.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  /** The number of stripes of a striped slot, a power of two. */
+  static final int STRIPE_COUNT =
+      Integer.highestOneBit(Math.max(2, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+
+  private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+  /** The stripe holding the values added before the slot was striped. */
+  private final Stripe base = new Stripe();
+
+  /** The stripes of the slot, or {@code null} if the slot is not striped. */
+  private volatile List<Stripe> stripes;
+
+  /** The latest snapshot of a striped slot, reused while none of its stripes changed. */
+  private volatile StripedValues stripedValues;
+
+  /**
+   * Appends the given value to this slot.
+   *
+   * @param value the value to append.
+   * @return {@code true} if the value was appended, {@code false} if this slot is retired.
+   */
+  boolean add(String value) {
+    List<Stripe> current = stripes;
+    if (current == null) {
+      if (base.tryAdd(value)) {
+        return true;
+      }
+      current = stripe();
+      if (current == null) {
+        return false;
+      }
+    }
+    Stripe stripe = current.get(stripeIndex());
+    boolean added;
+    do {
+      // Retried only when another writer of the same stripe made progress
+      added = stripe.tryAdd(value);
+    } while (!added);
+    return true;
+  }
+
+  /**
+   * Removes the first occurrences of the given value from this slot.
+   *
+   * @param value the value to remove.
+   * @param count the maximum number of occurrences to remove.
+   * @return the number of occurrences removed.
+   */
+  int remove(String value, int count) {
+    return update(value, null, count);
+  }
+
+  /**
+   * Replaces the first occurrences of the given value in this slot, in place.
+   *
+   * @param value the value to replace.
+   * @param replacement the value replacing it.
+   * @param count the maximum number of occurrences to replace.
+   * @return the number of occurrences replaced.
+   */
+  int replace(String value, String replacement, int count) {
+    return update(value, replacement, count);
+  }
+
+  /**
+   * Retires this slot if it is empty and not striped, so that no value can be added to it anymore.
+   *
+   * @return {@code true} if this slot is retired.
+   */
+  synchronized boolean retire() {
+    if (stripes != null) {
+      return false;
+    }
+    ArrayValues current = base.values;
+    if (isRetired(current)) {
+      return true;
+    }
+    return current.isEmpty() && VALUES.compareAndSet(base, current, ArrayValues.RETIRED);
+  }
+
+  /**
+   * Returns the latest snapshot of the values of this slot.
+   *
+   * @return the latest snapshot of the values of this slot.
+   */
+  Values values() {
+    List<Stripe> current = stripes;
+    if (current == null) {
+      return base.values;
+    }
+
+    StripedValues cached = stripedValues;
+    if (cached != null && isSnapshotOf(cached, current)) {
+      return cached;
+    }
+
+    ArrayValues[] parts = new ArrayValues[current.size() + 1];
+    parts[0] = base.values;
+    for (int i = 0; i < current.size(); i++) {
+      parts[i + 1] = current.get(i).values;
+    }
+    StripedValues snapshot = new StripedValues(parts);
+    stripedValues = snapshot;
+    return snapshot;
+  }
+
+  /**
+   * Returns the number of values of this slot, without taking a snapshot of them.
+   *
+   * <p>The size of a striped slot is the sum of the sizes of its stripes, read one after the other.
+   *
+   * @return the number of values of this slot.
+   */
+  int size() {
+    List<Stripe> current = stripes;
+    int size = base.values.size();
+    if (current != null) {
+      for (Stripe stripe : current) {
+        size += stripe.values.size();
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Returns {@code true} if this slot is striped, after writers contended on it.
+   *
+   * @return {@code true} if this slot is striped.
+   */
+  boolean isStriped() {
+    return stripes != null;
+  }
+
+  /**
+   * Stripes this slot, as done on the first contention between writers. Along with {@link
+   * #retire()}, this is the only operation taking the lock of the slot, once in its lifetime.
+   *
+   * @return the stripes of this slot, or {@code null} if this slot is retired.
+   */
+  synchronized List<Stripe> stripe() {
+    List<Stripe> current = stripes;
+    if (current == null) {
+      if (isRetired(base.values)) {
+        return null;
+      }
+      Stripe[] created = new Stripe[STRIPE_COUNT];
+      for (int i = 0; i < created.length; i++) {
+        created[i] = new Stripe();
+      }
+      current = List.of(created);
+      stripes = current;
+    }
+    return current;
+  }
+
+  private int update(String value, String replacement, int count) {
+    int updated = update(base, value, replacement, count);
+    List<Stripe> current = stripes;
+    if (current != null) {
+      for (int i = 0; i < current.size() && updated < count; i++) {
+        updated += update(current.get(i), value, replacement, count - updated);
+      }
+    }
+    return updated;
+  }
+
+  private static int update(Stripe stripe, String value, String replacement, int count) {
+    while (true) {
+      ArrayValues current = stripe.values;
+      int occurrences = current.count(value, count);
+      if (occurrences == 0) {
+        return 0;
+      }
+      ArrayValues updated =
+          replacement == null
+              ? current.without(value, occurrences)
+              : current.replacing(value, replacement, occurrences);
+      if (VALUES.compareAndSet(stripe, current, updated)) {
+        return occurrences;
+      }
+    }
+  }
+
+  @SuppressWarnings("ReferenceEquality") // The retired snapshot is a sentinel
+  private static boolean isRetired(ArrayValues values) {
+    return values == ArrayValues.RETIRED;
+  }
+
+  private boolean isSnapshotOf(StripedValues snapshot, List<Stripe> current) {
+    if (!snapshot.hasPart(0, base.values)) {
+      return false;
+    }
+    for (int i = 0; i < current.size(); i++) {
+      if (!snapshot.hasPart(i + 1, current.get(i).values)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int stripeIndex() {
+    long hash = Thread.currentThread().threadId() * GOLDEN_RATIO;
+    return (int) (hash >>> Long.numberOfLeadingZeros(STRIPE_COUNT - 1));
+  }
+
+  /** A stripe of a slot, holding the latest snapshot of its values. */
+  static final class Stripe {
+    private volatile ArrayValues values = ArrayValues.EMPTY;
+
+    /**
+     * Attempts once to append the given value to this stripe.
+     *
+     * @param value the value to append.
+     * @return {@code true} if the value was appended, {@code false} if another writer updated the
+     *     stripe concurrently or the stripe is retired.
+     */
+    private boolean tryAdd(String value) {
+      ArrayValues current = values;
+      return !isRetired(current) && VALUES.compareAndSet(this, current, current.append(value));
+    }
+  }
+}
@@ -0,0 +1,178 @@
+package net.artemislab.algorithms.maps;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * The {@code SlotStorage} interface represents the storage backing a {@link WildcardMap}.
+ *
+ * <p>Each entry is stored in 2^n slots (where n=3 key components), one per combination of key
+ * components replaced by a wildcard. All arguments are expected to be already validated and trimmed
+ * by the caller, with {@code null} standing for a wildcard key component.
+ */
+interface SlotStorage {
+
+  /**
+   * Adds the given value to every slot of the given key components.
+   *
+   * @param key1 the first key component. Must not be null.
+   * @param key2 the second key component. Must not be null.
+   * @param key3 the third key component. Must not be null.
+   * @param value the value to store. Must not be null.
+   */
+  void add(String key1, String key2, String key3, String value);
+
+  /**
+   * Removes one occurrence of the given value from every slot of the given key components. Slots
+   * left empty are reclaimed.
+   *
+   * @param key1 the first key component. Must not be null.
+   * @param key2 the second key component. Must not be null.
+   * @param key3 the third key component. Must not be null.
+   * @param value the value to remove. Must not be null.
+   * @return {@code true} if the value was stored under the given key components.
+   */
+  boolean remove(String key1, String key2, String key3, String value);
+
+  /**
+   * Replaces one occurrence of the given value, in place, in every slot of the given key
+   * components.
+   *
+   * @param key1 the first key component. Must not be null.
+   * @param key2 the second key component. Must not be null.
+   * @param key3 the third key component. Must not be null.
+   * @param oldValue the value to replace. Must not be null.
+   * @param newValue the value replacing it. Must not be null.
+   * @return {@code true} if the old value was stored under the given key components.
+   */
+  boolean replace(String key1, String key2, String key3, String oldValue, String newValue);
+
+  /**
+   * Returns the latest snapshot of the values stored in the slot addressed by the given key
+   * components.
+   *
+   * @param key1 the first key component, or {@code null} for a wildcard.
+   * @param key2 the second key component, or {@code null} for a wildcard.
+   * @param key3 the third key component, or {@code null} for a wildcard.
+   * @return the snapshot of the values stored in the slot, or {@code null} if the slot does not
+   *     exist.
+   */
+  Values get(String key1, String key2, String key3);
+
+  /**
+   * Returns the number of values stored in the slot addressed by the given key components, without
+   * taking a snapshot of them.
+   *
+   * @param key1 the first key component, or {@code null} for a wildcard.
+   * @param key2 the second key component, or {@code null} for a wildcard.
+   * @param key3 the third key component, or {@code null} for a wildcard.
+   * @return the number of values stored in the slot, or 0 if the slot does not exist.
+   */
+  int count(String key1, String key2, String key3);
+
+  /**
+   * Returns the latest snapshots of the values stored in the slots addressed by the given queries.
+   *
+   * @param queries the key components of the slots, with {@code null} standing for a wildcard.
+   * @param parallel {@code true} to look up the slots in parallel.
+   * @return the snapshots of the values stored in the slots, aligned with the queries, with {@code
+   *     null} for slots that do not exist.
+   */
+  default Values[] getAll(WildcardMap.Query[] queries, boolean parallel) {
+    Values[] results = new Values[queries.length];
+    IntStream indexes = IntStream.range(0, queries.length);
+    (parallel ? indexes.parallel() : indexes)
+        .forEach(i -> results[i] = get(queries[i].key1(), queries[i].key2(), queries[i].key3()));
+    return results;
+  }
+
+  /**
+   * Returns the latest snapshot of the values stored in the first non-empty slot among the given
+   * combinations of the given key components.
+   *
+   * <p>A combination selecting a wildcard key component probes the same slot as the combination
+   * replacing it by a wildcard, which is only probed once.
+   *
+   * @param key1 the first key component, or {@code null} for a wildcard.
+   * @param key2 the second key component, or {@code null} for a wildcard.
+   * @param key3 the third key component, or {@code null} for a wildcard.
+   * @param subsets the combinations of key components to probe, in order, as returned by {@link
+   *     MatchOrder#subsets()}.
+   * @return the snapshot of the values stored in the first non-empty slot, or {@code null} if all
+   *     probed slots are empty.
+   */
+  default Values getBestMatch(String key1, String key2, String key3, int[] subsets) {
+    int present = MatchOrder.subsetOf(key1, key2, key3);
+    int probed = 0;
+    for (int subset : subsets) {
+      int effective = subset & present;
+      if ((probed & (1 << effective)) == 0) {
+        probed |= 1 << effective;
+        Values values =
+            get(
+                (effective & 4) == 0 ? null : key1,
+                (effective & 2) == 0 ? null : key2,
+                (effective & 1) == 0 ? null : key3);
+        if (values != null && !values.isEmpty()) {
+          return values;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Adds the values of the entries whose key components are within the given ranges to the given
+   * collection, grouped by the key components walked in sorted indexes, in the order of the key
+   * components.
+   *
+   * @param range1 the range of the first key component.
+   * @param range2 the range of the second key component.
+   * @param range3 the range of the third key component.
+   * @param target the collection to add the values to.
+   * @throws IllegalStateException if this storage does not keep sorted indexes of key components.
+   */
+  default void collect(
+      WildcardMap.KeyRange range1,
+      WildcardMap.KeyRange range2,
+      WildcardMap.KeyRange range3,
+      Collection<? super String> target) {
+    throw new IllegalStateException("The map must keep sorted keys to match key ranges.");
+  }
+
+  /**
+   * Performs the given action on each slot of this storage. Slots added or reclaimed concurrently
+   * may or may not be visited.
+   *
+   * @param action the action to perform on each slot.
+   */
+  void forEachSlot(Consumer<? super Slot> action);
+
+  /**
+   * Returns the number of slots updated by a write of an entry, be it a put, a removal or a
+   * replacement.
+   *
+   * @return the number of slots updated by a write of an entry.
+   */
+  int slotsPerWrite();
+
+  /**
+   * Returns the number of entries of this storage.
+   *
+   * @return the number of entries of this storage.
+   */
+  default int size() {
+    // The slot matching all entries holds one value per entry
+    return count(null, null, null);
+  }
+
+  /**
+   * Returns {@code true} if this storage contains no values.
+   *
+   * @return {@code true} if this storage contains no values.
+   */
+  default boolean isEmpty() {
+    return size() == 0;
+  }
+}
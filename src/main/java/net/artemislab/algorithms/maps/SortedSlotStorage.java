@@ -0,0 +1,179 @@
+package net.artemislab.algorithms.maps;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+/**
+ * The {@code SortedSlotStorage} class implements a {@link SlotStorage} keeping the distinct values
+ * of each key component sorted, on top of another storage holding the slots.
+ *
+ * <p>Each key component has a sorted index mapping its distinct values to the number of entries
+ * having them, so that a value is dropped from the index once its last entry is removed. A value is
+ * added to its index before its entry is added to the slots, and dropped after its last entry is
+ * removed from them, so that the indexes always hold the key components of all entries.
+ *
+ * <p>This implementation is thread-safe, using {@link ConcurrentSkipListMap} for the indexes.
+ */
+final class SortedSlotStorage implements SlotStorage {
+  private final SlotStorage storage;
+
+  /** The sorted index of each key component, counting the entries having each value. */
+  private final List<ConcurrentNavigableMap<String, Integer>> indexes;
+
+  /**
+   * Creates a new instance of {@code SortedSlotStorage}.
+   *
+   * @param storage the storage holding the slots.
+   */
+  SortedSlotStorage(SlotStorage storage) {
+    this.storage = storage;
+    this.indexes = new ArrayList<>(3);
+    for (int i = 0; i < 3; i++) {
+      indexes.add(new ConcurrentSkipListMap<>());
+    }
+  }
+
+  @Override
+  public void add(String key1, String key2, String key3, String value) {
+    acquire(key1, key2, key3);
+    boolean added = false;
+    try {
+      storage.add(key1, key2, key3, value);
+      added = true;
+    } finally {
+      if (!added) {
+        // The entry was rejected, like a key component beyond the capacity of its dictionary
+        release(key1, key2, key3);
+      }
+    }
+  }
+
+  @Override
+  public boolean remove(String key1, String key2, String key3, String value) {
+    if (!storage.remove(key1, key2, key3, value)) {
+      return false;
+    }
+    release(key1, key2, key3);
+    return true;
+  }
+
+  @Override
+  public boolean replace(String key1, String key2, String key3, String oldValue, String newValue) {
+    return storage.replace(key1, key2, key3, oldValue, newValue);
+  }
+
+  @Override
+  public Values get(String key1, String key2, String key3) {
+    return storage.get(key1, key2, key3);
+  }
+
+  @Override
+  public int count(String key1, String key2, String key3) {
+    return storage.count(key1, key2, key3);
+  }
+
+  @Override
+  public Values[] getAll(WildcardMap.Query[] queries, boolean parallel) {
+    return storage.getAll(queries, parallel);
+  }
+
+  @Override
+  public Values getBestMatch(String key1, String key2, String key3, int[] subsets) {
+    return storage.getBestMatch(key1, key2, key3, subsets);
+  }
+
+  @Override
+  public void forEachSlot(Consumer<? super Slot> action) {
+    storage.forEachSlot(action);
+  }
+
+  @Override
+  public int size() {
+    return storage.size();
+  }
+
+  @Override
+  public int slotsPerWrite() {
+    return storage.slotsPerWrite();
+  }
+
+  @Override
+  public void collect(
+      WildcardMap.KeyRange range1,
+      WildcardMap.KeyRange range2,
+      WildcardMap.KeyRange range3,
+      Collection<? super String> target) {
+    // Ranges matching a single key component or all key components address slots directly. The
+    // other ranges are walked in their sorted index, from the first key component to the last one,
+    // and a combination of key components is only extended if its slot holds values.
+    WildcardMap.KeyRange[] ranges = {range1, range2, range3};
+    String[] keys = new String[ranges.length];
+    int[] walked = new int[ranges.length];
+    int walkedCount = 0;
+    for (int i = 0; i < ranges.length; i++) {
+      if (ranges[i].isExact()) {
+        keys[i] = ranges[i].from();
+      } else if (!ranges[i].isAll()) {
+        walked[walkedCount++] = i;
+      }
+    }
+    collect(ranges, keys, walked, 0, walkedCount, target);
+  }
+
+  private void collect(
+      WildcardMap.KeyRange[] ranges,
+      String[] keys,
+      int[] walked,
+      int depth,
+      int walkedCount,
+      Collection<? super String> target) {
+    if (depth == walkedCount) {
+      Values values = storage.get(keys[0], keys[1], keys[2]);
+      if (values != null) {
+        values.copyTo(target);
+      }
+      return;
+    }
+    int component = walked[depth];
+    for (String key : keysWithin(component, ranges[component])) {
+      keys[component] = key;
+      // The last walked key component addresses the slot to collect, which is probed only once
+      if (depth == walkedCount - 1 || storage.count(keys[0], keys[1], keys[2]) > 0) {
+        collect(ranges, keys, walked, depth + 1, walkedCount, target);
+      }
+    }
+    keys[component] = null;
+  }
+
+  private NavigableSet<String> keysWithin(int component, WildcardMap.KeyRange range) {
+    ConcurrentNavigableMap<String, Integer> index = indexes.get(component);
+    if (range.from() == null) {
+      return index.headMap(range.to()).keySet();
+    }
+    if (range.to() == null) {
+      return index.tailMap(range.from()).keySet();
+    }
+    return index.subMap(range.from(), range.to()).keySet();
+  }
+
+  private void acquire(String key1, String key2, String key3) {
+    indexes.get(0).merge(key1, 1, Integer::sum);
+    indexes.get(1).merge(key2, 1, Integer::sum);
+    indexes.get(2).merge(key3, 1, Integer::sum);
+  }
+
+  private void release(String key1, String key2, String key3) {
+    release(indexes.get(0), key1);
+    release(indexes.get(1), key2);
+    release(indexes.get(2), key3);
+  }
+
+  private static void release(ConcurrentNavigableMap<String, Integer> index, String key) {
+    index.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1);
+  }
+}
@@ -0,0 +1,173 @@
+package net.artemislab.algorithms.maps;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * The {@code StringSlotStorage} class implements a {@link SlotStorage} addressing slots by
+ * composite string keys, made of the key components joined with a separator.
+ *
+ * <p>This implementation is thread-safe, using {@link ConcurrentHashMap} for storage.
+ */
+final class StringSlotStorage implements SlotStorage {
+  /**
+   * Unit Separator character used as key component delimiter. This avoids collisions with keys
+   * containing common characters like underscore.
+   */
+  private static final String SEPARATOR = "\u001F";
+
+  /** Record Separator character used as placeholder for null/wildcard key components. */
+  private static final String NULL_MARKER = "\u001E";
+
+  /** The number of key combinations under which each entry is stored, one per subset of keys. */
+  private static final int KEY_COMBINATIONS = 1 << 3;
+
+  /**
+   * Maps composite keys to slots of values. Each entry is stored under multiple key combinations
+   * (2^n) to enable O(1) wildcard lookups.
+   */
+  private final Map<String, Slot> storage;
+
+  /**
+   * The cache used to store generated combinations of keys used by the internal storage, for faster
+   * access when the same combination of keys is used multiple times. Keyed by the composite key of
+   * all key components.
+   */
+  private final Cache<String, List<String>> keysByArgs;
+
+  /**
+   * Creates a new instance of {@code StringSlotStorage}.
+   *
+   * @param keysByArgs the cache of the generated combinations of keys.
+   */
+  StringSlotStorage(Cache<String, List<String>> keysByArgs) {
+    this.storage = new ConcurrentHashMap<>();
+    this.keysByArgs = keysByArgs;
+  }
+
+  @Override
+  public void add(String key1, String key2, String key3, String value) {
+    for (String key : getKeys(key1, key2, key3)) {
+      Slot slot = storage.computeIfAbsent(key, k -> new Slot());
+      while (!slot.add(value)) {
+        // The slot was retired by a concurrent removal, which this helps reclaim
+        storage.remove(key, slot);
+        slot = storage.computeIfAbsent(key, k -> new Slot());
+      }
+    }
+  }
+
+  @Override
+  public boolean remove(String key1, String key2, String key3, String value) {
+    String fullKey = key1 + SEPARATOR + key2 + SEPARATOR + key3;
+    Slot fullSlot = storage.get(fullKey);
+    if (fullSlot == null || fullSlot.remove(value, 1) == 0) {
+      return false;
+    }
+    reclaim(fullKey, fullSlot);
+
+    for (String key : getKeys(key1, key2, key3)) {
+      Slot slot = storage.get(key);
+      if (slot != null && slot != fullSlot) {
+        slot.remove(value, 1);
+        reclaim(key, slot);
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean replace(String key1, String key2, String key3, String oldValue, String newValue) {
+    String fullKey = key1 + SEPARATOR + key2 + SEPARATOR + key3;
+    Slot fullSlot = storage.get(fullKey);
+    if (fullSlot == null || fullSlot.replace(oldValue, newValue, 1) == 0) {
+      return false;
+    }
+
+    for (String key : getKeys(key1, key2, key3)) {
+      Slot slot = storage.get(key);
+      if (slot != null && slot != fullSlot) {
+        slot.replace(oldValue, newValue, 1);
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public Values get(String key1, String key2, String key3) {
+    Slot slot = storage.get(slotKey(key1, key2, key3));
+    return slot == null ? null : slot.values();
+  }
+
+  @Override
+  public int count(String key1, String key2, String key3) {
+    Slot slot = storage.get(slotKey(key1, key2, key3));
+    return slot == null ? 0 : slot.size();
+  }
+
+  @Override
+  public void forEachSlot(Consumer<? super Slot> action) {
+    storage.values().forEach(action);
+  }
+
+  @Override
+  public int slotsPerWrite() {
+    return KEY_COMBINATIONS;
+  }
+
+  private List<String> getKeys(String key1, String key2, String key3) {
+    String[] args = new String[] {key1, key2, key3};
+    String argsAsString = key1 + SEPARATOR + key2 + SEPARATOR + key3;
+    return keysByArgs.get(argsAsString, k -> getKeysSubsets(args));
+  }
+
+  private void reclaim(String key, Slot slot) {
+    if (slot.size() == 0 && slot.retire()) {
+      storage.remove(key, slot);
+    }
+  }
+
+  private static String slotKey(String key1, String key2, String key3) {
+    return keyComponent(key1) + SEPARATOR + keyComponent(key2) + SEPARATOR + keyComponent(key3);
+  }
+
+  private static String keyComponent(String keyComponent) {
+    return keyComponent == null ? NULL_MARKER : keyComponent;
+  }
+
+  /**
+   * Returns the composite keys of all the subsets of the given key components, ending with the full
+   * key. Since {@link #remove} and {@link #replace} commit on the slot of the full key, an entry
+   * must be added to it last: otherwise a concurrent removal of the entry could succeed before its
+   * addition completes, which would then leave its value in the remaining slots.
+   */
+  private static List<String> getKeysSubsets(String[] args) {
+    List<String> keysSubsets = new ArrayList<>(1 << args.length);
+    for (int subset = 0; subset < 1 << args.length; subset++) {
+      keysSubsets.add(keySubsetToString(args, subset));
+    }
+    return keysSubsets;
+  }
+
+  /**
+   * Returns the composite key of the given subset of the given key components, where bit {@code i}
+   * of the subset selects the {@code i}-th key component counting from the last one.
+   */
+  private static String keySubsetToString(String[] args, int subset) {
+    StringBuilder result = new StringBuilder();
+    for (int i = 0; i < args.length; i++) {
+      if ((subset & (1 << (args.length - 1 - i))) != 0) {
+        result.append(args[i]);
+      } else {
+        result.append(NULL_MARKER);
+      }
+      if (i < args.length - 1) {
+        result.append(SEPARATOR);
+      }
+    }
+    return result.toString();
+  }
+}
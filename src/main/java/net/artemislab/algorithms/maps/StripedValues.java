@@ -0,0 +1,72 @@
+package net.artemislab.algorithms.maps;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * The {@code StripedValues} class represents an immutable snapshot of the values of a striped
+ * {@link Slot}, made of the snapshots of each of its stripes.
+ *
+ * <p>The values are not copied: this snapshot is a view of the concatenation of the stripe
+ * snapshots, which are immutable themselves.
+ */
+final class StripedValues extends Values {
+  private final ArrayValues[] parts;
+
+  /** The index of the first value of each part, followed by the total number of values. */
+  private final int[] offsets;
+
+  /**
+   * Creates a new instance of {@code StripedValues}.
+   *
+   * @param parts the snapshots of each stripe, in order.
+   */
+  StripedValues(ArrayValues[] parts) {
+    this.parts = parts;
+    this.offsets = new int[parts.length + 1];
+    for (int i = 0; i < parts.length; i++) {
+      offsets[i + 1] = offsets[i] + parts[i].size();
+    }
+  }
+
+  /**
+   * Returns {@code true} if this snapshot is made of the given part at the given index.
+   *
+   * @param index the index of the part.
+   * @param part the snapshot of the part.
+   * @return {@code true} if this snapshot is made of the given part at the given index.
+   */
+  @SuppressWarnings("ReferenceEquality") // Snapshots are compared by identity
+  boolean hasPart(int index, ArrayValues part) {
+    return parts[index] == part;
+  }
+
+  @Override
+  int copyTo(Collection<? super String> target) {
+    for (ArrayValues part : parts) {
+      part.copyTo(target);
+    }
+    return size();
+  }
+
+  @Override
+  public String get(int index) {
+    Objects.checkIndex(index, size());
+    int part = Arrays.binarySearch(offsets, index);
+    if (part < 0) {
+      part = -part - 2;
+    } else {
+      // Skip empty parts starting at the same index
+      while (offsets[part + 1] == index) {
+        part++;
+      }
+    }
+    return parts[part].get(index - offsets[part]);
+  }
+
+  @Override
+  public int size() {
+    return offsets[parts.length];
+  }
+}
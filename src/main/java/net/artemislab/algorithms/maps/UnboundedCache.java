@@ -0,0 +1,49 @@
+package net.artemislab.algorithms.maps;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * The {@code UnboundedCache} class implements a {@link Cache} holding every value it computes,
+ * until it is cleared.
+ *
+ * <p>This implementation is thread-safe, using {@link ConcurrentHashMap} for storage.
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the values.
+ */
+final class UnboundedCache<K, V> implements Cache<K, V> {
+  private final Map<K, V> values = new ConcurrentHashMap<>();
+
+  private final LongAdder hits = new LongAdder();
+
+  private final LongAdder misses = new LongAdder();
+
+  @Override
+  public V get(K key, Function<? super K, ? extends V> loader) {
+    V value = values.get(key);
+    if (value != null) {
+      hits.increment();
+      return value;
+    }
+    misses.increment();
+    return values.computeIfAbsent(key, loader);
+  }
+
+  @Override
+  public int size() {
+    return values.size();
+  }
+
+  @Override
+  public CacheStats stats() {
+    return new CacheStats(hits.sum(), misses.sum(), 0);
+  }
+
+  @Override
+  public void clear() {
+    values.clear();
+  }
+}
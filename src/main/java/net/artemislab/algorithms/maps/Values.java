@@ -0,0 +1,23 @@
+package net.artemislab.algorithms.maps;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * The {@code Values} class represents an immutable snapshot of the values stored in a slot of a
+ * {@link WildcardMap}.
+ *
+ * <p>Snapshots are exposed as unmodifiable lists, so that a lookup can return the snapshot itself
+ * without copying the values.
+ */
+abstract class Values extends AbstractList<String> implements RandomAccess {
+
+  /**
+   * Adds all values of this snapshot to the given collection, without allocating.
+   *
+   * @param target the collection to add the values to.
+   * @return the number of values added.
+   */
+  abstract int copyTo(Collection<? super String> target);
+}
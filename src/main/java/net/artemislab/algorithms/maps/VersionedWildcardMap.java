@@ -0,0 +1,173 @@
+package net.artemislab.algorithms.maps;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * The {@code VersionedWildcardMap} class represents a map that supports wildcard queries on
+ * composite keys, whose content is replaced as a whole by reloading it.
+ *
+ * <p>The content of the map is a {@link Generation}: an immutable {@link FrozenWildcardMap}, with
+ * the version of the generation and the time it took to build. A reload builds the next generation
+ * off to the side, while readers keep using the current one, and then publishes it atomically.
+ * Readers therefore never see an empty or partially loaded map, and never contend with the writer.
+ *
+ * <p>Each lookup reads the current generation once. Callers performing several lookups that must
+ * see the same content retrieve the current generation with {@link #current()} and query its map.
+ *
+ * <p>This implementation is thread-safe. Lookups never lock; reloads are serialized, so that
+ * versions are published in increasing order.
+ */
+public final class VersionedWildcardMap {
+
+  /**
+   * The {@code Generation} record represents the content of a {@link VersionedWildcardMap} between
+   * two reloads.
+   *
+   * @param version the version of the generation, starting from 0 for the initial empty generation
+   *     and incremented by each reload.
+   * @param map the entries of the generation.
+   * @param buildTime the time it took to build the map of the generation.
+   */
+  public record Generation(long version, FrozenWildcardMap map, Duration buildTime) {}
+
+  private final LongSupplier nanoTime;
+
+  /** The current generation, replaced as a whole by each reload. */
+  private volatile Generation current;
+
+  /** Creates a new instance of {@code VersionedWildcardMap}, holding an empty generation. */
+  public VersionedWildcardMap() {
+    this(System::nanoTime);
+  }
+
+  /**
+   * Creates a new instance of {@code VersionedWildcardMap} measuring build times with the given
+   * clock.
+   *
+   * @param nanoTime the clock measuring build times, in nanoseconds.
+   */
+  VersionedWildcardMap(LongSupplier nanoTime) {
+    this.nanoTime = nanoTime;
+    this.current = new Generation(0, FrozenWildcardMap.builder().build(), Duration.ZERO);
+  }
+
+  /**
+   * Builds a new generation with the given loader, and publishes it atomically once it is built.
+   *
+   * <p>The loader adds the entries of the new generation to the given builder, and may also enable
+   * a {@link FrozenWildcardMap.Builder#parallel(boolean) parallel} build. If the loader or the
+   * build fails, the current generation remains published.
+   *
+   * @param loader the loader adding the entries of the new generation to a builder.
+   * @return the published generation.
+   * @throws NullPointerException if {@code loader} is {@code null}.
+   */
+  public synchronized Generation reload(Consumer<? super FrozenWildcardMap.Builder> loader) {
+    Objects.requireNonNull(loader, "The loader must not be null.");
+    long start = nanoTime.getAsLong();
+    FrozenWildcardMap.Builder builder = FrozenWildcardMap.builder();
+    loader.accept(builder);
+    FrozenWildcardMap map = builder.build();
+    Duration buildTime = Duration.ofNanos(nanoTime.getAsLong() - start);
+
+    Generation next = new Generation(current.version() + 1, map, buildTime);
+    current = next;
+    return next;
+  }
+
+  /**
+   * Replaces the content of the map with the given entries, like {@link #reload(Consumer)}.
+   *
+   * @param entries the entries of the new generation.
+   * @return the published generation.
+   * @throws NullPointerException if {@code entries} or any entry is {@code null}.
+   * @throws IllegalArgumentException if any key component or value is null, empty or blank.
+   */
+  public Generation reload(Iterable<? extends WildcardMap.Entry> entries) {
+    Objects.requireNonNull(entries, "The entries must not be null.");
+    return reload(builder -> builder.putAll(entries));
+  }
+
+  /**
+   * Returns the current generation.
+   *
+   * @return the current generation.
+   */
+  public Generation current() {
+    return current;
+  }
+
+  /**
+   * Returns the version of the current generation.
+   *
+   * @return the version of the current generation.
+   */
+  public long version() {
+    return current.version();
+  }
+
+  /**
+   * Retrieves a list of values of the current generation matching the given key components, like
+   * {@link FrozenWildcardMap#get(String, String, String)}.
+   *
+   * @param key1 the first key component. May be null, empty or blank (wildcard).
+   * @param key2 the second key component. May be null, empty or blank (wildcard).
+   * @param key3 the third key component. May be null, empty or blank (wildcard).
+   * @return the immutable list of values matching the given key components, or an empty list if
+   *     none found.
+   */
+  public List<String> get(String key1, String key2, String key3) {
+    return current.map().get(key1, key2, key3);
+  }
+
+  /**
+   * Adds the values of the current generation matching the given key components to the given
+   * collection, like {@link FrozenWildcardMap#get(String, String, String, Collection)}.
+   *
+   * @param key1 the first key component. May be null, empty or blank (wildcard).
+   * @param key2 the second key component. May be null, empty or blank (wildcard).
+   * @param key3 the third key component. May be null, empty or blank (wildcard).
+   * @param buffer the collection to add the values to.
+   * @return the number of values added to the collection.
+   * @throws NullPointerException if {@code buffer} is {@code null}.
+   */
+  public int get(String key1, String key2, String key3, Collection<? super String> buffer) {
+    return current.map().get(key1, key2, key3, buffer);
+  }
+
+  /**
+   * Retrieves the values of the current generation of the most specific combination of the given
+   * key components matching any value, like {@link FrozenWildcardMap#getBestMatch(String, String,
+   * String)}.
+   *
+   * @param key1 the first key component. May be null, empty or blank (wildcard).
+   * @param key2 the second key component. May be null, empty or blank (wildcard).
+   * @param key3 the third key component. May be null, empty or blank (wildcard).
+   * @return the immutable list of values of the best match, or an empty list if none found.
+   * @see #getBestMatch(String, String, String, MatchOrder)
+   */
+  public List<String> getBestMatch(String key1, String key2, String key3) {
+    return current.map().getBestMatch(key1, key2, key3);
+  }
+
+  /**
+   * Retrieves the values of the current generation of the first combination of the given key
+   * components, in the given match order, matching any value, like {@link
+   * FrozenWildcardMap#getBestMatch(String, String, String, MatchOrder)}.
+   *
+   * @param key1 the first key component. May be null, empty or blank (wildcard).
+   * @param key2 the second key component. May be null, empty or blank (wildcard).
+   * @param key3 the third key component. May be null, empty or blank (wildcard).
+   * @param order the order in which the combinations of key components are probed.
+   * @return the immutable list of values of the best match, or an empty list if none found.
+   * @throws NullPointerException if {@code order} is {@code null}.
+   */
+  public List<String> getBestMatch(String key1, String key2, String key3, MatchOrder order) {
+    return current.map().getBestMatch(key1, key2, key3, order);
+  }
+}
@@ -1,10 +1,14 @@
 package net.artemislab.algorithms.maps;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 /**
  * The {@code WildcardMap} class represents a map that supports wildcard queries on composite keys.
@@ -12,37 +16,361 @@ import java.util.concurrent.ConcurrentHashMap;
  * <p>Values are indexed by three string keys, and retrieval supports wildcards (null/empty/blank)
  * for any key component.
  *
- * <p>This implementation is thread-safe, using {@link ConcurrentHashMap} for storage.
+ * <p>This implementation is thread-safe, using {@link ConcurrentHashMap} for storage. Lookups never
+ * lock and return immutable snapshots of the matching values, without copying them. Values are
+ * appended to their slots without locking, and slots on which writers contend are striped, so that
+ * writers do not all contend on hot slots like the one matching all entries. Values are returned in
+ * insertion order, except that values added to a striped slot by different threads are grouped by
+ * thread.
  *
  * <p><b>Memory trade-off:</b> Each entry is stored under 2^n key combinations (where n=3 key
- * components) to enable O(1) wildcard lookups.
+ * components) to enable O(1) wildcard lookups. Removing or replacing an entry updates these 2^n
+ * slots in one pass, without locking the map, and reclaims the slots left empty.
+ *
+ * <p>The way key combinations are addressed is selected with a {@link KeyEncoding} at construction
+ * time. With the {@link KeyEncoding#STRING} encoding, the key combinations generated for each
+ * distinct set of key components are memoized in a {@link Cache}, by default bounded to {@value
+ * #DEFAULT_KEY_SUBSETS_CACHE_SIZE} entries. Maps using another cache are created with a {@link
+ * Builder}.
+ *
+ * <p>Maps built with the {@link IndexingStrategy#LAZY lazy} {@link IndexingStrategy indexing
+ * strategy} store each entry once, under its full key, and answer wildcard lookups by scanning the
+ * map, memoizing their results in a query cache invalidated by writes. This suits write-heavy maps
+ * where wildcard lookups are rare.
+ *
+ * <p>Maps built with {@link Builder#sortedKeys(boolean) sorted keys} also keep the distinct values
+ * of each key component in a sorted index, to match prefixes and ranges of key components with
+ * {@link #getMatching(KeyRange, KeyRange, KeyRange)} without scanning the map.
+ *
+ * <p>Maps built with {@link Builder#instrumented(boolean) instrumentation} count their operations
+ * and record JFR events for the slow ones. The {@link #getMetrics() metrics} of any map also report
+ * gauges of its slots.
  */
-public class WildcardMap {
+public final class WildcardMap {
+
+  /** The encoding of the key combinations used to address the values stored in the map. */
+  public enum KeyEncoding {
+    /**
+     * Key components are joined into a composite string key for each key combination. This is the
+     * default encoding.
+     */
+    STRING,
+
+    /**
+     * Key components are interned to {@code int} ids in a per-component dictionary, and each key
+     * combination is addressed by the ids packed into a primitive {@code long} key. Lookups cost
+     * one dictionary probe per key component plus one probe of a {@code long}-keyed hash table,
+     * without any string concatenation.
+     *
+     * <p>At most 2^21-1 distinct values are supported per key component.
+     */
+    DICTIONARY
+  }
+
+  /** The way the entries of the map are indexed for wildcard lookups. */
+  public enum IndexingStrategy {
+    /**
+     * Each entry is stored under its 2^n key combinations when it is put, so that any lookup is
+     * answered in O(1) time. This is the default strategy.
+     */
+    EAGER,
+
+    /**
+     * Each entry is stored under its full key only, so that puts and removals update a single slot.
+     * Lookups by a full key are answered in O(1) time, and wildcard lookups by scanning all full
+     * keys, in O(n) time, with their results memoized in a query cache until a write to a matching
+     * key invalidates them. The {@link KeyEncoding} of the map is not used.
+     *
+     * <p>Wildcard lookups return the values grouped by full key, in the order the first value of
+     * each full key was put.
+     */
+    LAZY
+  }
+
   /**
-   * Unit Separator character used as key component delimiter. This avoids collisions with keys
-   * containing common characters like underscore.
+   * The {@code Entry} record represents an entry of a map, made of three key components and a
+   * value.
+   *
+   * @param key1 the first key component.
+   * @param key2 the second key component.
+   * @param key3 the third key component.
+   * @param value the value.
    */
-  private static final String SEPARATOR = "\u001F";
+  public record Entry(String key1, String key2, String key3, String value) {}
 
-  /** Record Separator character used as placeholder for null/wildcard key components. */
-  private static final String NULL_MARKER = "\u001E";
+  /**
+   * The {@code Query} record represents the key components of a lookup, any of which may be null,
+   * empty or blank to act as a wildcard.
+   *
+   * @param key1 the first key component.
+   * @param key2 the second key component.
+   * @param key3 the third key component.
+   */
+  public record Query(String key1, String key2, String key3) {}
 
   /**
-   * Maps composite keys to lists of values. Each entry is stored under multiple key combinations
-   * (2^n) to enable O(1) wildcard lookups.
+   * The {@code KeyRange} record represents a constraint on a key component, matching the key
+   * components between a lower bound, inclusive, and an upper bound, exclusive, in the natural
+   * order of strings.
+   *
+   * <p>Ranges are created with {@link #all()}, {@link #exactly(String)}, {@link #prefix(String)} or
+   * {@link #between(String, String)}, and matched by {@link #getMatching(KeyRange, KeyRange,
+   * KeyRange)}.
+   *
+   * @param from the lower bound, inclusive, or {@code null} if the range is not bounded below.
+   * @param to the upper bound, exclusive, or {@code null} if the range is not bounded above.
    */
-  private Map<String, List<String>> storage;
+  public record KeyRange(String from, String to) {
+    private static final KeyRange ALL = new KeyRange(null, null);
+
+    /**
+     * Creates a new instance of {@code KeyRange}.
+     *
+     * @throws IllegalArgumentException if {@code from} is greater than {@code to}.
+     */
+    public KeyRange {
+      if (from != null && to != null && from.compareTo(to) > 0) {
+        throw new IllegalArgumentException(
+            "The lower bound \""
+                + from
+                + "\" must not be greater than the upper bound \""
+                + to
+                + "\".");
+      }
+    }
+
+    /**
+     * Returns the range matching all key components, like a wildcard.
+     *
+     * @return the range matching all key components.
+     */
+    public static KeyRange all() {
+      return ALL;
+    }
+
+    /**
+     * Returns the range matching the given key component only, trimmed like in {@link #put(String,
+     * String, String, String)}.
+     *
+     * @param key the key component to match. Must not be null, empty or blank.
+     * @return the range matching the given key component.
+     * @throws IllegalArgumentException if {@code key} is null, empty or blank.
+     */
+    public static KeyRange exactly(String key) {
+      String trimmedKey = checkForNullOrEmptyOrBlank(key, "Key must not be null, empty or blank.");
+      // The key followed by the smallest character is the smallest string greater than the key
+      return new KeyRange(trimmedKey, trimmedKey + Character.MIN_VALUE);
+    }
+
+    /**
+     * Returns the range matching the key components starting with the given prefix.
+     *
+     * @param prefix the prefix of the key components to match. An empty prefix matches all key
+     *     components.
+     * @return the range matching the key components starting with the given prefix.
+     * @throws NullPointerException if {@code prefix} is {@code null}.
+     */
+    public static KeyRange prefix(String prefix) {
+      Objects.requireNonNull(prefix, "The prefix must not be null.");
+      // The smallest string greater than all strings starting with the prefix increments its last
+      // character that can be incremented, if any
+      int end = prefix.length();
+      while (end > 0 && prefix.charAt(end - 1) == Character.MAX_VALUE) {
+        end--;
+      }
+      if (end == 0) {
+        return prefix.isEmpty() ? ALL : new KeyRange(prefix, null);
+      }
+      return new KeyRange(
+          prefix, prefix.substring(0, end - 1) + (char) (prefix.charAt(end - 1) + 1));
+    }
+
+    /**
+     * Returns the range matching the key components between the given bounds.
+     *
+     * @param from the lower bound, inclusive, or {@code null} if the range is not bounded below.
+     * @param to the upper bound, exclusive, or {@code null} if the range is not bounded above.
+     * @return the range matching the key components between the given bounds.
+     * @throws IllegalArgumentException if {@code from} is greater than {@code to}.
+     */
+    public static KeyRange between(String from, String to) {
+      return from == null && to == null ? ALL : new KeyRange(from, to);
+    }
+
+    /**
+     * Returns {@code true} if this range matches all key components.
+     *
+     * @return {@code true} if this range matches all key components.
+     */
+    boolean isAll() {
+      return from == null && to == null;
+    }
+
+    /**
+     * Returns {@code true} if this range matches a single key component, which is its lower bound.
+     *
+     * @return {@code true} if this range matches a single key component.
+     */
+    boolean isExact() {
+      return from != null
+          && to != null
+          && to.length() == from.length() + 1
+          && to.charAt(from.length()) == Character.MIN_VALUE
+          && to.startsWith(from);
+    }
+  }
 
   /**
-   * The cache used to store generated combinations of keys used by the internal storage, for faster
-   * access when the same combination of keys is used multiple times.
+   * The {@code Cursor} class represents the position of a page of the values matching a query.
+   *
+   * <p>A cursor keeps the snapshot of the values taken by the first page, so that all pages of a
+   * query are taken from the same snapshot, whatever the modifications of the map in between.
+   */
+  public static final class Cursor {
+    private final List<String> snapshot;
+
+    private final int offset;
+
+    private Cursor(List<String> snapshot, int offset) {
+      this.snapshot = snapshot;
+      this.offset = offset;
+    }
+
+    /**
+     * Returns the index of the first value of the page at this cursor, among all matching values.
+     *
+     * @return the index of the first value of the page at this cursor.
+     */
+    public int offset() {
+      return offset;
+    }
+  }
+
+  /**
+   * The {@code Page} class represents a page of the values matching a query, returned by {@link
+   * #getPage(String, String, String, int)} and {@link #getPage(Cursor, int)}.
+   */
+  public static final class Page {
+    private final List<String> snapshot;
+
+    private final int from;
+
+    private final int to;
+
+    private Page(List<String> snapshot, int from, int limit) {
+      this.snapshot = snapshot;
+      this.from = from;
+      this.to = from + Math.min(limit, snapshot.size() - from);
+    }
+
+    /**
+     * Returns the values of this page, as a view of the snapshot of the matching values.
+     *
+     * @return the immutable list of values of this page.
+     */
+    public List<String> values() {
+      return snapshot.subList(from, to);
+    }
+
+    /**
+     * Returns {@code true} if values follow this page.
+     *
+     * @return {@code true} if values follow this page.
+     */
+    public boolean hasNext() {
+      return to < snapshot.size();
+    }
+
+    /**
+     * Returns the cursor of the page following this page.
+     *
+     * @return the cursor of the next page, or {@code null} if this page is the last one.
+     */
+    public Cursor next() {
+      return hasNext() ? new Cursor(snapshot, to) : null;
+    }
+  }
+
+  /** The default maximum number of entries of the cache of key combinations. */
+  public static final int DEFAULT_KEY_SUBSETS_CACHE_SIZE = 10_000;
+
+  /** The default maximum number of results of the query cache of lazily indexed maps. */
+  public static final int DEFAULT_QUERY_CACHE_SIZE = 10_000;
+
+  /**
+   * The smallest number of distinct queries of a batch looked up in parallel when requested, below
+   * which splitting the batch costs more than it saves.
    */
-  private Map<String, List<String>> keysByArgs;
+  public static final int PARALLEL_BATCH_THRESHOLD = 4096;
+
+  private final KeyEncoding keyEncoding;
+
+  /** The cache of the key combinations generated for each distinct set of key components. */
+  private final Cache<String, List<String>> keySubsetsCache;
+
+  private final boolean sortedKeys;
+
+  private final IndexingStrategy indexingStrategy;
+
+  private final int queryCacheSize;
+
+  /** The statistics of the query cache, or {@code null} if this map is eagerly indexed. */
+  private final LazySlotStorage.Stats queryCacheStats;
+
+  /** The counters of the operations of this map, or {@code null} if it is not instrumented. */
+  private final InstrumentedSlotStorage.Counters counters;
+
+  /** The storage of the values, replaced as a whole when the map is cleared. */
+  private volatile SlotStorage storage;
 
-  /** Creates a new instance of {@code WildcardMap}. */
+  /**
+   * Creates a new instance of {@code WildcardMap} using the {@link KeyEncoding#STRING} encoding.
+   */
   public WildcardMap() {
-    storage = new ConcurrentHashMap<>();
-    keysByArgs = new ConcurrentHashMap<>();
+    this(KeyEncoding.STRING);
+  }
+
+  /**
+   * Creates a new instance of {@code WildcardMap} using the given key encoding.
+   *
+   * @param keyEncoding the encoding of the key combinations.
+   * @throws NullPointerException if {@code keyEncoding} is {@code null}.
+   */
+  public WildcardMap(KeyEncoding keyEncoding) {
+    this(
+        Objects.requireNonNull(keyEncoding, "The key encoding must not be null."),
+        Cache.bounded(DEFAULT_KEY_SUBSETS_CACHE_SIZE),
+        false,
+        false,
+        IndexingStrategy.EAGER,
+        DEFAULT_QUERY_CACHE_SIZE);
+  }
+
+  private WildcardMap(
+      KeyEncoding keyEncoding,
+      Cache<String, List<String>> keySubsetsCache,
+      boolean sortedKeys,
+      boolean instrumented,
+      IndexingStrategy indexingStrategy,
+      int queryCacheSize) {
+    this.keyEncoding = keyEncoding;
+    this.keySubsetsCache = keySubsetsCache;
+    this.sortedKeys = sortedKeys;
+    this.counters = instrumented ? new InstrumentedSlotStorage.Counters() : null;
+    this.indexingStrategy = indexingStrategy;
+    this.queryCacheSize = queryCacheSize;
+    this.queryCacheStats =
+        indexingStrategy == IndexingStrategy.LAZY ? new LazySlotStorage.Stats() : null;
+    this.storage = createStorage();
+  }
+
+  /**
+   * Returns a new builder of {@code WildcardMap} instances.
+   *
+   * @return a new builder of {@code WildcardMap} instances.
+   */
+  public static Builder builder() {
+    return new Builder();
   }
 
   /**
@@ -59,6 +387,8 @@ public class WildcardMap {
    * @param key3 the third key component. Must not be null, empty or blank.
    * @param value the value to store. Must not be null, empty or blank.
    * @throws IllegalArgumentException if any argument is null, empty or blank.
+   * @throws IllegalStateException if the {@link KeyEncoding#DICTIONARY} encoding is used and a key
+   *     component has more distinct values than supported.
    */
   public void put(String key1, String key2, String key3, String value) {
     String trimmedKey1 = checkForNullOrEmptyOrBlank(key1, "Key1 must not be null, empty or blank.");
@@ -67,21 +397,57 @@ public class WildcardMap {
     String trimmedValue =
         checkForNullOrEmptyOrBlank(value, "Value must not be null, empty or blank.");
 
-    String[] args = argsToArray(trimmedKey1, trimmedKey2, trimmedKey3);
-    String argsAsString = Arrays.toString(args);
-    List<String> keys = keysByArgs.computeIfAbsent(argsAsString, k -> getKeysSubsets(args));
+    storage.add(trimmedKey1, trimmedKey2, trimmedKey3, trimmedValue);
+  }
 
-    for (String key : keys) {
-      storage.compute(
-          key,
-          (k, values) -> {
-            if (values == null) {
-              values = new ArrayList<>();
-            }
-            values.add(trimmedValue);
-            return values;
-          });
-    }
+  /**
+   * Removes one occurrence of the given value stored under the given key components.
+   *
+   * <p>All arguments are trimmed like in {@link #put(String, String, String, String)}. The order of
+   * the remaining values is preserved. If equal values are stored under other key components,
+   * wildcard lookups matching both may return them in a different order after the removal.
+   *
+   * @param key1 the first key component. Must not be null, empty or blank.
+   * @param key2 the second key component. Must not be null, empty or blank.
+   * @param key3 the third key component. Must not be null, empty or blank.
+   * @param value the value to remove. Must not be null, empty or blank.
+   * @return {@code true} if the value was stored under the given key components.
+   * @throws IllegalArgumentException if any argument is null, empty or blank.
+   */
+  public boolean remove(String key1, String key2, String key3, String value) {
+    String trimmedKey1 = checkForNullOrEmptyOrBlank(key1, "Key1 must not be null, empty or blank.");
+    String trimmedKey2 = checkForNullOrEmptyOrBlank(key2, "Key2 must not be null, empty or blank.");
+    String trimmedKey3 = checkForNullOrEmptyOrBlank(key3, "Key3 must not be null, empty or blank.");
+    String trimmedValue =
+        checkForNullOrEmptyOrBlank(value, "Value must not be null, empty or blank.");
+
+    return storage.remove(trimmedKey1, trimmedKey2, trimmedKey3, trimmedValue);
+  }
+
+  /**
+   * Replaces one occurrence of the given old value stored under the given key components with the
+   * given new value, keeping its position among the values returned by lookups.
+   *
+   * <p>All arguments are trimmed like in {@link #put(String, String, String, String)}.
+   *
+   * @param key1 the first key component. Must not be null, empty or blank.
+   * @param key2 the second key component. Must not be null, empty or blank.
+   * @param key3 the third key component. Must not be null, empty or blank.
+   * @param oldValue the value to replace. Must not be null, empty or blank.
+   * @param newValue the value replacing it. Must not be null, empty or blank.
+   * @return {@code true} if the old value was stored under the given key components.
+   * @throws IllegalArgumentException if any argument is null, empty or blank.
+   */
+  public boolean replace(String key1, String key2, String key3, String oldValue, String newValue) {
+    String trimmedKey1 = checkForNullOrEmptyOrBlank(key1, "Key1 must not be null, empty or blank.");
+    String trimmedKey2 = checkForNullOrEmptyOrBlank(key2, "Key2 must not be null, empty or blank.");
+    String trimmedKey3 = checkForNullOrEmptyOrBlank(key3, "Key3 must not be null, empty or blank.");
+    String trimmedOldValue =
+        checkForNullOrEmptyOrBlank(oldValue, "Old value must not be null, empty or blank.");
+    String trimmedNewValue =
+        checkForNullOrEmptyOrBlank(newValue, "New value must not be null, empty or blank.");
+
+    return storage.replace(trimmedKey1, trimmedKey2, trimmedKey3, trimmedOldValue, trimmedNewValue);
   }
 
   /**
@@ -90,29 +456,340 @@ public class WildcardMap {
    * <p>Any or all of the given arguments may have null, empty or blank value, which acts as a
    * wildcard matching all values for that key component.
    *
+   * <p>The returned list is an immutable snapshot shared with the map, which is not affected by
+   * later modifications of the map. With the {@link KeyEncoding#DICTIONARY} encoding, a lookup of
+   * key components without leading or trailing white space characters does not allocate.
+   *
    * @param key1 the first key component. May be null, empty or blank (wildcard).
    * @param key2 the second key component. May be null, empty or blank (wildcard).
    * @param key3 the third key component. May be null, empty or blank (wildcard).
    * @return the list of values matching the given key components, or an empty list if none found.
    */
   public List<String> get(String key1, String key2, String key3) {
-    String[] args = argsToArray(key1, key2, key3);
-    StringBuilder key = new StringBuilder();
-
-    for (int i = 0; i < args.length; i++) {
-      String arg = args[i];
-      if (arg == null || arg.trim().isEmpty()) {
-        key.append(NULL_MARKER);
-      } else {
-        key.append(arg.trim());
-      }
-      if (i < args.length - 1) {
-        key.append(SEPARATOR);
+    Values values = storage.get(trimToNull(key1), trimToNull(key2), trimToNull(key3));
+    return values == null ? List.of() : values;
+  }
+
+  /**
+   * Adds the values matching the given key components to the given collection.
+   *
+   * <p>Any or all of the given key components may have null, empty or blank value, which acts as a
+   * wildcard matching all values for that key component.
+   *
+   * <p>With the {@link KeyEncoding#DICTIONARY} encoding, a lookup of key components without leading
+   * or trailing white space characters does not allocate, other than what the given collection
+   * allocates to hold the values. This makes it possible to reuse a buffer across lookups.
+   *
+   * @param key1 the first key component. May be null, empty or blank (wildcard).
+   * @param key2 the second key component. May be null, empty or blank (wildcard).
+   * @param key3 the third key component. May be null, empty or blank (wildcard).
+   * @param buffer the collection to add the values to.
+   * @return the number of values added to the collection.
+   * @throws NullPointerException if {@code buffer} is {@code null}.
+   */
+  public int get(String key1, String key2, String key3, Collection<? super String> buffer) {
+    Objects.requireNonNull(buffer, "The buffer must not be null.");
+    Values values = storage.get(trimToNull(key1), trimToNull(key2), trimToNull(key3));
+    return values == null ? 0 : values.copyTo(buffer);
+  }
+
+  /**
+   * Returns the number of values matching the given key components, like the size of the list
+   * returned by {@link #get(String, String, String)}.
+   *
+   * <p>The count is read from the slot of the key components in O(1) time, without taking a
+   * snapshot of its values. With the {@link KeyEncoding#DICTIONARY} encoding, counting the values
+   * of key components without leading or trailing white space characters does not allocate. With
+   * the {@link IndexingStrategy#LAZY} indexing strategy, counting the values of wildcard key
+   * components looks them up like {@link #get(String, String, String)}.
+   *
+   * @param key1 the first key component. May be null, empty or blank (wildcard).
+   * @param key2 the second key component. May be null, empty or blank (wildcard).
+   * @param key3 the third key component. May be null, empty or blank (wildcard).
+   * @return the number of values matching the given key components.
+   */
+  public int count(String key1, String key2, String key3) {
+    return storage.count(trimToNull(key1), trimToNull(key2), trimToNull(key3));
+  }
+
+  /**
+   * Returns {@code true} if any value matches the given key components, in O(1) time, like {@link
+   * #count(String, String, String)}.
+   *
+   * @param key1 the first key component. May be null, empty or blank (wildcard).
+   * @param key2 the second key component. May be null, empty or blank (wildcard).
+   * @param key3 the third key component. May be null, empty or blank (wildcard).
+   * @return {@code true} if any value matches the given key components.
+   */
+  public boolean containsAny(String key1, String key2, String key3) {
+    return count(key1, key2, key3) > 0;
+  }
+
+  /**
+   * Returns a sequential stream of the values matching the given key components, like {@link
+   * #get(String, String, String)}.
+   *
+   * <p>The stream walks the snapshot of the matching values lazily, without copying it, so that
+   * short-circuiting operations like {@link Stream#limit(long)} or {@link Stream#findFirst()} only
+   * visit the values they consume. The stream is not affected by later modifications of the map.
+   *
+   * @param key1 the first key component. May be null, empty or blank (wildcard).
+   * @param key2 the second key component. May be null, empty or blank (wildcard).
+   * @param key3 the third key component. May be null, empty or blank (wildcard).
+   * @return the stream of values matching the given key components.
+   */
+  public Stream<String> stream(String key1, String key2, String key3) {
+    return get(key1, key2, key3).stream();
+  }
+
+  /**
+   * Retrieves the first page of the values matching the given key components.
+   *
+   * <p>The page is a view of the snapshot of the matching values, which is not copied. The
+   * following pages are retrieved with {@link #getPage(Cursor, int)} from the {@link Page#next()
+   * cursor} of each page, and are taken from the same snapshot, so that paging is consistent even
+   * if the map is modified in between.
+   *
+   * @param key1 the first key component. May be null, empty or blank (wildcard).
+   * @param key2 the second key component. May be null, empty or blank (wildcard).
+   * @param key3 the third key component. May be null, empty or blank (wildcard).
+   * @param limit the maximum number of values of the page.
+   * @return the first page of the values matching the given key components.
+   * @throws IllegalArgumentException if {@code limit} is not positive.
+   */
+  public Page getPage(String key1, String key2, String key3, int limit) {
+    checkLimit(limit);
+    return new Page(get(key1, key2, key3), 0, limit);
+  }
+
+  /**
+   * Retrieves the page of values at the given cursor, taken from the same snapshot as the page
+   * which returned the cursor.
+   *
+   * @param cursor the cursor of the page, returned by {@link Page#next()}.
+   * @param limit the maximum number of values of the page.
+   * @return the page of values at the given cursor.
+   * @throws NullPointerException if {@code cursor} is {@code null}.
+   * @throws IllegalArgumentException if {@code limit} is not positive.
+   */
+  public Page getPage(Cursor cursor, int limit) {
+    Objects.requireNonNull(cursor, "The cursor must not be null.");
+    checkLimit(limit);
+    return new Page(cursor.snapshot, cursor.offset, limit);
+  }
+
+  /**
+   * Retrieves a list of the values whose key components are within the given ranges, like {@code
+   * ("eu-*", "web", *)} for {@code getMatching(KeyRange.prefix("eu-"), KeyRange.exactly("web"),
+   * KeyRange.all())}.
+   *
+   * <p>Ranges matching a single key component or all key components are looked up like with {@link
+   * #get(String, String, String)}. The distinct key components within the other ranges are walked
+   * in the sorted index of their key component, and the combinations of key components without
+   * values are pruned as soon as possible, so that the latency is proportional to the number of
+   * distinct key components within the ranges and of matching values, rather than to the size of
+   * the map.
+   *
+   * <p>The values are grouped by the key components walked in the sorted indexes, in the order of
+   * the key components, and in insertion order within a group, like with {@link #get(String,
+   * String, String)}. The list is not affected by later modifications of the map. Entries modified
+   * concurrently may or may not be matched.
+   *
+   * @param range1 the range of the first key component.
+   * @param range2 the range of the second key component.
+   * @param range3 the range of the third key component.
+   * @return the immutable list of the values whose key components are within the given ranges.
+   * @throws NullPointerException if any range is {@code null}.
+   * @throws IllegalStateException if this map does not keep {@link #hasSortedKeys() sorted keys}.
+   */
+  public List<String> getMatching(KeyRange range1, KeyRange range2, KeyRange range3) {
+    Objects.requireNonNull(range1, "Range1 must not be null.");
+    Objects.requireNonNull(range2, "Range2 must not be null.");
+    Objects.requireNonNull(range3, "Range3 must not be null.");
+    List<String> matches = new ArrayList<>();
+    storage.collect(range1, range2, range3, matches);
+    return Collections.unmodifiableList(matches);
+  }
+
+  /**
+   * Retrieves the lists of values matching each of the given queries, like {@link #get(String,
+   * String, String)}.
+   *
+   * @param queries the queries to look up.
+   * @return the immutable list of the lists of values matching each query, in the order of the
+   *     queries.
+   * @throws NullPointerException if {@code queries} or any query is {@code null}.
+   * @see #getAll(Collection, boolean)
+   */
+  public List<List<String>> getAll(Collection<? extends Query> queries) {
+    return getAll(queries, false);
+  }
+
+  /**
+   * Retrieves the lists of values matching each of the given queries, optionally in parallel.
+   *
+   * <p>The key components of each query are trimmed, and identical queries are only looked up once,
+   * sharing the same list of values in the result. With the {@link KeyEncoding#DICTIONARY}
+   * encoding, the key components of each distinct query are encoded once, and the slots are probed
+   * in the order in which they are laid out in memory rather than in the order of the queries.
+   *
+   * <p>Large batches of at least {@value #PARALLEL_BATCH_THRESHOLD} distinct queries are looked up
+   * in parallel using the common {@link java.util.concurrent.ForkJoinPool} if requested.
+   *
+   * @param queries the queries to look up.
+   * @param parallel {@code true} to look up large batches in parallel.
+   * @return the immutable list of the lists of values matching each query, in the order of the
+   *     queries.
+   * @throws NullPointerException if {@code queries} or any query is {@code null}.
+   */
+  public List<List<String>> getAll(Collection<? extends Query> queries, boolean parallel) {
+    Objects.requireNonNull(queries, "The queries must not be null.");
+    Map<Query, Integer> indexes = new HashMap<>();
+    List<Query> distinctQueries = new ArrayList<>();
+    int[] indexOfQuery = new int[queries.size()];
+    int i = 0;
+    for (Query query : queries) {
+      Objects.requireNonNull(query, "The query must not be null.");
+      Query trimmed =
+          new Query(trimToNull(query.key1()), trimToNull(query.key2()), trimToNull(query.key3()));
+      Integer index = indexes.putIfAbsent(trimmed, distinctQueries.size());
+      if (index == null) {
+        index = distinctQueries.size();
+        distinctQueries.add(trimmed);
       }
+      indexOfQuery[i++] = index;
     }
 
-    List<String> values = storage.getOrDefault(key.toString(), new ArrayList<>());
-    return List.copyOf(values);
+    Values[] values =
+        storage.getAll(
+            distinctQueries.toArray(new Query[0]),
+            parallel && distinctQueries.size() >= PARALLEL_BATCH_THRESHOLD);
+    List<List<String>> results = new ArrayList<>(indexOfQuery.length);
+    for (int index : indexOfQuery) {
+      results.add(values[index] == null ? List.of() : values[index]);
+    }
+    return Collections.unmodifiableList(results);
+  }
+
+  /**
+   * Retrieves the values of the most specific combination of the given key components matching any
+   * value, probing the combinations in the {@link MatchOrder#MOST_SPECIFIC_FIRST} order.
+   *
+   * @param key1 the first key component. May be null, empty or blank (wildcard).
+   * @param key2 the second key component. May be null, empty or blank (wildcard).
+   * @param key3 the third key component. May be null, empty or blank (wildcard).
+   * @return the list of values of the best match, or an empty list if none found.
+   * @see #getBestMatch(String, String, String, MatchOrder)
+   */
+  public List<String> getBestMatch(String key1, String key2, String key3) {
+    return getBestMatch(key1, key2, key3, MatchOrder.MOST_SPECIFIC_FIRST);
+  }
+
+  /**
+   * Retrieves the values of the first combination of the given key components, in the given match
+   * order, matching any value.
+   *
+   * <p>This resolves rules from the most to the least specific in a single call, like {@link
+   * #get(String, String, String)} on each combination in turn, stopping at the first non-empty
+   * result. Any or all of the given key components may have null, empty or blank value, which acts
+   * as a wildcard in every probed combination. Key components are trimmed once, and with the {@link
+   * KeyEncoding#DICTIONARY} encoding also looked up in their dictionaries once, so that resolving a
+   * fallback costs little more than a single lookup.
+   *
+   * <p>The returned list is an immutable snapshot shared with the map, like the lists returned by
+   * {@link #get(String, String, String)}.
+   *
+   * @param key1 the first key component. May be null, empty or blank (wildcard).
+   * @param key2 the second key component. May be null, empty or blank (wildcard).
+   * @param key3 the third key component. May be null, empty or blank (wildcard).
+   * @param order the order in which the combinations of key components are probed.
+   * @return the list of values of the best match, or an empty list if none found.
+   * @throws NullPointerException if {@code order} is {@code null}.
+   */
+  public List<String> getBestMatch(String key1, String key2, String key3, MatchOrder order) {
+    Objects.requireNonNull(order, "The match order must not be null.");
+    Values values =
+        storage.getBestMatch(trimToNull(key1), trimToNull(key2), trimToNull(key3), order.subsets());
+    return values == null ? List.of() : values;
+  }
+
+  /**
+   * Returns the encoding of the key combinations used by this map.
+   *
+   * @return the encoding of the key combinations used by this map.
+   */
+  public KeyEncoding getKeyEncoding() {
+    return keyEncoding;
+  }
+
+  /**
+   * Returns the live metrics of this map. Counters are only maintained if this map is {@link
+   * #isInstrumented() instrumented}, while gauges are available for any map.
+   *
+   * @return the live metrics of this map.
+   */
+  public WildcardMapMetrics getMetrics() {
+    return new MapMetrics(() -> storage, counters, keySubsetsCache::stats);
+  }
+
+  /**
+   * Returns the way the entries of this map are indexed for wildcard lookups.
+   *
+   * @return the indexing strategy of this map.
+   */
+  public IndexingStrategy getIndexingStrategy() {
+    return indexingStrategy;
+  }
+
+  /**
+   * Returns the statistics of the query cache used by this map, where evictions count the results
+   * invalidated by writes. The cache is only used with the {@link IndexingStrategy#LAZY} indexing
+   * strategy, and the statistics of other maps are all zero.
+   *
+   * @return the statistics of the query cache.
+   */
+  public CacheStats getQueryCacheStats() {
+    return queryCacheStats == null ? new CacheStats(0, 0, 0) : queryCacheStats.snapshot();
+  }
+
+  /**
+   * Returns {@code true} if this map counts its operations and records JFR events for the slow
+   * ones.
+   *
+   * @return {@code true} if this map is instrumented.
+   */
+  public boolean isInstrumented() {
+    return counters != null;
+  }
+
+  /**
+   * Returns {@code true} if this map keeps the distinct values of each key component sorted, to
+   * match {@link #getMatching(KeyRange, KeyRange, KeyRange) key ranges}.
+   *
+   * @return {@code true} if this map keeps sorted keys.
+   */
+  public boolean hasSortedKeys() {
+    return sortedKeys;
+  }
+
+  /**
+   * Returns the statistics of the cache of key combinations used by this map. The cache is only
+   * used with the {@link KeyEncoding#STRING} encoding.
+   *
+   * @return the statistics of the cache of key combinations.
+   */
+  public CacheStats getKeySubsetsCacheStats() {
+    return keySubsetsCache.stats();
+  }
+
+  /**
+   * Returns the number of entries of this map, in O(1) time, where an entry put several times is
+   * counted once per {@link #put(String, String, String, String) put}.
+   *
+   * @return the number of entries of this map.
+   */
+  public int size() {
+    return storage.size();
   }
 
   /**
@@ -126,11 +803,36 @@ public class WildcardMap {
 
   /** Removes all entries from this map. */
   public void clear() {
-    storage.clear();
-    keysByArgs.clear();
+    storage = createStorage();
+    keySubsetsCache.clear();
+  }
+
+  private SlotStorage createStorage() {
+    SlotStorage slots =
+        indexingStrategy == IndexingStrategy.LAZY
+            ? new LazySlotStorage(queryCacheSize, queryCacheStats)
+            : createStorage(keyEncoding, keySubsetsCache);
+    if (sortedKeys) {
+      slots = new SortedSlotStorage(slots);
+    }
+    return counters == null ? slots : new InstrumentedSlotStorage(slots, counters);
+  }
+
+  private static SlotStorage createStorage(
+      KeyEncoding keyEncoding, Cache<String, List<String>> keySubsetsCache) {
+    return switch (keyEncoding) {
+      case STRING -> new StringSlotStorage(keySubsetsCache);
+      case DICTIONARY -> new EncodedSlotStorage();
+    };
   }
 
-  private static String checkForNullOrEmptyOrBlank(String value, String message) {
+  private static void checkLimit(int limit) {
+    if (limit <= 0) {
+      throw new IllegalArgumentException("The limit must be positive, but was " + limit + ".");
+    }
+  }
+
+  static String checkForNullOrEmptyOrBlank(String value, String message) {
     if (value == null) {
       throw new IllegalArgumentException(message);
     }
@@ -143,39 +845,143 @@ public class WildcardMap {
     return trimmedValue;
   }
 
-  private static String[] argsToArray(String key1, String key2, String key3) {
-    return new String[] {key1, key2, key3};
-  }
+  static String trimToNull(String value) {
+    if (value == null) {
+      return null;
+    }
 
-  private static List<String> getKeysSubsets(String[] args) {
-    List<String> keysSubsets = new ArrayList<>();
-    getKeysSubsetsHelper(args, 0, new ArrayList<>(), keysSubsets);
-    keysSubsets.add(NULL_MARKER + SEPARATOR + NULL_MARKER + SEPARATOR + NULL_MARKER);
-    return keysSubsets;
+    String trimmedValue = value.trim();
+    return trimmedValue.isEmpty() ? null : trimmedValue;
   }
 
-  private static void getKeysSubsetsHelper(
-      String[] args, int start, List<Integer> keySubset, List<String> keysSubsets) {
-    for (int i = start; i < args.length; i++) {
-      keySubset.add(i);
-      keysSubsets.add(keySubsetToString(args, keySubset));
-      getKeysSubsetsHelper(args, i + 1, keySubset, keysSubsets);
-      keySubset.remove(keySubset.size() - 1);
+  /** The {@code Builder} class represents a builder of {@link WildcardMap} instances. */
+  public static final class Builder {
+    private KeyEncoding keyEncoding = KeyEncoding.STRING;
+
+    private Cache<String, List<String>> keySubsetsCache;
+
+    private boolean sortedKeys;
+
+    private boolean instrumented;
+
+    private IndexingStrategy indexingStrategy = IndexingStrategy.EAGER;
+
+    private int queryCacheSize = DEFAULT_QUERY_CACHE_SIZE;
+
+    private Builder() {}
+
+    /**
+     * Sets the encoding of the key combinations. Defaults to {@link KeyEncoding#STRING}.
+     *
+     * @param keyEncoding the encoding of the key combinations.
+     * @return this builder.
+     * @throws NullPointerException if {@code keyEncoding} is {@code null}.
+     */
+    public Builder keyEncoding(KeyEncoding keyEncoding) {
+      this.keyEncoding = Objects.requireNonNull(keyEncoding, "The key encoding must not be null.");
+      return this;
+    }
+
+    /**
+     * Sets the cache of the key combinations generated for each distinct set of key components,
+     * used with the {@link KeyEncoding#STRING} encoding. Defaults to a {@link Cache#bounded(int)
+     * bounded} cache of {@value WildcardMap#DEFAULT_KEY_SUBSETS_CACHE_SIZE} entries; a {@link
+     * Cache#disabled() disabled} cache generates the key combinations on every put.
+     *
+     * @param keySubsetsCache the cache of the key combinations.
+     * @return this builder.
+     * @throws NullPointerException if {@code keySubsetsCache} is {@code null}.
+     */
+    public Builder keySubsetsCache(Cache<String, List<String>> keySubsetsCache) {
+      this.keySubsetsCache =
+          Objects.requireNonNull(keySubsetsCache, "The key subsets cache must not be null.");
+      return this;
     }
-  }
 
-  private static String keySubsetToString(String[] args, List<Integer> keySubset) {
-    StringBuilder result = new StringBuilder();
-    for (int i = 0; i < args.length; i++) {
-      if (keySubset.contains(i)) {
-        result.append(args[i]);
-      } else {
-        result.append(NULL_MARKER);
+    /**
+     * Sets whether the map keeps the distinct values of each key component in a sorted index, to
+     * match {@link WildcardMap#getMatching(KeyRange, KeyRange, KeyRange) key ranges}. Defaults to
+     * {@code false}, since maintaining the indexes adds three sorted map updates to each put and
+     * removal. Sorted keys cannot be kept with the {@link IndexingStrategy#LAZY} indexing strategy.
+     *
+     * @param sortedKeys {@code true} to keep sorted keys.
+     * @return this builder.
+     */
+    public Builder sortedKeys(boolean sortedKeys) {
+      this.sortedKeys = sortedKeys;
+      return this;
+    }
+
+    /**
+     * Sets whether the map counts its operations in its {@link WildcardMap#getMetrics() metrics}
+     * and records JFR events for the ones slower than the thresholds of the events. Defaults to
+     * {@code false}, so that maps which are not instrumented pay nothing for it.
+     *
+     * <p>Lookups are recorded as {@code net.artemislab.algorithms.maps.Lookup} events, and puts,
+     * removals and replacements as {@code net.artemislab.algorithms.maps.Write} events, both with a
+     * default threshold of 1 ms.
+     *
+     * @param instrumented {@code true} to instrument the map.
+     * @return this builder.
+     */
+    public Builder instrumented(boolean instrumented) {
+      this.instrumented = instrumented;
+      return this;
+    }
+
+    /**
+     * Sets the way the entries of the map are indexed for wildcard lookups. Defaults to {@link
+     * IndexingStrategy#EAGER}.
+     *
+     * @param indexingStrategy the indexing strategy.
+     * @return this builder.
+     * @throws NullPointerException if {@code indexingStrategy} is {@code null}.
+     */
+    public Builder indexingStrategy(IndexingStrategy indexingStrategy) {
+      this.indexingStrategy =
+          Objects.requireNonNull(indexingStrategy, "The indexing strategy must not be null.");
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of results of the query cache, used with the {@link
+     * IndexingStrategy#LAZY} indexing strategy. Defaults to {@value
+     * WildcardMap#DEFAULT_QUERY_CACHE_SIZE}. Once the cache is full, the results of other queries
+     * are not cached until writes invalidate cached ones; a size of 0 disables the cache.
+     *
+     * @param queryCacheSize the maximum number of results of the query cache.
+     * @return this builder.
+     * @throws IllegalArgumentException if {@code queryCacheSize} is negative.
+     */
+    public Builder queryCacheSize(int queryCacheSize) {
+      if (queryCacheSize < 0) {
+        throw new IllegalArgumentException(
+            "The query cache size must not be negative, but was " + queryCacheSize + ".");
       }
-      if (i < args.length - 1) {
-        result.append(SEPARATOR);
+      this.queryCacheSize = queryCacheSize;
+      return this;
+    }
+
+    /**
+     * Creates a new instance of {@code WildcardMap} with the settings of this builder.
+     *
+     * @return a new instance of {@code WildcardMap}.
+     * @throws IllegalStateException if sorted keys are kept with the {@link IndexingStrategy#LAZY}
+     *     indexing strategy, whose wildcard lookups scan the map: matching key ranges would then
+     *     scan it once per combination of key components walked in the sorted indexes.
+     */
+    public WildcardMap build() {
+      if (sortedKeys && indexingStrategy == IndexingStrategy.LAZY) {
+        throw new IllegalStateException(
+            "Sorted keys require the EAGER indexing strategy, but was LAZY.");
       }
+      return new WildcardMap(
+          keyEncoding,
+          keySubsetsCache == null ? Cache.bounded(DEFAULT_KEY_SUBSETS_CACHE_SIZE) : keySubsetsCache,
+          sortedKeys,
+          instrumented,
+          indexingStrategy,
+          queryCacheSize);
     }
-    return result.toString();
   }
 }
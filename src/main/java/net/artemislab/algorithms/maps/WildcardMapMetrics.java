@@ -0,0 +1,144 @@
+package net.artemislab.algorithms.maps;
+
+/**
+ * The {@code WildcardMapMetrics} interface represents the live metrics of a {@link WildcardMap}.
+ *
+ * <p>Counters are only maintained by maps built with {@link
+ * WildcardMap.Builder#instrumented(boolean) instrumentation}, and are always 0 otherwise. They are
+ * backed by {@link java.util.concurrent.atomic.LongAdder} instances, which writers update without
+ * contending with each other, and are not reset when the map is cleared.
+ *
+ * <p>Gauges describe the slots of the map as they are when they are read, for any map. Each gauge
+ * visits all slots of the map, in O(slots) time, without locking: slots updated concurrently may or
+ * may not be accounted for.
+ */
+public interface WildcardMapMetrics {
+
+  /**
+   * Returns the number of lookups: gets, counts, queries of batches, best matches and range
+   * matches.
+   *
+   * @return the number of lookups.
+   */
+  long lookups();
+
+  /**
+   * Returns the number of lookups which matched values.
+   *
+   * @return the number of lookups which matched values.
+   */
+  long hits();
+
+  /**
+   * Returns the number of lookups which matched no value.
+   *
+   * @return the number of lookups which matched no value.
+   */
+  long misses();
+
+  /**
+   * Returns the total number of values matched by lookups.
+   *
+   * @return the total number of values matched by lookups.
+   */
+  long matchedValues();
+
+  /**
+   * Returns the number of entries put.
+   *
+   * @return the number of entries put.
+   */
+  long puts();
+
+  /**
+   * Returns the number of entries removed.
+   *
+   * @return the number of entries removed.
+   */
+  long removals();
+
+  /**
+   * Returns the number of values replaced.
+   *
+   * @return the number of values replaced.
+   */
+  long replacements();
+
+  /**
+   * Returns the number of slot updates made by puts, removals and replacements, each of which
+   * updates the 2^3 slots of the key combinations of its entry, or the slot of its full key only
+   * with the {@link WildcardMap.IndexingStrategy#LAZY} indexing strategy.
+   *
+   * @return the number of slot updates.
+   */
+  long slotWrites();
+
+  /**
+   * Returns the number of slots of the map.
+   *
+   * @return the number of slots of the map.
+   */
+  int slots();
+
+  /**
+   * Returns the number of values of the largest slot of the map, which is the slot matching all
+   * entries unless removals are in progress.
+   *
+   * @return the number of values of the largest slot, or 0 if the map has no slot.
+   */
+  int largestSlot();
+
+  /**
+   * Returns the number of slots which were striped after writers contended on them.
+   *
+   * @return the number of striped slots.
+   */
+  int stripedSlots();
+
+  /**
+   * Returns a rough estimate of the heap retained by the slots of the map, assuming a 64-bit JVM
+   * with compressed references. The strings of key components and values, which are shared with the
+   * callers, are not accounted for.
+   *
+   * @return the estimated number of bytes retained by the slots of the map.
+   */
+  long estimatedHeapBytes();
+
+  /**
+   * Returns the statistics of the cache of key combinations of the map.
+   *
+   * @return the statistics of the cache of key combinations.
+   */
+  CacheStats keySubsetsCacheStats();
+
+  /**
+   * Returns the ratio of lookups which matched values, or 1.0 if there was no lookup.
+   *
+   * @return the ratio of lookups which matched values.
+   */
+  default double hitRate() {
+    long lookups = hits() + misses();
+    return lookups == 0 ? 1.0 : (double) hits() / lookups;
+  }
+
+  /**
+   * Returns the average number of values matched by a lookup, or 0.0 if there was no lookup.
+   *
+   * @return the average number of values matched by a lookup.
+   */
+  default double fanOut() {
+    long lookups = lookups();
+    return lookups == 0 ? 0.0 : (double) matchedValues() / lookups;
+  }
+
+  /**
+   * Returns the average number of slot updates made by a put, removal or replacement, or 0.0 if
+   * there was none.
+   *
+   * @return the average number of slot updates made by a write.
+   */
+  default double writeAmplification() {
+    long writes = puts() + removals() + replacements();
+    return writes == 0 ? 0.0 : (double) slotWrites() / writes;
+  }
+}
@@ -0,0 +1,40 @@
+package net.artemislab.algorithms.maps;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * The {@code WriteEvent} class represents a JFR event recorded for a put, removal or replacement of
+ * an instrumented {@link WildcardMap} slower than the threshold of the event, 1 ms by default.
+ */
+@Name(WriteEvent.NAME)
+@Label("WildcardMap Write")
+@Category({"Artemis Lab", "WildcardMap"})
+@Description("A put, removal or replacement of a WildcardMap slower than the threshold")
+@StackTrace(true)
+@Threshold("1 ms")
+final class WriteEvent extends Event {
+  /** The name of the event. */
+  static final String NAME = "net.artemislab.algorithms.maps.Write";
+
+  @Label("Operation")
+  String operation;
+
+  @Label("Key1")
+  String key1;
+
+  @Label("Key2")
+  String key2;
+
+  @Label("Key3")
+  String key3;
+
+  @Label("Updated")
+  @Description("Whether the entry was stored, removed or replaced")
+  boolean updated;
+}
@@ -0,0 +1,119 @@
+package net.artemislab.algorithms.selection;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The {@code ConcurrentQuantileSketch} class records a stream of {@code double} values from many
+ * threads into {@link QuantileSketch quantile sketches}, without locking.
+ *
+ * <p>Each thread updates a sketch of its own, which no other thread writes to. A snapshot swaps the
+ * sketch of each thread for an empty one, waits for an update of the swapped sketch still in
+ * progress, if any, and merges it into the sketch accumulating the values of all threads; a copy of
+ * the latter is the snapshot. An update thus costs a few volatile accesses on top of updating a
+ * sketch, and never waits, while snapshots, which lock out each other only, may wait for an update
+ * to complete.
+ *
+ * <p>Memory is bounded by the size of a sketch per thread having recorded values, plus the
+ * accumulated sketch. The sketches of threads which terminated are kept until the next snapshot
+ * merges them, and their empty replacements are kept afterwards.
+ *
+ * <p>This implementation is thread-safe.
+ */
+public final class ConcurrentQuantileSketch {
+  private final ThreadLocal<Recorder> recorder;
+
+  private final Queue<Recorder> recorders = new ConcurrentLinkedQueue<>();
+
+  /** The values recorded by all threads up to the last snapshot, guarded by this instance. */
+  private final QuantileSketch accumulated;
+
+  /** Creates a new instance of {@code ConcurrentQuantileSketch} with the default {@code k}. */
+  public ConcurrentQuantileSketch() {
+    this(QuantileSketch.DEFAULT_K);
+  }
+
+  /**
+   * Creates a new instance of {@code ConcurrentQuantileSketch} with the given {@code k}.
+   *
+   * @param k the number of values retained by the top level of the sketches.
+   * @throws IllegalArgumentException if {@code k} is smaller than {@value QuantileSketch#MIN_K}.
+   */
+  public ConcurrentQuantileSketch(int k) {
+    this.accumulated = new QuantileSketch(k);
+    this.recorder = ThreadLocal.withInitial(this::newRecorder);
+  }
+
+  /**
+   * Adds the given value of the stream to the sketch of the current thread.
+   *
+   * @param value the value to add.
+   * @throws IllegalArgumentException if {@code value} is {@code NaN}.
+   */
+  public void update(double value) {
+    QuantileSketch.checkValue(value);
+    recorder.get().update(value);
+  }
+
+  /**
+   * Returns a sketch of the values added by all threads so far, including the ones whose updates
+   * completed before this call.
+   *
+   * @return a new sketch of the values added so far.
+   */
+  public synchronized QuantileSketch snapshot() {
+    for (Recorder each : recorders) {
+      accumulated.merge(each.swap());
+    }
+    return accumulated.copy();
+  }
+
+  private Recorder newRecorder() {
+    Recorder newRecorder = new Recorder(accumulated.getK());
+    recorders.add(newRecorder);
+    return newRecorder;
+  }
+
+  /**
+   * The {@code Recorder} class represents the sketch updated by a single thread.
+   *
+   * <p>The thread announces each update by incrementing {@code started} before reading {@code
+   * active}, and its completion by catching {@code completed} up. A snapshot writes {@code active}
+   * before reading {@code started}: since volatile accesses are totally ordered, an update either
+   * reads the new sketch, or its start is seen by the snapshot, which then waits for its completion
+   * before reading the old sketch.
+   */
+  private static final class Recorder {
+    private volatile QuantileSketch active;
+
+    private volatile long started;
+
+    private volatile long completed;
+
+    Recorder(int k) {
+      this.active = new QuantileSketch(k);
+    }
+
+    /** Adds the given value to the active sketch, called by the owning thread only. */
+    void update(double value) {
+      long update = started + 1;
+      started = update;
+      try {
+        active.update(value);
+      } finally {
+        completed = update;
+      }
+    }
+
+    /** Replaces the active sketch with an empty one, and returns it once no update uses it. */
+    QuantileSketch swap() {
+      QuantileSketch swapped = active;
+      active = new QuantileSketch(swapped.getK());
+      long update = started;
+      while (completed < update) {
+        Thread.onSpinWait();
+      }
+      return swapped;
+    }
+  }
+}
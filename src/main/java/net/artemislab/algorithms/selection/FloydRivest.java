@@ -0,0 +1,141 @@
+package net.artemislab.algorithms.selection;
+
+import java.util.Comparator;
+import java.util.Objects;
+import net.artemislab.algorithms.shuffle.Shuffle;
+import net.artemislab.algorithms.utils.Utils;
+
+/**
+ * Utility class providing the Floyd-Rivest selection algorithm.
+ *
+ * <p>Before partitioning a large range, the algorithm recursively selects from a sample of it two
+ * elements bracketing the desired rank tightly, and partitions around them first, so that the
+ * element of the desired rank is found with about n + min(k, n - k) + o(n) comparisons on average,
+ * against about 2.6n to 4.6n measured for the three-way partitions of {@link QuickSelect}. It pays
+ * off when comparisons are expensive, like {@code compareTo} methods of domain objects.
+ *
+ * <p>The selection works on a shuffled copy of the array, so that its samples are random and its
+ * expected running time holds for any order of the input, whereas {@link QuickSelect} picks random
+ * pivots from a plain copy. Unlike {@link QuickSelect}, which falls back to the median of medians,
+ * the worst case is quadratic, although with a vanishing probability.
+ */
+public class FloydRivest {
+
+  /** The size above which a range is narrowed by selecting from a sample of it first. */
+  private static final int SAMPLING_THRESHOLD = 600;
+
+  private FloydRivest() {}
+
+  /**
+   * Returns the {@code k}-th smallest element in the given array using the Floyd-Rivest algorithm.
+   * The original array is not modified.
+   *
+   * <p><b>Time complexity:</b> O(n) expected, with n + min(k, n - k) + o(n) comparisons.
+   *
+   * <p><b>Space complexity:</b> O(n) for the shuffled copy of the input array.
+   *
+   * @param <T> the type of the array's elements.
+   * @param array the array to search.
+   * @param k the zero-based index of the desired order statistic (0 for the smallest element,
+   *     {@code array.length - 1} for the largest).
+   * @return the {@code k}-th smallest element (zero-based).
+   * @throws NullPointerException if {@code array} is {@code null}.
+   * @throws IllegalArgumentException if {@code array} is empty.
+   * @throws IllegalArgumentException if {@code k} is negative or greater than or equal to {@code
+   *     array.length}.
+   */
+  public static <T extends Comparable<T>> T select(T[] array, int k) {
+    return select(array, k, Comparator.naturalOrder());
+  }
+
+  /**
+   * Returns the {@code k}-th smallest element in the given array according to the given comparator,
+   * using the Floyd-Rivest algorithm. The original array is not modified.
+   *
+   * <p><b>Time complexity:</b> O(n) expected, with n + min(k, n - k) + o(n) comparisons.
+   *
+   * <p><b>Space complexity:</b> O(n) for the shuffled copy of the input array.
+   *
+   * @param <T> the type of the array's elements.
+   * @param array the array to search.
+   * @param k the zero-based index of the desired order statistic (0 for the smallest element,
+   *     {@code array.length - 1} for the largest).
+   * @param comparator the comparator ordering the elements.
+   * @return the {@code k}-th smallest element (zero-based).
+   * @throws NullPointerException if {@code array} or {@code comparator} is {@code null}.
+   * @throws IllegalArgumentException if {@code array} is empty.
+   * @throws IllegalArgumentException if {@code k} is negative or greater than or equal to {@code
+   *     array.length}.
+   */
+  public static <T> T select(T[] array, int k, Comparator<? super T> comparator) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    Objects.requireNonNull(comparator, "The comparator must not be null.");
+    QuickSelect.checkRange(array.length, 0, array.length, k);
+    T[] shuffled = Shuffle.shuffle(array);
+    select(shuffled, 0, shuffled.length - 1, k, comparator);
+    return shuffled[k];
+  }
+
+  /**
+   * Reorders the given range of the given array in place so that its {@code k}-th element is the
+   * one of that rank, smaller elements are before it and greater ones after it.
+   *
+   * <p>Algorithm SELECT is due to Robert Floyd and Ronald Rivest. A range of more than {@value
+   * #SAMPLING_THRESHOLD} elements is first narrowed to a sample of about n^(2/3) elements around
+   * {@code k}, whose bounds are chosen so that it holds the element of rank {@code k} with high
+   * probability, and which is selected from recursively: this moves to {@code k} an element very
+   * close in rank to the desired one, around which the range is then partitioned. The partition
+   * scans from both ends of the range, leaving the pivot between the elements smaller than or equal
+   * to it and the elements greater than or equal to it.
+   *
+   * @param <T> the type of the array's elements.
+   * @param array the array to reorder.
+   * @param left the lowest index of the range.
+   * @param right the highest index of the range.
+   * @param k the index of the desired order statistic, between {@code left} and {@code right}.
+   * @param comparator the comparator ordering the elements.
+   */
+  private static <T> void select(
+      T[] array, int left, int right, int k, Comparator<? super T> comparator) {
+    while (right > left) {
+      if (right - left > SAMPLING_THRESHOLD) {
+        double n = right - left + 1;
+        double i = k - left + 1;
+        double z = Math.log(n);
+        double s = 0.5 * Math.exp(2 * z / 3);
+        double sd = 0.5 * Math.sqrt(z * s * (n - s) / n) * Math.signum(i - n / 2);
+        int sampleLeft = (int) Math.max(left, Math.floor(k - i * s / n + sd));
+        int sampleRight = (int) Math.min(right, Math.floor(k + (n - i) * s / n + sd));
+        select(array, sampleLeft, sampleRight, k, comparator);
+      }
+      T pivot = array[k];
+      int i = left;
+      int j = right;
+      Utils.swap(array, left, k);
+      if (comparator.compare(array[right], pivot) > 0) {
+        Utils.swap(array, right, left);
+      }
+      while (i < j) {
+        Utils.swap(array, i++, j--);
+        while (comparator.compare(array[i], pivot) < 0) {
+          i++;
+        }
+        while (comparator.compare(array[j], pivot) > 0) {
+          j--;
+        }
+      }
+      // The pivot is at one end of the range, which is swapped with the boundary of its side
+      if (comparator.compare(array[left], pivot) == 0) {
+        Utils.swap(array, left, j);
+      } else {
+        Utils.swap(array, ++j, right);
+      }
+      if (j <= k) {
+        left = j + 1;
+      }
+      if (k <= j) {
+        right = j - 1;
+      }
+    }
+  }
+}
@@ -0,0 +1,609 @@
+package net.artemislab.algorithms.selection;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntConsumer;
+
+/**
+ * Utility class providing a parallel selection of order statistics from large arrays, on the
+ * workers of a {@link ForkJoinPool}.
+ *
+ * <p>Like the Floyd-Rivest algorithm, the selection first picks from a random sample of the array
+ * two pivots bracketing the requested rank. The array is then split into a few chunks per worker,
+ * which are scanned in parallel, counting the elements below, between and above the pivots; the
+ * counts tell which of these three buckets holds the requested rank, and where the elements of each
+ * chunk belonging to it go once gathered. A second parallel scan gathers them, and the selection
+ * ends sequentially with {@link QuickSelect} within the bucket. With a sample of n^(2/3) elements,
+ * the pivots bracket the requested rank with high probability, leaving O(n^(2/3)) elements between
+ * them, unless the array holds many duplicates of one of the pivots, which the bucket between them
+ * includes; when the sample is unlucky, the selection resumes in parallel within the bucket below
+ * or above the pivots.
+ *
+ * <p>Arrays smaller than {@link #SEQUENTIAL_THRESHOLD} are selected from sequentially, since the
+ * parallel scans only pay off once they outweigh the cost of forking and joining them.
+ */
+public class ParallelQuickSelect {
+
+  /** The length below which arrays are selected from sequentially with {@link QuickSelect}. */
+  public static final int SEQUENTIAL_THRESHOLD = 1 << 20;
+
+  /** The number of chunks per worker, so that workers finishing early can steal the others. */
+  private static final int CHUNKS_PER_WORKER = 4;
+
+  private static final int BELOW = 0;
+
+  private static final int BETWEEN = 1;
+
+  private static final int ABOVE = 2;
+
+  private ParallelQuickSelect() {}
+
+  /**
+   * Returns the {@code k}-th smallest element in the given array, selecting in parallel on the
+   * workers of the common {@link ForkJoinPool}. The original array is not modified.
+   *
+   * <p><b>Time complexity:</b> O(n) expected, spread over the workers of the pool.
+   *
+   * <p><b>Space complexity:</b> O(n^(2/3)) expected for the sample and the elements between the
+   * pivots, but up to O(n) when many elements equal one of the pivots, and O(n) for arrays shorter
+   * than {@link #SEQUENTIAL_THRESHOLD}.
+   *
+   * @param <T> the type of the array's elements.
+   * @param array the array to search.
+   * @param k the zero-based index of the desired order statistic (0 for the smallest element,
+   *     {@code array.length - 1} for the largest).
+   * @return the {@code k}-th smallest element (zero-based).
+   * @throws NullPointerException if {@code array} is {@code null}.
+   * @throws IllegalArgumentException if {@code array} is empty.
+   * @throws IllegalArgumentException if {@code k} is negative or greater than or equal to {@code
+   *     array.length}.
+   */
+  public static <T extends Comparable<T>> T quickSelect(T[] array, int k) {
+    return quickSelect(array, k, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Returns the {@code k}-th smallest element in the given array, selecting in parallel on the
+   * workers of the given {@link ForkJoinPool}. The original array is not modified.
+   *
+   * <p><b>Time complexity:</b> O(n) expected, spread over the workers of the pool.
+   *
+   * <p><b>Space complexity:</b> O(n^(2/3)) expected for the sample and the elements between the
+   * pivots, but up to O(n) when many elements equal one of the pivots, and O(n) for arrays shorter
+   * than {@link #SEQUENTIAL_THRESHOLD}.
+   *
+   * @param <T> the type of the array's elements.
+   * @param array the array to search.
+   * @param k the zero-based index of the desired order statistic (0 for the smallest element,
+   *     {@code array.length - 1} for the largest).
+   * @param pool the pool whose workers scan the array.
+   * @return the {@code k}-th smallest element (zero-based).
+   * @throws NullPointerException if {@code array} or {@code pool} is {@code null}.
+   * @throws IllegalArgumentException if {@code array} is empty.
+   * @throws IllegalArgumentException if {@code k} is negative or greater than or equal to {@code
+   *     array.length}.
+   */
+  public static <T extends Comparable<T>> T quickSelect(T[] array, int k, ForkJoinPool pool) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    Objects.requireNonNull(pool, "The pool must not be null.");
+    QuickSelect.checkRange(array.length, 0, array.length, k);
+    return select(array, k, pool, SEQUENTIAL_THRESHOLD);
+  }
+
+  /**
+   * Returns the {@code k}-th smallest element in the given array of {@code int} values, selecting
+   * in parallel on the workers of the common {@link ForkJoinPool}. The original array is not
+   * modified.
+   *
+   * <p><b>Time complexity:</b> O(n) expected, spread over the workers of the pool.
+   *
+   * <p><b>Space complexity:</b> O(n^(2/3)) expected for the sample and the elements between the
+   * pivots, but up to O(n) when many elements equal one of the pivots, and O(n) for arrays shorter
+   * than {@link #SEQUENTIAL_THRESHOLD}.
+   *
+   * @param array the array to search.
+   * @param k the zero-based index of the desired order statistic (0 for the smallest element,
+   *     {@code array.length - 1} for the largest).
+   * @return the {@code k}-th smallest element (zero-based).
+   * @throws NullPointerException if {@code array} is {@code null}.
+   * @throws IllegalArgumentException if {@code array} is empty.
+   * @throws IllegalArgumentException if {@code k} is negative or greater than or equal to {@code
+   *     array.length}.
+   */
+  public static int quickSelect(int[] array, int k) {
+    return quickSelect(array, k, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Returns the {@code k}-th smallest element in the given array of {@code int} values, selecting
+   * in parallel on the workers of the given {@link ForkJoinPool}. The original array is not
+   * modified.
+   *
+   * <p><b>Time complexity:</b> O(n) expected, spread over the workers of the pool.
+   *
+   * <p><b>Space complexity:</b> O(n^(2/3)) expected for the sample and the elements between the
+   * pivots, but up to O(n) when many elements equal one of the pivots, and O(n) for arrays shorter
+   * than {@link #SEQUENTIAL_THRESHOLD}.
+   *
+   * @param array the array to search.
+   * @param k the zero-based index of the desired order statistic (0 for the smallest element,
+   *     {@code array.length - 1} for the largest).
+   * @param pool the pool whose workers scan the array.
+   * @return the {@code k}-th smallest element (zero-based).
+   * @throws NullPointerException if {@code array} or {@code pool} is {@code null}.
+   * @throws IllegalArgumentException if {@code array} is empty.
+   * @throws IllegalArgumentException if {@code k} is negative or greater than or equal to {@code
+   *     array.length}.
+   */
+  public static int quickSelect(int[] array, int k, ForkJoinPool pool) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    Objects.requireNonNull(pool, "The pool must not be null.");
+    QuickSelect.checkRange(array.length, 0, array.length, k);
+    return select(array, k, pool, SEQUENTIAL_THRESHOLD);
+  }
+
+  /**
+   * Returns the {@code k}-th smallest element in the given array of {@code long} values, selecting
+   * in parallel on the workers of the common {@link ForkJoinPool}. The original array is not
+   * modified.
+   *
+   * <p><b>Time complexity:</b> O(n) expected, spread over the workers of the pool.
+   *
+   * <p><b>Space complexity:</b> O(n^(2/3)) expected for the sample and the elements between the
+   * pivots, but up to O(n) when many elements equal one of the pivots, and O(n) for arrays shorter
+   * than {@link #SEQUENTIAL_THRESHOLD}.
+   *
+   * @param array the array to search.
+   * @param k the zero-based index of the desired order statistic (0 for the smallest element,
+   *     {@code array.length - 1} for the largest).
+   * @return the {@code k}-th smallest element (zero-based).
+   * @throws NullPointerException if {@code array} is {@code null}.
+   * @throws IllegalArgumentException if {@code array} is empty.
+   * @throws IllegalArgumentException if {@code k} is negative or greater than or equal to {@code
+   *     array.length}.
+   */
+  public static long quickSelect(long[] array, int k) {
+    return quickSelect(array, k, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Returns the {@code k}-th smallest element in the given array of {@code long} values, selecting
+   * in parallel on the workers of the given {@link ForkJoinPool}. The original array is not
+   * modified.
+   *
+   * <p><b>Time complexity:</b> O(n) expected, spread over the workers of the pool.
+   *
+   * <p><b>Space complexity:</b> O(n^(2/3)) expected for the sample and the elements between the
+   * pivots, but up to O(n) when many elements equal one of the pivots, and O(n) for arrays shorter
+   * than {@link #SEQUENTIAL_THRESHOLD}.
+   *
+   * @param array the array to search.
+   * @param k the zero-based index of the desired order statistic (0 for the smallest element,
+   *     {@code array.length - 1} for the largest).
+   * @param pool the pool whose workers scan the array.
+   * @return the {@code k}-th smallest element (zero-based).
+   * @throws NullPointerException if {@code array} or {@code pool} is {@code null}.
+   * @throws IllegalArgumentException if {@code array} is empty.
+   * @throws IllegalArgumentException if {@code k} is negative or greater than or equal to {@code
+   *     array.length}.
+   */
+  public static long quickSelect(long[] array, int k, ForkJoinPool pool) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    Objects.requireNonNull(pool, "The pool must not be null.");
+    QuickSelect.checkRange(array.length, 0, array.length, k);
+    return select(array, k, pool, SEQUENTIAL_THRESHOLD);
+  }
+
+  /**
+   * Returns the {@code k}-th smallest element in the given array of {@code double} values,
+   * selecting in parallel on the workers of the common {@link ForkJoinPool}. The original array is
+   * not modified.
+   *
+   * <p>Elements are ordered like {@link Double#compare(double, double)}: {@code -0.0} is smaller
+   * than {@code 0.0}, and {@code NaN} is greater than any other value, including positive infinity.
+   *
+   * <p><b>Time complexity:</b> O(n) expected, spread over the workers of the pool.
+   *
+   * <p><b>Space complexity:</b> O(n^(2/3)) expected for the sample and the elements between the
+   * pivots, but up to O(n) when many elements equal one of the pivots, and O(n) for arrays shorter
+   * than {@link #SEQUENTIAL_THRESHOLD}.
+   *
+   * @param array the array to search.
+   * @param k the zero-based index of the desired order statistic (0 for the smallest element,
+   *     {@code array.length - 1} for the largest).
+   * @return the {@code k}-th smallest element (zero-based).
+   * @throws NullPointerException if {@code array} is {@code null}.
+   * @throws IllegalArgumentException if {@code array} is empty.
+   * @throws IllegalArgumentException if {@code k} is negative or greater than or equal to {@code
+   *     array.length}.
+   */
+  public static double quickSelect(double[] array, int k) {
+    return quickSelect(array, k, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Returns the {@code k}-th smallest element in the given array of {@code double} values,
+   * selecting in parallel on the workers of the given {@link ForkJoinPool}. The original array is
+   * not modified.
+   *
+   * <p>Elements are ordered like {@link Double#compare(double, double)}: {@code -0.0} is smaller
+   * than {@code 0.0}, and {@code NaN} is greater than any other value, including positive infinity.
+   *
+   * <p><b>Time complexity:</b> O(n) expected, spread over the workers of the pool.
+   *
+   * <p><b>Space complexity:</b> O(n^(2/3)) expected for the sample and the elements between the
+   * pivots, but up to O(n) when many elements equal one of the pivots, and O(n) for arrays shorter
+   * than {@link #SEQUENTIAL_THRESHOLD}.
+   *
+   * @param array the array to search.
+   * @param k the zero-based index of the desired order statistic (0 for the smallest element,
+   *     {@code array.length - 1} for the largest).
+   * @param pool the pool whose workers scan the array.
+   * @return the {@code k}-th smallest element (zero-based).
+   * @throws NullPointerException if {@code array} or {@code pool} is {@code null}.
+   * @throws IllegalArgumentException if {@code array} is empty.
+   * @throws IllegalArgumentException if {@code k} is negative or greater than or equal to {@code
+   *     array.length}.
+   */
+  public static double quickSelect(double[] array, int k, ForkJoinPool pool) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    Objects.requireNonNull(pool, "The pool must not be null.");
+    QuickSelect.checkRange(array.length, 0, array.length, k);
+    return select(array, k, pool, SEQUENTIAL_THRESHOLD);
+  }
+
+  /**
+   * Returns the {@code k}-th smallest element in the given array, selecting in parallel on the
+   * workers of the given pool unless the array is shorter than the given threshold.
+   *
+   * @param <T> the type of the array's elements.
+   * @param array the array to search.
+   * @param k the zero-based index of the desired order statistic.
+   * @param pool the pool whose workers scan the array.
+   * @param threshold the length below which the array is selected from sequentially.
+   * @return the {@code k}-th smallest element (zero-based).
+   */
+  static <T extends Comparable<T>> T select(T[] array, int k, ForkJoinPool pool, int threshold) {
+    int length = array.length;
+    if (length < threshold) {
+      return QuickSelect.quickSelect(array, k);
+    }
+    T[] sample = newArray(array, sampleSize(length));
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (int i = 0; i < sample.length; i++) {
+      sample[i] = array[random.nextInt(length)];
+    }
+    T[] pivots = QuickSelect.quickSelectAll(sample, pivotRanks(sample.length, length, k));
+    T low = pivots[0];
+    T high = pivots[1];
+    Chunks chunks = new Chunks(length, pool);
+    chunks.forEach(
+        chunk -> {
+          int[] sizes = new int[3];
+          for (int i = chunks.from(chunk); i < chunks.to(chunk); i++) {
+            sizes[bucket(array[i], low, high)]++;
+          }
+          chunks.sizes[chunk] = sizes;
+        });
+    int bucket = chunks.bucket(k);
+    if (bucket == BETWEEN && low.compareTo(high) == 0) {
+      return low;
+    }
+    int[] offsets = chunks.offsets(bucket);
+    T[] gathered = newArray(array, offsets[offsets.length - 1]);
+    chunks.forEach(
+        chunk -> {
+          int offset = offsets[chunk];
+          for (int i = chunks.from(chunk); i < chunks.to(chunk); i++) {
+            if (bucket(array[i], low, high) == bucket) {
+              gathered[offset++] = array[i];
+            }
+          }
+        });
+    int rank = chunks.rank(bucket, k);
+    // The gathered elements are a private copy, which the sequential selection may reorder
+    return bucket == BETWEEN || gathered.length < threshold
+        ? QuickSelect.quickSelectInPlace(gathered, rank)
+        : select(gathered, rank, pool, threshold);
+  }
+
+  /**
+   * Returns the {@code k}-th smallest element in the given array of {@code int} values, selecting
+   * in parallel on the workers of the given pool unless the array is shorter than the given
+   * threshold.
+   *
+   * @param array the array to search.
+   * @param k the zero-based index of the desired order statistic.
+   * @param pool the pool whose workers scan the array.
+   * @param threshold the length below which the array is selected from sequentially.
+   * @return the {@code k}-th smallest element (zero-based).
+   */
+  static int select(int[] array, int k, ForkJoinPool pool, int threshold) {
+    int length = array.length;
+    if (length < threshold) {
+      return QuickSelect.quickSelect(array, k);
+    }
+    int[] sample = new int[sampleSize(length)];
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (int i = 0; i < sample.length; i++) {
+      sample[i] = array[random.nextInt(length)];
+    }
+    int[] pivots = QuickSelect.quickSelectAll(sample, pivotRanks(sample.length, length, k));
+    int low = pivots[0];
+    int high = pivots[1];
+    Chunks chunks = new Chunks(length, pool);
+    chunks.forEach(
+        chunk -> {
+          int[] sizes = new int[3];
+          for (int i = chunks.from(chunk); i < chunks.to(chunk); i++) {
+            sizes[bucket(array[i], low, high)]++;
+          }
+          chunks.sizes[chunk] = sizes;
+        });
+    int bucket = chunks.bucket(k);
+    if (bucket == BETWEEN && low == high) {
+      return low;
+    }
+    int[] offsets = chunks.offsets(bucket);
+    int[] gathered = new int[offsets[offsets.length - 1]];
+    chunks.forEach(
+        chunk -> {
+          int offset = offsets[chunk];
+          for (int i = chunks.from(chunk); i < chunks.to(chunk); i++) {
+            if (bucket(array[i], low, high) == bucket) {
+              gathered[offset++] = array[i];
+            }
+          }
+        });
+    int rank = chunks.rank(bucket, k);
+    // The gathered elements are a private copy, which the sequential selection may reorder
+    return bucket == BETWEEN || gathered.length < threshold
+        ? QuickSelect.quickSelectInPlace(gathered, rank)
+        : select(gathered, rank, pool, threshold);
+  }
+
+  /**
+   * Returns the {@code k}-th smallest element in the given array of {@code long} values, selecting
+   * in parallel on the workers of the given pool unless the array is shorter than the given
+   * threshold.
+   *
+   * @param array the array to search.
+   * @param k the zero-based index of the desired order statistic.
+   * @param pool the pool whose workers scan the array.
+   * @param threshold the length below which the array is selected from sequentially.
+   * @return the {@code k}-th smallest element (zero-based).
+   */
+  static long select(long[] array, int k, ForkJoinPool pool, int threshold) {
+    int length = array.length;
+    if (length < threshold) {
+      return QuickSelect.quickSelect(array, k);
+    }
+    long[] sample = new long[sampleSize(length)];
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (int i = 0; i < sample.length; i++) {
+      sample[i] = array[random.nextInt(length)];
+    }
+    long[] pivots = QuickSelect.quickSelectAll(sample, pivotRanks(sample.length, length, k));
+    long low = pivots[0];
+    long high = pivots[1];
+    Chunks chunks = new Chunks(length, pool);
+    chunks.forEach(
+        chunk -> {
+          int[] sizes = new int[3];
+          for (int i = chunks.from(chunk); i < chunks.to(chunk); i++) {
+            sizes[bucket(array[i], low, high)]++;
+          }
+          chunks.sizes[chunk] = sizes;
+        });
+    int bucket = chunks.bucket(k);
+    if (bucket == BETWEEN && low == high) {
+      return low;
+    }
+    int[] offsets = chunks.offsets(bucket);
+    long[] gathered = new long[offsets[offsets.length - 1]];
+    chunks.forEach(
+        chunk -> {
+          int offset = offsets[chunk];
+          for (int i = chunks.from(chunk); i < chunks.to(chunk); i++) {
+            if (bucket(array[i], low, high) == bucket) {
+              gathered[offset++] = array[i];
+            }
+          }
+        });
+    int rank = chunks.rank(bucket, k);
+    // The gathered elements are a private copy, which the sequential selection may reorder
+    return bucket == BETWEEN || gathered.length < threshold
+        ? QuickSelect.quickSelectInPlace(gathered, rank)
+        : select(gathered, rank, pool, threshold);
+  }
+
+  /**
+   * Returns the {@code k}-th smallest element in the given array of {@code double} values,
+   * selecting in parallel on the workers of the given pool unless the array is shorter than the
+   * given threshold.
+   *
+   * @param array the array to search.
+   * @param k the zero-based index of the desired order statistic.
+   * @param pool the pool whose workers scan the array.
+   * @param threshold the length below which the array is selected from sequentially.
+   * @return the {@code k}-th smallest element (zero-based).
+   */
+  static double select(double[] array, int k, ForkJoinPool pool, int threshold) {
+    int length = array.length;
+    if (length < threshold) {
+      return QuickSelect.quickSelect(array, k);
+    }
+    double[] sample = new double[sampleSize(length)];
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (int i = 0; i < sample.length; i++) {
+      sample[i] = array[random.nextInt(length)];
+    }
+    double[] pivots = QuickSelect.quickSelectAll(sample, pivotRanks(sample.length, length, k));
+    double low = pivots[0];
+    double high = pivots[1];
+    Chunks chunks = new Chunks(length, pool);
+    chunks.forEach(
+        chunk -> {
+          int[] sizes = new int[3];
+          for (int i = chunks.from(chunk); i < chunks.to(chunk); i++) {
+            sizes[bucket(array[i], low, high)]++;
+          }
+          chunks.sizes[chunk] = sizes;
+        });
+    int bucket = chunks.bucket(k);
+    if (bucket == BETWEEN && Double.compare(low, high) == 0) {
+      return low;
+    }
+    int[] offsets = chunks.offsets(bucket);
+    double[] gathered = new double[offsets[offsets.length - 1]];
+    chunks.forEach(
+        chunk -> {
+          int offset = offsets[chunk];
+          for (int i = chunks.from(chunk); i < chunks.to(chunk); i++) {
+            if (bucket(array[i], low, high) == bucket) {
+              gathered[offset++] = array[i];
+            }
+          }
+        });
+    int rank = chunks.rank(bucket, k);
+    // The gathered elements are a private copy, which the sequential selection may reorder
+    return bucket == BETWEEN || gathered.length < threshold
+        ? QuickSelect.quickSelectInPlace(gathered, rank)
+        : select(gathered, rank, pool, threshold);
+  }
+
+  private static <T extends Comparable<T>> int bucket(T element, T low, T high) {
+    if (element.compareTo(low) < 0) {
+      return BELOW;
+    }
+    return element.compareTo(high) > 0 ? ABOVE : BETWEEN;
+  }
+
+  private static int bucket(int element, int low, int high) {
+    if (element < low) {
+      return BELOW;
+    }
+    return element > high ? ABOVE : BETWEEN;
+  }
+
+  private static int bucket(long element, long low, long high) {
+    if (element < low) {
+      return BELOW;
+    }
+    return element > high ? ABOVE : BETWEEN;
+  }
+
+  private static int bucket(double element, double low, double high) {
+    if (Double.compare(element, low) < 0) {
+      return BELOW;
+    }
+    return Double.compare(element, high) > 0 ? ABOVE : BETWEEN;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T[] newArray(T[] array, int length) {
+    return (T[]) Array.newInstance(array.getClass().getComponentType(), length);
+  }
+
+  /** Returns the size of the sample picking the pivots, n^(2/3) for an array of length n. */
+  private static int sampleSize(int length) {
+    return (int) Math.cbrt((double) length * length);
+  }
+
+  /**
+   * Returns the ranks of the pivots within the sample, 2 sqrt(s) away on either side from the
+   * expected rank of {@code k} within a sample of s elements. This rank follows a binomial
+   * distribution whose standard deviation is at most sqrt(s) / 2, so the pivots are at least four
+   * standard deviations away from it.
+   */
+  private static int[] pivotRanks(int sampleSize, int length, int k) {
+    int expected = (int) ((long) k * sampleSize / length);
+    int gap = (int) Math.ceil(2 * Math.sqrt(sampleSize));
+    return new int[] {Math.max(0, expected - gap), Math.min(sampleSize - 1, expected + gap)};
+  }
+
+  /**
+   * The {@code Chunks} class represents the chunks an array is split into for the workers of a
+   * pool, along with the number of elements of each chunk below, between and above the pivots.
+   */
+  private static final class Chunks {
+    private final ForkJoinPool pool;
+
+    private final int length;
+
+    private final int count;
+
+    /** The number of elements of each chunk in each bucket, filled by the workers. */
+    private final int[][] sizes;
+
+    Chunks(int length, ForkJoinPool pool) {
+      this.pool = pool;
+      this.length = length;
+      this.count = Math.min(length, pool.getParallelism() * CHUNKS_PER_WORKER);
+      this.sizes = new int[count][];
+    }
+
+    int from(int chunk) {
+      return (int) ((long) length * chunk / count);
+    }
+
+    int to(int chunk) {
+      return from(chunk + 1);
+    }
+
+    /** Runs the given action for each chunk on the workers of the pool, and waits for them all. */
+    void forEach(IntConsumer action) {
+      List<ForkJoinTask<?>> tasks = new ArrayList<>(count);
+      for (int chunk = 0; chunk < count; chunk++) {
+        int task = chunk;
+        tasks.add(ForkJoinTask.adapt(() -> action.accept(task)));
+      }
+      pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+    }
+
+    /** Returns the bucket holding the {@code k}-th smallest element of the array. */
+    int bucket(int k) {
+      int bucket = BELOW;
+      int rank = k;
+      while (rank >= size(bucket)) {
+        rank -= size(bucket);
+        bucket++;
+      }
+      return bucket;
+    }
+
+    /** Returns the rank of the {@code k}-th smallest element of the array within its bucket. */
+    int rank(int bucket, int k) {
+      int rank = k;
+      for (int before = BELOW; before < bucket; before++) {
+        rank -= size(before);
+      }
+      return rank;
+    }
+
+    /**
+     * Returns the offsets where the elements of each chunk in the given bucket go once gathered,
+     * followed by the number of elements of the bucket.
+     */
+    int[] offsets(int bucket) {
+      int[] offsets = new int[count + 1];
+      for (int chunk = 0; chunk < count; chunk++) {
+        offsets[chunk + 1] = offsets[chunk] + sizes[chunk][bucket];
+      }
+      return offsets;
+    }
+
+    private int size(int bucket) {
+      int size = 0;
+      for (int[] chunkSizes : sizes) {
+        size += chunkSizes[bucket];
+      }
+      return size;
+    }
+  }
+}
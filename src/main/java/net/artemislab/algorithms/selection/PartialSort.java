@@ -0,0 +1,379 @@
+package net.artemislab.algorithms.selection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
+/**
+ * Utility class providing the k smallest or largest elements of arrays, iterables and streams, in
+ * sorted order.
+ *
+ * <p>Arrays are partitioned around their k-th element by the introselect algorithm of {@link
+ * QuickSelect}, which moves the k smallest elements before it, and only these elements are then
+ * sorted. {@link #partialSort(Comparable[], int)} does so in place, and {@code topK} on a copy of
+ * the array, ordering the elements the other way round to take the largest ones.
+ *
+ * <p>Iterables and streams are consumed once, keeping the k largest elements seen so far in a heap
+ * whose root is the smallest of them, so that they never need to fit in memory as a whole. Parallel
+ * streams keep a heap per thread and merge them.
+ *
+ * <p>Each method has overloads taking a {@link Comparator}, or a function extracting a comparable
+ * key from each element. The smallest elements for an ordering are the largest ones for the reverse
+ * ordering, like {@link Comparator#reverseOrder()}. Which elements are kept among elements equal to
+ * the k-th one is unspecified.
+ */
+public class PartialSort {
+
+  private PartialSort() {}
+
+  /**
+   * Reorders the given array in place so that its first {@code k} elements are its {@code k}
+   * smallest ones, in ascending order. The order of the other elements is unspecified.
+   *
+   * <p><b>Time complexity:</b> O(n + k log k).
+   *
+   * <p><b>Space complexity:</b> O(k) for sorting the smallest elements.
+   *
+   * @param <T> the type of the array's elements.
+   * @param array the array to reorder.
+   * @param k the number of smallest elements to sort, between 0 and {@code array.length}.
+   * @throws NullPointerException if {@code array} is {@code null}.
+   * @throws IllegalArgumentException if {@code k} is negative or greater than {@code array.length}.
+   */
+  public static <T extends Comparable<T>> void partialSort(T[] array, int k) {
+    partialSort(array, k, Comparator.naturalOrder());
+  }
+
+  /**
+   * Reorders the given array in place so that its first {@code k} elements are its {@code k}
+   * smallest ones according to the given comparator, in ascending order. The order of the other
+   * elements is unspecified.
+   *
+   * <p><b>Time complexity:</b> O(n + k log k).
+   *
+   * <p><b>Space complexity:</b> O(k) for sorting the smallest elements.
+   *
+   * @param <T> the type of the array's elements.
+   * @param array the array to reorder.
+   * @param k the number of smallest elements to sort, between 0 and {@code array.length}.
+   * @param comparator the comparator ordering the elements.
+   * @throws NullPointerException if {@code array} or {@code comparator} is {@code null}.
+   * @throws IllegalArgumentException if {@code k} is negative or greater than {@code array.length}.
+   */
+  public static <T> void partialSort(T[] array, int k, Comparator<? super T> comparator) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    Objects.requireNonNull(comparator, "The comparator must not be null.");
+    checkCount(array.length, k);
+    if (k == 0) {
+      return;
+    }
+    // Moves the k - 1 smallest elements before the k-th one, which is already in place
+    QuickSelect.select(array, 0, array.length - 1, k - 1, comparator);
+    Arrays.sort(array, 0, k - 1, comparator);
+  }
+
+  /**
+   * Reorders the given array in place so that its first {@code k} elements are the {@code k}
+   * elements with the smallest keys, in ascending order of their keys. The order of the other
+   * elements is unspecified.
+   *
+   * <p><b>Time complexity:</b> O(n + k log k) key extractions and comparisons.
+   *
+   * <p><b>Space complexity:</b> O(k) for sorting the smallest elements.
+   *
+   * @param <T> the type of the array's elements.
+   * @param <U> the type of the keys.
+   * @param array the array to reorder.
+   * @param k the number of smallest elements to sort, between 0 and {@code array.length}.
+   * @param keyExtractor the function extracting the key of each element.
+   * @throws NullPointerException if {@code array} or {@code keyExtractor} is {@code null}.
+   * @throws IllegalArgumentException if {@code k} is negative or greater than {@code array.length}.
+   */
+  public static <T, U extends Comparable<? super U>> void partialSort(
+      T[] array, int k, Function<? super T, ? extends U> keyExtractor) {
+    partialSort(array, k, comparing(keyExtractor));
+  }
+
+  /**
+   * Returns the {@code k} largest elements of the given array, in descending order. The original
+   * array is not modified.
+   *
+   * <p><b>Time complexity:</b> O(n + k log k).
+   *
+   * <p><b>Space complexity:</b> O(n) for the copy of the input array.
+   *
+   * @param <T> the type of the array's elements.
+   * @param array the array to search.
+   * @param k the number of largest elements to return, between 0 and {@code array.length}.
+   * @return a new list of the {@code k} largest elements, from the largest one.
+   * @throws NullPointerException if {@code array} is {@code null}.
+   * @throws IllegalArgumentException if {@code k} is negative or greater than {@code array.length}.
+   */
+  public static <T extends Comparable<T>> List<T> topK(T[] array, int k) {
+    return topK(array, k, Comparator.naturalOrder());
+  }
+
+  /**
+   * Returns the {@code k} largest elements of the given array according to the given comparator, in
+   * descending order. The original array is not modified.
+   *
+   * <p><b>Time complexity:</b> O(n + k log k).
+   *
+   * <p><b>Space complexity:</b> O(n) for the copy of the input array.
+   *
+   * @param <T> the type of the array's elements.
+   * @param array the array to search.
+   * @param k the number of largest elements to return, between 0 and {@code array.length}.
+   * @param comparator the comparator ordering the elements.
+   * @return a new list of the {@code k} largest elements, from the largest one.
+   * @throws NullPointerException if {@code array} or {@code comparator} is {@code null}.
+   * @throws IllegalArgumentException if {@code k} is negative or greater than {@code array.length}.
+   */
+  public static <T> List<T> topK(T[] array, int k, Comparator<? super T> comparator) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    Objects.requireNonNull(comparator, "The comparator must not be null.");
+    T[] copy = array.clone();
+    partialSort(copy, k, Collections.reverseOrder(comparator));
+    return new ArrayList<>(Arrays.asList(copy).subList(0, k));
+  }
+
+  /**
+   * Returns the {@code k} elements of the given array with the largest keys, in descending order of
+   * their keys. The original array is not modified.
+   *
+   * <p><b>Time complexity:</b> O(n + k log k) key extractions and comparisons.
+   *
+   * <p><b>Space complexity:</b> O(n) for the copy of the input array.
+   *
+   * @param <T> the type of the array's elements.
+   * @param <U> the type of the keys.
+   * @param array the array to search.
+   * @param k the number of largest elements to return, between 0 and {@code array.length}.
+   * @param keyExtractor the function extracting the key of each element.
+   * @return a new list of the {@code k} elements with the largest keys, from the largest one.
+   * @throws NullPointerException if {@code array} or {@code keyExtractor} is {@code null}.
+   * @throws IllegalArgumentException if {@code k} is negative or greater than {@code array.length}.
+   */
+  public static <T, U extends Comparable<? super U>> List<T> topK(
+      T[] array, int k, Function<? super T, ? extends U> keyExtractor) {
+    return topK(array, k, comparing(keyExtractor));
+  }
+
+  /**
+   * Returns the {@code k} largest elements of the given iterable, in descending order, iterating
+   * over it once. Fewer elements are returned if the iterable has fewer than {@code k} elements.
+   *
+   * <p><b>Time complexity:</b> O(n log k).
+   *
+   * <p><b>Space complexity:</b> O(k) for the heap of the largest elements.
+   *
+   * @param <T> the type of the elements.
+   * @param elements the elements to search, which must not be {@code null}.
+   * @param k the number of largest elements to return, which must not be negative.
+   * @return a new list of the {@code k} largest elements, from the largest one.
+   * @throws NullPointerException if {@code elements} or any element is {@code null}.
+   * @throws IllegalArgumentException if {@code k} is negative.
+   */
+  public static <T extends Comparable<T>> List<T> topK(Iterable<? extends T> elements, int k) {
+    return topK(elements, k, Comparator.naturalOrder());
+  }
+
+  /**
+   * Returns the {@code k} largest elements of the given iterable according to the given comparator,
+   * in descending order, iterating over it once. Fewer elements are returned if the iterable has
+   * fewer than {@code k} elements.
+   *
+   * <p><b>Time complexity:</b> O(n log k).
+   *
+   * <p><b>Space complexity:</b> O(k) for the heap of the largest elements.
+   *
+   * @param <T> the type of the elements.
+   * @param elements the elements to search, which must not be {@code null}.
+   * @param k the number of largest elements to return, which must not be negative.
+   * @param comparator the comparator ordering the elements.
+   * @return a new list of the {@code k} largest elements, from the largest one.
+   * @throws NullPointerException if {@code elements}, any element or {@code comparator} is {@code
+   *     null}.
+   * @throws IllegalArgumentException if {@code k} is negative.
+   */
+  public static <T> List<T> topK(
+      Iterable<? extends T> elements, int k, Comparator<? super T> comparator) {
+    Objects.requireNonNull(elements, "The elements must not be null.");
+    Objects.requireNonNull(comparator, "The comparator must not be null.");
+    BoundedHeap<T> heap = new BoundedHeap<>(checkCount(k), comparator);
+    for (T element : elements) {
+      heap.add(element);
+    }
+    return heap.toList();
+  }
+
+  /**
+   * Returns the {@code k} elements of the given iterable with the largest keys, in descending order
+   * of their keys, iterating over it once. Fewer elements are returned if the iterable has fewer
+   * than {@code k} elements.
+   *
+   * <p><b>Time complexity:</b> O(n log k) key extractions and comparisons.
+   *
+   * <p><b>Space complexity:</b> O(k) for the heap of the largest elements.
+   *
+   * @param <T> the type of the elements.
+   * @param <U> the type of the keys.
+   * @param elements the elements to search, which must not be {@code null}.
+   * @param k the number of largest elements to return, which must not be negative.
+   * @param keyExtractor the function extracting the key of each element.
+   * @return a new list of the {@code k} elements with the largest keys, from the largest one.
+   * @throws NullPointerException if {@code elements}, any element or {@code keyExtractor} is {@code
+   *     null}.
+   * @throws IllegalArgumentException if {@code k} is negative.
+   */
+  public static <T, U extends Comparable<? super U>> List<T> topK(
+      Iterable<? extends T> elements, int k, Function<? super T, ? extends U> keyExtractor) {
+    return topK(elements, k, comparing(keyExtractor));
+  }
+
+  /**
+   * Returns the {@code k} largest elements of the given stream, in descending order, consuming it.
+   * Fewer elements are returned if the stream has fewer than {@code k} elements.
+   *
+   * <p><b>Time complexity:</b> O(n log k).
+   *
+   * <p><b>Space complexity:</b> O(k) for the heap of the largest elements, per thread for parallel
+   * streams.
+   *
+   * @param <T> the type of the elements.
+   * @param elements the elements to search, which must not be {@code null}.
+   * @param k the number of largest elements to return, which must not be negative.
+   * @return a new list of the {@code k} largest elements, from the largest one.
+   * @throws NullPointerException if {@code elements} or any element is {@code null}.
+   * @throws IllegalArgumentException if {@code k} is negative.
+   */
+  public static <T extends Comparable<T>> List<T> topK(Stream<? extends T> elements, int k) {
+    return topK(elements, k, Comparator.naturalOrder());
+  }
+
+  /**
+   * Returns the {@code k} largest elements of the given stream according to the given comparator,
+   * in descending order, consuming it. Fewer elements are returned if the stream has fewer than
+   * {@code k} elements.
+   *
+   * <p><b>Time complexity:</b> O(n log k).
+   *
+   * <p><b>Space complexity:</b> O(k) for the heap of the largest elements, per thread for parallel
+   * streams.
+   *
+   * @param <T> the type of the elements.
+   * @param elements the elements to search, which must not be {@code null}.
+   * @param k the number of largest elements to return, which must not be negative.
+   * @param comparator the comparator ordering the elements.
+   * @return a new list of the {@code k} largest elements, from the largest one.
+   * @throws NullPointerException if {@code elements}, any element or {@code comparator} is {@code
+   *     null}.
+   * @throws IllegalArgumentException if {@code k} is negative.
+   */
+  public static <T> List<T> topK(
+      Stream<? extends T> elements, int k, Comparator<? super T> comparator) {
+    Objects.requireNonNull(elements, "The elements must not be null.");
+    Objects.requireNonNull(comparator, "The comparator must not be null.");
+    int count = checkCount(k);
+    return elements.collect(
+        Collector.<T, BoundedHeap<T>, List<T>>of(
+            () -> new BoundedHeap<>(count, comparator),
+            BoundedHeap::add,
+            BoundedHeap::addAll,
+            BoundedHeap::toList,
+            Collector.Characteristics.UNORDERED));
+  }
+
+  /**
+   * Returns the {@code k} elements of the given stream with the largest keys, in descending order
+   * of their keys, consuming it. Fewer elements are returned if the stream has fewer than {@code k}
+   * elements.
+   *
+   * <p><b>Time complexity:</b> O(n log k) key extractions and comparisons.
+   *
+   * <p><b>Space complexity:</b> O(k) for the heap of the largest elements, per thread for parallel
+   * streams.
+   *
+   * @param <T> the type of the elements.
+   * @param <U> the type of the keys.
+   * @param elements the elements to search, which must not be {@code null}.
+   * @param k the number of largest elements to return, which must not be negative.
+   * @param keyExtractor the function extracting the key of each element.
+   * @return a new list of the {@code k} elements with the largest keys, from the largest one.
+   * @throws NullPointerException if {@code elements}, any element or {@code keyExtractor} is {@code
+   *     null}.
+   * @throws IllegalArgumentException if {@code k} is negative.
+   */
+  public static <T, U extends Comparable<? super U>> List<T> topK(
+      Stream<? extends T> elements, int k, Function<? super T, ? extends U> keyExtractor) {
+    return topK(elements, k, comparing(keyExtractor));
+  }
+
+  private static <T, U extends Comparable<? super U>> Comparator<T> comparing(
+      Function<? super T, ? extends U> keyExtractor) {
+    Objects.requireNonNull(keyExtractor, "The key extractor must not be null.");
+    return Comparator.comparing(keyExtractor);
+  }
+
+  private static void checkCount(int length, int k) {
+    if (k < 0 || k > length) {
+      throw new IllegalArgumentException(
+          "k must be between 0 and " + length + ", but was " + k + ".");
+    }
+  }
+
+  private static int checkCount(int k) {
+    if (k < 0) {
+      throw new IllegalArgumentException("k must not be negative, but was " + k + ".");
+    }
+    return k;
+  }
+
+  /**
+   * The {@code BoundedHeap} class represents the {@code k} largest elements added to it, in a heap
+   * whose root is the smallest of them, which the next larger element replaces.
+   *
+   * @param <T> the type of the elements.
+   */
+  private static final class BoundedHeap<T> {
+    private final int capacity;
+
+    private final Comparator<? super T> comparator;
+
+    private final PriorityQueue<T> heap;
+
+    BoundedHeap(int capacity, Comparator<? super T> comparator) {
+      this.capacity = capacity;
+      this.comparator = comparator;
+      this.heap = new PriorityQueue<>(comparator);
+    }
+
+    void add(T element) {
+      Objects.requireNonNull(element, "The elements must not contain null.");
+      if (heap.size() < capacity) {
+        heap.add(element);
+      } else if (capacity > 0 && comparator.compare(element, heap.peek()) > 0) {
+        heap.poll();
+        heap.add(element);
+      }
+    }
+
+    BoundedHeap<T> addAll(BoundedHeap<T> other) {
+      other.heap.forEach(this::add);
+      return this;
+    }
+
+    List<T> toList() {
+      List<T> list = new ArrayList<>(heap);
+      list.sort(Collections.reverseOrder(comparator));
+      return list;
+    }
+  }
+}
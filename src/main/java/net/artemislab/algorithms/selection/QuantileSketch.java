@@ -0,0 +1,507 @@
+package net.artemislab.algorithms.selection;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The {@code QuantileSketch} class implements a KLL sketch, after Zohar Karnin, Kevin Lang and Edo
+ * Liberty: a summary of a stream of {@code double} values in bounded memory, from which the
+ * percentiles of the stream are estimated.
+ *
+ * <p>Values are kept in a stack of compactors, each holding values standing for 2^h values of the
+ * stream at level h. A full compactor sorts its values and promotes either the odd or the even ones
+ * at random to the level above, halving them while keeping the total weight exact. The capacity of
+ * each level shrinks geometrically, by a factor of 2/3, from {@code k} at the top level down to
+ * {@value #MIN_CAPACITY} at the bottom ones, so that the sketch retains O(k + log n) values.
+ *
+ * <p><b>Error guarantee:</b> the estimated rank of any value is within ε·n of its true rank with
+ * high probability, where ε is O(1/k). With the default {@code k} of {@value #DEFAULT_K}, ε is
+ * about 1.65% with 99% confidence, as measured for KLL sketches of this configuration by the Apache
+ * DataSketches project; ε roughly halves each time {@code k} doubles. The smallest and largest
+ * values are tracked exactly, and streams shorter than {@code k} are summarized without any error.
+ *
+ * <p>Sketches with the same {@code k} {@linkplain #merge(QuantileSketch) merge} into a sketch of
+ * the combined streams with the same guarantee, whichever thread or node built them, and
+ * {@linkplain #toByteArray() serialize} to about 8 bytes per retained value.
+ *
+ * <p>This implementation is not thread-safe; {@link ConcurrentQuantileSketch} records values from
+ * several threads without locking.
+ */
+public final class QuantileSketch {
+
+  /** The default number of values retained by the top level of sketches. */
+  public static final int DEFAULT_K = 200;
+
+  /** The smallest number of values retained by the top level of sketches. */
+  public static final int MIN_K = 8;
+
+  /** The magic number at the start of serialized sketches. */
+  static final int MAGIC = 0x4B4C4C53;
+
+  /** The version of the serialization format of sketches. */
+  static final int FORMAT_VERSION = 1;
+
+  /** The smallest capacity of a level. */
+  private static final int MIN_CAPACITY = 8;
+
+  /** The factor by which the capacity of each level shrinks from the level above it. */
+  private static final double CAPACITY_RATIO = 2.0 / 3.0;
+
+  /** The capacity of the top level, which is the k of the sketch. */
+  private final int topCapacity;
+
+  /** The values of each level, the values of level h standing for 2^h values of the stream. */
+  private double[][] levels;
+
+  private int[] sizes;
+
+  private int[] capacities;
+
+  private int retained;
+
+  private int maximumRetained;
+
+  private long count;
+
+  private double min = Double.NaN;
+
+  private double max = Double.NaN;
+
+  /** The retained values in ascending order, or {@code null} if the sketch changed since sorted. */
+  private double[] sortedValues;
+
+  /** The cumulative weight of the retained values in ascending order, up to and including each. */
+  private long[] cumulativeWeights;
+
+  /** Creates a new, empty instance of {@code QuantileSketch} with the default {@code k}. */
+  public QuantileSketch() {
+    this(DEFAULT_K);
+  }
+
+  /**
+   * Creates a new, empty instance of {@code QuantileSketch} with the given {@code k}.
+   *
+   * @param k the number of values retained by the top level, trading memory for accuracy.
+   * @throws IllegalArgumentException if {@code k} is smaller than {@value #MIN_K}.
+   */
+  public QuantileSketch(int k) {
+    if (k < MIN_K) {
+      throw new IllegalArgumentException("k must be at least " + MIN_K + ", but was " + k + ".");
+    }
+    this.topCapacity = k;
+    this.levels = new double[0][];
+    this.sizes = new int[0];
+    grow();
+  }
+
+  /**
+   * Returns the {@code k} of this sketch.
+   *
+   * @return the number of values retained by the top level.
+   */
+  public int getK() {
+    return topCapacity;
+  }
+
+  /**
+   * Returns the number of values of the stream summarized by this sketch.
+   *
+   * @return the number of values of the stream.
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Returns whether this sketch summarizes no value.
+   *
+   * @return {@code true} if no value was added to this sketch, {@code false} otherwise.
+   */
+  public boolean isEmpty() {
+    return count == 0;
+  }
+
+  /**
+   * Returns the smallest value of the stream.
+   *
+   * @return the smallest value, exactly.
+   * @throws IllegalStateException if this sketch is empty.
+   */
+  public double getMin() {
+    checkNotEmpty();
+    return min;
+  }
+
+  /**
+   * Returns the largest value of the stream.
+   *
+   * @return the largest value, exactly.
+   * @throws IllegalStateException if this sketch is empty.
+   */
+  public double getMax() {
+    checkNotEmpty();
+    return max;
+  }
+
+  /**
+   * Adds the given value of the stream to this sketch.
+   *
+   * <p><b>Time complexity:</b> O(log k) amortized.
+   *
+   * @param value the value to add.
+   * @throws IllegalArgumentException if {@code value} is {@code NaN}.
+   */
+  public void update(double value) {
+    checkValue(value);
+    if (count == 0 || value < min) {
+      min = value;
+    }
+    if (count == 0 || value > max) {
+      max = value;
+    }
+    count++;
+    add(0, value);
+    retained++;
+    if (retained >= maximumRetained) {
+      compress();
+    }
+    sortedValues = null;
+  }
+
+  /**
+   * Merges the given sketch into this sketch, which then summarizes both streams. The given sketch
+   * is not modified.
+   *
+   * <p><b>Time complexity:</b> O(k + log n).
+   *
+   * @param other the sketch to merge.
+   * @throws NullPointerException if {@code other} is {@code null}.
+   * @throws IllegalArgumentException if {@code other} does not have the same {@code k}.
+   */
+  public void merge(QuantileSketch other) {
+    Objects.requireNonNull(other, "The sketch must not be null.");
+    if (other.topCapacity != topCapacity) {
+      throw new IllegalArgumentException(
+          "The sketch must have a k of " + topCapacity + ", but had " + other.topCapacity + ".");
+    }
+    if (other.count == 0) {
+      return;
+    }
+    if (other == this) {
+      merge(copy());
+      return;
+    }
+    min = count == 0 ? other.min : Math.min(min, other.min);
+    max = count == 0 ? other.max : Math.max(max, other.max);
+    count += other.count;
+    while (levels.length < other.levels.length) {
+      grow();
+    }
+    for (int h = 0; h < other.levels.length; h++) {
+      for (int i = 0; i < other.sizes[h]; i++) {
+        add(h, other.levels[h][i]);
+      }
+      retained += other.sizes[h];
+    }
+    compress();
+    sortedValues = null;
+  }
+
+  /**
+   * Returns a copy of this sketch.
+   *
+   * @return a new sketch summarizing the same stream as this sketch.
+   */
+  public QuantileSketch copy() {
+    QuantileSketch copy = new QuantileSketch(topCapacity);
+    copy.merge(this);
+    return copy;
+  }
+
+  /**
+   * Returns the estimated fraction of the values of the stream which are smaller than or equal to
+   * the given value.
+   *
+   * @param value the value to rank.
+   * @return the estimated normalized rank of {@code value}, between 0 and 1.
+   * @throws IllegalArgumentException if {@code value} is {@code NaN}.
+   * @throws IllegalStateException if this sketch is empty.
+   */
+  public double rank(double value) {
+    checkValue(value);
+    checkNotEmpty();
+    sort();
+    int index = upperBound(sortedValues, value);
+    return index == 0 ? 0 : (double) cumulativeWeights[index - 1] / count;
+  }
+
+  /**
+   * Returns the estimated {@code p}-th percentile of the stream, the value of rank {@code round(p /
+   * 100 * (n - 1))} like in {@link QuickSelect#percentile(double[], double)}, so that the 0th
+   * percentile is the smallest value and the 100th the largest.
+   *
+   * @param p the percentile, between 0 and 100.
+   * @return the estimated {@code p}-th percentile.
+   * @throws IllegalArgumentException if {@code p} is not between 0 and 100.
+   * @throws IllegalStateException if this sketch is empty.
+   */
+  public double percentile(double p) {
+    if (!(p >= 0 && p <= 100)) {
+      throw new IllegalArgumentException("p must be between 0 and 100, but was " + p + ".");
+    }
+    checkNotEmpty();
+    long rank = Math.round(p / 100 * (count - 1));
+    if (rank == 0) {
+      return min;
+    }
+    if (rank == count - 1) {
+      return max;
+    }
+    sort();
+    // The first value whose cumulative weight exceeds the rank stands for the value of that rank
+    int low = 0;
+    int high = cumulativeWeights.length - 1;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (cumulativeWeights[middle] > rank) {
+        high = middle;
+      } else {
+        low = middle + 1;
+      }
+    }
+    return sortedValues[low];
+  }
+
+  /**
+   * Returns the estimated percentiles of the stream, in the order of the given percentiles, like
+   * {@link #percentile(double)}.
+   *
+   * @param ps the percentiles, between 0 and 100, in any order.
+   * @return the estimated percentiles, in the order of {@code ps}.
+   * @throws NullPointerException if {@code ps} is {@code null}.
+   * @throws IllegalArgumentException if any percentile is not between 0 and 100.
+   * @throws IllegalStateException if this sketch is empty.
+   */
+  public double[] percentiles(double... ps) {
+    Objects.requireNonNull(ps, "The percentiles must not be null.");
+    double[] result = new double[ps.length];
+    for (int i = 0; i < ps.length; i++) {
+      result[i] = percentile(ps[i]);
+    }
+    return result;
+  }
+
+  /**
+   * Returns the serialized form of this sketch, which {@link #fromByteArray(byte[])} reads back.
+   *
+   * <p>The format is a header of the magic number, format version, {@code k}, number of values,
+   * smallest and largest values and number of levels, followed by the number of values of each
+   * level and its values, all in big-endian order.
+   *
+   * @return the serialized form of this sketch.
+   */
+  public byte[] toByteArray() {
+    ByteBuffer buffer =
+        ByteBuffer.allocate(
+            3 * Integer.BYTES
+                + Long.BYTES
+                + 2 * Double.BYTES
+                + Byte.BYTES
+                + levels.length * Integer.BYTES
+                + retained * Double.BYTES);
+    buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(topCapacity).putLong(count);
+    buffer.putDouble(min).putDouble(max).put((byte) levels.length);
+    for (int h = 0; h < levels.length; h++) {
+      buffer.putInt(sizes[h]);
+      for (int i = 0; i < sizes[h]; i++) {
+        buffer.putDouble(levels[h][i]);
+      }
+    }
+    return buffer.array();
+  }
+
+  /**
+   * Returns the sketch serialized by {@link #toByteArray()} in the given bytes.
+   *
+   * @param bytes the serialized form of a sketch.
+   * @return the sketch.
+   * @throws NullPointerException if {@code bytes} is {@code null}.
+   * @throws IllegalArgumentException if {@code bytes} does not hold a sketch of the current format
+   *     version, or is truncated or corrupted.
+   */
+  public static QuantileSketch fromByteArray(byte[] bytes) {
+    Objects.requireNonNull(bytes, "The bytes must not be null.");
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    try {
+      if (buffer.getInt() != MAGIC) {
+        throw new IllegalArgumentException("The bytes must hold a quantile sketch.");
+      }
+      int version = buffer.getInt();
+      if (version != FORMAT_VERSION) {
+        throw new IllegalArgumentException(
+            "The sketch format version must be " + FORMAT_VERSION + ", but was " + version + ".");
+      }
+      QuantileSketch sketch = new QuantileSketch(buffer.getInt());
+      sketch.count = buffer.getLong();
+      sketch.min = buffer.getDouble();
+      sketch.max = buffer.getDouble();
+      int levelCount = buffer.get();
+      // A non-empty sketch holds its values within its exact extremes
+      boolean invalidExtremes =
+          sketch.count != 0
+              && (Double.isNaN(sketch.min) || Double.isNaN(sketch.max) || sketch.min > sketch.max);
+      if (levelCount < 1 || levelCount >= Long.SIZE || invalidExtremes) {
+        throw new IllegalArgumentException("The sketch must not be corrupted.");
+      }
+      while (sketch.levels.length < levelCount) {
+        sketch.grow();
+      }
+      long weight = 0;
+      for (int h = 0; h < levelCount; h++) {
+        int size = buffer.getInt();
+        if (size < 0) {
+          throw new IllegalArgumentException("The sketch must not be corrupted.");
+        }
+        for (int i = 0; i < size; i++) {
+          double value = buffer.getDouble();
+          checkValue(value);
+          if (value < sketch.min || value > sketch.max) {
+            throw new IllegalArgumentException("The sketch must not be corrupted.");
+          }
+          sketch.add(h, value);
+        }
+        sketch.retained += size;
+        weight += (long) size << h;
+      }
+      // The weights of the retained values always add up to the number of values of the stream
+      if (weight != sketch.count || buffer.hasRemaining()) {
+        throw new IllegalArgumentException("The sketch must not be corrupted.");
+      }
+      return sketch;
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("The sketch must not be truncated.", e);
+    }
+  }
+
+  /**
+   * Checks that the given value can be added to a sketch.
+   *
+   * @param value the value to check.
+   * @throws IllegalArgumentException if {@code value} is {@code NaN}.
+   */
+  static void checkValue(double value) {
+    if (Double.isNaN(value)) {
+      throw new IllegalArgumentException("The value must not be NaN.");
+    }
+  }
+
+  private void add(int level, double value) {
+    if (sizes[level] == levels[level].length) {
+      levels[level] = Arrays.copyOf(levels[level], 2 * levels[level].length);
+    }
+    levels[level][sizes[level]++] = value;
+  }
+
+  /** Adds a level on top of the others, which shrinks the capacity of the levels below it. */
+  private void grow() {
+    int height = levels.length + 1;
+    levels = Arrays.copyOf(levels, height);
+    levels[height - 1] = new double[MIN_CAPACITY];
+    sizes = Arrays.copyOf(sizes, height);
+    capacities = new int[height];
+    maximumRetained = 0;
+    for (int h = 0; h < height; h++) {
+      double capacity = Math.ceil(topCapacity * Math.pow(CAPACITY_RATIO, height - 1 - h));
+      capacities[h] = Math.max(MIN_CAPACITY, (int) capacity);
+      maximumRetained += capacities[h];
+    }
+  }
+
+  /** Compacts the lowest full levels until the sketch retains fewer values than its capacity. */
+  private void compress() {
+    while (retained >= maximumRetained) {
+      int level = 0;
+      while (sizes[level] < capacities[level]) {
+        level++;
+      }
+      if (level == levels.length - 1) {
+        grow();
+      }
+      compact(level);
+    }
+  }
+
+  /**
+   * Sorts the values of the given level and promotes every other one to the level above, starting
+   * from the first or second one at random. A value left over from an odd number stays behind.
+   */
+  private void compact(int level) {
+    double[] values = levels[level];
+    int size = sizes[level];
+    Arrays.sort(values, 0, size);
+    int from = size & 1;
+    int offset = ThreadLocalRandom.current().nextBoolean() ? 1 : 0;
+    for (int i = from + offset; i < size; i += 2) {
+      add(level + 1, values[i]);
+    }
+    sizes[level] = from;
+    retained -= (size - from) / 2;
+  }
+
+  /** Merges the sorted values of the levels with their weights, unless already done. */
+  private void sort() {
+    if (sortedValues != null) {
+      return;
+    }
+    double[] values = new double[0];
+    long[] weights = new long[0];
+    for (int h = 0; h < levels.length; h++) {
+      double[] level = Arrays.copyOf(levels[h], sizes[h]);
+      Arrays.sort(level);
+      double[] mergedValues = new double[values.length + level.length];
+      long[] mergedWeights = new long[mergedValues.length];
+      int i = 0;
+      int j = 0;
+      for (int m = 0; m < mergedValues.length; m++) {
+        if (j == level.length || (i < values.length && values[i] <= level[j])) {
+          mergedValues[m] = values[i];
+          mergedWeights[m] = weights[i++];
+        } else {
+          mergedValues[m] = level[j++];
+          mergedWeights[m] = 1L << h;
+        }
+      }
+      values = mergedValues;
+      weights = mergedWeights;
+    }
+    for (int m = 1; m < weights.length; m++) {
+      weights[m] += weights[m - 1];
+    }
+    sortedValues = values;
+    cumulativeWeights = weights;
+  }
+
+  private void checkNotEmpty() {
+    if (count == 0) {
+      throw new IllegalStateException("The sketch must not be empty.");
+    }
+  }
+
+  /** Returns the number of the given sorted values which are smaller than or equal to the value. */
+  private static int upperBound(double[] values, double value) {
+    int low = 0;
+    int high = values.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (values[middle] <= value) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+}
@@ -1,77 +1,1454 @@
 package net.artemislab.algorithms.selection;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Objects;
-import net.artemislab.algorithms.shuffle.Shuffle;
+import java.util.concurrent.ThreadLocalRandom;
 import net.artemislab.algorithms.utils.Utils;
 
-/** Utility class providing QuickSelect algorithm. */
+/**
+ * Utility class providing QuickSelect algorithm.
+ *
+ * <p>Ranges are partitioned three ways, gathering the elements equal to the pivot in the middle, so
+ * that arrays with many duplicate elements are selected from as fast as arrays of distinct ones.
+ * Pivots are picked at random, falling back to the median of medians whenever the range to search
+ * does not shrink fast enough, which makes the selection run in O(n) time even in the worst case.
+ *
+ * <p>Since pivots are picked at random, the array is never shuffled first: the selection either
+ * works on a copy of the array, possibly made into a scratch buffer of the caller, or reorders the
+ * array in place. Arrays of {@code int}, {@code long} and {@code double} values have overloads of
+ * their own, comparing elements without boxing them.
+ */
 public class QuickSelect {
 
+  /**
+   * The number of partitions around random pivots within which the range to search must halve,
+   * before a median of medians pivot is used to guarantee that it shrinks.
+   */
+  private static final int ROUNDS_PER_HALVING = 4;
+
+  /** The size of the groups of elements whose medians are used to pick a median of medians. */
+  private static final int GROUP_SIZE = 5;
+
   private QuickSelect() {}
 
   /**
-   * Returns the {@code k}-th smallest element in the given array using the QuickSelect algorithm.
-   * The original array is not modified.
+   * Returns the {@code k}-th smallest element in the given array using the QuickSelect algorithm.
+   * The original array is not modified.
+   *
+   * <p><b>Time complexity:</b> O(n), including in the worst case and when many elements are equal.
+   *
+   * <p><b>Space complexity:</b> O(n) for the copy of the input array.
+   *
+   * @param <T> the type of the array's elements.
+   * @param array the array to search.
+   * @param k the zero-based index of the desired order statistic (0 for the smallest element,
+   *     {@code array.length - 1} for the largest).
+   * @return the {@code k}-th smallest element (zero-based).
+   * @throws NullPointerException if {@code array} is {@code null}.
+   * @throws IllegalArgumentException if {@code array} is empty.
+   * @throws IllegalArgumentException if {@code k} is negative or greater than or equal to {@code
+   *     array.length}.
+   */
+  public static <T extends Comparable<T>> T quickSelect(T[] array, int k) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    checkRange(array.length, 0, array.length, k);
+    T[] copy = array.clone();
+    return select(copy, 0, copy.length - 1, k, Comparator.naturalOrder());
+  }
+
+  /**
+   * Returns the {@code k}-th smallest element in the given array using the QuickSelect algorithm,
+   * selecting from a copy of the array made into the given scratch buffer, so that repeated
+   * selections do not allocate. The original array is not modified, while the first {@code
+   * array.length} elements of the scratch buffer are overwritten.
+   *
+   * <p><b>Time complexity:</b> O(n), including in the worst case and when many elements are equal.
+   *
+   * <p><b>Space complexity:</b> O(1), besides the O(log n) stack of the worst case.
+   *
+   * @param <T> the type of the array's elements.
+   * @param array the array to search.
+   * @param k the zero-based index of the desired order statistic (0 for the smallest element,
+   *     {@code array.length - 1} for the largest).
+   * @param scratch the buffer to copy the array into, at least as long as the array.
+   * @return the {@code k}-th smallest element (zero-based).
+   * @throws NullPointerException if {@code array} or {@code scratch} is {@code null}.
+   * @throws IllegalArgumentException if {@code array} is empty.
+   * @throws IllegalArgumentException if {@code k} is negative or greater than or equal to {@code
+   *     array.length}.
+   * @throws IllegalArgumentException if {@code scratch} is shorter than {@code array}.
+   */
+  public static <T extends Comparable<T>> T quickSelect(T[] array, int k, T[] scratch) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    checkRange(array.length, 0, array.length, k);
+    Objects.requireNonNull(scratch, "The scratch must not be null.");
+    checkScratch(array.length, scratch.length);
+    System.arraycopy(array, 0, scratch, 0, array.length);
+    return select(scratch, 0, array.length - 1, k, Comparator.naturalOrder());
+  }
+
+  /**
+   * Returns the {@code k}-th smallest element in the given array of {@code int} values using the
+   * QuickSelect algorithm. The original array is not modified.
+   *
+   * <p><b>Time complexity:</b> O(n), including in the worst case and when many elements are equal.
+   *
+   * <p><b>Space complexity:</b> O(n) for the copy of the input array.
+   *
+   * @param array the array to search.
+   * @param k the zero-based index of the desired order statistic (0 for the smallest element,
+   *     {@code array.length - 1} for the largest).
+   * @return the {@code k}-th smallest element (zero-based).
+   * @throws NullPointerException if {@code array} is {@code null}.
+   * @throws IllegalArgumentException if {@code array} is empty.
+   * @throws IllegalArgumentException if {@code k} is negative or greater than or equal to {@code
+   *     array.length}.
+   */
+  public static int quickSelect(int[] array, int k) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    return quickSelect(array, 0, array.length, k);
+  }
+
+  /**
+   * Returns the {@code k}-th smallest element in the given range of the given array of {@code int}
+   * values using the QuickSelect algorithm. The original array is not modified.
+   *
+   * <p><b>Time complexity:</b> O(m), where m is the length of the range.
+   *
+   * <p><b>Space complexity:</b> O(m) for the copy of the range.
+   *
+   * @param array the array to search.
+   * @param from the index of the first element of the range, inclusive.
+   * @param to the index of the last element of the range, exclusive.
+   * @param k the zero-based index of the desired order statistic within the range (0 for the
+   *     smallest element of the range, {@code to - from - 1} for the largest).
+   * @return the {@code k}-th smallest element of the range (zero-based).
+   * @throws NullPointerException if {@code array} is {@code null}.
+   * @throws IndexOutOfBoundsException if {@code from} is negative, {@code to} is greater than
+   *     {@code array.length}, or {@code from} is greater than {@code to}.
+   * @throws IllegalArgumentException if the range is empty.
+   * @throws IllegalArgumentException if {@code k} is negative or greater than or equal to {@code to
+   *     - from}.
+   */
+  public static int quickSelect(int[] array, int from, int to, int k) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    checkRange(array.length, from, to, k);
+    int[] copy = Arrays.copyOfRange(array, from, to);
+    return select(copy, 0, copy.length - 1, k);
+  }
+
+  /**
+   * Returns the {@code k}-th smallest element in the given array of {@code int} values using the
+   * QuickSelect algorithm, selecting from a copy of the array made into the given scratch buffer,
+   * so that repeated selections do not allocate. The original array is not modified, while the
+   * first {@code array.length} elements of the scratch buffer are overwritten.
+   *
+   * <p><b>Time complexity:</b> O(n), including in the worst case and when many elements are equal.
+   *
+   * <p><b>Space complexity:</b> O(1), besides the O(log n) stack of the worst case.
+   *
+   * @param array the array to search.
+   * @param k the zero-based index of the desired order statistic (0 for the smallest element,
+   *     {@code array.length - 1} for the largest).
+   * @param scratch the buffer to copy the array into, at least as long as the array.
+   * @return the {@code k}-th smallest element (zero-based).
+   * @throws NullPointerException if {@code array} or {@code scratch} is {@code null}.
+   * @throws IllegalArgumentException if {@code array} is empty.
+   * @throws IllegalArgumentException if {@code k} is negative or greater than or equal to {@code
+   *     array.length}.
+   * @throws IllegalArgumentException if {@code scratch} is shorter than {@code array}.
+   */
+  public static int quickSelect(int[] array, int k, int[] scratch) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    checkRange(array.length, 0, array.length, k);
+    Objects.requireNonNull(scratch, "The scratch must not be null.");
+    checkScratch(array.length, scratch.length);
+    System.arraycopy(array, 0, scratch, 0, array.length);
+    return select(scratch, 0, array.length - 1, k);
+  }
+
+  /**
+   * Returns the {@code k}-th smallest element in the given array of {@code long} values using the
+   * QuickSelect algorithm. The original array is not modified.
+   *
+   * <p><b>Time complexity:</b> O(n), including in the worst case and when many elements are equal.
+   *
+   * <p><b>Space complexity:</b> O(n) for the copy of the input array.
+   *
+   * @param array the array to search.
+   * @param k the zero-based index of the desired order statistic (0 for the smallest element,
+   *     {@code array.length - 1} for the largest).
+   * @return the {@code k}-th smallest element (zero-based).
+   * @throws NullPointerException if {@code array} is {@code null}.
+   * @throws IllegalArgumentException if {@code array} is empty.
+   * @throws IllegalArgumentException if {@code k} is negative or greater than or equal to {@code
+   *     array.length}.
+   */
+  public static long quickSelect(long[] array, int k) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    return quickSelect(array, 0, array.length, k);
+  }
+
+  /**
+   * Returns the {@code k}-th smallest element in the given range of the given array of {@code long}
+   * values using the QuickSelect algorithm. The original array is not modified.
+   *
+   * <p><b>Time complexity:</b> O(m), where m is the length of the range.
+   *
+   * <p><b>Space complexity:</b> O(m) for the copy of the range.
+   *
+   * @param array the array to search.
+   * @param from the index of the first element of the range, inclusive.
+   * @param to the index of the last element of the range, exclusive.
+   * @param k the zero-based index of the desired order statistic within the range (0 for the
+   *     smallest element of the range, {@code to - from - 1} for the largest).
+   * @return the {@code k}-th smallest element of the range (zero-based).
+   * @throws NullPointerException if {@code array} is {@code null}.
+   * @throws IndexOutOfBoundsException if {@code from} is negative, {@code to} is greater than
+   *     {@code array.length}, or {@code from} is greater than {@code to}.
+   * @throws IllegalArgumentException if the range is empty.
+   * @throws IllegalArgumentException if {@code k} is negative or greater than or equal to {@code to
+   *     - from}.
+   */
+  public static long quickSelect(long[] array, int from, int to, int k) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    checkRange(array.length, from, to, k);
+    long[] copy = Arrays.copyOfRange(array, from, to);
+    return select(copy, 0, copy.length - 1, k);
+  }
+
+  /**
+   * Returns the {@code k}-th smallest element in the given array of {@code long} values using the
+   * QuickSelect algorithm, selecting from a copy of the array made into the given scratch buffer,
+   * so that repeated selections do not allocate. The original array is not modified, while the
+   * first {@code array.length} elements of the scratch buffer are overwritten.
+   *
+   * <p><b>Time complexity:</b> O(n), including in the worst case and when many elements are equal.
+   *
+   * <p><b>Space complexity:</b> O(1), besides the O(log n) stack of the worst case.
+   *
+   * @param array the array to search.
+   * @param k the zero-based index of the desired order statistic (0 for the smallest element,
+   *     {@code array.length - 1} for the largest).
+   * @param scratch the buffer to copy the array into, at least as long as the array.
+   * @return the {@code k}-th smallest element (zero-based).
+   * @throws NullPointerException if {@code array} or {@code scratch} is {@code null}.
+   * @throws IllegalArgumentException if {@code array} is empty.
+   * @throws IllegalArgumentException if {@code k} is negative or greater than or equal to {@code
+   *     array.length}.
+   * @throws IllegalArgumentException if {@code scratch} is shorter than {@code array}.
+   */
+  public static long quickSelect(long[] array, int k, long[] scratch) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    checkRange(array.length, 0, array.length, k);
+    Objects.requireNonNull(scratch, "The scratch must not be null.");
+    checkScratch(array.length, scratch.length);
+    System.arraycopy(array, 0, scratch, 0, array.length);
+    return select(scratch, 0, array.length - 1, k);
+  }
+
+  /**
+   * Returns the {@code k}-th smallest element in the given array of {@code double} values using the
+   * QuickSelect algorithm. The original array is not modified.
+   *
+   * <p>Elements are ordered like {@link Double#compare(double, double)}: {@code -0.0} is smaller
+   * than {@code 0.0}, and {@code NaN} is greater than any other value, including positive infinity.
+   *
+   * <p><b>Time complexity:</b> O(n), including in the worst case and when many elements are equal.
+   *
+   * <p><b>Space complexity:</b> O(n) for the copy of the input array.
+   *
+   * @param array the array to search.
+   * @param k the zero-based index of the desired order statistic (0 for the smallest element,
+   *     {@code array.length - 1} for the largest).
+   * @return the {@code k}-th smallest element (zero-based).
+   * @throws NullPointerException if {@code array} is {@code null}.
+   * @throws IllegalArgumentException if {@code array} is empty.
+   * @throws IllegalArgumentException if {@code k} is negative or greater than or equal to {@code
+   *     array.length}.
+   */
+  public static double quickSelect(double[] array, int k) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    return quickSelect(array, 0, array.length, k);
+  }
+
+  /**
+   * Returns the {@code k}-th smallest element in the given range of the given array of {@code
+   * double} values using the QuickSelect algorithm. The original array is not modified.
+   *
+   * <p>Elements are ordered like {@link Double#compare(double, double)}: {@code -0.0} is smaller
+   * than {@code 0.0}, and {@code NaN} is greater than any other value, including positive infinity.
+   *
+   * <p><b>Time complexity:</b> O(m), where m is the length of the range.
+   *
+   * <p><b>Space complexity:</b> O(m) for the copy of the range.
+   *
+   * @param array the array to search.
+   * @param from the index of the first element of the range, inclusive.
+   * @param to the index of the last element of the range, exclusive.
+   * @param k the zero-based index of the desired order statistic within the range (0 for the
+   *     smallest element of the range, {@code to - from - 1} for the largest).
+   * @return the {@code k}-th smallest element of the range (zero-based).
+   * @throws NullPointerException if {@code array} is {@code null}.
+   * @throws IndexOutOfBoundsException if {@code from} is negative, {@code to} is greater than
+   *     {@code array.length}, or {@code from} is greater than {@code to}.
+   * @throws IllegalArgumentException if the range is empty.
+   * @throws IllegalArgumentException if {@code k} is negative or greater than or equal to {@code to
+   *     - from}.
+   */
+  public static double quickSelect(double[] array, int from, int to, int k) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    checkRange(array.length, from, to, k);
+    double[] copy = Arrays.copyOfRange(array, from, to);
+    return select(copy, 0, copy.length - 1, k);
+  }
+
+  /**
+   * Returns the {@code k}-th smallest element in the given array of {@code double} values using the
+   * QuickSelect algorithm, selecting from a copy of the array made into the given scratch buffer,
+   * so that repeated selections do not allocate. The original array is not modified, while the
+   * first {@code array.length} elements of the scratch buffer are overwritten.
+   *
+   * <p><b>Time complexity:</b> O(n), including in the worst case and when many elements are equal.
+   *
+   * <p><b>Space complexity:</b> O(1), besides the O(log n) stack of the worst case.
+   *
+   * @param array the array to search.
+   * @param k the zero-based index of the desired order statistic (0 for the smallest element,
+   *     {@code array.length - 1} for the largest).
+   * @param scratch the buffer to copy the array into, at least as long as the array.
+   * @return the {@code k}-th smallest element (zero-based).
+   * @throws NullPointerException if {@code array} or {@code scratch} is {@code null}.
+   * @throws IllegalArgumentException if {@code array} is empty.
+   * @throws IllegalArgumentException if {@code k} is negative or greater than or equal to {@code
+   *     array.length}.
+   * @throws IllegalArgumentException if {@code scratch} is shorter than {@code array}.
+   */
+  public static double quickSelect(double[] array, int k, double[] scratch) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    checkRange(array.length, 0, array.length, k);
+    Objects.requireNonNull(scratch, "The scratch must not be null.");
+    checkScratch(array.length, scratch.length);
+    System.arraycopy(array, 0, scratch, 0, array.length);
+    return select(scratch, 0, array.length - 1, k);
+  }
+
+  /**
+   * Returns the {@code k}-th smallest element in the given array using the QuickSelect algorithm,
+   * reordering the array in place: the element is left at index {@code k}, preceded by elements not
+   * greater than it and followed by elements not smaller than it.
+   *
+   * <p>Unlike {@link #quickSelect(Comparable[], int)}, the array is neither copied nor shuffled:
+   * pivots are picked at random within the range left to search, which keeps the expected running
+   * time linear for any order of the input.
+   *
+   * <p><b>Time complexity:</b> O(n), including in the worst case and when many elements are equal.
+   *
+   * <p><b>Space complexity:</b> O(1), besides the O(log n) stack of the worst case.
+   *
+   * @param <T> the type of the array's elements.
+   * @param array the array to search and reorder.
+   * @param k the zero-based index of the desired order statistic (0 for the smallest element,
+   *     {@code array.length - 1} for the largest).
+   * @return the {@code k}-th smallest element (zero-based).
+   * @throws NullPointerException if {@code array} is {@code null}.
+   * @throws IllegalArgumentException if {@code array} is empty.
+   * @throws IllegalArgumentException if {@code k} is negative or greater than or equal to {@code
+   *     array.length}.
+   */
+  public static <T extends Comparable<T>> T quickSelectInPlace(T[] array, int k) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    return quickSelectInPlace(array, 0, array.length, k);
+  }
+
+  /**
+   * Returns the {@code k}-th smallest element in the given range of the given array using the
+   * QuickSelect algorithm, reordering the range in place: the element is left at index {@code from
+   * + k}, preceded within the range by elements not greater than it and followed by elements not
+   * smaller than it. Elements outside of the range are not moved.
+   *
+   * <p><b>Time complexity:</b> O(m), where m is the length of the range.
+   *
+   * <p><b>Space complexity:</b> O(1), besides the O(log m) stack of the worst case.
+   *
+   * @param <T> the type of the array's elements.
+   * @param array the array to search and reorder.
+   * @param from the index of the first element of the range, inclusive.
+   * @param to the index of the last element of the range, exclusive.
+   * @param k the zero-based index of the desired order statistic within the range (0 for the
+   *     smallest element of the range, {@code to - from - 1} for the largest).
+   * @return the {@code k}-th smallest element of the range (zero-based).
+   * @throws NullPointerException if {@code array} is {@code null}.
+   * @throws IndexOutOfBoundsException if {@code from} is negative, {@code to} is greater than
+   *     {@code array.length}, or {@code from} is greater than {@code to}.
+   * @throws IllegalArgumentException if the range is empty.
+   * @throws IllegalArgumentException if {@code k} is negative or greater than or equal to {@code to
+   *     - from}.
+   */
+  public static <T extends Comparable<T>> T quickSelectInPlace(T[] array, int from, int to, int k) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    checkRange(array.length, from, to, k);
+    return select(array, from, to - 1, from + k, Comparator.naturalOrder());
+  }
+
+  /**
+   * Returns the {@code k}-th smallest element in the given array of {@code int} values using the
+   * QuickSelect algorithm, reordering the array in place: the element is left at index {@code k},
+   * preceded by elements not greater than it and followed by elements not smaller than it.
+   *
+   * <p><b>Time complexity:</b> O(n).
+   *
+   * <p><b>Space complexity:</b> O(1), besides the O(log n) stack of the worst case.
+   *
+   * @param array the array to search and reorder.
+   * @param k the zero-based index of the desired order statistic (0 for the smallest element,
+   *     {@code array.length - 1} for the largest).
+   * @return the {@code k}-th smallest element (zero-based).
+   * @throws NullPointerException if {@code array} is {@code null}.
+   * @throws IllegalArgumentException if {@code array} is empty.
+   * @throws IllegalArgumentException if {@code k} is negative or greater than or equal to {@code
+   *     array.length}.
+   */
+  public static int quickSelectInPlace(int[] array, int k) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    return quickSelectInPlace(array, 0, array.length, k);
+  }
+
+  /**
+   * Returns the {@code k}-th smallest element in the given range of the given array of {@code int}
+   * values using the QuickSelect algorithm, reordering the range in place: the element is left at
+   * index {@code from + k}, preceded within the range by elements not greater than it and followed
+   * by elements not smaller than it. Elements outside of the range are not moved.
+   *
+   * <p><b>Time complexity:</b> O(m), where m is the length of the range.
+   *
+   * <p><b>Space complexity:</b> O(1), besides the O(log m) stack of the worst case.
+   *
+   * @param array the array to search and reorder.
+   * @param from the index of the first element of the range, inclusive.
+   * @param to the index of the last element of the range, exclusive.
+   * @param k the zero-based index of the desired order statistic within the range (0 for the
+   *     smallest element of the range, {@code to - from - 1} for the largest).
+   * @return the {@code k}-th smallest element of the range (zero-based).
+   * @throws NullPointerException if {@code array} is {@code null}.
+   * @throws IndexOutOfBoundsException if {@code from} is negative, {@code to} is greater than
+   *     {@code array.length}, or {@code from} is greater than {@code to}.
+   * @throws IllegalArgumentException if the range is empty.
+   * @throws IllegalArgumentException if {@code k} is negative or greater than or equal to {@code to
+   *     - from}.
+   */
+  public static int quickSelectInPlace(int[] array, int from, int to, int k) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    checkRange(array.length, from, to, k);
+    return select(array, from, to - 1, from + k);
+  }
+
+  /**
+   * Returns the {@code k}-th smallest element in the given array of {@code long} values using the
+   * QuickSelect algorithm, reordering the array in place: the element is left at index {@code k},
+   * preceded by elements not greater than it and followed by elements not smaller than it.
+   *
+   * <p><b>Time complexity:</b> O(n).
+   *
+   * <p><b>Space complexity:</b> O(1), besides the O(log n) stack of the worst case.
+   *
+   * @param array the array to search and reorder.
+   * @param k the zero-based index of the desired order statistic (0 for the smallest element,
+   *     {@code array.length - 1} for the largest).
+   * @return the {@code k}-th smallest element (zero-based).
+   * @throws NullPointerException if {@code array} is {@code null}.
+   * @throws IllegalArgumentException if {@code array} is empty.
+   * @throws IllegalArgumentException if {@code k} is negative or greater than or equal to {@code
+   *     array.length}.
+   */
+  public static long quickSelectInPlace(long[] array, int k) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    return quickSelectInPlace(array, 0, array.length, k);
+  }
+
+  /**
+   * Returns the {@code k}-th smallest element in the given range of the given array of {@code long}
+   * values using the QuickSelect algorithm, reordering the range in place: the element is left at
+   * index {@code from + k}, preceded within the range by elements not greater than it and followed
+   * by elements not smaller than it. Elements outside of the range are not moved.
+   *
+   * <p><b>Time complexity:</b> O(m), where m is the length of the range.
+   *
+   * <p><b>Space complexity:</b> O(1), besides the O(log m) stack of the worst case.
+   *
+   * @param array the array to search and reorder.
+   * @param from the index of the first element of the range, inclusive.
+   * @param to the index of the last element of the range, exclusive.
+   * @param k the zero-based index of the desired order statistic within the range (0 for the
+   *     smallest element of the range, {@code to - from - 1} for the largest).
+   * @return the {@code k}-th smallest element of the range (zero-based).
+   * @throws NullPointerException if {@code array} is {@code null}.
+   * @throws IndexOutOfBoundsException if {@code from} is negative, {@code to} is greater than
+   *     {@code array.length}, or {@code from} is greater than {@code to}.
+   * @throws IllegalArgumentException if the range is empty.
+   * @throws IllegalArgumentException if {@code k} is negative or greater than or equal to {@code to
+   *     - from}.
+   */
+  public static long quickSelectInPlace(long[] array, int from, int to, int k) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    checkRange(array.length, from, to, k);
+    return select(array, from, to - 1, from + k);
+  }
+
+  /**
+   * Returns the {@code k}-th smallest element in the given array of {@code double} values using the
+   * QuickSelect algorithm, reordering the array in place: the element is left at index {@code k},
+   * preceded by elements not greater than it and followed by elements not smaller than it.
+   *
+   * <p>Elements are ordered like {@link Double#compare(double, double)}: {@code -0.0} is smaller
+   * than {@code 0.0}, and {@code NaN} is greater than any other value, including positive infinity.
+   *
+   * <p><b>Time complexity:</b> O(n).
+   *
+   * <p><b>Space complexity:</b> O(1), besides the O(log n) stack of the worst case.
+   *
+   * @param array the array to search and reorder.
+   * @param k the zero-based index of the desired order statistic (0 for the smallest element,
+   *     {@code array.length - 1} for the largest).
+   * @return the {@code k}-th smallest element (zero-based).
+   * @throws NullPointerException if {@code array} is {@code null}.
+   * @throws IllegalArgumentException if {@code array} is empty.
+   * @throws IllegalArgumentException if {@code k} is negative or greater than or equal to {@code
+   *     array.length}.
+   */
+  public static double quickSelectInPlace(double[] array, int k) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    return quickSelectInPlace(array, 0, array.length, k);
+  }
+
+  /**
+   * Returns the {@code k}-th smallest element in the given range of the given array of {@code
+   * double} values using the QuickSelect algorithm, reordering the range in place: the element is
+   * left at index {@code from + k}, preceded within the range by elements not greater than it and
+   * followed by elements not smaller than it. Elements outside of the range are not moved.
+   *
+   * <p>Elements are ordered like {@link Double#compare(double, double)}: {@code -0.0} is smaller
+   * than {@code 0.0}, and {@code NaN} is greater than any other value, including positive infinity.
+   *
+   * <p><b>Time complexity:</b> O(m), where m is the length of the range.
+   *
+   * <p><b>Space complexity:</b> O(1), besides the O(log m) stack of the worst case.
+   *
+   * @param array the array to search and reorder.
+   * @param from the index of the first element of the range, inclusive.
+   * @param to the index of the last element of the range, exclusive.
+   * @param k the zero-based index of the desired order statistic within the range (0 for the
+   *     smallest element of the range, {@code to - from - 1} for the largest).
+   * @return the {@code k}-th smallest element of the range (zero-based).
+   * @throws NullPointerException if {@code array} is {@code null}.
+   * @throws IndexOutOfBoundsException if {@code from} is negative, {@code to} is greater than
+   *     {@code array.length}, or {@code from} is greater than {@code to}.
+   * @throws IllegalArgumentException if the range is empty.
+   * @throws IllegalArgumentException if {@code k} is negative or greater than or equal to {@code to
+   *     - from}.
+   */
+  public static double quickSelectInPlace(double[] array, int from, int to, int k) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    checkRange(array.length, from, to, k);
+    return select(array, from, to - 1, from + k);
+  }
+
+  /**
+   * Returns the {@code k}-th smallest elements of the given array for each of the given values of
+   * {@code k}, in the order of the given values, using the QuickSelect algorithm. The original
+   * array is not modified.
+   *
+   * <p>The array is copied once, and the median of the requested ranks is selected first, which
+   * partitions the copy around it; the ranks below and above it are then selected from either side
+   * only. Selecting q ranks thus costs close to a single selection when q is small.
+   *
+   * <p><b>Time complexity:</b> O(n log q), where q is the number of distinct requested ranks.
+   *
+   * <p><b>Space complexity:</b> O(n) for the copy of the input array.
+   *
+   * @param <T> the type of the array's elements.
+   * @param array the array to search.
+   * @param ks the zero-based indexes of the desired order statistics, in any order, possibly
+   *     repeated.
+   * @return the {@code k}-th smallest element for each value of {@code k}, in the order of {@code
+   *     ks}.
+   * @throws NullPointerException if {@code array} or {@code ks} is {@code null}.
+   * @throws IllegalArgumentException if {@code array} is empty.
+   * @throws IllegalArgumentException if any value of {@code k} is negative or greater than or equal
+   *     to {@code array.length}.
+   */
+  public static <T extends Comparable<T>> T[] quickSelectAll(T[] array, int... ks) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    Objects.requireNonNull(ks, "The ks must not be null.");
+    int[] ranks = distinctRanks(array.length, ks);
+    T[] copy = array.clone();
+    selectAll(copy, 0, copy.length - 1, ranks, 0, ranks.length - 1, Comparator.naturalOrder());
+    T[] result = Arrays.copyOf(copy, ks.length);
+    for (int i = 0; i < ks.length; i++) {
+      result[i] = copy[ks[i]];
+    }
+    return result;
+  }
+
+  /**
+   * Returns the {@code k}-th smallest elements of the given array of {@code int} values for each of
+   * the given values of {@code k}, in the order of the given values, using the QuickSelect
+   * algorithm. The original array is not modified.
+   *
+   * <p>The array is copied once, and the median of the requested ranks is selected first, which
+   * partitions the copy around it; the ranks below and above it are then selected from either side
+   * only. Selecting q ranks thus costs close to a single selection when q is small.
+   *
+   * <p><b>Time complexity:</b> O(n log q), where q is the number of distinct requested ranks.
+   *
+   * <p><b>Space complexity:</b> O(n) for the copy of the input array.
+   *
+   * @param array the array to search.
+   * @param ks the zero-based indexes of the desired order statistics, in any order, possibly
+   *     repeated.
+   * @return the {@code k}-th smallest element for each value of {@code k}, in the order of {@code
+   *     ks}.
+   * @throws NullPointerException if {@code array} or {@code ks} is {@code null}.
+   * @throws IllegalArgumentException if {@code array} is empty.
+   * @throws IllegalArgumentException if any value of {@code k} is negative or greater than or equal
+   *     to {@code array.length}.
+   */
+  public static int[] quickSelectAll(int[] array, int... ks) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    Objects.requireNonNull(ks, "The ks must not be null.");
+    int[] ranks = distinctRanks(array.length, ks);
+    int[] copy = array.clone();
+    selectAll(copy, 0, copy.length - 1, ranks, 0, ranks.length - 1);
+    int[] result = Arrays.copyOf(copy, ks.length);
+    for (int i = 0; i < ks.length; i++) {
+      result[i] = copy[ks[i]];
+    }
+    return result;
+  }
+
+  /**
+   * Returns the {@code k}-th smallest elements of the given array of {@code long} values for each
+   * of the given values of {@code k}, in the order of the given values, using the QuickSelect
+   * algorithm. The original array is not modified.
+   *
+   * <p>The array is copied once, and the median of the requested ranks is selected first, which
+   * partitions the copy around it; the ranks below and above it are then selected from either side
+   * only. Selecting q ranks thus costs close to a single selection when q is small.
+   *
+   * <p><b>Time complexity:</b> O(n log q), where q is the number of distinct requested ranks.
+   *
+   * <p><b>Space complexity:</b> O(n) for the copy of the input array.
+   *
+   * @param array the array to search.
+   * @param ks the zero-based indexes of the desired order statistics, in any order, possibly
+   *     repeated.
+   * @return the {@code k}-th smallest element for each value of {@code k}, in the order of {@code
+   *     ks}.
+   * @throws NullPointerException if {@code array} or {@code ks} is {@code null}.
+   * @throws IllegalArgumentException if {@code array} is empty.
+   * @throws IllegalArgumentException if any value of {@code k} is negative or greater than or equal
+   *     to {@code array.length}.
+   */
+  public static long[] quickSelectAll(long[] array, int... ks) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    Objects.requireNonNull(ks, "The ks must not be null.");
+    int[] ranks = distinctRanks(array.length, ks);
+    long[] copy = array.clone();
+    selectAll(copy, 0, copy.length - 1, ranks, 0, ranks.length - 1);
+    long[] result = Arrays.copyOf(copy, ks.length);
+    for (int i = 0; i < ks.length; i++) {
+      result[i] = copy[ks[i]];
+    }
+    return result;
+  }
+
+  /**
+   * Returns the {@code k}-th smallest elements of the given array of {@code double} values for each
+   * of the given values of {@code k}, in the order of the given values, using the QuickSelect
+   * algorithm. The original array is not modified.
+   *
+   * <p>The array is copied once, and the median of the requested ranks is selected first, which
+   * partitions the copy around it; the ranks below and above it are then selected from either side
+   * only. Selecting q ranks thus costs close to a single selection when q is small.
+   *
+   * <p>Elements are ordered like {@link Double#compare(double, double)}: {@code -0.0} is smaller
+   * than {@code 0.0}, and {@code NaN} is greater than any other value, including positive infinity.
+   *
+   * <p><b>Time complexity:</b> O(n log q), where q is the number of distinct requested ranks.
+   *
+   * <p><b>Space complexity:</b> O(n) for the copy of the input array.
+   *
+   * @param array the array to search.
+   * @param ks the zero-based indexes of the desired order statistics, in any order, possibly
+   *     repeated.
+   * @return the {@code k}-th smallest element for each value of {@code k}, in the order of {@code
+   *     ks}.
+   * @throws NullPointerException if {@code array} or {@code ks} is {@code null}.
+   * @throws IllegalArgumentException if {@code array} is empty.
+   * @throws IllegalArgumentException if any value of {@code k} is negative or greater than or equal
+   *     to {@code array.length}.
+   */
+  public static double[] quickSelectAll(double[] array, int... ks) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    Objects.requireNonNull(ks, "The ks must not be null.");
+    int[] ranks = distinctRanks(array.length, ks);
+    double[] copy = array.clone();
+    selectAll(copy, 0, copy.length - 1, ranks, 0, ranks.length - 1);
+    double[] result = Arrays.copyOf(copy, ks.length);
+    for (int i = 0; i < ks.length; i++) {
+      result[i] = copy[ks[i]];
+    }
+    return result;
+  }
+
+  /**
+   * Returns the {@code p}-th percentile of the given array, using the QuickSelect algorithm. The
+   * original array is not modified.
+   *
+   * <p>The percentile is the element of rank {@code round(p / 100 * (n - 1))}, the nearest rank to
+   * the percentile, so that the 0th percentile is the smallest element and the 100th the largest.
    *
-   * <p><b>Time complexity:</b> O(n) average, O(n^2) worst case. The initial random shuffle makes
-   * the worst case extremely unlikely.
+   * <p><b>Time complexity:</b> O(n).
    *
-   * <p><b>Space complexity:</b> O(n) for the shuffled copy of the input array.
+   * <p><b>Space complexity:</b> O(n) for the copy of the input array.
    *
    * @param <T> the type of the array's elements.
    * @param array the array to search.
-   * @param k the zero-based index of the desired order statistic (0 for the smallest element,
-   *     {@code array.length - 1} for the largest).
-   * @return the {@code k}-th smallest element (zero-based).
+   * @param p the percentile, between 0 and 100.
+   * @return the {@code p}-th percentile.
    * @throws NullPointerException if {@code array} is {@code null}.
    * @throws IllegalArgumentException if {@code array} is empty.
-   * @throws IllegalArgumentException if {@code k} is negative or greater than or equal to {@code
-   *     array.length}.
+   * @throws IllegalArgumentException if {@code p} is not between 0 and 100.
    */
-  public static <T extends Comparable<T>> T quickSelect(T[] array, int k) {
+  public static <T extends Comparable<T>> T percentile(T[] array, double p) {
     Objects.requireNonNull(array, "The array must not be null.");
-    if (array.length == 0) {
-      throw new IllegalArgumentException("The array must not be empty.");
+    return quickSelect(array, rank(array.length, p));
+  }
+
+  /**
+   * Returns the {@code p}-th percentile of the given array of {@code int} values, using the
+   * QuickSelect algorithm. The original array is not modified.
+   *
+   * <p>The percentile is the element of rank {@code round(p / 100 * (n - 1))}, the nearest rank to
+   * the percentile, so that the 0th percentile is the smallest element and the 100th the largest.
+   *
+   * <p><b>Time complexity:</b> O(n).
+   *
+   * <p><b>Space complexity:</b> O(n) for the copy of the input array.
+   *
+   * @param array the array to search.
+   * @param p the percentile, between 0 and 100.
+   * @return the {@code p}-th percentile.
+   * @throws NullPointerException if {@code array} is {@code null}.
+   * @throws IllegalArgumentException if {@code array} is empty.
+   * @throws IllegalArgumentException if {@code p} is not between 0 and 100.
+   */
+  public static int percentile(int[] array, double p) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    return quickSelect(array, rank(array.length, p));
+  }
+
+  /**
+   * Returns the {@code p}-th percentile of the given array of {@code long} values, using the
+   * QuickSelect algorithm. The original array is not modified.
+   *
+   * <p>The percentile is the element of rank {@code round(p / 100 * (n - 1))}, the nearest rank to
+   * the percentile, so that the 0th percentile is the smallest element and the 100th the largest.
+   *
+   * <p><b>Time complexity:</b> O(n).
+   *
+   * <p><b>Space complexity:</b> O(n) for the copy of the input array.
+   *
+   * @param array the array to search.
+   * @param p the percentile, between 0 and 100.
+   * @return the {@code p}-th percentile.
+   * @throws NullPointerException if {@code array} is {@code null}.
+   * @throws IllegalArgumentException if {@code array} is empty.
+   * @throws IllegalArgumentException if {@code p} is not between 0 and 100.
+   */
+  public static long percentile(long[] array, double p) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    return quickSelect(array, rank(array.length, p));
+  }
+
+  /**
+   * Returns the {@code p}-th percentile of the given array of {@code double} values, using the
+   * QuickSelect algorithm. The original array is not modified.
+   *
+   * <p>The percentile is the element of rank {@code round(p / 100 * (n - 1))}, the nearest rank to
+   * the percentile, so that the 0th percentile is the smallest element and the 100th the largest.
+   *
+   * <p>Elements are ordered like {@link Double#compare(double, double)}: {@code -0.0} is smaller
+   * than {@code 0.0}, and {@code NaN} is greater than any other value, including positive infinity.
+   *
+   * <p><b>Time complexity:</b> O(n).
+   *
+   * <p><b>Space complexity:</b> O(n) for the copy of the input array.
+   *
+   * @param array the array to search.
+   * @param p the percentile, between 0 and 100.
+   * @return the {@code p}-th percentile.
+   * @throws NullPointerException if {@code array} is {@code null}.
+   * @throws IllegalArgumentException if {@code array} is empty.
+   * @throws IllegalArgumentException if {@code p} is not between 0 and 100.
+   */
+  public static double percentile(double[] array, double p) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    return quickSelect(array, rank(array.length, p));
+  }
+
+  /**
+   * Returns the given percentiles of the given array, in the order of the given percentiles,
+   * selected together like in {@link #quickSelectAll(Comparable[], int...)}. The original array is
+   * not modified.
+   *
+   * <p>Each percentile is the element of the nearest rank, like in {@link #percentile(Comparable[],
+   * double)}.
+   *
+   * <p><b>Time complexity:</b> O(n log q), where q is the number of distinct percentiles.
+   *
+   * <p><b>Space complexity:</b> O(n) for the copy of the input array.
+   *
+   * @param <T> the type of the array's elements.
+   * @param array the array to search.
+   * @param ps the percentiles, between 0 and 100, in any order.
+   * @return the percentiles, in the order of {@code ps}.
+   * @throws NullPointerException if {@code array} or {@code ps} is {@code null}.
+   * @throws IllegalArgumentException if {@code array} is empty.
+   * @throws IllegalArgumentException if any percentile is not between 0 and 100.
+   */
+  public static <T extends Comparable<T>> T[] percentiles(T[] array, double... ps) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    return quickSelectAll(array, ranks(array.length, ps));
+  }
+
+  /**
+   * Returns the given percentiles of the given array of {@code int} values, in the order of the
+   * given percentiles, selected together like in {@link #quickSelectAll(int[], int...)}. The
+   * original array is not modified.
+   *
+   * <p>Each percentile is the element of the nearest rank, like in {@link #percentile(int[],
+   * double)}.
+   *
+   * <p><b>Time complexity:</b> O(n log q), where q is the number of distinct percentiles.
+   *
+   * <p><b>Space complexity:</b> O(n) for the copy of the input array.
+   *
+   * @param array the array to search.
+   * @param ps the percentiles, between 0 and 100, in any order.
+   * @return the percentiles, in the order of {@code ps}.
+   * @throws NullPointerException if {@code array} or {@code ps} is {@code null}.
+   * @throws IllegalArgumentException if {@code array} is empty.
+   * @throws IllegalArgumentException if any percentile is not between 0 and 100.
+   */
+  public static int[] percentiles(int[] array, double... ps) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    return quickSelectAll(array, ranks(array.length, ps));
+  }
+
+  /**
+   * Returns the given percentiles of the given array of {@code long} values, in the order of the
+   * given percentiles, selected together like in {@link #quickSelectAll(long[], int...)}. The
+   * original array is not modified.
+   *
+   * <p>Each percentile is the element of the nearest rank, like in {@link #percentile(long[],
+   * double)}.
+   *
+   * <p><b>Time complexity:</b> O(n log q), where q is the number of distinct percentiles.
+   *
+   * <p><b>Space complexity:</b> O(n) for the copy of the input array.
+   *
+   * @param array the array to search.
+   * @param ps the percentiles, between 0 and 100, in any order.
+   * @return the percentiles, in the order of {@code ps}.
+   * @throws NullPointerException if {@code array} or {@code ps} is {@code null}.
+   * @throws IllegalArgumentException if {@code array} is empty.
+   * @throws IllegalArgumentException if any percentile is not between 0 and 100.
+   */
+  public static long[] percentiles(long[] array, double... ps) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    return quickSelectAll(array, ranks(array.length, ps));
+  }
+
+  /**
+   * Returns the given percentiles of the given array of {@code double} values, in the order of the
+   * given percentiles, selected together like in {@link #quickSelectAll(double[], int...)}. The
+   * original array is not modified.
+   *
+   * <p>Each percentile is the element of the nearest rank, like in {@link #percentile(double[],
+   * double)}.
+   *
+   * <p>Elements are ordered like {@link Double#compare(double, double)}: {@code -0.0} is smaller
+   * than {@code 0.0}, and {@code NaN} is greater than any other value, including positive infinity.
+   *
+   * <p><b>Time complexity:</b> O(n log q), where q is the number of distinct percentiles.
+   *
+   * <p><b>Space complexity:</b> O(n) for the copy of the input array.
+   *
+   * @param array the array to search.
+   * @param ps the percentiles, between 0 and 100, in any order.
+   * @return the percentiles, in the order of {@code ps}.
+   * @throws NullPointerException if {@code array} or {@code ps} is {@code null}.
+   * @throws IllegalArgumentException if {@code array} is empty.
+   * @throws IllegalArgumentException if any percentile is not between 0 and 100.
+   */
+  public static double[] percentiles(double[] array, double... ps) {
+    Objects.requireNonNull(array, "The array must not be null.");
+    return quickSelectAll(array, ranks(array.length, ps));
+  }
+
+  /**
+   * Returns the {@code k}-th smallest element of the given range of the given array, reordering the
+   * range in place, using the introselect algorithm.
+   *
+   * <p>Pivots are picked at random, unless the range failed to halve within {@value
+   * #ROUNDS_PER_HALVING} partitions, in which case the next pivot is the median of medians, which
+   * leaves at most 7/10 of the range on either side. The range thus shrinks geometrically, which
+   * bounds the time to O(n) even in the worst case.
+   *
+   * @param <T> the type of the array's elements.
+   * @param array the array to search and reorder.
+   * @param lo the lowest index of the range.
+   * @param hi the highest index of the range.
+   * @param k the index of the desired order statistic, between {@code lo} and {@code hi}.
+   * @param comparator the comparator ordering the elements.
+   * @return the {@code k}-th smallest element of the range.
+   */
+  static <T> T select(T[] array, int lo, int hi, int k, Comparator<? super T> comparator) {
+    int checkpoint = hi - lo + 1;
+    int rounds = 0;
+    while (lo < hi) {
+      boolean fallback = rounds == ROUNDS_PER_HALVING;
+      int pivot =
+          fallback
+              ? medianOfMedians(array, lo, hi, comparator)
+              : ThreadLocalRandom.current().nextInt(lo, hi + 1);
+      long equal = partition(array, lo, hi, pivot, comparator);
+      int lt = (int) (equal >>> 32);
+      int gt = (int) equal;
+      if (k < lt) {
+        hi = lt - 1;
+      } else if (k > gt) {
+        lo = gt + 1;
+      } else {
+        break;
+      }
+      rounds++;
+      int size = hi - lo + 1;
+      if (fallback || size <= checkpoint / 2) {
+        checkpoint = size;
+        rounds = 0;
+      }
     }
-    if (k < 0 || k >= array.length) {
-      throw new IllegalArgumentException(
-          "k must be between 0 and " + (array.length - 1) + ", but was " + k + ".");
+    return array[k];
+  }
+
+  private static int select(int[] array, int lo, int hi, int k) {
+    int checkpoint = hi - lo + 1;
+    int rounds = 0;
+    while (lo < hi) {
+      boolean fallback = rounds == ROUNDS_PER_HALVING;
+      int pivot =
+          fallback
+              ? medianOfMedians(array, lo, hi)
+              : ThreadLocalRandom.current().nextInt(lo, hi + 1);
+      long equal = partition(array, lo, hi, pivot);
+      int lt = (int) (equal >>> 32);
+      int gt = (int) equal;
+      if (k < lt) {
+        hi = lt - 1;
+      } else if (k > gt) {
+        lo = gt + 1;
+      } else {
+        break;
+      }
+      rounds++;
+      int size = hi - lo + 1;
+      if (fallback || size <= checkpoint / 2) {
+        checkpoint = size;
+        rounds = 0;
+      }
+    }
+    return array[k];
+  }
+
+  private static long select(long[] array, int lo, int hi, int k) {
+    int checkpoint = hi - lo + 1;
+    int rounds = 0;
+    while (lo < hi) {
+      boolean fallback = rounds == ROUNDS_PER_HALVING;
+      int pivot =
+          fallback
+              ? medianOfMedians(array, lo, hi)
+              : ThreadLocalRandom.current().nextInt(lo, hi + 1);
+      long equal = partition(array, lo, hi, pivot);
+      int lt = (int) (equal >>> 32);
+      int gt = (int) equal;
+      if (k < lt) {
+        hi = lt - 1;
+      } else if (k > gt) {
+        lo = gt + 1;
+      } else {
+        break;
+      }
+      rounds++;
+      int size = hi - lo + 1;
+      if (fallback || size <= checkpoint / 2) {
+        checkpoint = size;
+        rounds = 0;
+      }
     }
-    T[] shuffled = Shuffle.shuffle(array);
-    int lo = 0;
-    int hi = shuffled.length - 1;
+    return array[k];
+  }
+
+  private static double select(double[] array, int lo, int hi, int k) {
+    int checkpoint = hi - lo + 1;
+    int rounds = 0;
     while (lo < hi) {
-      int j = partition(shuffled, lo, hi);
-      if (j < k) {
-        lo = j + 1;
-      } else if (j > k) {
-        hi = j - 1;
+      boolean fallback = rounds == ROUNDS_PER_HALVING;
+      int pivot =
+          fallback
+              ? medianOfMedians(array, lo, hi)
+              : ThreadLocalRandom.current().nextInt(lo, hi + 1);
+      long equal = partition(array, lo, hi, pivot);
+      int lt = (int) (equal >>> 32);
+      int gt = (int) equal;
+      if (k < lt) {
+        hi = lt - 1;
+      } else if (k > gt) {
+        lo = gt + 1;
       } else {
         break;
       }
+      rounds++;
+      int size = hi - lo + 1;
+      if (fallback || size <= checkpoint / 2) {
+        checkpoint = size;
+        rounds = 0;
+      }
+    }
+    return array[k];
+  }
+
+  /**
+   * Selects the given ranks of the given range of the given array, reordering the range in place so
+   * that each selected element is at the index of its rank.
+   *
+   * @param <T> the type of the array's elements.
+   * @param array the array to search and reorder.
+   * @param lo the lowest index of the range.
+   * @param hi the highest index of the range.
+   * @param ranks the distinct indexes of the desired order statistics, in increasing order.
+   * @param from the index of the first rank to select within the range.
+   * @param to the index of the last rank to select within the range.
+   * @param comparator the comparator ordering the elements.
+   */
+  private static <T> void selectAll(
+      T[] array, int lo, int hi, int[] ranks, int from, int to, Comparator<? super T> comparator) {
+    if (from > to) {
+      return;
+    }
+    int middle = (from + to) >>> 1;
+    int k = ranks[middle];
+    select(array, lo, hi, k, comparator);
+    // The range is now partitioned around k, so that each other rank lies on a single side
+    selectAll(array, lo, k - 1, ranks, from, middle - 1, comparator);
+    selectAll(array, k + 1, hi, ranks, middle + 1, to, comparator);
+  }
+
+  private static void selectAll(int[] array, int lo, int hi, int[] ranks, int from, int to) {
+    if (from > to) {
+      return;
+    }
+    int middle = (from + to) >>> 1;
+    int k = ranks[middle];
+    select(array, lo, hi, k);
+    // The range is now partitioned around k, so that each other rank lies on a single side
+    selectAll(array, lo, k - 1, ranks, from, middle - 1);
+    selectAll(array, k + 1, hi, ranks, middle + 1, to);
+  }
+
+  private static void selectAll(long[] array, int lo, int hi, int[] ranks, int from, int to) {
+    if (from > to) {
+      return;
     }
-    return shuffled[k];
+    int middle = (from + to) >>> 1;
+    int k = ranks[middle];
+    select(array, lo, hi, k);
+    // The range is now partitioned around k, so that each other rank lies on a single side
+    selectAll(array, lo, k - 1, ranks, from, middle - 1);
+    selectAll(array, k + 1, hi, ranks, middle + 1, to);
+  }
+
+  private static void selectAll(double[] array, int lo, int hi, int[] ranks, int from, int to) {
+    if (from > to) {
+      return;
+    }
+    int middle = (from + to) >>> 1;
+    int k = ranks[middle];
+    select(array, lo, hi, k);
+    // The range is now partitioned around k, so that each other rank lies on a single side
+    selectAll(array, lo, k - 1, ranks, from, middle - 1);
+    selectAll(array, k + 1, hi, ranks, middle + 1, to);
   }
 
   /**
-   * Partition is due to Nico Lomuto.
+   * Partition is due to Jon Bentley and Douglas McIlroy: a three-way partition gathering the
+   * elements equal to the pivot in the middle of the range, so that ranges with many duplicate
+   * elements shrink as fast as ranges of distinct elements.
+   *
+   * <p>Elements equal to the pivot are swapped to both ends of the range while the range is scanned
+   * from both ends, and swapped back to the middle once the scans cross.
    *
    * @param <T> the type of the array's elements.
    * @param array the array to partition.
    * @param lo the lowest index to partition.
    * @param hi the highest index to partition.
-   * @return the index of the pivot after partitioning.
+   * @param pivot the index of the pivot.
+   * @param comparator the comparator ordering the elements.
+   * @return the lowest index of the elements equal to the pivot after partitioning, in the high 32
+   *     bits, and the highest one in the low 32 bits.
    */
-  private static <T extends Comparable<T>> int partition(T[] array, int lo, int hi) {
-    T pivot = array[hi];
+  private static <T> long partition(
+      T[] array, int lo, int hi, int pivot, Comparator<? super T> comparator) {
+    Utils.swap(array, lo, pivot);
+    T value = array[lo];
+    int i = lo;
+    int j = hi + 1;
+    int p = lo;
+    int q = hi + 1;
+    while (true) {
+      while (comparator.compare(array[++i], value) < 0) {
+        if (i == hi) {
+          break;
+        }
+      }
+      while (comparator.compare(value, array[--j]) < 0) {
+        if (j == lo) {
+          break;
+        }
+      }
+      if (i == j && comparator.compare(array[i], value) == 0) {
+        Utils.swap(array, ++p, i);
+      }
+      if (i >= j) {
+        break;
+      }
+      Utils.swap(array, i, j);
+      if (comparator.compare(array[i], value) == 0) {
+        Utils.swap(array, ++p, i);
+      }
+      if (comparator.compare(array[j], value) == 0) {
+        Utils.swap(array, --q, j);
+      }
+    }
+    i = j + 1;
+    for (int m = lo; m <= p; m++) {
+      Utils.swap(array, m, j--);
+    }
+    for (int m = hi; m >= q; m--) {
+      Utils.swap(array, m, i++);
+    }
+    return ((long) (j + 1) << 32) | ((i - 1) & 0xFFFFFFFFL);
+  }
+
+  private static long partition(int[] array, int lo, int hi, int pivot) {
+    Utils.swap(array, lo, pivot);
+    int value = array[lo];
+    int i = lo;
+    int j = hi + 1;
+    int p = lo;
+    int q = hi + 1;
+    while (true) {
+      while (array[++i] < value) {
+        if (i == hi) {
+          break;
+        }
+      }
+      while (value < array[--j]) {
+        if (j == lo) {
+          break;
+        }
+      }
+      if (i == j && array[i] == value) {
+        Utils.swap(array, ++p, i);
+      }
+      if (i >= j) {
+        break;
+      }
+      Utils.swap(array, i, j);
+      if (array[i] == value) {
+        Utils.swap(array, ++p, i);
+      }
+      if (array[j] == value) {
+        Utils.swap(array, --q, j);
+      }
+    }
+    i = j + 1;
+    for (int m = lo; m <= p; m++) {
+      Utils.swap(array, m, j--);
+    }
+    for (int m = hi; m >= q; m--) {
+      Utils.swap(array, m, i++);
+    }
+    return ((long) (j + 1) << 32) | ((i - 1) & 0xFFFFFFFFL);
+  }
+
+  private static long partition(long[] array, int lo, int hi, int pivot) {
+    Utils.swap(array, lo, pivot);
+    long value = array[lo];
+    int i = lo;
+    int j = hi + 1;
+    int p = lo;
+    int q = hi + 1;
+    while (true) {
+      while (array[++i] < value) {
+        if (i == hi) {
+          break;
+        }
+      }
+      while (value < array[--j]) {
+        if (j == lo) {
+          break;
+        }
+      }
+      if (i == j && array[i] == value) {
+        Utils.swap(array, ++p, i);
+      }
+      if (i >= j) {
+        break;
+      }
+      Utils.swap(array, i, j);
+      if (array[i] == value) {
+        Utils.swap(array, ++p, i);
+      }
+      if (array[j] == value) {
+        Utils.swap(array, --q, j);
+      }
+    }
+    i = j + 1;
+    for (int m = lo; m <= p; m++) {
+      Utils.swap(array, m, j--);
+    }
+    for (int m = hi; m >= q; m--) {
+      Utils.swap(array, m, i++);
+    }
+    return ((long) (j + 1) << 32) | ((i - 1) & 0xFFFFFFFFL);
+  }
+
+  private static long partition(double[] array, int lo, int hi, int pivot) {
+    Utils.swap(array, lo, pivot);
+    double value = array[lo];
     int i = lo;
-    for (int j = lo; j < hi; j++) {
-      if (array[j].compareTo(pivot) <= 0) {
-        Utils.swap(array, i, j);
-        i++;
+    int j = hi + 1;
+    int p = lo;
+    int q = hi + 1;
+    while (true) {
+      while (Double.compare(array[++i], value) < 0) {
+        if (i == hi) {
+          break;
+        }
+      }
+      while (Double.compare(value, array[--j]) < 0) {
+        if (j == lo) {
+          break;
+        }
+      }
+      if (i == j && Double.compare(array[i], value) == 0) {
+        Utils.swap(array, ++p, i);
+      }
+      if (i >= j) {
+        break;
+      }
+      Utils.swap(array, i, j);
+      if (Double.compare(array[i], value) == 0) {
+        Utils.swap(array, ++p, i);
+      }
+      if (Double.compare(array[j], value) == 0) {
+        Utils.swap(array, --q, j);
+      }
+    }
+    i = j + 1;
+    for (int m = lo; m <= p; m++) {
+      Utils.swap(array, m, j--);
+    }
+    for (int m = hi; m >= q; m--) {
+      Utils.swap(array, m, i++);
+    }
+    return ((long) (j + 1) << 32) | ((i - 1) & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Returns the index of the median of the medians of the groups of {@value #GROUP_SIZE} elements
+   * of the given range, moving the medians of the groups to the start of the range.
+   *
+   * @param <T> the type of the array's elements.
+   * @param array the array to search and reorder.
+   * @param lo the lowest index of the range.
+   * @param hi the highest index of the range.
+   * @param comparator the comparator ordering the elements.
+   * @return the index of the median of medians.
+   */
+  private static <T> int medianOfMedians(
+      T[] array, int lo, int hi, Comparator<? super T> comparator) {
+    int medians = lo;
+    for (int from = lo; from <= hi; from += GROUP_SIZE) {
+      int to = Math.min(from + GROUP_SIZE - 1, hi);
+      insertionSort(array, from, to, comparator);
+      Utils.swap(array, medians++, from + (to - from) / 2);
+    }
+    int median = lo + (medians - lo - 1) / 2;
+    select(array, lo, medians - 1, median, comparator);
+    return median;
+  }
+
+  private static int medianOfMedians(int[] array, int lo, int hi) {
+    int medians = lo;
+    for (int from = lo; from <= hi; from += GROUP_SIZE) {
+      int to = Math.min(from + GROUP_SIZE - 1, hi);
+      insertionSort(array, from, to);
+      Utils.swap(array, medians++, from + (to - from) / 2);
+    }
+    int median = lo + (medians - lo - 1) / 2;
+    select(array, lo, medians - 1, median);
+    return median;
+  }
+
+  private static int medianOfMedians(long[] array, int lo, int hi) {
+    int medians = lo;
+    for (int from = lo; from <= hi; from += GROUP_SIZE) {
+      int to = Math.min(from + GROUP_SIZE - 1, hi);
+      insertionSort(array, from, to);
+      Utils.swap(array, medians++, from + (to - from) / 2);
+    }
+    int median = lo + (medians - lo - 1) / 2;
+    select(array, lo, medians - 1, median);
+    return median;
+  }
+
+  private static int medianOfMedians(double[] array, int lo, int hi) {
+    int medians = lo;
+    for (int from = lo; from <= hi; from += GROUP_SIZE) {
+      int to = Math.min(from + GROUP_SIZE - 1, hi);
+      insertionSort(array, from, to);
+      Utils.swap(array, medians++, from + (to - from) / 2);
+    }
+    int median = lo + (medians - lo - 1) / 2;
+    select(array, lo, medians - 1, median);
+    return median;
+  }
+
+  /**
+   * Sorts the given range of the given array with the insertion sort algorithm.
+   *
+   * @param <T> the type of the array's elements.
+   * @param array the array to sort.
+   * @param lo the lowest index of the range.
+   * @param hi the highest index of the range.
+   * @param comparator the comparator ordering the elements.
+   */
+  private static <T> void insertionSort(
+      T[] array, int lo, int hi, Comparator<? super T> comparator) {
+    for (int i = lo + 1; i <= hi; i++) {
+      for (int j = i; j > lo && comparator.compare(array[j], array[j - 1]) < 0; j--) {
+        Utils.swap(array, j, j - 1);
+      }
+    }
+  }
+
+  private static void insertionSort(int[] array, int lo, int hi) {
+    for (int i = lo + 1; i <= hi; i++) {
+      for (int j = i; j > lo && array[j] < array[j - 1]; j--) {
+        Utils.swap(array, j, j - 1);
+      }
+    }
+  }
+
+  private static void insertionSort(long[] array, int lo, int hi) {
+    for (int i = lo + 1; i <= hi; i++) {
+      for (int j = i; j > lo && array[j] < array[j - 1]; j--) {
+        Utils.swap(array, j, j - 1);
+      }
+    }
+  }
+
+  private static void insertionSort(double[] array, int lo, int hi) {
+    for (int i = lo + 1; i <= hi; i++) {
+      for (int j = i; j > lo && Double.compare(array[j], array[j - 1]) < 0; j--) {
+        Utils.swap(array, j, j - 1);
       }
     }
-    Utils.swap(array, i, hi);
-    return i;
+  }
+
+  /**
+   * Checks that the given range of an array of the given length is valid and not empty, and that
+   * {@code k} is a valid rank within it.
+   *
+   * @param length the length of the array.
+   * @param from the index of the first element of the range, inclusive.
+   * @param to the index of the last element of the range, exclusive.
+   * @param k the zero-based rank to select within the range.
+   * @throws IndexOutOfBoundsException if the range is out of the bounds of the array.
+   * @throws IllegalArgumentException if the range is empty or {@code k} is out of it.
+   */
+  static void checkRange(int length, int from, int to, int k) {
+    Objects.checkFromToIndex(from, to, length);
+    if (from == to) {
+      throw new IllegalArgumentException(
+          length == 0 ? "The array must not be empty." : "The range must not be empty.");
+    }
+    if (k < 0 || k >= to - from) {
+      throw new IllegalArgumentException(
+          "k must be between 0 and " + (to - from - 1) + ", but was " + k + ".");
+    }
+  }
+
+  /**
+   * Checks that a scratch buffer of the given length can hold a copy of an array of the given
+   * length.
+   *
+   * @param length the length of the array to copy.
+   * @param scratchLength the length of the scratch buffer.
+   * @throws IllegalArgumentException if the scratch buffer is shorter than the array.
+   */
+  private static void checkScratch(int length, int scratchLength) {
+    if (scratchLength < length) {
+      throw new IllegalArgumentException(
+          "The scratch must have a length of at least "
+              + length
+              + ", but had "
+              + scratchLength
+              + ".");
+    }
+  }
+
+  private static int[] distinctRanks(int length, int[] ks) {
+    if (length == 0) {
+      throw new IllegalArgumentException("The array must not be empty.");
+    }
+    for (int k : ks) {
+      checkRange(length, 0, length, k);
+    }
+    return Arrays.stream(ks).sorted().distinct().toArray();
+  }
+
+  private static int[] ranks(int length, double[] ps) {
+    Objects.requireNonNull(ps, "The percentiles must not be null.");
+    int[] ranks = new int[ps.length];
+    for (int i = 0; i < ps.length; i++) {
+      ranks[i] = rank(length, ps[i]);
+    }
+    return ranks;
+  }
+
+  private static int rank(int length, double p) {
+    if (!(p >= 0 && p <= 100)) {
+      throw new IllegalArgumentException("p must be between 0 and 100, but was " + p + ".");
+    }
+    if (length == 0) {
+      throw new IllegalArgumentException("The array must not be empty.");
+    }
+    return (int) Math.round(p / 100 * (length - 1));
   }
 }
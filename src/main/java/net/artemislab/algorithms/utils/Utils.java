@@ -18,4 +18,43 @@ public class Utils {
     array[i] = array[j];
     array[j] = temp;
   }
+
+  /**
+   * Swaps two elements in the given array of {@code int} values.
+   *
+   * @param array the array whose elements to swap.
+   * @param i the index of the first element to swap.
+   * @param j the index of the second element to swap.
+   */
+  public static void swap(int[] array, int i, int j) {
+    int temp = array[i];
+    array[i] = array[j];
+    array[j] = temp;
+  }
+
+  /**
+   * Swaps two elements in the given array of {@code long} values.
+   *
+   * @param array the array whose elements to swap.
+   * @param i the index of the first element to swap.
+   * @param j the index of the second element to swap.
+   */
+  public static void swap(long[] array, int i, int j) {
+    long temp = array[i];
+    array[i] = array[j];
+    array[j] = temp;
+  }
+
+  /**
+   * Swaps two elements in the given array of {@code double} values.
+   *
+   * @param array the array whose elements to swap.
+   * @param i the index of the first element to swap.
+   * @param j the index of the second element to swap.
+   */
+  public static void swap(double[] array, int i, int j) {
+    double temp = array[i];
+    array[i] = array[j];
+    array[j] = temp;
+  }
 }
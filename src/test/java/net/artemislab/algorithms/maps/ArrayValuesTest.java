@@ -0,0 +1,127 @@
+package net.artemislab.algorithms.maps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/** The {@code ArrayValuesTest} class implements tests for {@code ArrayValues}. */
+public class ArrayValuesTest {
+
+  @Test
+  public void testEmpty() {
+    assertEquals(0, ArrayValues.EMPTY.size());
+    assertEquals(Arrays.asList(), ArrayValues.EMPTY);
+  }
+
+  @Test
+  public void testOf_WrapsValues() {
+    ArrayValues values = ArrayValues.of(new String[] {"a", "b"});
+
+    assertEquals(Arrays.asList("a", "b"), values);
+    assertEquals(Arrays.asList("a", "b", "c"), values.append("c"));
+    assertSame(ArrayValues.EMPTY, ArrayValues.of(new String[0]));
+  }
+
+  @Test
+  public void testAppend_ReturnsNewSnapshot() {
+    ArrayValues values = ArrayValues.EMPTY.append("a").append("b").append("c");
+
+    assertEquals(3, values.size());
+    assertEquals(Arrays.asList("a", "b", "c"), values);
+    assertEquals(Arrays.asList(), ArrayValues.EMPTY);
+  }
+
+  @Test
+  public void testAppend_EarlierSnapshotsAreNotAffected() {
+    List<ArrayValues> snapshots = new ArrayList<>();
+    ArrayValues values = ArrayValues.EMPTY;
+    for (int i = 0; i < 100; i++) {
+      values = values.append(Integer.toString(i));
+      snapshots.add(values);
+    }
+
+    for (int i = 0; i < snapshots.size(); i++) {
+      ArrayValues snapshot = snapshots.get(i);
+      assertEquals(i + 1, snapshot.size());
+      assertEquals(Integer.toString(i), snapshot.get(i));
+    }
+  }
+
+  @Test
+  public void testAppend_ToEarlierSnapshot_CopiesValues() {
+    ArrayValues values = ArrayValues.EMPTY.append("a");
+    ArrayValues first = values.append("b");
+    ArrayValues second = values.append("c");
+
+    assertEquals(Arrays.asList("a"), values);
+    assertEquals(Arrays.asList("a", "b"), first);
+    assertEquals(Arrays.asList("a", "c"), second);
+    assertEquals(Arrays.asList("a", "b", "d"), first.append("d"));
+    assertEquals(Arrays.asList("a", "c", "e"), second.append("e"));
+  }
+
+  @Test
+  public void testGet_IndexOutOfBounds_ThrowsError() {
+    ArrayValues values = ArrayValues.EMPTY.append("a").append("b");
+
+    assertThrows(IndexOutOfBoundsException.class, () -> values.get(2));
+    assertThrows(IndexOutOfBoundsException.class, () -> values.get(-1));
+  }
+
+  @Test
+  public void testIsUnmodifiable() {
+    ArrayValues values = ArrayValues.EMPTY.append("a");
+
+    assertThrows(UnsupportedOperationException.class, () -> values.add("b"));
+    assertThrows(UnsupportedOperationException.class, () -> values.set(0, "b"));
+    assertThrows(UnsupportedOperationException.class, () -> values.remove(0));
+  }
+
+  @Test
+  public void testRetired_IsEmpty() {
+    assertEquals(Arrays.asList(), ArrayValues.RETIRED);
+  }
+
+  @Test
+  public void testCount_StopsAtLimit() {
+    ArrayValues values = ArrayValues.EMPTY.append("a").append("b").append("a").append("a");
+
+    assertEquals(3, values.count("a", 5));
+    assertEquals(2, values.count("a", 2));
+    assertEquals(1, values.count("b", 5));
+    assertEquals(0, values.count("c", 5));
+  }
+
+  @Test
+  public void testWithout_RemovesFirstOccurrences() {
+    ArrayValues values = ArrayValues.EMPTY.append("a").append("b").append("a").append("c");
+
+    assertEquals(Arrays.asList("b", "a", "c"), values.without("a", 1));
+    assertEquals(Arrays.asList("b", "c"), values.without("a", 2));
+    assertEquals(Arrays.asList("a", "b", "a", "c"), values);
+    assertEquals(Arrays.asList("b", "c", "d"), values.without("a", 2).append("d"));
+  }
+
+  @Test
+  public void testReplacing_ReplacesFirstOccurrencesInPlace() {
+    ArrayValues values = ArrayValues.EMPTY.append("a").append("b").append("a");
+
+    assertEquals(Arrays.asList("x", "b", "a"), values.replacing("a", "x", 1));
+    assertEquals(Arrays.asList("x", "b", "x"), values.replacing("a", "x", 2));
+    assertEquals(Arrays.asList("a", "b", "a"), values);
+  }
+
+  @Test
+  public void testCopyTo() {
+    ArrayValues values = ArrayValues.EMPTY.append("a").append("b");
+    List<String> target = new ArrayList<>(List.of("z"));
+
+    assertEquals(2, values.copyTo(target));
+    assertEquals(Arrays.asList("z", "a", "b"), target);
+  }
+}
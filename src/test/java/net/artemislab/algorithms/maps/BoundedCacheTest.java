@@ -0,0 +1,118 @@
+package net.artemislab.algorithms.maps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/** The {@code BoundedCacheTest} class implements tests for {@code BoundedCache}. */
+public class BoundedCacheTest {
+
+  @Test
+  public void testCreate_NonPositiveMaximumSize_ThrowsError() {
+    IllegalArgumentException exception =
+        assertThrows(IllegalArgumentException.class, () -> new BoundedCache<String, String>(0));
+
+    assertEquals("The maximum size must be positive, but was 0.", exception.getMessage());
+  }
+
+  @Test
+  public void testGet_CachesComputedValue() {
+    BoundedCache<String, String> cache = new BoundedCache<>(10);
+    AtomicInteger loads = new AtomicInteger();
+
+    assertEquals("A", cache.get("a", k -> upperCase(k, loads)));
+    assertEquals("A", cache.get("a", k -> upperCase(k, loads)));
+    assertEquals("B", cache.get("b", k -> upperCase(k, loads)));
+
+    assertEquals(2, loads.get());
+    assertEquals(2, cache.size());
+    assertEquals(new CacheStats(1, 2, 0), cache.stats());
+  }
+
+  @Test
+  public void testGet_NullValue_ThrowsError() {
+    BoundedCache<String, String> cache = new BoundedCache<>(10);
+
+    NullPointerException exception =
+        assertThrows(NullPointerException.class, () -> cache.get("a", k -> null));
+
+    assertEquals("The value must not be null.", exception.getMessage());
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testGet_ValueCachedWhileComputing_ReturnsCachedValue() {
+    BoundedCache<String, String> cache = new BoundedCache<>(10);
+
+    String value = cache.get("a", k -> cache.get(k, inner -> "inner") + "outer");
+
+    assertEquals("inner", value);
+    assertEquals("inner", cache.get("a", k -> "other"));
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  public void testGet_MoreKeysThanMaximumSize_EvictsValues() {
+    BoundedCache<Integer, Integer> cache = new BoundedCache<>(100);
+
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(i, cache.get(i, k -> k));
+    }
+
+    assertEquals(100, cache.size());
+    assertEquals(new CacheStats(0, 1000, 900), cache.stats());
+  }
+
+  @Test
+  public void testGet_MoreKeysThanMaximumSize_KeepsFrequentlyUsedValues() {
+    BoundedCache<Integer, Integer> cache = new BoundedCache<>(100);
+    for (int i = 0; i < 100; i++) {
+      cache.get(i, k -> k);
+    }
+    for (int round = 0; round < 300; round++) {
+      for (int i = 0; i < 50; i++) {
+        cache.get(i, k -> k);
+      }
+    }
+
+    for (int i = 100; i < 200; i++) {
+      cache.get(i, k -> k);
+    }
+
+    AtomicInteger loads = new AtomicInteger();
+    for (int i = 0; i < 50; i++) {
+      cache.get(
+          i,
+          k -> {
+            loads.incrementAndGet();
+            return k;
+          });
+    }
+    assertTrue(loads.get() <= 5, "Reloaded " + loads.get() + " frequently used values.");
+    assertEquals(100, cache.size());
+  }
+
+  @Test
+  public void testClear_RemovesValuesAndKeepsStats() {
+    BoundedCache<String, String> cache = new BoundedCache<>(1);
+    cache.get("a", k -> k);
+    cache.get("b", k -> k);
+    cache.get("b", k -> k);
+
+    cache.clear();
+
+    assertEquals(0, cache.size());
+    assertEquals(new CacheStats(1, 2, 1), cache.stats());
+    assertEquals("c", cache.get("c", k -> k));
+    assertEquals(1, cache.size());
+  }
+
+  private static String upperCase(String key, AtomicInteger loads) {
+    loads.incrementAndGet();
+    return key.toUpperCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,20 @@
+package net.artemislab.algorithms.maps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/** The {@code CacheStatsTest} class implements tests for {@code CacheStats}. */
+public class CacheStatsTest {
+
+  @Test
+  public void testHitRate_NoLookups_ReturnsOne() {
+    assertEquals(1.0, new CacheStats(0, 0, 0).hitRate());
+  }
+
+  @Test
+  public void testHitRate_ReturnsRatioOfHits() {
+    assertEquals(0.75, new CacheStats(3, 1, 5).hitRate());
+    assertEquals(0.0, new CacheStats(0, 4, 0).hitRate());
+  }
+}
@@ -0,0 +1,29 @@
+package net.artemislab.algorithms.maps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/** The {@code CacheTest} class implements tests for {@code Cache}. */
+public class CacheTest {
+
+  @Test
+  public void testBounded_CreatesBoundedCache() {
+    Cache<String, String> cache = Cache.bounded(1);
+
+    assertEquals(BoundedCache.class, cache.getClass());
+    cache.get("a", k -> k);
+    cache.get("b", k -> k);
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  public void testUnbounded_CreatesUnboundedCache() {
+    assertEquals(UnboundedCache.class, Cache.unbounded().getClass());
+  }
+
+  @Test
+  public void testDisabled_CreatesDisabledCache() {
+    assertEquals(DisabledCache.class, Cache.disabled().getClass());
+  }
+}
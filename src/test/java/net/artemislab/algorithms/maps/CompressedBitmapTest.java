@@ -0,0 +1,138 @@
+package net.artemislab.algorithms.maps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+import org.junit.jupiter.api.Test;
+
+/** The {@code CompressedBitmapTest} class implements tests for {@code CompressedBitmap}. */
+public class CompressedBitmapTest {
+
+  @Test
+  public void testEmpty() {
+    CompressedBitmap bitmap = new CompressedBitmap();
+
+    assertTrue(bitmap.isEmpty());
+    assertEquals(0, bitmap.cardinality());
+    assertFalse(bitmap.contains(0));
+    assertEquals(List.of(), toList(bitmap));
+  }
+
+  @Test
+  public void testAdd_InAnyOrder_KeepsValuesSorted() {
+    CompressedBitmap bitmap = new CompressedBitmap();
+    int[] values = {5, 1 << 20, 3, 70_000, 1 << 16, 9, 1 << 30, 5, 1 << 18, 0, 1 << 17};
+    for (int value : values) {
+      bitmap.add(value);
+    }
+
+    assertFalse(bitmap.isEmpty());
+    assertEquals(10, bitmap.cardinality());
+    assertEquals(
+        List.of(0, 3, 5, 9, 1 << 16, 70_000, 1 << 17, 1 << 18, 1 << 20, 1 << 30), toList(bitmap));
+    for (int value : values) {
+      assertTrue(bitmap.contains(value));
+    }
+    assertFalse(bitmap.contains(4));
+    assertFalse(bitmap.contains(1 << 19));
+  }
+
+  @Test
+  public void testAdd_DenseChunk_SwitchesToBitmap() {
+    CompressedBitmap bitmap = fill(0, 1 << 16, i -> i % 3 == 0);
+    bitmap.add(0);
+    bitmap.add(3);
+
+    int expected = (1 << 16) / 3 + 1;
+    assertEquals(expected, bitmap.cardinality());
+    assertTrue(expected > CompressedBitmap.MAX_ARRAY_SIZE);
+    assertTrue(bitmap.contains(65_535));
+    assertFalse(bitmap.contains(65_534));
+    List<Integer> values = toList(bitmap);
+    assertEquals(expected, values.size());
+    assertEquals(3, values.get(1));
+    assertEquals(65_535, values.get(values.size() - 1));
+  }
+
+  @Test
+  public void testAnd_SparseChunks_MergesValues() {
+    CompressedBitmap first = bitmapOf(1, 2, 3, 5, 8, 1 << 16, 1 << 20);
+    CompressedBitmap second = bitmapOf(0, 2, 4, 5, 9, 1 << 16, 1 << 17);
+
+    assertEquals(List.of(2, 5, 1 << 16), toList(first.and(second)));
+    assertEquals(List.of(2, 5, 1 << 16), toList(second.and(first)));
+  }
+
+  @Test
+  public void testAnd_SkewedSparseChunks_SearchesValues() {
+    CompressedBitmap small = bitmapOf(7, 1000, 4000);
+    CompressedBitmap large = fill(0, CompressedBitmap.MAX_ARRAY_SIZE, i -> i % 2 == 0);
+
+    assertEquals(List.of(1000, 4000), toList(small.and(large)));
+    assertEquals(List.of(1000, 4000), toList(large.and(small)));
+  }
+
+  @Test
+  public void testAnd_SparseAndDenseChunks_FiltersValues() {
+    CompressedBitmap sparse = bitmapOf(1, 2, 3, 4, 65_535);
+    CompressedBitmap dense = fill(0, 1 << 16, i -> i % 2 == 1);
+
+    assertEquals(List.of(1, 3, 65_535), toList(sparse.and(dense)));
+    assertEquals(List.of(1, 3, 65_535), toList(dense.and(sparse)));
+  }
+
+  @Test
+  public void testAnd_DenseChunks_CombinesWords() {
+    CompressedBitmap halves = fill(0, 1 << 16, i -> i % 2 == 0);
+    CompressedBitmap thirds = fill(0, 1 << 16, i -> i % 3 == 0);
+
+    CompressedBitmap sixths = halves.and(thirds);
+    assertEquals((1 << 16) / 6 + 1, sixths.cardinality());
+    assertTrue(sixths.contains(65_532));
+    assertFalse(sixths.contains(65_534));
+
+    CompressedBitmap quarters = fill(0, 1 << 16, i -> i % 4 == 0);
+    CompressedBitmap fourths = halves.and(quarters);
+    assertEquals(1 << 14, fourths.cardinality());
+    assertEquals(toList(quarters), toList(fourths));
+  }
+
+  @Test
+  public void testAnd_Disjoint_ReturnsEmpty() {
+    CompressedBitmap evens = fill(0, 1 << 16, i -> i % 2 == 0);
+    CompressedBitmap odds = fill(0, 1 << 16, i -> i % 2 == 1);
+
+    assertTrue(evens.and(odds).isEmpty());
+    assertTrue(bitmapOf(1, 3).and(bitmapOf(2, 4)).isEmpty());
+    assertTrue(bitmapOf(1, 3).and(bitmapOf(1 << 16)).isEmpty());
+    assertTrue(bitmapOf(1, 3).and(new CompressedBitmap()).isEmpty());
+    assertTrue(bitmapOf(1, 3).and(evens).isEmpty());
+  }
+
+  private static CompressedBitmap bitmapOf(int... values) {
+    CompressedBitmap bitmap = new CompressedBitmap();
+    Arrays.stream(values).forEach(bitmap::add);
+    return bitmap;
+  }
+
+  private static CompressedBitmap fill(int from, int to, IntPredicate predicate) {
+    CompressedBitmap bitmap = new CompressedBitmap();
+    for (int i = from; i < to; i++) {
+      if (predicate.test(i)) {
+        bitmap.add(i);
+      }
+    }
+    return bitmap;
+  }
+
+  private static List<Integer> toList(CompressedBitmap bitmap) {
+    List<Integer> values = new ArrayList<>();
+    bitmap.forEach(values::add);
+    return values;
+  }
+}
@@ -0,0 +1,124 @@
+package net.artemislab.algorithms.maps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongSupplier;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The {@code DictionaryWildcardMapTest} class implements tests for {@code WildcardMap} using the
+ * {@code DICTIONARY} key encoding.
+ */
+public class DictionaryWildcardMapTest extends WildcardMapTest {
+
+  /** The number of lookup iterations measured by the allocation tests. */
+  private static final int LOOKUPS = 100_000;
+
+  /**
+   * The allocation budget of the allocation tests, far below one object per lookup, to absorb
+   * allocations of the measurement itself.
+   */
+  private static final long MAX_ALLOCATED_BYTES = 16 * 1024;
+
+  @Override
+  WildcardMap createWildcardMap() {
+    return new WildcardMap(WildcardMap.KeyEncoding.DICTIONARY);
+  }
+
+  @Test
+  public void testGetKeyEncoding() {
+    assertEquals(WildcardMap.KeyEncoding.DICTIONARY, createWildcardMap().getKeyEncoding());
+  }
+
+  @Test
+  public void testGetByUnknownKeys_ReturnsEmptyList() {
+    WildcardMap wildcardMap = createWildcardMap();
+    wildcardMap.put("Honda", "Civic", "Blue", "123");
+
+    assertEquals(Arrays.asList(), wildcardMap.get("Toyota", null, null));
+    assertEquals(Arrays.asList(), wildcardMap.get(null, "Camry", null));
+    assertEquals(Arrays.asList(), wildcardMap.get(null, null, "Red"));
+    assertEquals(Arrays.asList(), wildcardMap.get("Honda", "Civic", "Red"));
+  }
+
+  @Test
+  public void testGet_WarmLookup_DoesNotAllocate() {
+    WildcardMap wildcardMap = createWildcardMap();
+    wildcardMap.put("Honda", "Civic", "Blue", "123");
+    wildcardMap.put("Honda", "Acord", "Black", "456");
+    wildcardMap.put("Toyota", "Camry", "Red", "789");
+
+    long allocatedBytes =
+        measureAllocatedBytes(
+            () -> {
+              long count = 0;
+              for (int i = 0; i < LOOKUPS; i++) {
+                count += wildcardMap.get("Honda", "Civic", "Blue").size();
+                count += wildcardMap.get("Honda", null, null).size();
+                count += wildcardMap.get(null, null, null).size();
+                count += wildcardMap.get("Nissan", null, null).size();
+              }
+              return count;
+            });
+
+    assertTrue(allocatedBytes < MAX_ALLOCATED_BYTES, allocatedBytes + " bytes allocated.");
+  }
+
+  @Test
+  public void testGetIntoBuffer_WarmLookup_DoesNotAllocate() {
+    WildcardMap wildcardMap = createWildcardMap();
+    wildcardMap.put("Honda", "Civic", "Blue", "123");
+    wildcardMap.put("Honda", "Acord", "Black", "456");
+    wildcardMap.put("Toyota", "Camry", "Red", "789");
+    List<String> buffer = new ArrayList<>(8);
+
+    long allocatedBytes =
+        measureAllocatedBytes(
+            () -> {
+              long count = 0;
+              for (int i = 0; i < LOOKUPS; i++) {
+                buffer.clear();
+                count += wildcardMap.get("Honda", null, null, buffer);
+                count += wildcardMap.get(null, null, null, buffer);
+              }
+              return count;
+            });
+
+    assertTrue(allocatedBytes < MAX_ALLOCATED_BYTES, allocatedBytes + " bytes allocated.");
+  }
+
+  /**
+   * Returns the number of bytes allocated by the current thread while running the given lookups,
+   * after a warm-up run. The result of the lookups is consumed so that they cannot be eliminated.
+   */
+  private static long measureAllocatedBytes(LongSupplier lookups) {
+    ThreadMXBean threadMxBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long checksum = lookups.getAsLong();
+    long before = threadMxBean.getCurrentThreadAllocatedBytes();
+    checksum += lookups.getAsLong();
+    long after = threadMxBean.getCurrentThreadAllocatedBytes();
+    assertTrue(checksum > 0);
+    return after - before;
+  }
+
+  @Test
+  public void testKeyComponentsSharedAcrossPositions_NoCollision() {
+    WildcardMap wildcardMap = createWildcardMap();
+    wildcardMap.put("a", "b", "c", "value1");
+    wildcardMap.put("c", "a", "b", "value2");
+    wildcardMap.put("b", "c", "a", "value3");
+
+    assertEquals(Arrays.asList("value1"), wildcardMap.get("a", "b", "c"));
+    assertEquals(Arrays.asList("value2"), wildcardMap.get("c", "a", "b"));
+    assertEquals(Arrays.asList("value3"), wildcardMap.get("b", "c", "a"));
+    assertEquals(Arrays.asList("value1"), wildcardMap.get("a", null, null));
+    assertEquals(Arrays.asList("value2"), wildcardMap.get(null, "a", null));
+    assertEquals(Arrays.asList("value3"), wildcardMap.get(null, null, "a"));
+  }
+}
@@ -0,0 +1,42 @@
+package net.artemislab.algorithms.maps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/** The {@code DisabledCacheTest} class implements tests for {@code DisabledCache}. */
+public class DisabledCacheTest {
+
+  @Test
+  public void testGet_ComputesValueOnEveryLookup() {
+    DisabledCache<String, String> cache = new DisabledCache<>();
+    AtomicInteger loads = new AtomicInteger();
+
+    for (int i = 0; i < 3; i++) {
+      assertEquals(
+          "a!",
+          cache.get(
+              "a",
+              k -> {
+                loads.incrementAndGet();
+                return k + "!";
+              }));
+    }
+
+    assertEquals(3, loads.get());
+    assertEquals(0, cache.size());
+    assertEquals(new CacheStats(0, 3, 0), cache.stats());
+  }
+
+  @Test
+  public void testClear_KeepsStats() {
+    DisabledCache<String, String> cache = new DisabledCache<>();
+    cache.get("a", k -> k);
+
+    cache.clear();
+
+    assertEquals(0, cache.size());
+    assertEquals(new CacheStats(0, 1, 0), cache.stats());
+  }
+}
@@ -0,0 +1,52 @@
+package net.artemislab.algorithms.maps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/** The {@code FrozenDictionaryTest} class implements tests for {@code FrozenDictionary}. */
+public class FrozenDictionaryTest {
+
+  @Test
+  public void testFind_Empty_ReturnsNotFound() {
+    FrozenDictionary dictionary = new FrozenDictionary(Map.of());
+
+    assertEquals(FrozenDictionary.NOT_FOUND, dictionary.find("a"));
+  }
+
+  @Test
+  public void testFind_ReturnsIdsOfKeys() {
+    FrozenDictionary dictionary = new FrozenDictionary(Map.of("a", 1, "b", 2, "c", 3));
+
+    assertEquals(1, dictionary.find("a"));
+    assertEquals(2, dictionary.find("b"));
+    assertEquals(3, dictionary.find("c"));
+    assertEquals(FrozenDictionary.NOT_FOUND, dictionary.find("d"));
+  }
+
+  @Test
+  public void testFind_ManyKeys_ReturnsIdsOfKeys() {
+    Map<String, Integer> ids = new HashMap<>();
+    for (int i = 0; i < 10_000; i++) {
+      ids.put("key" + i, i + 1);
+    }
+    FrozenDictionary dictionary = new FrozenDictionary(ids);
+
+    for (int i = 0; i < 10_000; i++) {
+      assertEquals(i + 1, dictionary.find("key" + i));
+    }
+    assertEquals(FrozenDictionary.NOT_FOUND, dictionary.find("key10000"));
+  }
+
+  @Test
+  public void testFind_CollidingHashCodes_ReturnsIdsOfKeys() {
+    // "Aa" and "BB" have the same hash code
+    FrozenDictionary dictionary = new FrozenDictionary(Map.of("Aa", 1, "BB", 2));
+
+    assertEquals(1, dictionary.find("Aa"));
+    assertEquals(2, dictionary.find("BB"));
+    assertEquals(FrozenDictionary.NOT_FOUND, dictionary.find("C#"));
+  }
+}
@@ -0,0 +1,94 @@
+package net.artemislab.algorithms.maps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/** The {@code FrozenSlotsTest} class implements tests for {@code FrozenSlots}. */
+public class FrozenSlotsTest {
+
+  private final long[] keys = {
+    EncodedSlotStorage.pack(1, 1, 1),
+    EncodedSlotStorage.pack(1, 2, 1),
+    EncodedSlotStorage.pack(2, 1, 1),
+    EncodedSlotStorage.pack(1, 1, 1)
+  };
+
+  private final String[] dictionary = {null, "a", "b", "c", "d"};
+
+  private final int[] values = {1, 2, 3, 4};
+
+  @Test
+  public void testBuild_NoEntries_HasNoSlots() {
+    FrozenSlots slots = FrozenSlots.build(new long[0], new int[0], 0, -1L, dictionary);
+
+    assertEquals(0, slots.size());
+    assertNull(slots.get(0));
+    assertEquals(0, slots.copyTo(0, new ArrayList<>()));
+  }
+
+  @Test
+  public void testBuild_FullKeys_GroupsValuesInInsertionOrder() {
+    FrozenSlots slots = FrozenSlots.build(keys, values, values.length, -1L, dictionary);
+
+    assertEquals(3, slots.size());
+    assertEquals(Arrays.asList("a", "d"), slots.get(keys[0]));
+    assertEquals(Arrays.asList("b"), slots.get(keys[1]));
+    assertEquals(Arrays.asList("c"), slots.get(keys[2]));
+    assertNull(slots.get(EncodedSlotStorage.pack(2, 2, 2)));
+  }
+
+  @Test
+  public void testBuild_SubsetMask_MergesSlots() {
+    FrozenSlots slots =
+        FrozenSlots.build(
+            keys, values, values.length, EncodedSlotStorage.subsetMask(4), dictionary);
+
+    assertEquals(2, slots.size());
+    assertEquals(Arrays.asList("a", "b", "d"), slots.get(EncodedSlotStorage.pack(1, 0, 0)));
+    assertEquals(Arrays.asList("c"), slots.get(EncodedSlotStorage.pack(2, 0, 0)));
+  }
+
+  @Test
+  public void testBuild_SizeSmallerThanArrays_IgnoresTrailingEntries() {
+    FrozenSlots slots = FrozenSlots.build(keys, values, 2, -1L, dictionary);
+
+    assertEquals(2, slots.size());
+    assertEquals(Arrays.asList("a"), slots.get(keys[0]));
+  }
+
+  @Test
+  public void testCopyTo_AddsValuesOfSlot() {
+    FrozenSlots slots = FrozenSlots.build(keys, values, values.length, 0, dictionary);
+    List<String> target = new ArrayList<>();
+
+    assertEquals(4, slots.copyTo(0, target));
+    assertEquals(Arrays.asList("a", "b", "c", "d"), target);
+    assertEquals(0, slots.copyTo(1, target));
+  }
+
+  @Test
+  public void testBuild_ManyEntries_FindsAllSlots() {
+    int size = 10_000;
+    long[] manyKeys = new long[size];
+    int[] manyValues = new int[size];
+    String[] manyDictionary = new String[size + 1];
+    for (int i = 0; i < size; i++) {
+      manyKeys[i] = EncodedSlotStorage.pack(i % 100 + 1, i % 7 + 1, 1);
+      manyValues[i] = i + 1;
+      manyDictionary[i + 1] = Integer.toString(i);
+    }
+
+    FrozenSlots slots =
+        FrozenSlots.build(
+            manyKeys, manyValues, size, EncodedSlotStorage.subsetMask(6), manyDictionary);
+
+    assertEquals(100 * 7, slots.size());
+    assertEquals(size / 700 + 1, slots.get(EncodedSlotStorage.pack(1, 1, 0)).size());
+    assertEquals("0", slots.get(EncodedSlotStorage.pack(1, 1, 0)).get(0));
+  }
+}
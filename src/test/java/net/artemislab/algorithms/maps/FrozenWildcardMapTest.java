@@ -0,0 +1,378 @@
+package net.artemislab.algorithms.maps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/** The {@code FrozenWildcardMapTest} class implements tests for {@code FrozenWildcardMap}. */
+public class FrozenWildcardMapTest {
+
+  /**
+   * Creates the builder of the maps under test.
+   *
+   * @return the builder of the maps under test.
+   */
+  FrozenWildcardMap.Builder createBuilder() {
+    return FrozenWildcardMap.builder();
+  }
+
+  private FrozenWildcardMap createCars() {
+    return createBuilder()
+        .put("Honda", "Civic", "Blue", "123")
+        .put("Honda", "Civic", "Blue", "456")
+        .put("Honda", "Acord", "Black", "789")
+        .put("Honda", "Acord", "Black Metallic", "098")
+        .put("Toyota", "Corolla", "Red", "468")
+        .put("Toyota", "Corolla", "White", "654")
+        .put("Toyota", "Camry", "Silver", "246")
+        .put("Nissan", "Juke", "White", "135")
+        .put("Nissan", "Juke", "Red Metallic", "579")
+        .build();
+  }
+
+  @Test
+  public void testPut_NullKey1_ThrowsError() {
+    IllegalArgumentException exception =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> createBuilder().put(null, "Civic", "Blue", "123"));
+
+    assertEquals("Key1 must not be null, empty or blank.", exception.getMessage());
+  }
+
+  @Test
+  public void testPut_EmptyKey2_ThrowsError() {
+    IllegalArgumentException exception =
+        assertThrows(
+            IllegalArgumentException.class, () -> createBuilder().put("Honda", "", "Blue", "123"));
+
+    assertEquals("Key2 must not be null, empty or blank.", exception.getMessage());
+  }
+
+  @Test
+  public void testPut_BlankKey3_ThrowsError() {
+    IllegalArgumentException exception =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> createBuilder().put("Honda", "Civic", "   ", "123"));
+
+    assertEquals("Key3 must not be null, empty or blank.", exception.getMessage());
+  }
+
+  @Test
+  public void testPut_NullValue_ThrowsError() {
+    IllegalArgumentException exception =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> createBuilder().put("Honda", "Civic", "Blue", null));
+
+    assertEquals("Value must not be null, empty or blank.", exception.getMessage());
+  }
+
+  @Test
+  public void testPut_InvalidEntry_IsNotAdded() {
+    FrozenWildcardMap.Builder builder = createBuilder().put("Honda", "Civic", "Blue", "123");
+
+    assertThrows(IllegalArgumentException.class, () -> builder.put("Honda", "Civic", "Red", ""));
+
+    FrozenWildcardMap map = builder.build();
+    assertEquals(1, map.size());
+    assertEquals(List.of(), map.get(null, null, "Red"));
+  }
+
+  @Test
+  public void testPutAll_NullEntries_ThrowsError() {
+    NullPointerException exception =
+        assertThrows(NullPointerException.class, () -> createBuilder().putAll(null));
+
+    assertEquals("The entries must not be null.", exception.getMessage());
+  }
+
+  @Test
+  public void testPutAll_NullEntry_ThrowsError() {
+    NullPointerException exception =
+        assertThrows(
+            NullPointerException.class,
+            () -> createBuilder().putAll(Collections.singletonList(null)));
+
+    assertEquals("The entry must not be null.", exception.getMessage());
+  }
+
+  @Test
+  public void testPutAll_BlankValue_ThrowsError() {
+    List<WildcardMap.Entry> entries = List.of(new WildcardMap.Entry("Honda", "Civic", "Blue", " "));
+
+    IllegalArgumentException exception =
+        assertThrows(IllegalArgumentException.class, () -> createBuilder().putAll(entries));
+
+    assertEquals("Value must not be null, empty or blank.", exception.getMessage());
+  }
+
+  @Test
+  public void testPutAll_AddsEntriesInOrder() {
+    FrozenWildcardMap map =
+        createBuilder()
+            .put("Honda", "Civic", "Blue", "123")
+            .putAll(
+                List.of(
+                    new WildcardMap.Entry("Honda", "Civic", "Blue", "456"),
+                    new WildcardMap.Entry(" Honda ", "Acord", "Black", " 789 ")))
+            .build();
+
+    assertEquals(3, map.size());
+    assertEquals(Arrays.asList("123", "456"), map.get("Honda", "Civic", "Blue"));
+    assertEquals(Arrays.asList("123", "456", "789"), map.get("Honda", null, null));
+  }
+
+  @Test
+  public void testBuild_NoEntries_IsEmpty() {
+    FrozenWildcardMap map = createBuilder().build();
+
+    assertTrue(map.isEmpty());
+    assertEquals(0, map.size());
+    assertEquals(List.of(), map.get(null, null, null));
+    assertEquals(List.of(), map.get("Honda", "Civic", "Blue"));
+  }
+
+  @Test
+  public void testBuild_ManyEntries_GrowsBuilder() {
+    FrozenWildcardMap.Builder builder = createBuilder();
+    for (int i = 0; i < 1000; i++) {
+      builder.put("make" + i % 10, "model" + i % 100, "color" + i % 3, Integer.toString(i));
+    }
+    FrozenWildcardMap map = builder.build();
+
+    assertFalse(map.isEmpty());
+    assertEquals(1000, map.size());
+    assertEquals(1000, map.get(null, null, null).size());
+    assertEquals(100, map.get("make0", null, null).size());
+    assertEquals(Arrays.asList("0", "300", "600", "900"), map.get("make0", "model0", "color0"));
+    assertEquals(334, map.get(null, null, "color0").size());
+  }
+
+  @Test
+  public void testGet_ByAllKeys() {
+    FrozenWildcardMap map = createCars();
+
+    assertEquals(Arrays.asList("123", "456"), map.get("Honda", "Civic", "Blue"));
+    assertEquals(Arrays.asList("789"), map.get("Honda", "Acord", "Black"));
+    assertEquals(Arrays.asList("098"), map.get("Honda", "Acord", "Black Metallic"));
+    assertEquals(Arrays.asList("246"), map.get("Toyota", "Camry", "Silver"));
+    assertEquals(Arrays.asList("579"), map.get("Nissan", "Juke", "Red Metallic"));
+    assertEquals(List.of(), map.get("Honda", "Civic", "Red"));
+    assertEquals(List.of(), map.get("Honda", "Juke", "Blue"));
+    assertEquals(List.of(), map.get("Ford", "Civic", "Blue"));
+  }
+
+  @Test
+  public void testGet_ByWildcard() {
+    FrozenWildcardMap map = createCars();
+
+    assertEquals(Arrays.asList("123", "456"), map.get("Honda", "Civic", null));
+    assertEquals(Arrays.asList("123", "456", "789", "098"), map.get("Honda", null, ""));
+    assertEquals(Arrays.asList("123", "456"), map.get("", "Civic", null));
+    assertEquals(Arrays.asList("123", "456"), map.get(null, " ", "Blue"));
+    assertEquals(Arrays.asList("468", "654", "246"), map.get("Toyota", null, null));
+    assertEquals(Arrays.asList("468"), map.get(" ", " ", "Red"));
+    assertEquals(Arrays.asList("135", "579"), map.get(null, "Juke", null));
+    assertEquals(Arrays.asList("654", "135"), map.get(null, null, "White"));
+    assertEquals(
+        Arrays.asList("123", "456", "789", "098", "468", "654", "246", "135", "579"),
+        map.get("", "  ", null));
+    assertEquals(List.of(), map.get(null, "Juke", "Blue"));
+    assertEquals(List.of(), map.get(null, null, "Green"));
+  }
+
+  @Test
+  public void testGet_TrimsWhitespaceInKeys() {
+    FrozenWildcardMap map = createBuilder().put("  Honda ", "Civic", " Blue", "123  ").build();
+
+    assertEquals(Arrays.asList("123"), map.get(" Honda  ", "  Civic ", "Blue "));
+  }
+
+  @Test
+  public void testGet_KeysContainingSeparators_NoCollision() {
+    FrozenWildcardMap map =
+        createBuilder().put("a_b", "c", "d", "1").put("a", "b_c", "d", "2").build();
+
+    assertEquals(Arrays.asList("1"), map.get("a_b", "c", "d"));
+    assertEquals(Arrays.asList("2"), map.get("a", "b_c", "d"));
+    assertEquals(List.of(), map.get("a", "b", "c_d"));
+  }
+
+  @Test
+  public void testGet_ReturnsImmutableList() {
+    List<String> values = createCars().get("Honda", "Civic", "Blue");
+
+    assertThrows(UnsupportedOperationException.class, () -> values.add("999"));
+    assertThrows(UnsupportedOperationException.class, () -> values.remove(0));
+  }
+
+  @Test
+  public void testGetBestMatch_NullOrder_ThrowsError() {
+    FrozenWildcardMap map = createCars();
+
+    NullPointerException exception =
+        assertThrows(NullPointerException.class, () -> map.getBestMatch("a", "b", "c", null));
+
+    assertEquals("The match order must not be null.", exception.getMessage());
+  }
+
+  @Test
+  public void testGetBestMatch_ReturnsMostSpecificMatch() {
+    FrozenWildcardMap map =
+        createBuilder()
+            .put("Honda", "Civic", "Blue", "exact")
+            .put("Honda", "Civic", "Red", "model")
+            .put("Toyota", "Camry", "Blue", "color")
+            .build();
+
+    assertEquals(Arrays.asList("exact"), map.getBestMatch("Honda", "Civic", "Blue"));
+    assertEquals(Arrays.asList("model"), map.getBestMatch(" Honda ", "Civic", "Red"));
+    assertEquals(Arrays.asList("exact", "model"), map.getBestMatch("Honda", "Civic", "Green"));
+    assertEquals(Arrays.asList("exact", "color"), map.getBestMatch("Ford", "Focus", "Blue"));
+    assertEquals(
+        Arrays.asList("exact", "model", "color"), map.getBestMatch("Ford", "Focus", "Gray"));
+    assertEquals(
+        Arrays.asList("exact", "model"), map.getBestMatch("Honda", null, "", MatchOrder.of("a**")));
+  }
+
+  @Test
+  public void testGetBestMatch_NoMatch_ReturnsEmptyList() {
+    FrozenWildcardMap map = createCars();
+
+    assertEquals(List.of(), map.getBestMatch("Ford", "Focus", "Blue", MatchOrder.of("abc", "a**")));
+    assertEquals(List.of(), createBuilder().build().getBestMatch("Ford", "Focus", "Blue"));
+  }
+
+  @Test
+  public void testGetBestMatch_MatchesGetInOrder() {
+    FrozenWildcardMap map = createCars();
+    String[] queries = {null, "Honda", "Civic", "Blue", "Camry", "White", "Ford"};
+    for (String key1 : queries) {
+      for (String key2 : queries) {
+        for (String key3 : queries) {
+          List<String> expected = List.of();
+          for (String pattern : MatchOrder.HIERARCHICAL.patterns()) {
+            List<String> values =
+                map.get(
+                    pattern.charAt(0) == '*' ? null : key1,
+                    pattern.charAt(1) == '*' ? null : key2,
+                    pattern.charAt(2) == '*' ? null : key3);
+            if (!values.isEmpty()) {
+              expected = values;
+              break;
+            }
+          }
+          assertEquals(expected, map.getBestMatch(key1, key2, key3, MatchOrder.HIERARCHICAL));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testGetIntoBuffer_NullBuffer_ThrowsError() {
+    FrozenWildcardMap map = createCars();
+
+    NullPointerException exception =
+        assertThrows(NullPointerException.class, () -> map.get("Honda", "Civic", "Blue", null));
+
+    assertEquals("The buffer must not be null.", exception.getMessage());
+  }
+
+  @Test
+  public void testGetIntoBuffer_AppendsMatchingValues() {
+    FrozenWildcardMap map = createCars();
+    List<String> buffer = new ArrayList<>();
+
+    assertEquals(2, map.get("Honda", "Civic", "Blue", buffer));
+    assertEquals(2, map.get("Nissan", null, null, buffer));
+    assertEquals(0, map.get("Ford", null, null, buffer));
+    assertEquals(0, map.get("Honda", "Civic", "Red", buffer));
+    assertEquals(Arrays.asList("123", "456", "135", "579"), buffer);
+  }
+
+  @Test
+  public void testBuild_BuilderReuse_DoesNotAffectEarlierMaps() {
+    FrozenWildcardMap.Builder builder = createBuilder().put("Honda", "Civic", "Blue", "123");
+    FrozenWildcardMap first = builder.build();
+    FrozenWildcardMap second = builder.put("Honda", "Civic", "Blue", "456").build();
+
+    assertEquals(Arrays.asList("123"), first.get("Honda", "Civic", "Blue"));
+    assertEquals(Arrays.asList("123", "456"), second.get("Honda", "Civic", "Blue"));
+  }
+
+  @Test
+  public void testBuild_MatchesWildcardMap() {
+    WildcardMap wildcardMap = new WildcardMap();
+    FrozenWildcardMap.Builder builder = createBuilder();
+    for (int i = 0; i < 500; i++) {
+      String key1 = "k" + i % 5;
+      String key2 = "k" + i % 11;
+      String key3 = "k" + i % 13;
+      wildcardMap.put(key1, key2, key3, Integer.toString(i));
+      builder.put(key1, key2, key3, Integer.toString(i));
+    }
+    FrozenWildcardMap map = builder.build();
+
+    String[] queries = {null, "k0", "k4", "k10", "k12", "k99"};
+    for (String key1 : queries) {
+      for (String key2 : queries) {
+        for (String key3 : queries) {
+          assertEquals(wildcardMap.get(key1, key2, key3), map.get(key1, key2, key3));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testDistinctValues_CountsEqualValuesOnce() {
+    FrozenWildcardMap map =
+        createBuilder()
+            .put("Honda", "Civic", "Blue", "allow")
+            .put("Honda", "Civic", "Red", " deny ")
+            .put("Toyota", "Camry", "Blue", "allow")
+            .put("Toyota", "Camry", "Red", "deny")
+            .build();
+
+    assertEquals(4, map.size());
+    assertEquals(2, map.distinctValues());
+    assertEquals(Arrays.asList("allow", "deny", "allow", "deny"), map.get(null, null, null));
+    Assertions.assertSame(
+        map.get("Honda", null, "Red").get(0), map.get("Toyota", null, null).get(1));
+    assertEquals(0, createBuilder().build().distinctValues());
+  }
+
+  @Test
+  public void testIntern_AssignsIdsInInsertionOrder() {
+    String[] entries = {"a", "x", "y", "1", "b", "x", "y", "2", "a", "x", "y", "3"};
+    int[] entryIds = new int[3];
+
+    Map<String, Integer> ids = FrozenWildcardMap.intern(entries, 3, 0, 10, entryIds);
+
+    assertEquals(Map.of("a", 1, "b", 2), ids);
+    assertEquals(Arrays.toString(new int[] {1, 2, 1}), Arrays.toString(entryIds));
+  }
+
+  @Test
+  public void testIntern_TooManyDistinctKeys_ThrowsError() {
+    String[] entries = {"a", "x", "y", "1", "b", "x", "y", "2", "c", "x", "y", "3"};
+
+    IllegalStateException exception =
+        assertThrows(
+            IllegalStateException.class,
+            () -> FrozenWildcardMap.intern(entries, 3, 0, 2, new int[3]));
+
+    assertEquals(
+        "The dictionary must not contain more than 2 distinct keys.", exception.getMessage());
+  }
+}
@@ -0,0 +1,199 @@
+package net.artemislab.algorithms.maps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** The {@code IndexedWildcardMapTest} class implements tests for {@code IndexedWildcardMap}. */
+public class IndexedWildcardMapTest {
+
+  private IndexedWildcardMap<String, String> wildcardMap;
+
+  @BeforeEach
+  public void initialize() {
+    wildcardMap = new IndexedWildcardMap<>(3);
+  }
+
+  @Test
+  public void testCreate_NonPositiveArity_ThrowsError() {
+    IllegalArgumentException exception =
+        assertThrows(IllegalArgumentException.class, () -> new IndexedWildcardMap<>(0));
+
+    assertEquals("The arity must be positive, but was 0.", exception.getMessage());
+  }
+
+  @Test
+  public void testCreate_Arity() {
+    assertEquals(3, wildcardMap.arity());
+    assertEquals(8, new IndexedWildcardMap<String, String>(8).arity());
+  }
+
+  @Test
+  public void testPutOneEntry_NullKeys_ThrowsError() {
+    NullPointerException exception =
+        assertThrows(NullPointerException.class, () -> wildcardMap.put(null, "123"));
+
+    assertEquals("The keys must not be null.", exception.getMessage());
+  }
+
+  @Test
+  public void testPutOneEntry_WrongNumberOfKeys_ThrowsError() {
+    IllegalArgumentException exception =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> wildcardMap.put(List.of("Honda", "Civic"), "123"));
+
+    assertEquals("The number of keys must be 3, but was 2.", exception.getMessage());
+  }
+
+  @Test
+  public void testPutOneEntry_NullKey2_ThrowsError() {
+    IllegalArgumentException exception =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> wildcardMap.put(Arrays.asList("Honda", null, "Blue"), "123"));
+
+    assertEquals("Key2 must not be null.", exception.getMessage());
+  }
+
+  @Test
+  public void testPutOneEntry_NullValue_ThrowsError() {
+    NullPointerException exception =
+        assertThrows(
+            NullPointerException.class,
+            () -> wildcardMap.put(List.of("Honda", "Civic", "Blue"), null));
+
+    assertEquals("The value must not be null.", exception.getMessage());
+  }
+
+  @Test
+  public void testGet_WrongNumberOfKeys_ThrowsError() {
+    IllegalArgumentException exception =
+        assertThrows(
+            IllegalArgumentException.class, () -> wildcardMap.get(Arrays.asList(null, null)));
+
+    assertEquals("The number of keys must be 3, but was 2.", exception.getMessage());
+  }
+
+  @Test
+  public void testPutZeroEntries_GetByAllKeys() {
+    assertEquals(List.of(), wildcardMap.get(List.of("Honda", "Civic", "Blue")));
+    assertEquals(List.of(), wildcardMap.get(Arrays.asList(null, null, null)));
+  }
+
+  @Test
+  public void testPutManyEntries_DifferentKeys_GetByWildcard() {
+    wildcardMap.put(List.of("Honda", "Civic", "Blue"), "VIN1");
+    wildcardMap.put(List.of("Honda", "Accord", "Red"), "VIN2");
+    wildcardMap.put(List.of("Toyota", "Camry", "Blue"), "VIN3");
+    wildcardMap.put(List.of("Honda", "Civic", "Red"), "VIN4");
+    wildcardMap.put(List.of("Honda", "Civic", "Blue"), "VIN5");
+
+    assertEquals(List.of("VIN1", "VIN5"), wildcardMap.get(List.of("Honda", "Civic", "Blue")));
+    assertEquals(
+        List.of("VIN1", "VIN2", "VIN4", "VIN5"),
+        wildcardMap.get(Arrays.asList("Honda", null, null)));
+    assertEquals(
+        List.of("VIN1", "VIN3", "VIN5"), wildcardMap.get(Arrays.asList(null, null, "Blue")));
+    assertEquals(List.of("VIN4"), wildcardMap.get(Arrays.asList(null, "Civic", "Red")));
+    assertEquals(
+        List.of("VIN1", "VIN2", "VIN3", "VIN4", "VIN5"),
+        wildcardMap.get(Arrays.asList(null, null, null)));
+    assertEquals(List.of(), wildcardMap.get(Arrays.asList("Toyota", null, "Red")));
+    assertEquals(List.of(), wildcardMap.get(Arrays.asList("Ford", null, null)));
+  }
+
+  @Test
+  public void testPutManyEntries_HighArity_GetByWildcard() {
+    IndexedWildcardMap<Integer, Integer> map = new IndexedWildcardMap<>(8);
+    for (int i = 0; i < 100_000; i++) {
+      List<Integer> keys = new ArrayList<>();
+      for (int dimension = 0; dimension < 8; dimension++) {
+        keys.add(i % (dimension + 2));
+      }
+      map.put(keys, i);
+    }
+
+    List<Integer> matches = map.get(Arrays.asList(1, null, null, null, null, null, null, 7));
+    assertEquals(100_000 / 18 + 1, matches.size());
+    for (int match : matches) {
+      assertEquals(1, match % 2);
+      assertEquals(7, match % 9);
+    }
+    assertEquals(
+        100_000, map.get(Arrays.asList(null, null, null, null, null, null, null, null)).size());
+    assertEquals(List.of(), map.get(Arrays.asList(0, null, 1, null, null, null, null, null)));
+  }
+
+  @Test
+  public void testGetReturnsImmutableList() {
+    wildcardMap.put(List.of("Honda", "Civic", "Blue"), "VIN1");
+
+    List<String> values = wildcardMap.get(Arrays.asList("Honda", null, null));
+    assertThrows(UnsupportedOperationException.class, () -> values.add("VIN2"));
+  }
+
+  @Test
+  public void testConcurrentPuts_KeepAllEntries() throws Exception {
+    int threads = 4;
+    int entriesPerThread = 2000;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        String make = "Make" + t;
+        futures.add(
+            executor.submit(
+                () -> {
+                  for (int i = 0; i < entriesPerThread; i++) {
+                    wildcardMap.put(List.of(make, "Model" + i % 10, "Color"), make + i);
+                    wildcardMap.get(Arrays.asList(null, "Model0", null));
+                  }
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertEquals(threads * entriesPerThread, wildcardMap.size());
+    assertEquals(entriesPerThread, wildcardMap.get(Arrays.asList("Make0", null, null)).size());
+    assertEquals(
+        threads * entriesPerThread / 10,
+        wildcardMap.get(Arrays.asList(null, "Model3", null)).size());
+  }
+
+  @Test
+  public void testIsEmpty_AfterPut_ReturnsFalse() {
+    assertTrue(wildcardMap.isEmpty());
+
+    wildcardMap.put(List.of("Honda", "Civic", "Blue"), "VIN1");
+
+    assertFalse(wildcardMap.isEmpty());
+    assertEquals(1, wildcardMap.size());
+  }
+
+  @Test
+  public void testClear_RemovesAllEntries() {
+    wildcardMap.put(List.of("Honda", "Civic", "Blue"), "VIN1");
+    wildcardMap.clear();
+
+    assertTrue(wildcardMap.isEmpty());
+    assertEquals(List.of(), wildcardMap.get(Arrays.asList("Honda", null, null)));
+
+    wildcardMap.put(List.of("Honda", "Civic", "Red"), "VIN2");
+    assertEquals(List.of("VIN2"), wildcardMap.get(Arrays.asList("Honda", null, null)));
+  }
+}
@@ -0,0 +1,150 @@
+package net.artemislab.algorithms.maps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The {@code InstrumentedWildcardMapTest} class implements tests for {@code WildcardMap} counting
+ * its operations and recording JFR events.
+ */
+public class InstrumentedWildcardMapTest extends WildcardMapTest {
+
+  @TempDir Path directory;
+
+  @Override
+  WildcardMap createWildcardMap() {
+    return WildcardMap.builder().instrumented(true).sortedKeys(true).build();
+  }
+
+  @Test
+  public void testIsInstrumented() {
+    assertTrue(createWildcardMap().isInstrumented());
+  }
+
+  @Test
+  public void testGetMetrics_CountsLookups() {
+    WildcardMap map = createWildcardMap();
+    map.put("Honda", "Civic", "Blue", "123");
+    map.put("Honda", "Accord", "Red", "456");
+
+    map.get("Honda", null, null);
+    map.get("Toyota", null, null);
+    map.count(null, "Civic", null);
+    map.getAll(
+        List.of(
+            new WildcardMap.Query("Honda", "Civic", null), new WildcardMap.Query("x", "y", "z")));
+    map.getBestMatch("Honda", "Civic", "Green");
+    map.getMatching(
+        WildcardMap.KeyRange.prefix("H"), WildcardMap.KeyRange.all(), WildcardMap.KeyRange.all());
+    WildcardMapMetrics metrics = map.getMetrics();
+
+    assertEquals(7, metrics.lookups());
+    assertEquals(5, metrics.hits());
+    assertEquals(2, metrics.misses());
+    assertEquals(2 + 1 + 1 + 1 + 2, metrics.matchedValues());
+    assertEquals(5.0 / 7, metrics.hitRate());
+    assertEquals(1.0, metrics.fanOut());
+  }
+
+  @Test
+  public void testGetMetrics_CountsWrites() {
+    WildcardMap map = createWildcardMap();
+    map.put("Honda", "Civic", "Blue", "123");
+    map.put("Honda", "Accord", "Red", "456");
+    map.replace("Honda", "Civic", "Blue", "123", "789");
+    map.replace("Honda", "Civic", "Blue", "123", "789");
+    map.remove("Honda", "Accord", "Red", "456");
+    map.remove("Honda", "Accord", "Red", "456");
+    map.size();
+    map.isEmpty();
+    WildcardMapMetrics metrics = map.getMetrics();
+
+    assertEquals(2, metrics.puts());
+    assertEquals(1, metrics.replacements());
+    assertEquals(1, metrics.removals());
+    assertEquals(4 * 8, metrics.slotWrites());
+    assertEquals(8, metrics.writeAmplification());
+    assertEquals(0, metrics.lookups());
+    assertEquals(8, metrics.slots());
+    assertEquals(1, metrics.largestSlot());
+  }
+
+  @Test
+  public void testGetMetrics_LazyIndexing_CountsOneSlotPerWrite() {
+    WildcardMap map =
+        WildcardMap.builder()
+            .instrumented(true)
+            .indexingStrategy(WildcardMap.IndexingStrategy.LAZY)
+            .build();
+    map.put("Honda", "Civic", "Blue", "123");
+    map.put("Honda", "Accord", "Red", "456");
+    map.replace("Honda", "Civic", "Blue", "123", "789");
+    map.remove("Honda", "Accord", "Red", "456");
+    WildcardMapMetrics metrics = map.getMetrics();
+
+    assertEquals(4, metrics.slotWrites());
+    assertEquals(1, metrics.writeAmplification());
+  }
+
+  @Test
+  public void testGetMetrics_CountersSurviveClear() {
+    WildcardMap map = createWildcardMap();
+    map.put("Honda", "Civic", "Blue", "123");
+    map.clear();
+    map.get(null, null, null);
+    WildcardMapMetrics metrics = map.getMetrics();
+
+    assertEquals(1, metrics.puts());
+    assertEquals(1, metrics.misses());
+    assertEquals(0, metrics.slots());
+    assertEquals(0, metrics.largestSlot());
+    assertEquals(0, metrics.estimatedHeapBytes());
+  }
+
+  @Test
+  public void testSlowOperations_RecordJfrEvents() throws IOException {
+    WildcardMap map = createWildcardMap();
+    Path file = directory.resolve("events.jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable(LookupEvent.NAME).withThreshold(Duration.ZERO);
+      recording.enable(WriteEvent.NAME).withThreshold(Duration.ZERO);
+      recording.start();
+      map.put("Honda", "Civic", "Blue", "123");
+      map.remove("Honda", "Civic", "Blue", "456");
+      map.get("Honda", null, null);
+      map.getAll(List.of(new WildcardMap.Query(null, null, null)));
+      recording.stop();
+      recording.dump(file);
+    }
+
+    Map<String, RecordedEvent> events =
+        RecordingFile.readAllEvents(file).stream()
+            .collect(Collectors.toMap(event -> event.getString("operation"), event -> event));
+
+    assertEquals(4, events.size());
+    RecordedEvent put = events.get("put");
+    assertEquals(WriteEvent.NAME, put.getEventType().getName());
+    assertEquals("Civic", put.getString("key2"));
+    assertTrue(put.getBoolean("updated"));
+    assertFalse(events.get("remove").getBoolean("updated"));
+    RecordedEvent get = events.get("get");
+    assertEquals(LookupEvent.NAME, get.getEventType().getName());
+    assertEquals("Honda", get.getString("key1"));
+    assertEquals(1, get.getInt("matchedValues"));
+    Assertions.assertNull(events.get("getAll").getString("key1"));
+  }
+}
@@ -0,0 +1,53 @@
+package net.artemislab.algorithms.maps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/** The {@code KeyDictionaryTest} class implements tests for {@code KeyDictionary}. */
+public class KeyDictionaryTest {
+
+  @Test
+  public void testFind_EmptyDictionary_ReturnsNotFound() {
+    KeyDictionary dictionary = new KeyDictionary(10);
+
+    assertEquals(KeyDictionary.NOT_FOUND, dictionary.find("a"));
+    assertEquals(0, dictionary.size());
+  }
+
+  @Test
+  public void testIntern_AssignsIdsInInsertionOrderStartingFromOne() {
+    KeyDictionary dictionary = new KeyDictionary(10);
+
+    assertEquals(1, dictionary.intern("a"));
+    assertEquals(2, dictionary.intern("b"));
+    assertEquals(3, dictionary.intern("c"));
+    assertEquals(3, dictionary.size());
+  }
+
+  @Test
+  public void testIntern_SameKey_ReturnsSameId() {
+    KeyDictionary dictionary = new KeyDictionary(10);
+    int id = dictionary.intern("a");
+
+    assertEquals(id, dictionary.intern("a"));
+    assertEquals(id, dictionary.find("a"));
+    assertEquals(1, dictionary.size());
+  }
+
+  @Test
+  public void testIntern_MoreKeysThanMaxId_ThrowsError() {
+    KeyDictionary dictionary = new KeyDictionary(2);
+    dictionary.intern("a");
+    dictionary.intern("b");
+
+    IllegalStateException exception =
+        assertThrows(IllegalStateException.class, () -> dictionary.intern("c"));
+
+    assertEquals(
+        "The dictionary must not contain more than 2 distinct keys.", exception.getMessage());
+    assertEquals(KeyDictionary.NOT_FOUND, dictionary.find("c"));
+    assertEquals(2, dictionary.intern("b"));
+  }
+}
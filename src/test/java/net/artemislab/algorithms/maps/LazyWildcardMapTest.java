@@ -0,0 +1,199 @@
+package net.artemislab.algorithms.maps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The {@code LazyWildcardMapTest} class implements tests for {@code WildcardMap} using the {@code
+ * LAZY} indexing strategy.
+ */
+public class LazyWildcardMapTest extends WildcardMapTest {
+
+  @Override
+  WildcardMap createWildcardMap() {
+    return WildcardMap.builder().indexingStrategy(WildcardMap.IndexingStrategy.LAZY).build();
+  }
+
+  @Test
+  public void testGetIndexingStrategy() {
+    assertEquals(WildcardMap.IndexingStrategy.LAZY, createWildcardMap().getIndexingStrategy());
+  }
+
+  @Test
+  public void testGetByWildcard_GroupsValuesByFullKey() {
+    WildcardMap map = createWildcardMap();
+    map.put("Honda", "Civic", "Red", "1");
+    map.put("Honda", "Accord", "Red", "2");
+    map.put("Honda", "Civic", "Red", "3");
+
+    assertEquals(Arrays.asList("1", "3", "2"), map.get("Honda", null, "Red"));
+    assertEquals(Arrays.asList("1", "3"), map.get("Honda", "Civic", "Red"));
+  }
+
+  @Test
+  public void testGetByWildcard_RepeatedQuery_HitsQueryCache() {
+    WildcardMap map = createWildcardMap();
+    map.put("Honda", "Civic", "Red", "1");
+    map.put("Toyota", "Corolla", "Red", "2");
+
+    List<String> values = map.get(null, null, "Red");
+    assertSame(values, map.get(null, null, "Red"));
+    assertEquals(new CacheStats(1, 1, 0), map.getQueryCacheStats());
+  }
+
+  @Test
+  public void testGetByFullKey_BypassesQueryCache() {
+    WildcardMap map = createWildcardMap();
+    map.put("Honda", "Civic", "Red", "1");
+
+    assertEquals(Arrays.asList("1"), map.get("Honda", "Civic", "Red"));
+    assertEquals(new CacheStats(0, 0, 0), map.getQueryCacheStats());
+  }
+
+  @Test
+  public void testWrites_InvalidateMatchingQueriesOnly() {
+    WildcardMap map = createWildcardMap();
+    map.put("Honda", "Civic", "Red", "1");
+    map.put("Toyota", "Corolla", "Blue", "2");
+    map.get("Honda", null, null);
+    map.get("Toyota", null, null);
+
+    map.put("Honda", "Accord", "Red", "3");
+    assertEquals(Arrays.asList("1", "3"), map.get("Honda", null, null));
+    map.replace("Honda", "Accord", "Red", "3", "4");
+    assertEquals(Arrays.asList("1", "4"), map.get("Honda", null, null));
+    map.remove("Honda", "Civic", "Red", "1");
+    assertEquals(Arrays.asList("4"), map.get("Honda", null, null));
+    assertEquals(Arrays.asList("2"), map.get("Toyota", null, null));
+    // The result of Toyota is cached until the end, while the one of Honda is invalidated 3 times
+    assertEquals(new CacheStats(1, 5, 3), map.getQueryCacheStats());
+  }
+
+  @Test
+  public void testQueryCacheSize_Zero_DisablesQueryCache() {
+    WildcardMap map =
+        WildcardMap.builder()
+            .indexingStrategy(WildcardMap.IndexingStrategy.LAZY)
+            .queryCacheSize(0)
+            .build();
+    map.put("Honda", "Civic", "Red", "1");
+
+    assertEquals(Arrays.asList("1"), map.get(null, "Civic", null));
+    assertEquals(Arrays.asList("1"), map.get(null, "Civic", null));
+    assertEquals(new CacheStats(0, 2, 0), map.getQueryCacheStats());
+  }
+
+  @Test
+  public void testQueryCacheSize_Negative_ThrowsError() {
+    WildcardMap.Builder builder = WildcardMap.builder();
+
+    IllegalArgumentException exception =
+        assertThrows(IllegalArgumentException.class, () -> builder.queryCacheSize(-1));
+
+    assertEquals("The query cache size must not be negative, but was -1.", exception.getMessage());
+  }
+
+  @Test
+  public void testBuild_SortedKeys_ThrowsError() {
+    WildcardMap.Builder builder =
+        WildcardMap.builder().indexingStrategy(WildcardMap.IndexingStrategy.LAZY).sortedKeys(true);
+
+    IllegalStateException exception = assertThrows(IllegalStateException.class, builder::build);
+
+    assertEquals(
+        "Sorted keys require the EAGER indexing strategy, but was LAZY.", exception.getMessage());
+  }
+
+  @Test
+  public void testIndexingStrategy_Null_ThrowsError() {
+    WildcardMap.Builder builder = WildcardMap.builder();
+
+    NullPointerException exception =
+        assertThrows(NullPointerException.class, () -> builder.indexingStrategy(null));
+
+    assertEquals("The indexing strategy must not be null.", exception.getMessage());
+  }
+
+  @Test
+  public void testGetQueryCacheStats_EagerIndexing_ReturnsZeros() {
+    WildcardMap map = new WildcardMap();
+    map.put("Honda", "Civic", "Red", "1");
+    map.get(null, null, null);
+
+    assertEquals(WildcardMap.IndexingStrategy.EAGER, map.getIndexingStrategy());
+    assertEquals(new CacheStats(0, 0, 0), map.getQueryCacheStats());
+  }
+
+  @Test
+  public void testGetMetrics_CountsFullKeySlotsOnly() {
+    WildcardMap map = createWildcardMap();
+    map.put("Honda", "Civic", "Red", "1");
+    map.put("Honda", "Accord", "Blue", "2");
+    map.put("Honda", "Civic", "Red", "3");
+
+    assertEquals(2, map.getMetrics().slots());
+    assertEquals(2, map.getMetrics().largestSlot());
+  }
+
+  @Test
+  public void testClear_KeepsQueryCacheStats() {
+    WildcardMap map = createWildcardMap();
+    map.put("Honda", "Civic", "Red", "1");
+    map.get(null, null, null);
+    map.clear();
+
+    assertEquals(Arrays.asList(), map.get(null, null, null));
+    assertEquals(new CacheStats(0, 2, 0), map.getQueryCacheStats());
+  }
+
+  @Test
+  public void testConcurrentPutsAndLookups_ReturnLatestResults() throws Exception {
+    WildcardMap map = createWildcardMap();
+    int threads = 4;
+    int entriesPerThread = 500;
+    ExecutorService executor = Executors.newFixedThreadPool(threads * 2);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int thread = 0; thread < threads; thread++) {
+        String key1 = "Make" + thread;
+        futures.add(
+            executor.submit(
+                () -> {
+                  for (int i = 0; i < entriesPerThread; i++) {
+                    map.put(key1, "Model" + (i % 10), "Color" + (i % 7), key1 + ":" + i);
+                  }
+                }));
+        futures.add(
+            executor.submit(
+                () -> {
+                  for (int i = 0; i < entriesPerThread; i++) {
+                    map.get(key1, null, null);
+                    map.get(null, "Model" + (i % 10), null);
+                  }
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    for (int thread = 0; thread < threads; thread++) {
+      assertEquals(entriesPerThread, map.get("Make" + thread, null, null).size());
+    }
+    for (int model = 0; model < 10; model++) {
+      assertEquals(threads * entriesPerThread / 10, map.count(null, "Model" + model, null));
+    }
+    assertEquals(threads * entriesPerThread, map.size());
+  }
+}
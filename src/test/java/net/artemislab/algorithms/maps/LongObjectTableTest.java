@@ -0,0 +1,160 @@
+package net.artemislab.algorithms.maps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/** The {@code LongObjectTableTest} class implements tests for {@code LongObjectTable}. */
+public class LongObjectTableTest {
+
+  @Test
+  public void testGet_EmptyTable_ReturnsNull() {
+    LongObjectTable<String> table = new LongObjectTable<>();
+
+    assertNull(table.get(0));
+    assertNull(table.get(42));
+    assertEquals(0, table.size());
+  }
+
+  @Test
+  public void testComputeIfAbsent_AbsentKey_MapsComputedValue() {
+    LongObjectTable<String> table = new LongObjectTable<>();
+
+    assertEquals("42", table.computeIfAbsent(42, Long::toString));
+    assertEquals("42", table.get(42));
+    assertNull(table.get(43));
+    assertEquals(1, table.size());
+  }
+
+  @Test
+  public void testComputeIfAbsent_PresentKey_ReturnsExistingValue() {
+    LongObjectTable<String> table = new LongObjectTable<>();
+    table.computeIfAbsent(42, k -> "first");
+
+    assertEquals("first", table.computeIfAbsent(42, k -> "second"));
+    assertEquals(1, table.size());
+  }
+
+  @Test
+  public void testComputeIfAbsent_NullValue_ThrowsError() {
+    LongObjectTable<String> table = new LongObjectTable<>();
+
+    NullPointerException exception =
+        assertThrows(NullPointerException.class, () -> table.computeIfAbsent(42, k -> null));
+
+    assertEquals("The value must not be null.", exception.getMessage());
+    assertNull(table.get(42));
+  }
+
+  @Test
+  public void testComputeIfAbsent_ZeroAndNegativeKeys() {
+    LongObjectTable<String> table = new LongObjectTable<>();
+    table.computeIfAbsent(0, Long::toString);
+    table.computeIfAbsent(-1, Long::toString);
+    table.computeIfAbsent(Long.MIN_VALUE, Long::toString);
+    table.computeIfAbsent(Long.MAX_VALUE, Long::toString);
+
+    assertEquals("0", table.get(0));
+    assertEquals("-1", table.get(-1));
+    assertEquals(Long.toString(Long.MIN_VALUE), table.get(Long.MIN_VALUE));
+    assertEquals(Long.toString(Long.MAX_VALUE), table.get(Long.MAX_VALUE));
+    assertEquals(4, table.size());
+  }
+
+  @Test
+  public void testComputeIfAbsent_ManyKeys_ResizesTable() {
+    LongObjectTable<String> table = new LongObjectTable<>();
+    for (long key = 0; key < 10_000; key++) {
+      table.computeIfAbsent(key << 21, Long::toString);
+    }
+
+    assertEquals(10_000, table.size());
+    for (long key = 0; key < 10_000; key++) {
+      assertEquals(Long.toString(key << 21), table.get(key << 21));
+    }
+    assertNull(table.get(10_000L << 21));
+  }
+
+  @Test
+  public void testRemove_MappedValue_RemovesKey() {
+    LongObjectTable<String> table = new LongObjectTable<>();
+    String value = table.computeIfAbsent(42, Long::toString);
+    table.computeIfAbsent(43, Long::toString);
+
+    assertTrue(table.remove(42, value));
+    assertNull(table.get(42));
+    assertEquals("43", table.get(43));
+    assertEquals(1, table.size());
+    Assertions.assertFalse(table.remove(42, value));
+  }
+
+  @Test
+  public void testRemove_OtherValue_KeepsKey() {
+    LongObjectTable<String> table = new LongObjectTable<>();
+    table.computeIfAbsent(42, Long::toString);
+
+    Assertions.assertFalse(table.remove(42, Long.toString(42)));
+    Assertions.assertFalse(table.remove(43, "43"));
+    assertEquals("42", table.get(42));
+  }
+
+  @Test
+  public void testComputeIfAbsent_RemovedKey_MapsNewValue() {
+    LongObjectTable<String> table = new LongObjectTable<>();
+    table.computeIfAbsent(42, k -> "first");
+    table.remove(42, table.get(42));
+
+    assertEquals("second", table.computeIfAbsent(42, k -> "second"));
+    assertEquals("second", table.get(42));
+    assertEquals(1, table.size());
+  }
+
+  @Test
+  public void testRemove_ManyKeys_ReusesRemovedBuckets() {
+    LongObjectTable<String> table = new LongObjectTable<>();
+    for (long key = 0; key < 100_000; key++) {
+      String value = table.computeIfAbsent(key << 21, Long::toString);
+      if (key % 4 != 0) {
+        assertTrue(table.remove(key << 21, value));
+      }
+    }
+
+    assertEquals(25_000, table.size());
+    for (long key = 0; key < 100_000; key++) {
+      assertEquals(key % 4 == 0 ? Long.toString(key << 21) : null, table.get(key << 21));
+    }
+  }
+
+  @Test
+  public void testForEach_VisitsValuesExceptRemovedOnes() {
+    LongObjectTable<String> table = new LongObjectTable<>();
+    for (long key = 0; key < 100; key++) {
+      table.computeIfAbsent(key, Long::toString);
+    }
+    table.remove(42, table.get(42));
+    Set<String> visited = new HashSet<>();
+
+    table.forEach(visited::add);
+
+    assertEquals(99, visited.size());
+    assertTrue(visited.contains("0"));
+    Assertions.assertFalse(visited.contains("42"));
+  }
+
+  @Test
+  public void testSpread_IsBijective() {
+    Set<Long> spreads = new HashSet<>();
+    for (long key = 0; key < 1000; key++) {
+      spreads.add(LongObjectTable.spread(key));
+    }
+
+    assertEquals(0, LongObjectTable.spread(0));
+    assertEquals(1000, spreads.size());
+  }
+}
@@ -0,0 +1,53 @@
+package net.artemislab.algorithms.maps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/** The {@code MapMetricsTest} class implements tests for {@code MapMetrics}. */
+public class MapMetricsTest {
+
+  @Test
+  public void testGauges_EmptyStorage_ReturnZero() {
+    MapMetrics metrics =
+        new MapMetrics(() -> new EncodedSlotStorage(), null, () -> new CacheStats(0, 0, 0));
+
+    assertEquals(0, metrics.slots());
+    assertEquals(0, metrics.largestSlot());
+    assertEquals(0, metrics.stripedSlots());
+    assertEquals(0, metrics.estimatedHeapBytes());
+  }
+
+  @Test
+  public void testGauges_StripedSlots_AddStripesToHeapEstimate() {
+    SlotStorage storage = new StringSlotStorage(Cache.disabled());
+    storage.add("Honda", "Civic", "Blue", "123");
+    storage.add("Honda", "Accord", "Blue", "456");
+    MapMetrics metrics = new MapMetrics(() -> storage, null, () -> new CacheStats(0, 0, 0));
+    final long unstriped = metrics.estimatedHeapBytes();
+
+    storage.forEachSlot(Slot::stripe);
+
+    assertEquals(12, metrics.slots());
+    assertEquals(12, metrics.stripedSlots());
+    assertEquals(2, metrics.largestSlot());
+    assertEquals(
+        unstriped + 12 * MapMetrics.STRIPE_BYTES * Slot.STRIPE_COUNT, metrics.estimatedHeapBytes());
+  }
+
+  @Test
+  public void testCounters_NotInstrumented_ReturnZero() {
+    MapMetrics metrics =
+        new MapMetrics(() -> new EncodedSlotStorage(), null, () -> new CacheStats(3, 1, 0));
+
+    assertEquals(0, metrics.lookups());
+    assertEquals(0, metrics.hits());
+    assertEquals(0, metrics.misses());
+    assertEquals(0, metrics.matchedValues());
+    assertEquals(0, metrics.puts());
+    assertEquals(0, metrics.removals());
+    assertEquals(0, metrics.replacements());
+    assertEquals(0, metrics.slotWrites());
+    assertEquals(new CacheStats(3, 1, 0), metrics.keySubsetsCacheStats());
+  }
+}
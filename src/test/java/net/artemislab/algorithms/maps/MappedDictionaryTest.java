@@ -0,0 +1,102 @@
+package net.artemislab.algorithms.maps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.MemorySegment;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/** The {@code MappedDictionaryTest} class implements tests for {@code MappedDictionary}. */
+public class MappedDictionaryTest {
+
+  @Test
+  public void testFind_Empty_ReturnsNotFound() {
+    MappedDictionary dictionary = roundTrip(Map.of());
+
+    assertEquals(FrozenDictionary.NOT_FOUND, dictionary.find("a"));
+  }
+
+  @Test
+  public void testFind_ReturnsIdsOfKeys() {
+    MappedDictionary dictionary = roundTrip(Map.of("a", 1, "b", 2, "c", 3));
+
+    assertEquals(1, dictionary.find("a"));
+    assertEquals(2, dictionary.find("b"));
+    assertEquals(3, dictionary.find("c"));
+    assertEquals(FrozenDictionary.NOT_FOUND, dictionary.find("d"));
+  }
+
+  @Test
+  public void testFind_ManyKeys_ReturnsIdsOfKeys() {
+    Map<String, Integer> ids = new HashMap<>();
+    for (int i = 0; i < 10_000; i++) {
+      ids.put("key" + i, i + 1);
+    }
+    MappedDictionary dictionary = roundTrip(ids);
+
+    for (int i = 0; i < 10_000; i++) {
+      assertEquals(i + 1, dictionary.find("key" + i));
+    }
+    assertEquals(FrozenDictionary.NOT_FOUND, dictionary.find("key10000"));
+  }
+
+  @Test
+  public void testFind_CollidingHashCodes_ComparesKeys() {
+    // "Aa" and "BB" have the same hash code
+    MappedDictionary dictionary = roundTrip(Map.of("Aa", 1, "BB", 2));
+
+    assertEquals(1, dictionary.find("Aa"));
+    assertEquals(2, dictionary.find("BB"));
+    assertEquals(FrozenDictionary.NOT_FOUND, dictionary.find("C#"));
+  }
+
+  @Test
+  public void testFind_NonAsciiKeys_ComparesEncodedKeys() {
+    MappedDictionary dictionary = roundTrip(Map.of("Citroën", 1, "日本", 2, "été", 3));
+
+    assertEquals(1, dictionary.find("Citroën"));
+    assertEquals(2, dictionary.find("日本"));
+    assertEquals(3, dictionary.find("été"));
+    assertEquals(FrozenDictionary.NOT_FOUND, dictionary.find("Citroen"));
+  }
+
+  @Test
+  public void testFind_CorruptedFullTable_ReturnsNotFound() throws IOException {
+    // A table whose buckets all hold an id, with hash codes matching no key, has no empty bucket
+    MemorySegment section = MemorySegment.ofArray(new byte[8 + 16 * 2]);
+    section.set(MappedWildcardMap.INT, 0, 2);
+    section.set(MappedWildcardMap.INT, 8 + 4, 1);
+    section.set(MappedWildcardMap.INT, 8 + 16 + 4, 2);
+    MappedDictionary dictionary = MappedDictionary.read(section);
+
+    assertEquals(FrozenDictionary.NOT_FOUND, dictionary.find("Honda"));
+  }
+
+  @Test
+  public void testRead_CapacityNotPowerOfTwo_ThrowsError() {
+    MemorySegment section = MemorySegment.ofArray(new byte[8 + 16 * 3]);
+    section.set(MappedWildcardMap.INT, 0, 3);
+
+    IOException exception = assertThrows(IOException.class, () -> MappedDictionary.read(section));
+
+    assertEquals(
+        "The dictionary capacity must be a power of two of at least 2, but was 3.",
+        exception.getMessage());
+  }
+
+  private static MappedDictionary roundTrip(Map<String, Integer> ids) {
+    FrozenDictionary frozen = new FrozenDictionary(ids);
+    MemorySegment section =
+        MemorySegment.ofArray(new byte[(int) MappedDictionary.byteSize(frozen)]);
+    MappedDictionary.write(frozen, section);
+    try {
+      return MappedDictionary.read(section);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package net.artemislab.algorithms.maps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.MemorySegment;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/** The {@code MappedSlotsTest} class implements tests for {@code MappedSlots}. */
+public class MappedSlotsTest {
+
+  private final long[] keys = {
+    EncodedSlotStorage.pack(1, 1, 1),
+    EncodedSlotStorage.pack(1, 2, 1),
+    EncodedSlotStorage.pack(2, 1, 1),
+    EncodedSlotStorage.pack(1, 1, 1)
+  };
+
+  private final String[] dictionary = {null, "a", "b", "c", "d"};
+
+  private final int[] values = {1, 2, 3, 4};
+
+  @Test
+  public void testRead_NoEntries_HasNoSlots() {
+    MappedSlots slots = roundTrip(FrozenSlots.build(new long[0], new int[0], 0, -1L, dictionary));
+
+    assertNull(slots.get(0));
+    assertEquals(0, slots.copyTo(0, new ArrayList<>()));
+  }
+
+  @Test
+  public void testGet_ReturnsValuesOfSlotInInsertionOrder() {
+    MappedSlots slots = roundTrip(FrozenSlots.build(keys, values, values.length, -1L, dictionary));
+
+    assertEquals(Arrays.asList("a", "d"), slots.get(keys[0]));
+    assertEquals(Arrays.asList("b"), slots.get(keys[1]));
+    assertEquals(Arrays.asList("c"), slots.get(keys[2]));
+    assertNull(slots.get(EncodedSlotStorage.pack(2, 2, 2)));
+  }
+
+  @Test
+  public void testCopyTo_AddsValuesOfSlot() {
+    MappedSlots slots = roundTrip(FrozenSlots.build(keys, values, values.length, 0, dictionary));
+    List<String> target = new ArrayList<>();
+
+    assertEquals(4, slots.copyTo(0, target));
+    assertEquals(Arrays.asList("a", "b", "c", "d"), target);
+    assertEquals(0, slots.copyTo(1, target));
+  }
+
+  @Test
+  public void testGet_ManyEntries_FindsAllSlots() {
+    int size = 10_000;
+    long[] manyKeys = new long[size];
+    int[] manyValues = new int[size];
+    String[] manyDictionary = new String[size + 1];
+    for (int i = 0; i < size; i++) {
+      manyKeys[i] = EncodedSlotStorage.pack(i + 1, i % 7 + 1, 1);
+      manyValues[i] = i + 1;
+      manyDictionary[i + 1] = "v" + i;
+    }
+    FrozenSlots frozen = FrozenSlots.build(manyKeys, manyValues, size, -1L, manyDictionary);
+    MappedSlots slots = roundTrip(frozen, manyDictionary);
+
+    for (int i = 0; i < size; i++) {
+      assertEquals(List.of("v" + i), slots.get(manyKeys[i]));
+    }
+  }
+
+  private MappedSlots roundTrip(FrozenSlots frozen) {
+    return roundTrip(frozen, dictionary);
+  }
+
+  private static MappedSlots roundTrip(FrozenSlots frozen, String[] dictionary) {
+    MemorySegment values = MemorySegment.ofArray(new byte[(int) MappedValues.byteSize(dictionary)]);
+    MappedValues.write(dictionary, values);
+    MemorySegment section = MemorySegment.ofArray(new byte[(int) MappedSlots.byteSize(frozen)]);
+    MappedSlots.write(frozen, section);
+    try {
+      return MappedSlots.read(section, MappedValues.read(values));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
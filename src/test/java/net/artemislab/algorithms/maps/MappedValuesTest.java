@@ -0,0 +1,79 @@
+package net.artemislab.algorithms.maps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.MemorySegment;
+import org.junit.jupiter.api.Test;
+
+/** The {@code MappedValuesTest} class implements tests for {@code MappedValues}. */
+public class MappedValuesTest {
+
+  @Test
+  public void testRead_NoValues_IsEmpty() {
+    MappedValues values = roundTrip(new String[] {null});
+
+    assertEquals(0, values.size());
+  }
+
+  @Test
+  public void testGet_ReturnsValuesById() {
+    MappedValues values = roundTrip(new String[] {null, "allow", "deny", "Citroën", "日本"});
+
+    assertEquals(4, values.size());
+    assertEquals("allow", values.get(1));
+    assertEquals("deny", values.get(2));
+    assertEquals("Citroën", values.get(3));
+    assertEquals("日本", values.get(4));
+  }
+
+  @Test
+  public void testGet_CachesDecodedValues() {
+    MappedValues values = roundTrip(new String[] {null, "allow"});
+
+    assertSame(values.get(1), values.get(1));
+  }
+
+  @Test
+  public void testGet_MoreValuesThanCache_ReturnsValuesById() {
+    String[] dictionary = new String[2 * MappedValues.CACHE_SIZE + 2];
+    for (int id = 1; id < dictionary.length; id++) {
+      dictionary[id] = "v" + id;
+    }
+    MappedValues values = roundTrip(dictionary);
+
+    // Ids sharing a bucket of the cache evict each other
+    for (int round = 0; round < 2; round++) {
+      for (int id = 1; id < dictionary.length; id++) {
+        assertEquals(dictionary[id], values.get(id));
+      }
+    }
+  }
+
+  @Test
+  public void testRead_CorruptedCount_ThrowsError() {
+    String[] dictionary = {null, "allow", "deny"};
+    MemorySegment section =
+        MemorySegment.ofArray(new byte[(int) MappedValues.byteSize(dictionary)]);
+    MappedValues.write(dictionary, section);
+    section.set(MappedWildcardMap.INT, 0, 3);
+
+    IOException exception = assertThrows(IOException.class, () -> MappedValues.read(section));
+
+    assertEquals("The values section must hold its 3 values.", exception.getMessage());
+  }
+
+  private static MappedValues roundTrip(String[] dictionary) {
+    MemorySegment section =
+        MemorySegment.ofArray(new byte[(int) MappedValues.byteSize(dictionary)]);
+    MappedValues.write(dictionary, section);
+    try {
+      return MappedValues.read(section);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,312 @@
+package net.artemislab.algorithms.maps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** The {@code MappedWildcardMapTest} class implements tests for {@code MappedWildcardMap}. */
+public class MappedWildcardMapTest {
+
+  @TempDir private Path directory;
+
+  @Test
+  public void testOpen_NullFile_ThrowsError() {
+    NullPointerException exception =
+        assertThrows(NullPointerException.class, () -> MappedWildcardMap.open(null));
+
+    assertEquals("The file must not be null.", exception.getMessage());
+  }
+
+  @Test
+  public void testWrite_NullMap_ThrowsError() {
+    Path file = directory.resolve("map.snapshot");
+
+    NullPointerException exception =
+        assertThrows(NullPointerException.class, () -> MappedWildcardMap.write(null, file));
+
+    assertEquals("The map must not be null.", exception.getMessage());
+  }
+
+  @Test
+  public void testWrite_NullFile_ThrowsError() {
+    FrozenWildcardMap map = FrozenWildcardMap.builder().build();
+
+    NullPointerException exception =
+        assertThrows(NullPointerException.class, () -> MappedWildcardMap.write(map, null));
+
+    assertEquals("The file must not be null.", exception.getMessage());
+  }
+
+  @Test
+  public void testWrite_RootDirectory_ThrowsError() {
+    FrozenWildcardMap map = FrozenWildcardMap.builder().build();
+    Path root = directory.getRoot();
+
+    IOException exception =
+        assertThrows(IOException.class, () -> MappedWildcardMap.write(map, root));
+
+    assertEquals("The file \"" + root + "\" must not be a root directory.", exception.getMessage());
+  }
+
+  @Test
+  public void testOpen_EmptySnapshot_HasNoEntries() throws IOException {
+    try (MappedWildcardMap map = roundTrip(FrozenWildcardMap.builder())) {
+      assertTrue(map.isEmpty());
+      assertEquals(0, map.size());
+      assertEquals(0, map.distinctValues());
+      assertEquals(List.of(), map.get(null, null, null));
+      assertEquals(List.of(), map.get("Honda", "Civic", "Blue"));
+      assertEquals(List.of(), map.getBestMatch("Honda", "Civic", "Blue"));
+    }
+  }
+
+  @Test
+  public void testGet_MatchesWrittenMap() throws IOException {
+    try (MappedWildcardMap map = roundTrip(createBuilder())) {
+      assertEquals(4, map.size());
+      assertEquals(3, map.distinctValues());
+      assertEquals(Arrays.asList("123"), map.get("Honda", "Civic", "Blue"));
+      assertEquals(Arrays.asList("123", "456"), map.get("Honda", null, ""));
+      assertEquals(Arrays.asList("123", "789"), map.get(" ", " ", "Blue"));
+      assertEquals(Arrays.asList("123", "456", "789", "123"), map.get(null, null, null));
+      assertEquals(Arrays.asList("789"), map.get(" Citroën ", "C3", null));
+      assertEquals(Arrays.asList("123"), map.get("日本", null, null));
+      assertEquals(List.of(), map.get("Ford", null, null));
+      assertEquals(List.of(), map.get("Honda", "Civic", "Red"));
+    }
+  }
+
+  @Test
+  public void testGet_Buffer_AddsMatchingValues() throws IOException {
+    try (MappedWildcardMap map = roundTrip(createBuilder())) {
+      List<String> buffer = new ArrayList<>();
+
+      assertEquals(2, map.get("Honda", null, null, buffer));
+      assertEquals(0, map.get("Ford", null, null, buffer));
+      assertEquals(1, map.get("Honda", "Accord", "Red", buffer));
+      assertEquals(Arrays.asList("123", "456", "456"), buffer);
+    }
+  }
+
+  @Test
+  public void testGet_NullBuffer_ThrowsError() throws IOException {
+    try (MappedWildcardMap map = roundTrip(createBuilder())) {
+      NullPointerException exception =
+          assertThrows(NullPointerException.class, () -> map.get("Honda", null, null, null));
+
+      assertEquals("The buffer must not be null.", exception.getMessage());
+    }
+  }
+
+  @Test
+  public void testGetBestMatch_FallsBackLikeWrittenMap() throws IOException {
+    try (MappedWildcardMap map = roundTrip(createBuilder())) {
+      assertEquals(Arrays.asList("456"), map.getBestMatch("Honda", "Accord", "Blue"));
+      assertEquals(
+          Arrays.asList("123", "456"),
+          map.getBestMatch("Honda", "Jazz", "Red", MatchOrder.HIERARCHICAL));
+      assertEquals(
+          Arrays.asList("123", "789"),
+          map.getBestMatch("Ford", "Focus", "Blue", MatchOrder.of("**c")));
+      assertEquals(
+          List.of(), map.getBestMatch("Ford", "Focus", "Red", MatchOrder.of("abc", "a**")));
+    }
+  }
+
+  @Test
+  public void testGetBestMatch_NullOrder_ThrowsError() throws IOException {
+    try (MappedWildcardMap map = roundTrip(createBuilder())) {
+      NullPointerException exception =
+          assertThrows(
+              NullPointerException.class, () -> map.getBestMatch("Honda", null, null, null));
+
+      assertEquals("The match order must not be null.", exception.getMessage());
+    }
+  }
+
+  @Test
+  public void testGet_ManyEntries_MatchesWrittenMap() throws IOException {
+    Random random = new Random(42);
+    FrozenWildcardMap.Builder builder = FrozenWildcardMap.builder();
+    for (int i = 0; i < 5_000; i++) {
+      builder.put(
+          "make" + random.nextInt(20),
+          "model" + random.nextInt(200),
+          "color" + random.nextInt(8),
+          "rule" + random.nextInt(300));
+    }
+    FrozenWildcardMap frozen = builder.build();
+    Path file = directory.resolve("many.snapshot");
+    MappedWildcardMap.write(frozen, file);
+
+    try (MappedWildcardMap map = MappedWildcardMap.open(file)) {
+      assertEquals(frozen.size(), map.size());
+      assertEquals(frozen.distinctValues(), map.distinctValues());
+      for (int i = 0; i < 1_000; i++) {
+        String key1 = random.nextBoolean() ? "make" + random.nextInt(21) : null;
+        String key2 = random.nextBoolean() ? "model" + random.nextInt(201) : null;
+        String key3 = random.nextBoolean() ? "color" + random.nextInt(9) : null;
+        assertEquals(frozen.get(key1, key2, key3), map.get(key1, key2, key3));
+        assertEquals(frozen.getBestMatch(key1, key2, key3), map.getBestMatch(key1, key2, key3));
+      }
+    }
+  }
+
+  @Test
+  public void testWrite_ExistingFile_ReplacesIt() throws IOException {
+    Path file = directory.resolve("map.snapshot");
+    Files.writeString(file, "previous content");
+
+    MappedWildcardMap.write(createBuilder().build(), file);
+
+    try (MappedWildcardMap map = MappedWildcardMap.open(file)) {
+      assertEquals(4, map.size());
+    }
+    try (Stream<Path> files = Files.list(directory)) {
+      assertEquals(List.of(file), files.toList());
+    }
+  }
+
+  @Test
+  public void testClose_LookupsThrowError() throws IOException {
+    MappedWildcardMap map = roundTrip(createBuilder());
+
+    map.close();
+    map.close();
+
+    assertThrows(IllegalStateException.class, () -> map.get("Honda", null, null));
+    assertEquals(4, map.size());
+  }
+
+  @Test
+  public void testOpen_NotSnapshot_ThrowsError() throws IOException {
+    Path file = directory.resolve("map.txt");
+    Files.writeString(file, "Honda,Civic,Blue,123");
+
+    IOException exception = assertThrows(IOException.class, () -> MappedWildcardMap.open(file));
+
+    assertEquals(
+        "The file \"" + file + "\" must hold a wildcard map snapshot.", exception.getMessage());
+  }
+
+  @Test
+  public void testOpen_EmptyFile_ThrowsError() throws IOException {
+    Path file = Files.createFile(directory.resolve("map.snapshot"));
+
+    assertThrows(IOException.class, () -> MappedWildcardMap.open(file));
+  }
+
+  @Test
+  public void testOpen_MissingFile_ThrowsError() {
+    assertThrows(IOException.class, () -> MappedWildcardMap.open(directory.resolve("missing")));
+  }
+
+  @Test
+  public void testOpen_UnsupportedVersion_ThrowsError() throws IOException {
+    Path file = write(createBuilder());
+    overwriteInt(file, Integer.BYTES, MappedWildcardMap.FORMAT_VERSION + 1);
+
+    IOException exception = assertThrows(IOException.class, () -> MappedWildcardMap.open(file));
+
+    assertEquals("The snapshot format version must be 1, but was 2.", exception.getMessage());
+  }
+
+  @Test
+  public void testOpen_TruncatedFile_ThrowsError() throws IOException {
+    Path file = write(createBuilder());
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+      channel.truncate(channel.size() - 8);
+    }
+
+    IOException exception = assertThrows(IOException.class, () -> MappedWildcardMap.open(file));
+
+    assertEquals("The snapshot \"" + file + "\" must not be truncated.", exception.getMessage());
+  }
+
+  @Test
+  public void testOpen_CorruptedOffsets_ThrowsError() throws IOException {
+    Path file = write(createBuilder());
+    // The offset of the second section, preceding the offset of the first section
+    overwriteInt(file, 4L * Integer.BYTES + Long.BYTES, 0);
+
+    IOException exception = assertThrows(IOException.class, () -> MappedWildcardMap.open(file));
+
+    assertEquals("The snapshot \"" + file + "\" must not be corrupted.", exception.getMessage());
+  }
+
+  @Test
+  public void testOpen_CorruptedSectionHeaders_ThrowsError() throws IOException {
+    // The capacity of the first dictionary, the number of values of the first slots, whose
+    // section is then too short, and the number of values of the value dictionary
+    int[] sections = {0, 3, 11};
+    int[] corruptions = {3, Integer.MAX_VALUE, Integer.MAX_VALUE};
+    for (int i = 0; i < sections.length; i++) {
+      Path file = write(createBuilder());
+      overwriteInt(file, sectionOffset(file, sections[i]) + (i == 1 ? 4 : 0), corruptions[i]);
+
+      IOException exception = assertThrows(IOException.class, () -> MappedWildcardMap.open(file));
+
+      assertEquals("The snapshot \"" + file + "\" must not be corrupted.", exception.getMessage());
+      assertTrue(exception.getCause() instanceof IOException, "section " + sections[i]);
+    }
+  }
+
+  @Test
+  public void testOpen_NegativeSize_ThrowsError() throws IOException {
+    Path file = write(createBuilder());
+    overwriteInt(file, 2L * Integer.BYTES, -1);
+
+    IOException exception = assertThrows(IOException.class, () -> MappedWildcardMap.open(file));
+
+    assertEquals("The snapshot \"" + file + "\" must not be corrupted.", exception.getMessage());
+  }
+
+  private static FrozenWildcardMap.Builder createBuilder() {
+    return FrozenWildcardMap.builder()
+        .put("Honda", "Civic", "Blue", "123")
+        .put("Honda", "Accord", "Red", "456")
+        .put("Citroën", "C3", "Blue", "789")
+        .put("日本", "Civic", "Green", "123");
+  }
+
+  private Path write(FrozenWildcardMap.Builder builder) throws IOException {
+    Path file = directory.resolve("map.snapshot");
+    MappedWildcardMap.write(builder.build(), file);
+    return file;
+  }
+
+  private MappedWildcardMap roundTrip(FrozenWildcardMap.Builder builder) throws IOException {
+    return MappedWildcardMap.open(write(builder));
+  }
+
+  private static long sectionOffset(Path file, int section) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      assertEquals(
+          Long.BYTES, channel.read(buffer, 4L * Integer.BYTES + (long) Long.BYTES * section));
+      return buffer.getLong(0);
+    }
+  }
+
+  private static void overwriteInt(Path file, long position, int value) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+      ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      assertEquals(Integer.BYTES, channel.write(buffer.putInt(0, value), position));
+    }
+  }
+}
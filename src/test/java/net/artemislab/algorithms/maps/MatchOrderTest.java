@@ -0,0 +1,85 @@
+package net.artemislab.algorithms.maps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/** The {@code MatchOrderTest} class implements tests for {@code MatchOrder}. */
+public class MatchOrderTest {
+
+  @Test
+  public void testOf_NullPatterns_ThrowsError() {
+    NullPointerException exception =
+        assertThrows(NullPointerException.class, () -> MatchOrder.of((String[]) null));
+
+    assertEquals("The patterns must not be null.", exception.getMessage());
+  }
+
+  @Test
+  public void testOf_NoPatterns_ThrowsError() {
+    IllegalArgumentException exception =
+        assertThrows(IllegalArgumentException.class, () -> MatchOrder.of());
+
+    assertEquals("The patterns must not be empty.", exception.getMessage());
+  }
+
+  @Test
+  public void testOf_NullPattern_ThrowsError() {
+    NullPointerException exception =
+        assertThrows(NullPointerException.class, () -> MatchOrder.of("abc", null));
+
+    assertEquals("The pattern must not be null.", exception.getMessage());
+  }
+
+  @Test
+  public void testOf_MalformedPattern_ThrowsError() {
+    for (String pattern : Arrays.asList("", "ab", "abcd", "bac", "a?c", "ABC", "**a")) {
+      IllegalArgumentException exception =
+          assertThrows(IllegalArgumentException.class, () -> MatchOrder.of(pattern));
+
+      assertEquals(
+          "The pattern must be made of 'a' or '*', 'b' or '*', then 'c' or '*', but was \""
+              + pattern
+              + "\".",
+          exception.getMessage());
+    }
+  }
+
+  @Test
+  public void testOf_RepeatedPattern_ThrowsError() {
+    IllegalArgumentException exception =
+        assertThrows(IllegalArgumentException.class, () -> MatchOrder.of("ab*", "a**", "ab*"));
+
+    assertEquals("The pattern \"ab*\" must not be repeated.", exception.getMessage());
+  }
+
+  @Test
+  public void testOf_ParsesPatterns() {
+    MatchOrder order = MatchOrder.of("abc", "a*c", "*b*", "***");
+
+    assertEquals(List.of("abc", "a*c", "*b*", "***"), order.patterns());
+    assertEquals(Arrays.toString(new int[] {7, 5, 2, 0}), Arrays.toString(order.subsets()));
+    assertEquals("MatchOrder[abc, a*c, *b*, ***]", order.toString());
+  }
+
+  @Test
+  public void testPredefinedOrders() {
+    assertEquals(
+        Arrays.toString(new int[] {7, 6, 4, 0}),
+        Arrays.toString(MatchOrder.HIERARCHICAL.subsets()));
+    assertEquals(
+        Arrays.toString(new int[] {7, 6, 5, 3, 4, 2, 1, 0}),
+        Arrays.toString(MatchOrder.MOST_SPECIFIC_FIRST.subsets()));
+  }
+
+  @Test
+  public void testSubsetOf_SelectsKeyComponentsThatAreNotWildcards() {
+    assertEquals(0, MatchOrder.subsetOf(null, null, null));
+    assertEquals(7, MatchOrder.subsetOf("a", "b", "c"));
+    assertEquals(5, MatchOrder.subsetOf("a", null, "c"));
+    assertEquals(2, MatchOrder.subsetOf(null, "b", null));
+  }
+}
@@ -0,0 +1,13 @@
+package net.artemislab.algorithms.maps;
+
+/**
+ * The {@code ParallelFrozenWildcardMapTest} class implements tests for {@code FrozenWildcardMap}
+ * built in parallel.
+ */
+public class ParallelFrozenWildcardMapTest extends FrozenWildcardMapTest {
+
+  @Override
+  FrozenWildcardMap.Builder createBuilder() {
+    return FrozenWildcardMap.builder().parallel(true);
+  }
+}
@@ -0,0 +1,65 @@
+package net.artemislab.algorithms.maps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/** The {@code SliceValuesTest} class implements tests for {@code SliceValues}. */
+public class SliceValuesTest {
+
+  private final String[] dictionary = {null, "a", "b", "c", "d"};
+
+  private final int[] ids = {1, 2, 3, 4};
+
+  @Test
+  public void testGet_ReturnsValuesOfRange() {
+    SliceValues values = new SliceValues(dictionary, ids, 1, 3);
+
+    assertEquals(2, values.size());
+    assertEquals("b", values.get(0));
+    assertEquals(Arrays.asList("b", "c"), values);
+  }
+
+  @Test
+  public void testGet_OutOfRange_ThrowsError() {
+    SliceValues values = new SliceValues(dictionary, ids, 1, 3);
+
+    assertThrows(IndexOutOfBoundsException.class, () -> values.get(2));
+    assertThrows(IndexOutOfBoundsException.class, () -> values.get(-1));
+  }
+
+  @Test
+  public void testCopyTo_AddsValuesOfRange() {
+    List<String> target = new ArrayList<>(List.of("x"));
+
+    assertEquals(2, new SliceValues(dictionary, ids, 2, 4).copyTo(target));
+    assertEquals(Arrays.asList("x", "c", "d"), target);
+  }
+
+  @Test
+  public void testCopyTo_EmptyRange_AddsNothing() {
+    List<String> target = new ArrayList<>();
+
+    assertEquals(0, new SliceValues(dictionary, ids, 2, 2).copyTo(target));
+    assertEquals(List.of(), target);
+  }
+
+  @Test
+  public void testGet_RepeatedIds_ReturnSameValue() {
+    SliceValues values = new SliceValues(dictionary, new int[] {2, 2, 1}, 0, 3);
+
+    assertEquals(Arrays.asList("b", "b", "a"), values);
+  }
+
+  @Test
+  public void testModify_ThrowsError() {
+    SliceValues values = new SliceValues(dictionary, ids, 0, 2);
+
+    assertThrows(UnsupportedOperationException.class, () -> values.add("e"));
+    assertThrows(UnsupportedOperationException.class, () -> values.set(0, "e"));
+  }
+}
@@ -0,0 +1,226 @@
+package net.artemislab.algorithms.maps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/** The {@code SlotTest} class implements tests for {@code Slot}. */
+public class SlotTest {
+
+  private static final int THREADS = 8;
+
+  private static final int VALUES_PER_THREAD = 10_000;
+
+  @Test
+  public void testNewSlot_IsEmpty() {
+    assertEquals(Arrays.asList(), new Slot().values());
+  }
+
+  @Test
+  public void testAdd_KeepsInsertionOrder() {
+    Slot slot = new Slot();
+    slot.add("a");
+    slot.add("b");
+    slot.add("c");
+
+    assertEquals(Arrays.asList("a", "b", "c"), slot.values());
+  }
+
+  @Test
+  public void testValues_UnchangedSlot_ReturnsSameSnapshot() {
+    Slot slot = new Slot();
+    slot.add("a");
+    Values snapshot = slot.values();
+
+    assertSame(snapshot, slot.values());
+
+    slot.add("b");
+
+    assertNotSame(snapshot, slot.values());
+    assertEquals(Arrays.asList("a"), snapshot);
+  }
+
+  @Test
+  public void testStripedSlot_KeepsValuesAddedBeforeStripingFirst() {
+    Slot slot = new Slot();
+    slot.add("a");
+    slot.add("b");
+
+    assertSame(slot.stripe(), slot.stripe());
+
+    slot.add("c");
+    slot.add("d");
+
+    assertEquals(Arrays.asList("a", "b", "c", "d"), slot.values());
+  }
+
+  @Test
+  public void testSize_CountsValuesOfAllStripes() {
+    Slot slot = new Slot();
+    slot.add("a");
+
+    assertFalse(slot.isStriped());
+    assertEquals(1, slot.size());
+
+    slot.stripe();
+    slot.add("b");
+    slot.add("c");
+
+    Assertions.assertTrue(slot.isStriped());
+    assertEquals(3, slot.size());
+  }
+
+  @Test
+  public void testStripedSlot_UnchangedSlot_ReturnsSameSnapshot() {
+    Slot slot = new Slot();
+    slot.stripe();
+    slot.add("a");
+    Values snapshot = slot.values();
+
+    assertSame(snapshot, slot.values());
+
+    slot.add("b");
+
+    assertNotSame(snapshot, slot.values());
+    assertEquals(Arrays.asList("a"), snapshot);
+    assertEquals(Arrays.asList("a", "b"), slot.values());
+  }
+
+  @Test
+  public void testRemove_RemovesFirstOccurrences() {
+    Slot slot = new Slot();
+    slot.add("a");
+    slot.add("b");
+    slot.add("a");
+
+    assertEquals(1, slot.remove("a", 1));
+    assertEquals(Arrays.asList("b", "a"), slot.values());
+    assertEquals(1, slot.remove("a", 5));
+    assertEquals(0, slot.remove("a", 5));
+    assertEquals(Arrays.asList("b"), slot.values());
+  }
+
+  @Test
+  public void testRemove_StripedSlot_RemovesFromAllStripes() {
+    Slot slot = new Slot();
+    slot.add("a");
+    slot.stripe();
+    slot.add("a");
+    slot.add("b");
+
+    assertEquals(2, slot.remove("a", 5));
+    assertEquals(Arrays.asList("b"), slot.values());
+  }
+
+  @Test
+  public void testReplace_ReplacesFirstOccurrencesInPlace() {
+    Slot slot = new Slot();
+    slot.add("a");
+    slot.stripe();
+    slot.add("b");
+    slot.add("a");
+
+    assertEquals(2, slot.replace("a", "x", 2));
+    assertEquals(0, slot.replace("a", "x", 2));
+    assertEquals(Arrays.asList("x", "b", "x"), slot.values());
+  }
+
+  @Test
+  public void testRetire_EmptySlot_RejectsAdds() {
+    Slot slot = new Slot();
+    slot.add("a");
+    slot.remove("a", 1);
+
+    Assertions.assertTrue(slot.retire());
+    Assertions.assertTrue(slot.retire());
+    assertFalse(slot.add("b"));
+    Assertions.assertNull(slot.stripe());
+    assertEquals(Arrays.asList(), slot.values());
+  }
+
+  @Test
+  public void testRetire_NonEmptyOrStripedSlot_ReturnsFalse() {
+    Slot slot = new Slot();
+    slot.add("a");
+
+    assertFalse(slot.retire());
+
+    slot.remove("a", 1);
+    slot.stripe();
+
+    assertFalse(slot.retire());
+    Assertions.assertTrue(slot.add("b"));
+  }
+
+  @Test
+  public void testConcurrentAdds_KeepAllValues() throws Exception {
+    assertConcurrentAddsKeepAllValues(new Slot());
+  }
+
+  @Test
+  public void testConcurrentAdds_StripedSlot_KeepAllValues() throws Exception {
+    Slot slot = new Slot();
+    slot.stripe();
+
+    assertConcurrentAddsKeepAllValues(slot);
+  }
+
+  private static void assertConcurrentAddsKeepAllValues(Slot slot) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<?>> futures = new ArrayList<>();
+      for (int thread = 0; thread < THREADS; thread++) {
+        String prefix = thread + ":";
+        futures.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  for (int i = 0; i < VALUES_PER_THREAD; i++) {
+                    slot.add(prefix + i);
+                  }
+                  return null;
+                }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    List<String> expected = new ArrayList<>();
+    for (int thread = 0; thread < THREADS; thread++) {
+      for (int i = 0; i < VALUES_PER_THREAD; i++) {
+        expected.add(thread + ":" + i);
+      }
+    }
+    List<String> actual = new ArrayList<>(slot.values());
+    Collections.sort(expected);
+    Collections.sort(actual);
+    assertEquals(expected, actual);
+    assertPerThreadInsertionOrder(slot.values());
+  }
+
+  private static void assertPerThreadInsertionOrder(List<String> values) {
+    int[] next = new int[THREADS];
+    for (String value : values) {
+      int separator = value.indexOf(':');
+      int thread = Integer.parseInt(value.substring(0, separator));
+      assertEquals(next[thread]++, Integer.parseInt(value.substring(separator + 1)));
+    }
+  }
+}
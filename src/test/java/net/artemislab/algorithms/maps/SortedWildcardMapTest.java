@@ -0,0 +1,208 @@
+package net.artemislab.algorithms.maps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import net.artemislab.algorithms.maps.WildcardMap.KeyRange;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The {@code SortedWildcardMapTest} class implements tests for {@code WildcardMap} keeping sorted
+ * keys.
+ */
+public class SortedWildcardMapTest extends WildcardMapTest {
+
+  @Override
+  WildcardMap createWildcardMap() {
+    return WildcardMap.builder().sortedKeys(true).build();
+  }
+
+  @Test
+  public void testHasSortedKeys() {
+    assertTrue(createWildcardMap().hasSortedKeys());
+  }
+
+  @Test
+  public void testKeyRange_All_IsUnbounded() {
+    assertEquals(new KeyRange(null, null), KeyRange.all());
+    assertEquals(KeyRange.all(), KeyRange.between(null, null));
+    assertEquals(KeyRange.all(), KeyRange.prefix(""));
+  }
+
+  @Test
+  public void testKeyRange_Exactly_MatchesTrimmedKeyOnly() {
+    KeyRange range = KeyRange.exactly(" eu-west ");
+
+    assertEquals("eu-west", range.from());
+    assertEquals("eu-west\0", range.to());
+  }
+
+  @Test
+  public void testKeyRange_ExactlyBlankKey_ThrowsError() {
+    IllegalArgumentException exception =
+        assertThrows(IllegalArgumentException.class, () -> KeyRange.exactly(" "));
+
+    assertEquals("Key must not be null, empty or blank.", exception.getMessage());
+  }
+
+  @Test
+  public void testKeyRange_Prefix_EndsAtNextPrefix() {
+    assertEquals(new KeyRange("eu-", "eu."), KeyRange.prefix("eu-"));
+    assertEquals(new KeyRange("a￿", "b"), KeyRange.prefix("a￿"));
+    assertEquals(new KeyRange("￿", null), KeyRange.prefix("￿"));
+  }
+
+  @Test
+  public void testKeyRange_NullPrefix_ThrowsError() {
+    NullPointerException exception =
+        assertThrows(NullPointerException.class, () -> KeyRange.prefix(null));
+
+    assertEquals("The prefix must not be null.", exception.getMessage());
+  }
+
+  @Test
+  public void testKeyRange_DecreasingBounds_ThrowsError() {
+    IllegalArgumentException exception =
+        assertThrows(IllegalArgumentException.class, () -> KeyRange.between("b", "a"));
+
+    assertEquals(
+        "The lower bound \"b\" must not be greater than the upper bound \"a\".",
+        exception.getMessage());
+  }
+
+  @Test
+  public void testGetMatching_NullRange_ThrowsError() {
+    WildcardMap wildcardMap = createWildcardMap();
+
+    NullPointerException exception =
+        assertThrows(
+            NullPointerException.class,
+            () -> wildcardMap.getMatching(KeyRange.all(), null, KeyRange.all()));
+
+    assertEquals("Range2 must not be null.", exception.getMessage());
+  }
+
+  @Test
+  public void testGetMatching_Prefix_ReturnsMatchesInKeyOrder() {
+    WildcardMap wildcardMap = createRegions();
+
+    List<String> matches =
+        wildcardMap.getMatching(KeyRange.prefix("eu-"), KeyRange.exactly("web"), KeyRange.all());
+
+    assertEquals(Arrays.asList("eu-north-web", "eu-west-web1", "eu-west-web2"), matches);
+    assertThrows(UnsupportedOperationException.class, () -> matches.add("value"));
+  }
+
+  @Test
+  public void testGetMatching_RangesOnSeveralComponents_ReturnsMatches() {
+    WildcardMap wildcardMap = createRegions();
+
+    assertEquals(
+        Arrays.asList("eu-north-db", "eu-north-web", "eu-west-db", "eu-west-web1"),
+        wildcardMap.getMatching(
+            KeyRange.prefix("eu-"), KeyRange.between("a", "x"), KeyRange.between(null, "2")));
+    assertEquals(
+        Arrays.asList("us-east-web", "eu-west-web2"),
+        wildcardMap.getMatching(KeyRange.all(), KeyRange.prefix("w"), KeyRange.prefix("2")));
+    assertEquals(
+        Arrays.asList("us-east-web"),
+        wildcardMap.getMatching(
+            KeyRange.between("f", null), KeyRange.all(), KeyRange.exactly("2")));
+  }
+
+  @Test
+  public void testGetMatching_ExactAndAllRanges_MatchesGet() {
+    WildcardMap wildcardMap = createRegions();
+
+    assertEquals(
+        wildcardMap.get("eu-west", null, "1"),
+        wildcardMap.getMatching(
+            KeyRange.exactly("eu-west"), KeyRange.all(), KeyRange.exactly("1")));
+    assertEquals(
+        wildcardMap.get(null, null, null),
+        wildcardMap.getMatching(KeyRange.all(), KeyRange.all(), KeyRange.all()));
+  }
+
+  @Test
+  public void testGetMatching_NoMatch_ReturnsEmptyList() {
+    WildcardMap wildcardMap = createRegions();
+
+    assertEquals(
+        Arrays.asList(),
+        wildcardMap.getMatching(KeyRange.prefix("ap-"), KeyRange.all(), KeyRange.all()));
+    assertEquals(
+        Arrays.asList(),
+        wildcardMap.getMatching(KeyRange.prefix("us-"), KeyRange.exactly("db"), KeyRange.all()));
+    assertEquals(
+        Arrays.asList(),
+        wildcardMap.getMatching(KeyRange.between("eu", "eu"), KeyRange.all(), KeyRange.all()));
+  }
+
+  @Test
+  public void testGetMatching_AfterRemove_DropsKeysWithoutEntries() {
+    WildcardMap wildcardMap = createRegions();
+    wildcardMap.remove("us-east", "web", "2", "us-east-web");
+    KeyRange all = KeyRange.all();
+
+    assertEquals(Arrays.asList(), wildcardMap.getMatching(KeyRange.prefix("us-"), all, all));
+    wildcardMap.put("us-west", "db", "1", "us-west-db");
+    assertEquals(
+        Arrays.asList("us-west-db"), wildcardMap.getMatching(KeyRange.prefix("us-"), all, all));
+  }
+
+  @Test
+  public void testGetMatching_DuplicateEntries_KeepKeysUntilLastRemoval() {
+    WildcardMap wildcardMap = createWildcardMap();
+    wildcardMap.put("eu-west", "web", "1", "value");
+    wildcardMap.put("eu-west", "web", "1", "value");
+    KeyRange all = KeyRange.all();
+
+    wildcardMap.remove("eu-west", "web", "1", "value");
+    assertEquals(Arrays.asList("value"), wildcardMap.getMatching(KeyRange.prefix("eu"), all, all));
+    assertFalse(wildcardMap.remove("eu-west", "web", "2", "value"));
+    wildcardMap.remove("eu-west", "web", "1", "value");
+    assertEquals(Arrays.asList(), wildcardMap.getMatching(KeyRange.prefix("eu"), all, all));
+  }
+
+  @Test
+  public void testGetMatching_AfterClear_ReturnsEmptyList() {
+    WildcardMap wildcardMap = createRegions();
+    wildcardMap.clear();
+    KeyRange all = KeyRange.all();
+
+    assertEquals(Arrays.asList(), wildcardMap.getMatching(KeyRange.prefix("eu-"), all, all));
+  }
+
+  @Test
+  public void testGetMatching_DictionaryEncoding_ReturnsMatches() {
+    WildcardMap wildcardMap =
+        WildcardMap.builder()
+            .keyEncoding(WildcardMap.KeyEncoding.DICTIONARY)
+            .sortedKeys(true)
+            .build();
+    wildcardMap.put("eu-west", "web", "1", "eu-west-web");
+    wildcardMap.put("us-east", "web", "1", "us-east-web");
+
+    assertEquals(
+        Arrays.asList("eu-west-web"),
+        wildcardMap.getMatching(KeyRange.prefix("eu-"), KeyRange.all(), KeyRange.exactly("1")));
+    assertEquals(
+        Arrays.asList(),
+        wildcardMap.getMatching(KeyRange.prefix("eu-"), KeyRange.exactly("db"), KeyRange.all()));
+  }
+
+  private WildcardMap createRegions() {
+    WildcardMap wildcardMap = createWildcardMap();
+    wildcardMap.put("us-east", "web", "2", "us-east-web");
+    wildcardMap.put("eu-west", "web", "1", "eu-west-web1");
+    wildcardMap.put("eu-west", "db", "1", "eu-west-db");
+    wildcardMap.put("eu-north", "web", "1", "eu-north-web");
+    wildcardMap.put("eu-west", "web", "2", "eu-west-web2");
+    wildcardMap.put("eu-north", "db", "1", "eu-north-db");
+    return wildcardMap;
+  }
+}
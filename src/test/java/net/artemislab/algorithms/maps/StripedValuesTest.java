@@ -0,0 +1,69 @@
+package net.artemislab.algorithms.maps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/** The {@code StripedValuesTest} class implements tests for {@code StripedValues}. */
+public class StripedValuesTest {
+
+  @Test
+  public void testEmptyParts() {
+    StripedValues values =
+        new StripedValues(new ArrayValues[] {ArrayValues.EMPTY, ArrayValues.EMPTY});
+
+    assertEquals(0, values.size());
+    assertEquals(Arrays.asList(), values);
+    assertThrows(IndexOutOfBoundsException.class, () -> values.get(0));
+  }
+
+  @Test
+  public void testConcatenatesPartsInOrder() {
+    StripedValues values =
+        new StripedValues(
+            new ArrayValues[] {
+              ArrayValues.EMPTY,
+              ArrayValues.EMPTY.append("a").append("b"),
+              ArrayValues.EMPTY,
+              ArrayValues.EMPTY,
+              ArrayValues.EMPTY.append("c"),
+              ArrayValues.EMPTY.append("d").append("e").append("f"),
+              ArrayValues.EMPTY
+            });
+
+    assertEquals(6, values.size());
+    assertEquals(Arrays.asList("a", "b", "c", "d", "e", "f"), values);
+    for (int i = 0; i < values.size(); i++) {
+      assertEquals(Character.toString('a' + i), values.get(i));
+    }
+    assertThrows(IndexOutOfBoundsException.class, () -> values.get(6));
+    assertThrows(IndexOutOfBoundsException.class, () -> values.get(-1));
+  }
+
+  @Test
+  public void testCopyTo() {
+    StripedValues values =
+        new StripedValues(
+            new ArrayValues[] {ArrayValues.EMPTY.append("a"), ArrayValues.EMPTY.append("b")});
+    List<String> target = new ArrayList<>(List.of("z"));
+
+    assertEquals(2, values.copyTo(target));
+    assertEquals(Arrays.asList("z", "a", "b"), target);
+  }
+
+  @Test
+  public void testHasPart() {
+    ArrayValues part = ArrayValues.EMPTY.append("a");
+    StripedValues values = new StripedValues(new ArrayValues[] {part, ArrayValues.EMPTY});
+
+    assertTrue(values.hasPart(0, part));
+    assertTrue(values.hasPart(1, ArrayValues.EMPTY));
+    assertFalse(values.hasPart(0, part.append("b")));
+  }
+}
@@ -0,0 +1,42 @@
+package net.artemislab.algorithms.maps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/** The {@code UnboundedCacheTest} class implements tests for {@code UnboundedCache}. */
+public class UnboundedCacheTest {
+
+  @Test
+  public void testGet_CachesEveryComputedValue() {
+    UnboundedCache<Integer, String> cache = new UnboundedCache<>();
+    AtomicInteger loads = new AtomicInteger();
+
+    for (int round = 0; round < 2; round++) {
+      for (int i = 0; i < 1000; i++) {
+        assertEquals(Integer.toString(i), cache.get(i, k -> toString(k, loads)));
+      }
+    }
+
+    assertEquals(1000, loads.get());
+    assertEquals(1000, cache.size());
+    assertEquals(new CacheStats(1000, 1000, 0), cache.stats());
+  }
+
+  @Test
+  public void testClear_RemovesValuesAndKeepsStats() {
+    UnboundedCache<Integer, String> cache = new UnboundedCache<>();
+    cache.get(1, String::valueOf);
+
+    cache.clear();
+
+    assertEquals(0, cache.size());
+    assertEquals(new CacheStats(0, 1, 0), cache.stats());
+  }
+
+  private static String toString(int key, AtomicInteger loads) {
+    loads.incrementAndGet();
+    return Integer.toString(key);
+  }
+}
@@ -0,0 +1,190 @@
+package net.artemislab.algorithms.maps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+
+/** The {@code VersionedWildcardMapTest} class implements tests for {@code VersionedWildcardMap}. */
+public class VersionedWildcardMapTest {
+
+  @Test
+  public void testCreate_HoldsEmptyGeneration() {
+    VersionedWildcardMap map = new VersionedWildcardMap();
+
+    assertEquals(0, map.version());
+    assertEquals(0, map.current().version());
+    assertTrue(map.current().map().isEmpty());
+    assertEquals(Duration.ZERO, map.current().buildTime());
+    assertEquals(List.of(), map.get(null, null, null));
+  }
+
+  @Test
+  public void testReload_NullLoader_ThrowsError() {
+    VersionedWildcardMap map = new VersionedWildcardMap();
+
+    NullPointerException exception =
+        assertThrows(
+            NullPointerException.class,
+            () -> map.reload((Consumer<FrozenWildcardMap.Builder>) null));
+
+    assertEquals("The loader must not be null.", exception.getMessage());
+  }
+
+  @Test
+  public void testReload_NullEntries_ThrowsError() {
+    VersionedWildcardMap map = new VersionedWildcardMap();
+
+    NullPointerException exception =
+        assertThrows(
+            NullPointerException.class, () -> map.reload((Iterable<WildcardMap.Entry>) null));
+
+    assertEquals("The entries must not be null.", exception.getMessage());
+  }
+
+  @Test
+  public void testReload_PublishesNextGeneration() {
+    VersionedWildcardMap map = new VersionedWildcardMap();
+
+    VersionedWildcardMap.Generation generation =
+        map.reload(builder -> builder.put("Honda", "Civic", "Blue", "123"));
+
+    assertEquals(1, generation.version());
+    assertSame(generation, map.current());
+    assertEquals(1, map.version());
+    assertEquals(Arrays.asList("123"), map.get("Honda", null, null));
+  }
+
+  @Test
+  public void testReload_ReplacesWholeContent() {
+    VersionedWildcardMap map = new VersionedWildcardMap();
+    map.reload(List.of(new WildcardMap.Entry("Honda", "Civic", "Blue", "123")));
+
+    map.reload(List.of(new WildcardMap.Entry("Toyota", "Camry", "Silver", "246")));
+
+    assertEquals(2, map.version());
+    assertEquals(List.of(), map.get("Honda", null, null));
+    assertEquals(Arrays.asList("246"), map.get(null, null, null));
+    List<String> buffer = new ArrayList<>();
+    assertEquals(1, map.get("Toyota", "Camry", "Silver", buffer));
+    assertEquals(Arrays.asList("246"), buffer);
+  }
+
+  @Test
+  public void testGetBestMatch_DefaultOrder_ReturnsMostSpecificMatch() {
+    VersionedWildcardMap map = new VersionedWildcardMap();
+    map.reload(
+        builder ->
+            builder.put("Honda", "Civic", "Blue", "123").put("Toyota", "Camry", "Red", "246"));
+
+    assertEquals(Arrays.asList("246"), map.getBestMatch("Toyota", "Camry", "Red"));
+    assertEquals(Arrays.asList("123"), map.getBestMatch(" Honda ", "Civic", "Red"));
+    assertEquals(
+        map.getBestMatch("Honda", "Civic", "Red", MatchOrder.MOST_SPECIFIC_FIRST),
+        map.getBestMatch("Honda", "Civic", "Red"));
+  }
+
+  @Test
+  public void testGetBestMatch_QueriesCurrentGeneration() {
+    VersionedWildcardMap map = new VersionedWildcardMap();
+    map.reload(builder -> builder.put("Honda", "Civic", "Blue", "123"));
+
+    assertEquals(
+        Arrays.asList("123"), map.getBestMatch("Honda", "Accord", "Red", MatchOrder.HIERARCHICAL));
+    assertEquals(List.of(), map.getBestMatch("Ford", "Focus", "Red", MatchOrder.of("abc")));
+  }
+
+  @Test
+  public void testReload_EarlierGenerationIsNotAffected() {
+    VersionedWildcardMap map = new VersionedWildcardMap();
+    VersionedWildcardMap.Generation first =
+        map.reload(builder -> builder.put("Honda", "Civic", "Blue", "123"));
+
+    map.reload(builder -> builder.put("Honda", "Civic", "Blue", "456"));
+
+    assertEquals(Arrays.asList("123"), first.map().get("Honda", "Civic", "Blue"));
+    assertEquals(Arrays.asList("456"), map.get("Honda", "Civic", "Blue"));
+  }
+
+  @Test
+  public void testReload_MeasuresBuildTime() {
+    AtomicLong clock = new AtomicLong(1_000);
+    VersionedWildcardMap map = new VersionedWildcardMap(() -> clock.getAndAdd(250));
+
+    VersionedWildcardMap.Generation generation =
+        map.reload(builder -> builder.put("Honda", "Civic", "Blue", "123"));
+
+    assertEquals(Duration.ofNanos(250), generation.buildTime());
+  }
+
+  @Test
+  public void testReload_FailingLoader_KeepsCurrentGeneration() {
+    VersionedWildcardMap map = new VersionedWildcardMap();
+    VersionedWildcardMap.Generation current =
+        map.reload(builder -> builder.put("Honda", "Civic", "Blue", "123"));
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> map.reload(builder -> builder.put("Honda", "Civic", "", "456")));
+
+    assertSame(current, map.current());
+    assertEquals(Arrays.asList("123"), map.get("Honda", "Civic", "Blue"));
+  }
+
+  @Test
+  public void testConcurrentReloads_ReadersSeeCompleteGenerations() throws Exception {
+    VersionedWildcardMap map = new VersionedWildcardMap();
+    map.reload(builder -> load(builder, 0));
+    AtomicBoolean done = new AtomicBoolean();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Integer>> readers = new ArrayList<>();
+      for (int i = 0; i < 3; i++) {
+        readers.add(
+            executor.submit(
+                () -> {
+                  int reads = 0;
+                  while (!done.get() || reads == 0) {
+                    VersionedWildcardMap.Generation generation = map.current();
+                    List<String> values = generation.map().get(null, null, null);
+                    // Every value of a generation is tagged with the generation that loaded it
+                    String tag = "v" + (generation.version() - 1) + "-";
+                    assertEquals(100, values.size());
+                    values.forEach(value -> assertTrue(value.startsWith(tag), value));
+                    reads++;
+                  }
+                  return reads;
+                }));
+      }
+      for (int version = 1; version < 50; version++) {
+        int tag = version;
+        map.reload(builder -> load(builder, tag));
+      }
+      done.set(true);
+      for (Future<Integer> reader : readers) {
+        assertTrue(reader.get() > 0);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(50, map.version());
+  }
+
+  private static void load(FrozenWildcardMap.Builder builder, int tag) {
+    for (int i = 0; i < 100; i++) {
+      builder.put("make" + i % 10, "model" + i, "color", "v" + tag + "-" + i);
+    }
+  }
+}
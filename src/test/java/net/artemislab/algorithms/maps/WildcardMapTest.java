@@ -1,10 +1,21 @@
 package net.artemislab.algorithms.maps;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.AbstractList;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -15,7 +26,29 @@ public class WildcardMapTest {
 
   @BeforeEach
   public void initialize() {
-    wildcardMap = new WildcardMap();
+    wildcardMap = createWildcardMap();
+  }
+
+  /**
+   * Creates the map under test.
+   *
+   * @return the map under test.
+   */
+  WildcardMap createWildcardMap() {
+    return new WildcardMap();
+  }
+
+  @Test
+  public void testCreate_NullKeyEncoding_ThrowsError() {
+    NullPointerException exception =
+        assertThrows(NullPointerException.class, () -> new WildcardMap(null));
+
+    assertEquals("The key encoding must not be null.", exception.getMessage());
+  }
+
+  @Test
+  public void testCreate_DefaultKeyEncoding_IsString() {
+    assertEquals(WildcardMap.KeyEncoding.STRING, new WildcardMap().getKeyEncoding());
   }
 
   @Test
@@ -222,6 +255,16 @@ public class WildcardMapTest {
     assertEquals(Arrays.asList("value1", "value2", "value3"), wildcardMap.get(null, null, null));
   }
 
+  @Test
+  public void testKeysContainingCommas_NoCollision() {
+    wildcardMap.put("a, b", "c", "d", "value1");
+    wildcardMap.put("a", "b, c", "d", "value2");
+
+    assertEquals(Arrays.asList("value1"), wildcardMap.get("a, b", null, null));
+    assertEquals(Arrays.asList("value2"), wildcardMap.get("a", null, null));
+    assertEquals(Arrays.asList("value2"), wildcardMap.get(null, "b, c", null));
+  }
+
   @Test
   public void testGetTrimsWhitespaceInKeys() {
     wildcardMap.put("Honda", "Civic", "Blue", "123");
@@ -240,6 +283,782 @@ public class WildcardMapTest {
     assertThrows(UnsupportedOperationException.class, () -> result.add("new"));
   }
 
+  @Test
+  public void testGetReturnsSnapshot_NotAffectedByLaterPuts() {
+    wildcardMap.put("Honda", "Civic", "Blue", "123");
+    List<String> result = wildcardMap.get(null, null, null);
+    wildcardMap.put("Honda", "Civic", "Blue", "456");
+
+    assertEquals(Arrays.asList("123"), result);
+    assertEquals(Arrays.asList("123", "456"), wildcardMap.get(null, null, null));
+  }
+
+  @Test
+  public void testCount_MatchesSizeOfGet() {
+    wildcardMap.put("Honda", "Civic", "Blue", "123");
+    wildcardMap.put("Honda", "Civic", "Red", "456");
+    wildcardMap.put("Toyota", "Camry", "Blue", "789");
+
+    assertEquals(1, wildcardMap.count("Honda", "Civic", "Blue"));
+    assertEquals(2, wildcardMap.count(" Honda ", null, ""));
+    assertEquals(2, wildcardMap.count(null, null, "Blue"));
+    assertEquals(3, wildcardMap.count(null, null, null));
+    assertEquals(0, wildcardMap.count("Honda", "Camry", null));
+    assertEquals(0, wildcardMap.count("Ford", null, null));
+  }
+
+  @Test
+  public void testCount_CountsDuplicateValuesAndRemovals() {
+    wildcardMap.put("Honda", "Civic", "Blue", "123");
+    wildcardMap.put("Honda", "Civic", "Blue", "123");
+    wildcardMap.put("Honda", "Accord", "Red", "456");
+
+    assertEquals(2, wildcardMap.count("Honda", "Civic", "Blue"));
+    wildcardMap.remove("Honda", "Civic", "Blue", "123");
+    assertEquals(1, wildcardMap.count("Honda", "Civic", "Blue"));
+    assertEquals(2, wildcardMap.count("Honda", null, null));
+    wildcardMap.remove("Honda", "Civic", "Blue", "123");
+    assertEquals(0, wildcardMap.count("Honda", "Civic", "Blue"));
+    assertEquals(1, wildcardMap.count("Honda", null, null));
+  }
+
+  @Test
+  public void testContainsAny_ReturnsWhetherAnyValueMatches() {
+    wildcardMap.put("Honda", "Civic", "Blue", "123");
+
+    assertTrue(wildcardMap.containsAny("Honda", "Civic", "Blue"));
+    assertTrue(wildcardMap.containsAny(null, "Civic", null));
+    assertTrue(wildcardMap.containsAny(null, null, null));
+    assertFalse(wildcardMap.containsAny("Honda", "Civic", "Red"));
+    assertFalse(wildcardMap.containsAny("Toyota", null, null));
+
+    wildcardMap.remove("Honda", "Civic", "Blue", "123");
+    assertFalse(wildcardMap.containsAny(null, null, null));
+  }
+
+  @Test
+  public void testStream_ReturnsMatchingValuesInOrder() {
+    wildcardMap.put("Honda", "Civic", "Blue", "123");
+    wildcardMap.put("Honda", "Accord", "Red", "456");
+    wildcardMap.put("Toyota", "Camry", "Blue", "789");
+
+    assertEquals(Arrays.asList("123", "456"), wildcardMap.stream(" Honda ", null, "").toList());
+    assertEquals(Arrays.asList("123", "789"), wildcardMap.stream(null, null, "Blue").toList());
+    assertEquals(List.of(), wildcardMap.stream("Ford", null, null).toList());
+  }
+
+  @Test
+  public void testStream_ShortCircuits_VisitsConsumedValuesOnly() {
+    for (int i = 0; i < 100; i++) {
+      wildcardMap.put("Honda", "Civic", "Blue", "v" + i);
+    }
+    List<String> visited = new ArrayList<>();
+
+    List<String> firstValues =
+        wildcardMap.stream(null, null, null).peek(visited::add).limit(3).toList();
+
+    assertEquals(Arrays.asList("v0", "v1", "v2"), firstValues);
+    assertEquals(firstValues, visited);
+  }
+
+  @Test
+  public void testStream_NotAffectedByLaterModifications() {
+    wildcardMap.put("Honda", "Civic", "Blue", "123");
+
+    Stream<String> stream = wildcardMap.stream(null, null, null);
+    wildcardMap.put("Honda", "Civic", "Blue", "456");
+
+    assertEquals(Arrays.asList("123"), stream.toList());
+  }
+
+  @Test
+  public void testGetPage_InvalidLimit_ThrowsError() {
+    IllegalArgumentException exception =
+        assertThrows(
+            IllegalArgumentException.class, () -> wildcardMap.getPage(null, null, null, 0));
+
+    assertEquals("The limit must be positive, but was 0.", exception.getMessage());
+  }
+
+  @Test
+  public void testGetPage_NullCursor_ThrowsError() {
+    NullPointerException exception =
+        assertThrows(NullPointerException.class, () -> wildcardMap.getPage(null, 10));
+
+    assertEquals("The cursor must not be null.", exception.getMessage());
+  }
+
+  @Test
+  public void testGetPage_NoMatch_ReturnsEmptyLastPage() {
+    WildcardMap.Page page = wildcardMap.getPage("Honda", null, null, 10);
+
+    assertEquals(List.of(), page.values());
+    assertFalse(page.hasNext());
+    Assertions.assertNull(page.next());
+  }
+
+  @Test
+  public void testGetPage_PagesThroughMatchingValues() {
+    for (int i = 0; i < 5; i++) {
+      wildcardMap.put("Honda", "Civic", "Blue", "v" + i);
+    }
+    wildcardMap.put("Toyota", "Camry", "Blue", "other");
+
+    WildcardMap.Page first = wildcardMap.getPage("Honda", null, null, 2);
+    assertEquals(Arrays.asList("v0", "v1"), first.values());
+    assertTrue(first.hasNext());
+    assertEquals(2, first.next().offset());
+
+    WildcardMap.Page second = wildcardMap.getPage(first.next(), 2);
+    assertEquals(Arrays.asList("v2", "v3"), second.values());
+
+    WildcardMap.Page last = wildcardMap.getPage(second.next(), 2);
+    assertEquals(Arrays.asList("v4"), last.values());
+    assertFalse(last.hasNext());
+    Assertions.assertNull(last.next());
+  }
+
+  @Test
+  public void testGetPage_ExactMultipleOfLimit_EndsOnFullPage() {
+    wildcardMap.put("Honda", "Civic", "Blue", "123");
+    wildcardMap.put("Honda", "Civic", "Blue", "456");
+
+    WildcardMap.Page page = wildcardMap.getPage(null, null, null, 2);
+
+    assertEquals(Arrays.asList("123", "456"), page.values());
+    assertFalse(page.hasNext());
+  }
+
+  @Test
+  public void testGetPage_ModifiedBetweenPages_PagesThroughFirstSnapshot() {
+    wildcardMap.put("Honda", "Civic", "Blue", "123");
+    wildcardMap.put("Honda", "Civic", "Blue", "456");
+    WildcardMap.Page first = wildcardMap.getPage(null, null, null, 1);
+
+    wildcardMap.remove("Honda", "Civic", "Blue", "123");
+    wildcardMap.put("Honda", "Civic", "Blue", "789");
+    WildcardMap.Page second = wildcardMap.getPage(first.next(), 10);
+
+    assertEquals(Arrays.asList("123"), first.values());
+    assertEquals(Arrays.asList("456"), second.values());
+    assertFalse(second.hasNext());
+  }
+
+  @Test
+  public void testGetAll_NullQueries_ThrowsError() {
+    NullPointerException exception =
+        assertThrows(NullPointerException.class, () -> wildcardMap.getAll(null));
+
+    assertEquals("The queries must not be null.", exception.getMessage());
+  }
+
+  @Test
+  public void testGetAll_NullQuery_ThrowsError() {
+    List<WildcardMap.Query> queries = Arrays.asList(new WildcardMap.Query("a", "b", "c"), null);
+
+    NullPointerException exception =
+        assertThrows(NullPointerException.class, () -> wildcardMap.getAll(queries));
+
+    assertEquals("The query must not be null.", exception.getMessage());
+  }
+
+  @Test
+  public void testGetAll_NoQueries_ReturnsEmptyList() {
+    assertEquals(List.of(), wildcardMap.getAll(List.of()));
+  }
+
+  @Test
+  public void testGetAll_ReturnsResultsAlignedWithQueries() {
+    wildcardMap.put("Honda", "Civic", "Blue", "123");
+    wildcardMap.put("Honda", "Accord", "Red", "456");
+
+    List<List<String>> results =
+        wildcardMap.getAll(
+            List.of(
+                new WildcardMap.Query("Honda", "Accord", "Red"),
+                new WildcardMap.Query("Ford", "Focus", "Blue"),
+                new WildcardMap.Query("Honda", null, ""),
+                new WildcardMap.Query(null, "Civic", "Red"),
+                new WildcardMap.Query(" ", null, "Blue")));
+
+    assertEquals(
+        Arrays.asList(
+            Arrays.asList("456"),
+            List.of(),
+            Arrays.asList("123", "456"),
+            List.of(),
+            Arrays.asList("123")),
+        results);
+    assertThrows(UnsupportedOperationException.class, () -> results.add(List.of()));
+  }
+
+  @Test
+  public void testGetAll_DuplicateQueries_ShareResults() {
+    wildcardMap.put("Honda", "Civic", "Blue", "123");
+
+    List<List<String>> results =
+        wildcardMap.getAll(
+            List.of(
+                new WildcardMap.Query("Honda", "Civic", "Blue"),
+                new WildcardMap.Query(" Honda ", "Civic ", "Blue"),
+                new WildcardMap.Query("Honda", "", null),
+                new WildcardMap.Query("Honda", null, " ")));
+
+    assertEquals(Arrays.asList("123"), results.get(0));
+    Assertions.assertSame(results.get(0), results.get(1));
+    Assertions.assertSame(results.get(2), results.get(3));
+  }
+
+  @Test
+  public void testGetAll_LargeBatch_MatchesGet() {
+    for (int i = 0; i < 1000; i++) {
+      wildcardMap.put("make" + i % 10, "model" + i % 100, "color" + i % 7, Integer.toString(i));
+    }
+    List<WildcardMap.Query> queries = new ArrayList<>();
+    for (int i = 0; i < 2 * WildcardMap.PARALLEL_BATCH_THRESHOLD; i++) {
+      queries.add(
+          new WildcardMap.Query(
+              i % 3 == 0 ? null : "make" + i % 11,
+              i % 5 == 0 ? null : "model" + i % 101,
+              i % 2 == 0 ? null : "color" + i % 8));
+    }
+
+    for (boolean parallel : new boolean[] {false, true}) {
+      List<List<String>> results = wildcardMap.getAll(queries, parallel);
+
+      assertEquals(queries.size(), results.size());
+      for (int i = 0; i < queries.size(); i++) {
+        WildcardMap.Query query = queries.get(i);
+        assertEquals(wildcardMap.get(query.key1(), query.key2(), query.key3()), results.get(i));
+      }
+    }
+  }
+
+  @Test
+  public void testGetBestMatch_NullOrder_ThrowsError() {
+    NullPointerException exception =
+        assertThrows(
+            NullPointerException.class, () -> wildcardMap.getBestMatch("a", "b", "c", null));
+
+    assertEquals("The match order must not be null.", exception.getMessage());
+  }
+
+  @Test
+  public void testGetBestMatch_ReturnsMostSpecificMatch() {
+    wildcardMap.put("Honda", "Civic", "Blue", "exact");
+    wildcardMap.put("Honda", "Civic", "Red", "model");
+    wildcardMap.put("Toyota", "Camry", "Blue", "color");
+
+    assertEquals(Arrays.asList("exact"), wildcardMap.getBestMatch("Honda", "Civic", "Blue"));
+    assertEquals(Arrays.asList("model"), wildcardMap.getBestMatch(" Honda ", "Civic", "Red"));
+    assertEquals(
+        Arrays.asList("exact", "model"), wildcardMap.getBestMatch("Honda", "Civic", "Green"));
+    assertEquals(
+        Arrays.asList("exact", "color"), wildcardMap.getBestMatch("Ford", "Focus", "Blue"));
+    assertEquals(
+        Arrays.asList("exact", "model", "color"),
+        wildcardMap.getBestMatch("Ford", "Focus", "Gray"));
+  }
+
+  @Test
+  public void testGetBestMatch_HierarchicalOrder_SkipsOtherCombinations() {
+    wildcardMap.put("Honda", "Civic", "Blue", "123");
+    wildcardMap.put("Toyota", "Camry", "Blue", "456");
+
+    assertEquals(
+        Arrays.asList("123"),
+        wildcardMap.getBestMatch("Honda", "Accord", "Blue", MatchOrder.HIERARCHICAL));
+    assertEquals(
+        Arrays.asList("123", "456"),
+        wildcardMap.getBestMatch("Ford", "Civic", "Blue", MatchOrder.HIERARCHICAL));
+  }
+
+  @Test
+  public void testGetBestMatch_CustomOrderWithoutMatch_ReturnsEmptyList() {
+    wildcardMap.put("Honda", "Civic", "Blue", "123");
+
+    assertEquals(
+        List.of(), wildcardMap.getBestMatch("Honda", "Accord", "Red", MatchOrder.of("abc", "*bc")));
+    assertEquals(
+        Arrays.asList("123"),
+        wildcardMap.getBestMatch("Honda", "Accord", "Red", MatchOrder.of("abc", "a**")));
+  }
+
+  @Test
+  public void testGetBestMatch_WildcardKeys_ProbeLessSpecificCombinations() {
+    wildcardMap.put("Honda", "Civic", "Blue", "123");
+    wildcardMap.put("Honda", "Accord", "Red", "456");
+
+    assertEquals(Arrays.asList("123"), wildcardMap.getBestMatch("Honda", null, "Blue"));
+    assertEquals(Arrays.asList("123", "456"), wildcardMap.getBestMatch(null, " ", ""));
+    assertEquals(
+        Arrays.asList("123", "456"),
+        wildcardMap.getBestMatch("Honda", null, "Green", MatchOrder.HIERARCHICAL));
+  }
+
+  @Test
+  public void testGetBestMatch_EmptyMap_ReturnsEmptyList() {
+    assertEquals(List.of(), wildcardMap.getBestMatch("Honda", "Civic", "Blue"));
+  }
+
+  @Test
+  public void testGetBestMatch_AfterRemove_SkipsReclaimedSlots() {
+    wildcardMap.put("Honda", "Civic", "Blue", "123");
+    wildcardMap.put("Honda", "Accord", "Red", "456");
+    wildcardMap.remove("Honda", "Civic", "Blue", "123");
+
+    assertEquals(Arrays.asList("456"), wildcardMap.getBestMatch("Honda", "Civic", "Blue"));
+  }
+
+  @Test
+  public void testGetIntoBuffer_NullBuffer_ThrowsError() {
+    NullPointerException exception =
+        assertThrows(NullPointerException.class, () -> wildcardMap.get("a", "b", "c", null));
+
+    assertEquals("The buffer must not be null.", exception.getMessage());
+  }
+
+  @Test
+  public void testGetIntoBuffer_NoMatch_AddsNothing() {
+    wildcardMap.put("Honda", "Civic", "Blue", "123");
+    List<String> buffer = new ArrayList<>();
+
+    assertEquals(0, wildcardMap.get("Toyota", "Camry", "Red", buffer));
+    assertEquals(Arrays.asList(), buffer);
+  }
+
+  @Test
+  public void testGetIntoBuffer_AppendsMatchingValues() {
+    wildcardMap.put("Honda", "Civic", "Blue", "123");
+    wildcardMap.put("Honda", "Acord", "Black", "456");
+    wildcardMap.put("Toyota", "Camry", "Red", "789");
+    List<String> buffer = new ArrayList<>(List.of("000"));
+
+    assertEquals(2, wildcardMap.get(" Honda ", null, "", buffer));
+    assertEquals(Arrays.asList("000", "123", "456"), buffer);
+
+    buffer.clear();
+    assertEquals(1, wildcardMap.get(null, null, "Red", buffer));
+    assertEquals(Arrays.asList("789"), buffer);
+  }
+
+  @Test
+  public void testConcurrentPuts_KeepAllEntries() throws Exception {
+    int threads = 4;
+    int entriesPerThread = 2_000;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int thread = 0; thread < threads; thread++) {
+        String key1 = "Make" + thread;
+        futures.add(
+            executor.submit(
+                () -> {
+                  for (int i = 0; i < entriesPerThread; i++) {
+                    wildcardMap.put(key1, "Model" + (i % 10), "Color" + (i % 7), key1 + ":" + i);
+                  }
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertEquals(threads * entriesPerThread, wildcardMap.get(null, null, null).size());
+    assertEquals(threads * entriesPerThread, wildcardMap.size());
+    for (int thread = 0; thread < threads; thread++) {
+      assertEquals(entriesPerThread, wildcardMap.get("Make" + thread, null, null).size());
+    }
+    assertEquals(threads * entriesPerThread / 10, wildcardMap.get(null, "Model3", null).size());
+    assertEquals(threads * entriesPerThread / 10, wildcardMap.count(null, "Model3", null));
+    assertEquals(
+        Arrays.asList("Make1:17", "Make1:87", "Make1:157"),
+        wildcardMap.get("Make1", "Model7", "Color3").subList(0, 3));
+  }
+
+  @Test
+  public void testRemove_NullKey2_ThrowsError() {
+    IllegalArgumentException exception =
+        assertThrows(
+            IllegalArgumentException.class, () -> wildcardMap.remove("Honda", null, "Blue", "123"));
+
+    assertEquals("Key2 must not be null, empty or blank.", exception.getMessage());
+  }
+
+  @Test
+  public void testRemove_BlankValue_ThrowsError() {
+    IllegalArgumentException exception =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> wildcardMap.remove("Honda", "Civic", "Blue", " "));
+
+    assertEquals("Value must not be null, empty or blank.", exception.getMessage());
+  }
+
+  @Test
+  public void testRemove_AbsentEntry_ReturnsFalse() {
+    wildcardMap.put("Honda", "Civic", "Blue", "123");
+
+    assertFalse(wildcardMap.remove("Honda", "Civic", "Blue", "456"));
+    assertFalse(wildcardMap.remove("Honda", "Civic", "Red", "123"));
+    assertFalse(wildcardMap.remove("Toyota", "Civic", "Blue", "123"));
+    assertEquals(Arrays.asList("123"), wildcardMap.get(null, null, null));
+  }
+
+  @Test
+  public void testRemove_RemovesEntryFromAllKeyCombinations() {
+    wildcardMap.put("Honda", "Civic", "Blue", "123");
+    wildcardMap.put("Honda", "Accord", "Blue", "456");
+    wildcardMap.put("Toyota", "Camry", "Red", "789");
+
+    assertTrue(wildcardMap.remove(" Honda ", "Civic", "Blue", "123 "));
+
+    assertEquals(Arrays.asList(), wildcardMap.get("Honda", "Civic", "Blue"));
+    assertEquals(Arrays.asList(), wildcardMap.get(null, "Civic", null));
+    assertEquals(Arrays.asList("456"), wildcardMap.get("Honda", null, null));
+    assertEquals(Arrays.asList("456"), wildcardMap.get(null, null, "Blue"));
+    assertEquals(Arrays.asList("456", "789"), wildcardMap.get(null, null, null));
+    assertFalse(wildcardMap.remove("Honda", "Civic", "Blue", "123"));
+  }
+
+  @Test
+  public void testRemove_DuplicateEntry_RemovesOneOccurrence() {
+    wildcardMap.put("Honda", "Civic", "Blue", "123");
+    wildcardMap.put("Honda", "Civic", "Blue", "456");
+    wildcardMap.put("Honda", "Civic", "Blue", "123");
+
+    assertTrue(wildcardMap.remove("Honda", "Civic", "Blue", "123"));
+
+    assertEquals(Arrays.asList("456", "123"), wildcardMap.get("Honda", "Civic", "Blue"));
+    assertEquals(Arrays.asList("456", "123"), wildcardMap.get(null, null, null));
+  }
+
+  @Test
+  public void testRemove_EqualValueUnderOtherKeys_KeepsOtherEntry() {
+    wildcardMap.put("Honda", "Civic", "Blue", "123");
+    wildcardMap.put("Toyota", "Camry", "Blue", "123");
+
+    assertTrue(wildcardMap.remove("Toyota", "Camry", "Blue", "123"));
+
+    assertEquals(Arrays.asList("123"), wildcardMap.get("Honda", "Civic", "Blue"));
+    assertEquals(Arrays.asList(), wildcardMap.get("Toyota", null, null));
+    assertEquals(Arrays.asList("123"), wildcardMap.get(null, null, "Blue"));
+  }
+
+  @Test
+  public void testRemove_AllEntries_ReclaimsSlots() {
+    wildcardMap.put("Honda", "Civic", "Blue", "123");
+    wildcardMap.put("Honda", "Accord", "Red", "456");
+
+    assertTrue(wildcardMap.remove("Honda", "Civic", "Blue", "123"));
+    assertTrue(wildcardMap.remove("Honda", "Accord", "Red", "456"));
+
+    assertTrue(wildcardMap.isEmpty());
+    assertEquals(Arrays.asList(), wildcardMap.get(null, null, null));
+
+    wildcardMap.put("Honda", "Civic", "Blue", "789");
+
+    assertFalse(wildcardMap.isEmpty());
+    assertEquals(Arrays.asList("789"), wildcardMap.get("Honda", null, null));
+  }
+
+  @Test
+  public void testReplace_NullOldValue_ThrowsError() {
+    IllegalArgumentException exception =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> wildcardMap.replace("Honda", "Civic", "Blue", null, "456"));
+
+    assertEquals("Old value must not be null, empty or blank.", exception.getMessage());
+  }
+
+  @Test
+  public void testReplace_EmptyNewValue_ThrowsError() {
+    IllegalArgumentException exception =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> wildcardMap.replace("Honda", "Civic", "Blue", "123", ""));
+
+    assertEquals("New value must not be null, empty or blank.", exception.getMessage());
+  }
+
+  @Test
+  public void testReplace_AbsentEntry_ReturnsFalse() {
+    wildcardMap.put("Honda", "Civic", "Blue", "123");
+
+    assertFalse(wildcardMap.replace("Honda", "Civic", "Blue", "456", "789"));
+    assertFalse(wildcardMap.replace("Ford", "Civic", "Blue", "123", "789"));
+    assertEquals(Arrays.asList("123"), wildcardMap.get(null, null, null));
+  }
+
+  @Test
+  public void testReplace_ReplacesValueInPlaceInAllKeyCombinations() {
+    wildcardMap.put("Honda", "Civic", "Blue", "123");
+    wildcardMap.put("Honda", "Accord", "Blue", "456");
+    wildcardMap.put("Honda", "Civic", "Red", "789");
+
+    assertTrue(wildcardMap.replace("Honda", "Civic", "Blue", "123", "321"));
+
+    assertEquals(Arrays.asList("321"), wildcardMap.get("Honda", "Civic", "Blue"));
+    assertEquals(Arrays.asList("321", "789"), wildcardMap.get(null, "Civic", null));
+    assertEquals(Arrays.asList("321", "456"), wildcardMap.get(null, null, "Blue"));
+    assertEquals(Arrays.asList("321", "456", "789"), wildcardMap.get(null, null, null));
+  }
+
+  @Test
+  public void testConcurrentPutsAndRemoves_KeepRemainingEntries() throws Exception {
+    int threads = 4;
+    int entriesPerThread = 2_000;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int thread = 0; thread < threads; thread++) {
+        String value = "Value" + thread;
+        futures.add(
+            executor.submit(
+                () -> {
+                  for (int i = 0; i < entriesPerThread; i++) {
+                    String key2 = "Model" + (i % 10);
+                    wildcardMap.put("Honda", key2, "Blue", value);
+                    if (i % 2 == 1) {
+                      assertTrue(wildcardMap.remove("Honda", key2, "Blue", value));
+                    }
+                  }
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertEquals(threads * entriesPerThread / 2, wildcardMap.get(null, null, null).size());
+    assertEquals(threads * entriesPerThread / 2, wildcardMap.get("Honda", null, "Blue").size());
+    for (int i = 0; i < 10; i++) {
+      int expected = i % 2 == 0 ? threads * entriesPerThread / 10 : 0;
+      assertEquals(expected, wildcardMap.get(null, "Model" + i, null).size());
+    }
+  }
+
+  @Test
+  @SuppressWarnings("ThreadPriorityCheck") // Yielding lets the put run on a single processor
+  public void testConcurrentPutAndRemoveOfSameEntry_LeaveNoValues() throws Exception {
+    int entries = 10_000;
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<?> puts =
+          executor.submit(
+              () -> {
+                for (int i = 0; i < entries; i++) {
+                  wildcardMap.put("Honda", "Civic", "Blue", "Value" + i);
+                }
+              });
+      Future<?> removes =
+          executor.submit(
+              () -> {
+                for (int i = 0; i < entries; i++) {
+                  // Races the put of the same entry, succeeding only once it is visible
+                  while (!wildcardMap.remove("Honda", "Civic", "Blue", "Value" + i)) {
+                    Thread.yield();
+                  }
+                }
+              });
+      puts.get();
+      removes.get();
+    } finally {
+      executor.shutdown();
+    }
+
+    String[] keys1 = {"Honda", null};
+    String[] keys2 = {"Civic", null};
+    String[] keys3 = {"Blue", null};
+    for (String key1 : keys1) {
+      for (String key2 : keys2) {
+        for (String key3 : keys3) {
+          assertTrue(wildcardMap.get(key1, key2, key3).isEmpty(), key1 + "/" + key2 + "/" + key3);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testRemoveDuringPutOfSameEntry_LeavesNoValues() {
+    WildcardMap[] map = new WildcardMap[1];
+    AtomicBoolean removed = new AtomicBoolean();
+    // Removes the entry as soon as its full key is visible, if the put still writes other keys
+    Cache<String, List<String>> racingRemove =
+        new Cache<>() {
+          @Override
+          public List<String> get(
+              String key, Function<? super String, ? extends List<String>> loader) {
+            List<String> keys = loader.apply(key);
+            return new AbstractList<>() {
+              @Override
+              public String get(int index) {
+                if (!map[0].get("Honda", "Civic", "Blue").isEmpty()
+                    && removed.compareAndSet(false, true)) {
+                  assertTrue(map[0].remove("Honda", "Civic", "Blue", "123"));
+                }
+                return keys.get(index);
+              }
+
+              @Override
+              public int size() {
+                return keys.size();
+              }
+            };
+          }
+
+          @Override
+          public int size() {
+            return 0;
+          }
+
+          @Override
+          public CacheStats stats() {
+            return new CacheStats(0, 0, 0);
+          }
+
+          @Override
+          public void clear() {}
+        };
+    map[0] = WildcardMap.builder().keySubsetsCache(racingRemove).build();
+
+    map[0].put("Honda", "Civic", "Blue", "123");
+    if (removed.compareAndSet(false, true)) {
+      assertTrue(map[0].remove("Honda", "Civic", "Blue", "123"));
+    }
+
+    String[] keys1 = {"Honda", null};
+    String[] keys2 = {"Civic", null};
+    String[] keys3 = {"Blue", null};
+    for (String key1 : keys1) {
+      for (String key2 : keys2) {
+        for (String key3 : keys3) {
+          assertTrue(map[0].get(key1, key2, key3).isEmpty(), key1 + "/" + key2 + "/" + key3);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testBuilder_Defaults() {
+    WildcardMap map = WildcardMap.builder().build();
+    map.put("Honda", "Civic", "Blue", "123");
+
+    assertEquals(WildcardMap.KeyEncoding.STRING, map.getKeyEncoding());
+    assertFalse(map.hasSortedKeys());
+    assertEquals(Arrays.asList("123"), map.get("Honda", null, null));
+  }
+
+  @Test
+  public void testGetMetrics_NotInstrumented_ReportsGaugesOnly() {
+    WildcardMap map = WildcardMap.builder().build();
+    map.put("Honda", "Civic", "Blue", "123");
+    map.put("Honda", "Accord", "Red", "456");
+    map.get("Honda", null, null);
+    WildcardMapMetrics metrics = map.getMetrics();
+
+    assertFalse(map.isInstrumented());
+    assertEquals(0, metrics.lookups());
+    assertEquals(0, metrics.puts());
+    assertEquals(1.0, metrics.hitRate());
+    assertEquals(0.0, metrics.fanOut());
+    assertEquals(0.0, metrics.writeAmplification());
+    // 1 (*,*,*) + 1 (Honda,*,*) + 2 models + 2 colors + 2 (Honda,model,*) + 2 (Honda,*,color)
+    // + 2 (*,model,color) + 2 full keys
+    assertEquals(14, metrics.slots());
+    assertEquals(2, metrics.largestSlot());
+    assertEquals(0, metrics.stripedSlots());
+    assertEquals(
+        MapMetrics.SLOT_BYTES * 14 + MapMetrics.REFERENCE_BYTES * 8 * 2,
+        metrics.estimatedHeapBytes());
+    assertEquals(map.getKeySubsetsCacheStats(), metrics.keySubsetsCacheStats());
+  }
+
+  @Test
+  public void testGetMatching_WithoutSortedKeys_ThrowsError() {
+    WildcardMap map = WildcardMap.builder().build();
+    WildcardMap.KeyRange all = WildcardMap.KeyRange.all();
+
+    IllegalStateException exception =
+        assertThrows(IllegalStateException.class, () -> map.getMatching(all, all, all));
+
+    assertEquals("The map must keep sorted keys to match key ranges.", exception.getMessage());
+  }
+
+  @Test
+  public void testBuilder_NullKeyEncoding_ThrowsError() {
+    NullPointerException exception =
+        assertThrows(NullPointerException.class, () -> WildcardMap.builder().keyEncoding(null));
+
+    assertEquals("The key encoding must not be null.", exception.getMessage());
+  }
+
+  @Test
+  public void testBuilder_NullKeySubsetsCache_ThrowsError() {
+    NullPointerException exception =
+        assertThrows(NullPointerException.class, () -> WildcardMap.builder().keySubsetsCache(null));
+
+    assertEquals("The key subsets cache must not be null.", exception.getMessage());
+  }
+
+  @Test
+  public void testBuilder_KeyEncoding() {
+    WildcardMap map = WildcardMap.builder().keyEncoding(WildcardMap.KeyEncoding.DICTIONARY).build();
+
+    assertEquals(WildcardMap.KeyEncoding.DICTIONARY, map.getKeyEncoding());
+  }
+
+  @Test
+  public void testGetKeySubsetsCacheStats_CountsHitsAndMisses() {
+    WildcardMap map = new WildcardMap();
+    map.put("Honda", "Civic", "Blue", "123");
+    map.put("Honda", "Civic", "Blue", "456");
+    map.put("Honda", "Civic", "Red", "789");
+
+    assertEquals(new CacheStats(1, 2, 0), map.getKeySubsetsCacheStats());
+  }
+
+  @Test
+  public void testBuilder_BoundedKeySubsetsCache_EvictsKeySubsets() {
+    Cache<String, List<String>> cache = Cache.bounded(2);
+    WildcardMap map = WildcardMap.builder().keySubsetsCache(cache).build();
+    for (int i = 0; i < 5; i++) {
+      map.put("Honda", "Model" + i, "Blue", "VIN" + i);
+    }
+
+    assertEquals(2, cache.size());
+    assertEquals(new CacheStats(0, 5, 3), map.getKeySubsetsCacheStats());
+    assertEquals(5, map.get("Honda", null, "Blue").size());
+    assertEquals(Arrays.asList("VIN0"), map.get(null, "Model0", null));
+  }
+
+  @Test
+  public void testBuilder_DisabledKeySubsetsCache_GeneratesKeySubsetsOnEveryPut() {
+    WildcardMap map = WildcardMap.builder().keySubsetsCache(Cache.disabled()).build();
+    map.put("Honda", "Civic", "Blue", "123");
+    map.put("Honda", "Civic", "Blue", "456");
+
+    assertEquals(new CacheStats(0, 2, 0), map.getKeySubsetsCacheStats());
+    assertEquals(Arrays.asList("123", "456"), map.get(null, "Civic", null));
+  }
+
+  @Test
+  public void testClear_ClearsKeySubsetsCache() {
+    Cache<String, List<String>> cache = Cache.unbounded();
+    WildcardMap map = WildcardMap.builder().keySubsetsCache(cache).build();
+    map.put("Honda", "Civic", "Blue", "123");
+
+    map.clear();
+
+    assertEquals(0, cache.size());
+    assertEquals(List.of(), map.get(null, null, null));
+  }
+
   @Test
   public void testDuplicateValueInsertion() {
     // Same value added twice should appear twice
@@ -275,6 +1094,23 @@ public class WildcardMapTest {
     assertEquals(false, wildcardMap.isEmpty());
   }
 
+  @Test
+  public void testSize_CountsEntries() {
+    assertEquals(0, wildcardMap.size());
+
+    wildcardMap.put("Honda", "Civic", "Blue", "123");
+    wildcardMap.put("Honda", "Civic", "Blue", "123");
+    wildcardMap.put("Toyota", "Camry", "Red", "456");
+    assertEquals(3, wildcardMap.size());
+
+    wildcardMap.remove("Toyota", "Camry", "Red", "456");
+    wildcardMap.replace("Honda", "Civic", "Blue", "123", "789");
+    assertEquals(2, wildcardMap.size());
+
+    wildcardMap.clear();
+    assertEquals(0, wildcardMap.size());
+  }
+
   @Test
   public void testClear_RemovesAllEntries() {
     wildcardMap.put("Honda", "Civic", "Blue", "123");
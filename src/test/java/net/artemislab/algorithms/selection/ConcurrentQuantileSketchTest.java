@@ -0,0 +1,85 @@
+package net.artemislab.algorithms.selection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The {@code ConcurrentQuantileSketchTest} class implements tests for {@code
+ * ConcurrentQuantileSketch}.
+ */
+public class ConcurrentQuantileSketchTest {
+
+  private static final int THREADS = 4;
+
+  private static final int VALUES_PER_THREAD = 50_000;
+
+  @Test
+  public void testUpdate_Nan_ThrowsError() {
+    ConcurrentQuantileSketch sketch = new ConcurrentQuantileSketch();
+    IllegalArgumentException exception =
+        assertThrows(IllegalArgumentException.class, () -> sketch.update(Double.NaN));
+
+    assertEquals("The value must not be NaN.", exception.getMessage());
+  }
+
+  @Test
+  public void testSnapshot_NoUpdates_ReturnsEmptySketch() {
+    ConcurrentQuantileSketch sketch = new ConcurrentQuantileSketch(64);
+
+    assertTrue(sketch.snapshot().isEmpty());
+    assertEquals(64, sketch.snapshot().getK());
+  }
+
+  @Test
+  public void testSnapshot_ManyThreads_MergesAllValues() throws InterruptedException {
+    ConcurrentQuantileSketch sketch = new ConcurrentQuantileSketch();
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < THREADS; t++) {
+      int first = t;
+      Thread thread =
+          new Thread(
+              () -> {
+                awaitQuietly(start);
+                // The threads interleave their values, which cover 0 to THREADS * VALUES - 1
+                for (int i = 0; i < VALUES_PER_THREAD; i++) {
+                  sketch.update(i * THREADS + first);
+                }
+              });
+      thread.start();
+      threads.add(thread);
+    }
+    start.countDown();
+    long previousCount = 0;
+    while (threads.stream().anyMatch(Thread::isAlive)) {
+      long count = sketch.snapshot().getCount();
+      assertTrue(count >= previousCount);
+      previousCount = count;
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    QuantileSketch snapshot = sketch.snapshot();
+
+    int total = THREADS * VALUES_PER_THREAD;
+    assertEquals(total, snapshot.getCount());
+    assertEquals(0, snapshot.getMin());
+    assertEquals(total - 1, snapshot.getMax());
+    assertEquals(0.5, snapshot.percentile(50) / total, 0.03);
+    assertEquals(0.99, snapshot.percentile(99) / total, 0.03);
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,119 @@
+package net.artemislab.algorithms.selection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+/** The {@code FloydRivestTest} class implements tests for {@code FloydRivest}. */
+public class FloydRivestTest {
+
+  @Test
+  public void testSelect_NullArray_ThrowsError() {
+    NullPointerException exception =
+        assertThrows(NullPointerException.class, () -> FloydRivest.select((Integer[]) null, 0));
+
+    assertEquals("The array must not be null.", exception.getMessage());
+  }
+
+  @Test
+  public void testSelect_NullComparator_ThrowsError() {
+    Integer[] array = new Integer[] {1, 2};
+    NullPointerException exception =
+        assertThrows(NullPointerException.class, () -> FloydRivest.select(array, 0, null));
+
+    assertEquals("The comparator must not be null.", exception.getMessage());
+  }
+
+  @Test
+  public void testSelect_EmptyArray_ThrowsError() {
+    Integer[] array = new Integer[] {};
+    IllegalArgumentException exception =
+        assertThrows(IllegalArgumentException.class, () -> FloydRivest.select(array, 0));
+
+    assertEquals("The array must not be empty.", exception.getMessage());
+  }
+
+  @Test
+  public void testSelect_K_GreaterArrayLength_ThrowsError() {
+    Integer[] array = new Integer[] {1, 2};
+    IllegalArgumentException exception =
+        assertThrows(IllegalArgumentException.class, () -> FloydRivest.select(array, 2));
+
+    assertEquals("k must be between 0 and 1, but was 2.", exception.getMessage());
+  }
+
+  @Test
+  public void testSelect_OriginalArrayIsNotModified() {
+    Integer[] array = new Integer[] {2, 3, 1, 5, 6, 4, 10, 9, 8, 7};
+    Integer[] snapshot = array.clone();
+    Integer element = FloydRivest.select(array, 4);
+
+    assertArrayEquals(snapshot, array);
+    assertEquals(5, element);
+  }
+
+  @Test
+  public void testSelect_SmallArrays_MatchSortedArrays() {
+    SplittableRandom random = new SplittableRandom(42);
+    for (int length = 1; length <= 40; length++) {
+      Integer[] array = random.ints(length, 0, 10).boxed().toArray(Integer[]::new);
+      Integer[] sorted = array.clone();
+      Arrays.sort(sorted);
+      for (int k = 0; k < length; k++) {
+        assertEquals(sorted[k], FloydRivest.select(array, k));
+      }
+    }
+  }
+
+  @Test
+  public void testSelect_LargeArrays_MatchSortedArrays() {
+    SplittableRandom random = new SplittableRandom(7);
+    Integer[] distinct = random.ints(20_000).boxed().toArray(Integer[]::new);
+    Integer[] duplicates = random.ints(20_000, 0, 16).boxed().toArray(Integer[]::new);
+    for (Integer[] array : new Integer[][] {distinct, duplicates}) {
+      Integer[] sorted = array.clone();
+      Arrays.sort(sorted);
+      for (int k : new int[] {0, 1, 99, 10_000, 19_000, 19_999}) {
+        assertEquals(sorted[k], FloydRivest.select(array, k));
+      }
+    }
+  }
+
+  @Test
+  public void testSelect_AllSameElements_ReturnsElement() {
+    Integer[] array = new Integer[5_000];
+    Arrays.fill(array, 2);
+
+    assertEquals(2, FloydRivest.select(array, 2_500));
+  }
+
+  @Test
+  public void testSelect_Comparator_SelectsInComparatorOrder() {
+    String[] array = new String[] {"pear", "fig", "banana", "kiwi", "apple"};
+
+    assertEquals("pear", FloydRivest.select(array, 0, Comparator.reverseOrder()));
+    assertEquals("fig", FloydRivest.select(array, 0, Comparator.comparing(String::length)));
+  }
+
+  @Test
+  public void testSelect_Median_ComparesFewerTimesThanQuickSelect() {
+    int length = 100_000;
+    Integer[] array = new SplittableRandom(42).ints(length).boxed().toArray(Integer[]::new);
+    long[] comparisons = new long[1];
+    Comparator<Integer> counting =
+        (a, b) -> {
+          comparisons[0]++;
+          return a.compareTo(b);
+        };
+    FloydRivest.select(array, length / 2, counting);
+
+    // The expected number of comparisons is 1.5n + o(n), against about 4.6n for QuickSelect
+    assertTrue(comparisons[0] < 2L * length, "comparisons: " + comparisons[0]);
+  }
+}
@@ -0,0 +1,153 @@
+package net.artemislab.algorithms.selection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+/** The {@code ParallelQuickSelectTest} class implements tests for {@code ParallelQuickSelect}. */
+public class ParallelQuickSelectTest {
+
+  /** A threshold low enough for small arrays to be selected from in parallel. */
+  private static final int THRESHOLD = 2;
+
+  @Test
+  public void testQuickSelect_NullArray_ThrowsError() {
+    NullPointerException exception =
+        assertThrows(
+            NullPointerException.class, () -> ParallelQuickSelect.quickSelect((long[]) null, 0));
+
+    assertEquals("The array must not be null.", exception.getMessage());
+  }
+
+  @Test
+  public void testQuickSelect_NullPool_ThrowsError() {
+    int[] array = new int[] {1, 2};
+    NullPointerException exception =
+        assertThrows(
+            NullPointerException.class, () -> ParallelQuickSelect.quickSelect(array, 0, null));
+
+    assertEquals("The pool must not be null.", exception.getMessage());
+  }
+
+  @Test
+  public void testQuickSelect_EmptyArray_ThrowsError() {
+    Integer[] array = new Integer[] {};
+    IllegalArgumentException exception =
+        assertThrows(
+            IllegalArgumentException.class, () -> ParallelQuickSelect.quickSelect(array, 0));
+
+    assertEquals("The array must not be empty.", exception.getMessage());
+  }
+
+  @Test
+  public void testQuickSelect_K_GreaterArrayLength_ThrowsError() {
+    double[] array = new double[] {1, 2};
+    IllegalArgumentException exception =
+        assertThrows(
+            IllegalArgumentException.class, () -> ParallelQuickSelect.quickSelect(array, 2));
+
+    assertEquals("k must be between 0 and 1, but was 2.", exception.getMessage());
+  }
+
+  @Test
+  public void testQuickSelect_ShortArray_SelectsSequentially() {
+    Integer[] array = new Integer[] {2, 3, 1, 5, 6, 4, 10, 9, 8, 7};
+    Integer[] snapshot = array.clone();
+    Integer element = ParallelQuickSelect.quickSelect(array, 4);
+
+    assertArrayEquals(snapshot, array);
+    assertEquals(5, element);
+  }
+
+  @Test
+  public void testQuickSelect_ArrayAboveThreshold_MatchesSortedArray() {
+    int[] array =
+        new SplittableRandom(42).ints(ParallelQuickSelect.SEQUENTIAL_THRESHOLD + 7).toArray();
+    int[] snapshot = array.clone();
+    int[] sorted = array.clone();
+    Arrays.sort(sorted);
+
+    for (int k : new int[] {0, array.length / 2, array.length - 1}) {
+      assertEquals(sorted[k], ParallelQuickSelect.quickSelect(array, k));
+    }
+    assertArrayEquals(snapshot, array);
+  }
+
+  @Test
+  public void testSelect_IntArrays_MatchSortedArrays() {
+    SplittableRandom random = new SplittableRandom(42);
+    ForkJoinPool pool = new ForkJoinPool(3);
+    try {
+      for (int length = 1; length <= 64; length++) {
+        int[] array = random.ints(length, -20, 20).toArray();
+        int[] sorted = array.clone();
+        Arrays.sort(sorted);
+        for (int k = 0; k < length; k++) {
+          assertEquals(sorted[k], ParallelQuickSelect.select(array, k, pool, THRESHOLD));
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testSelect_LongArray_MatchesSortedArray() {
+    long[] array = new SplittableRandom(42).longs(5_000).toArray();
+    long[] sorted = array.clone();
+    Arrays.sort(sorted);
+
+    for (int k = 0; k < array.length; k += 37) {
+      assertEquals(
+          sorted[k], ParallelQuickSelect.select(array, k, ForkJoinPool.commonPool(), THRESHOLD));
+    }
+  }
+
+  @Test
+  public void testSelect_DoubleArrays_OrderNanLastAndNegativeZeroFirst() {
+    SplittableRandom random = new SplittableRandom(7);
+    for (int length = 1; length <= 64; length++) {
+      double[] array = new double[length];
+      for (int i = 0; i < length; i++) {
+        int kind = random.nextInt(4);
+        array[i] = kind == 0 ? Double.NaN : kind == 1 ? -0.0 : kind == 2 ? 0.0 : random.nextInt(5);
+      }
+      double[] sorted = array.clone();
+      Arrays.sort(sorted);
+      for (int k = 0; k < length; k++) {
+        assertEquals(
+            sorted[k], ParallelQuickSelect.select(array, k, ForkJoinPool.commonPool(), THRESHOLD));
+      }
+    }
+  }
+
+  @Test
+  public void testSelect_ObjectArrays_MatchSortedArrays() {
+    SplittableRandom random = new SplittableRandom(42);
+    for (int length = 1; length <= 64; length++) {
+      String[] array = new String[length];
+      for (int i = 0; i < length; i++) {
+        array[i] = "key" + random.nextInt(30);
+      }
+      String[] sorted = array.clone();
+      Arrays.sort(sorted);
+      for (int k = 0; k < length; k++) {
+        assertEquals(
+            sorted[k], ParallelQuickSelect.select(array, k, ForkJoinPool.commonPool(), THRESHOLD));
+      }
+    }
+  }
+
+  @Test
+  public void testSelect_AllSameElements_ReturnsElement() {
+    long[] array = new long[10_000];
+    Arrays.fill(array, 42);
+
+    assertEquals(42, ParallelQuickSelect.select(array, 5_000, ForkJoinPool.commonPool(), 2));
+  }
+}
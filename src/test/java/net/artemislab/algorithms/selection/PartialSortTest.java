@@ -0,0 +1,158 @@
+package net.artemislab.algorithms.selection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+/** The {@code PartialSortTest} class implements tests for {@code PartialSort}. */
+public class PartialSortTest {
+
+  @Test
+  public void testPartialSort_NullArray_ThrowsError() {
+    NullPointerException exception =
+        assertThrows(
+            NullPointerException.class, () -> PartialSort.partialSort((Integer[]) null, 0));
+
+    assertEquals("The array must not be null.", exception.getMessage());
+  }
+
+  @Test
+  public void testPartialSort_K_GreaterArrayLength_ThrowsError() {
+    Integer[] array = new Integer[] {1, 2};
+    IllegalArgumentException exception =
+        assertThrows(IllegalArgumentException.class, () -> PartialSort.partialSort(array, 3));
+
+    assertEquals("k must be between 0 and 2, but was 3.", exception.getMessage());
+  }
+
+  @Test
+  public void testPartialSort_SortsSmallestElementsFirst() {
+    Integer[] array = new Integer[] {7, 3, 9, 1, 5, 3, 8, 2};
+    PartialSort.partialSort(array, 4);
+
+    assertArrayEquals(new Integer[] {1, 2, 3, 3}, Arrays.copyOf(array, 4));
+    Integer[] rest = Arrays.copyOfRange(array, 4, array.length);
+    Arrays.sort(rest);
+    assertArrayEquals(new Integer[] {5, 7, 8, 9}, rest);
+  }
+
+  @Test
+  public void testPartialSort_ZeroOrAllElements() {
+    Integer[] array = new Integer[] {3, 1, 2};
+    PartialSort.partialSort(array, 0);
+
+    assertArrayEquals(new Integer[] {3, 1, 2}, array);
+
+    PartialSort.partialSort(array, 3);
+
+    assertArrayEquals(new Integer[] {1, 2, 3}, array);
+  }
+
+  @Test
+  public void testPartialSort_KeyExtractor_SortsByKey() {
+    String[] array = new String[] {"pear", "fig", "banana", "kiwi", "apple"};
+    PartialSort.partialSort(array, 2, String::length);
+
+    assertEquals("fig", array[0]);
+    assertEquals(4, array[1].length());
+  }
+
+  @Test
+  public void testPartialSort_RandomArrays_MatchSortedArrays() {
+    SplittableRandom random = new SplittableRandom(42);
+    for (int length = 0; length <= 40; length++) {
+      Integer[] array = random.ints(length, 0, 10).boxed().toArray(Integer[]::new);
+      Integer[] sorted = array.clone();
+      Arrays.sort(sorted);
+      for (int k = 0; k <= length; k++) {
+        Integer[] copy = array.clone();
+        PartialSort.partialSort(copy, k);
+
+        assertArrayEquals(Arrays.copyOf(sorted, k), Arrays.copyOf(copy, k));
+      }
+    }
+  }
+
+  @Test
+  public void testTopK_Array_ReturnsLargestElementsInDescendingOrder() {
+    Integer[] array = new Integer[] {7, 3, 9, 1, 5, 3, 8, 2};
+    Integer[] snapshot = array.clone();
+
+    assertEquals(List.of(9, 8, 7), PartialSort.topK(array, 3));
+    assertArrayEquals(snapshot, array);
+  }
+
+  @Test
+  public void testTopK_ArrayWithComparator_ReturnsSmallestForReverseOrder() {
+    Integer[] array = new Integer[] {7, 3, 9, 1, 5, 3, 8, 2};
+
+    assertEquals(List.of(1, 2, 3, 3), PartialSort.topK(array, 4, Comparator.reverseOrder()));
+  }
+
+  @Test
+  public void testTopK_NullComparator_ThrowsError() {
+    Integer[] array = new Integer[] {1, 2};
+    NullPointerException exception =
+        assertThrows(
+            NullPointerException.class,
+            () -> PartialSort.topK(array, 1, (Comparator<Integer>) null));
+
+    assertEquals("The comparator must not be null.", exception.getMessage());
+  }
+
+  @Test
+  public void testTopK_Iterable_ReturnsLargestElementsInDescendingOrder() {
+    List<Integer> elements = List.of(4, 11, 2, 8, 11, 6, 0);
+
+    assertEquals(List.of(11, 11, 8), PartialSort.topK(elements, 3));
+  }
+
+  @Test
+  public void testTopK_IterableShorterThanK_ReturnsAllElements() {
+    assertEquals(List.of(3, 2, 1), PartialSort.topK(List.of(2, 3, 1), 10));
+    assertEquals(List.of(), PartialSort.topK(List.of(2, 3, 1), 0));
+  }
+
+  @Test
+  public void testTopK_NegativeK_ThrowsError() {
+    IllegalArgumentException exception =
+        assertThrows(IllegalArgumentException.class, () -> PartialSort.topK(List.of(1), -1));
+
+    assertEquals("k must not be negative, but was -1.", exception.getMessage());
+  }
+
+  @Test
+  public void testTopK_NullElement_ThrowsError() {
+    List<Integer> elements = Arrays.asList(1, null, 2);
+    NullPointerException exception =
+        assertThrows(NullPointerException.class, () -> PartialSort.topK(elements, 2));
+
+    assertEquals("The elements must not contain null.", exception.getMessage());
+  }
+
+  @Test
+  public void testTopK_StreamWithKeyExtractor_ReturnsLongestWords() {
+    Stream<String> words = Stream.of("pear", "fig", "banana", "kiwi", "apple");
+
+    assertEquals(List.of("banana", "apple"), PartialSort.topK(words, 2, String::length));
+  }
+
+  @Test
+  public void testTopK_ParallelStream_MatchesSortedElements() {
+    int[] values = new SplittableRandom(42).ints(100_000).toArray();
+    int[] sorted = values.clone();
+    Arrays.sort(sorted);
+    List<Integer> expected =
+        IntStream.range(0, 100).mapToObj(i -> sorted[sorted.length - 1 - i]).toList();
+
+    assertEquals(expected, PartialSort.topK(Arrays.stream(values).boxed().parallel(), 100));
+  }
+}
@@ -0,0 +1,245 @@
+package net.artemislab.algorithms.selection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+/** The {@code QuantileSketchTest} class implements tests for {@code QuantileSketch}. */
+public class QuantileSketchTest {
+
+  private static final double[] PERCENTILES = {1, 10, 25, 50, 75, 90, 99};
+
+  /** The tolerated rank error, well above the error of the default sketch with 99% confidence. */
+  private static final double RANK_ERROR = 0.03;
+
+  @Test
+  public void testConstructor_K_LessMin_ThrowsError() {
+    IllegalArgumentException exception =
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch(7));
+
+    assertEquals("k must be at least 8, but was 7.", exception.getMessage());
+  }
+
+  @Test
+  public void testPercentile_EmptySketch_ThrowsError() {
+    QuantileSketch sketch = new QuantileSketch();
+    IllegalStateException exception =
+        assertThrows(IllegalStateException.class, () -> sketch.percentile(50));
+
+    assertEquals("The sketch must not be empty.", exception.getMessage());
+  }
+
+  @Test
+  public void testPercentile_OutOfRange_ThrowsError() {
+    QuantileSketch sketch = new QuantileSketch();
+    sketch.update(1);
+    IllegalArgumentException exception =
+        assertThrows(IllegalArgumentException.class, () -> sketch.percentile(100.5));
+
+    assertEquals("p must be between 0 and 100, but was 100.5.", exception.getMessage());
+  }
+
+  @Test
+  public void testUpdate_Nan_ThrowsError() {
+    QuantileSketch sketch = new QuantileSketch();
+    IllegalArgumentException exception =
+        assertThrows(IllegalArgumentException.class, () -> sketch.update(Double.NaN));
+
+    assertEquals("The value must not be NaN.", exception.getMessage());
+  }
+
+  @Test
+  public void testPercentiles_StreamShorterThanK_MatchQuickSelect() {
+    double[] values = new SplittableRandom(42).doubles(150, -10, 10).toArray();
+    QuantileSketch sketch = new QuantileSketch();
+    for (double value : values) {
+      sketch.update(value);
+    }
+
+    assertArrayEquals(
+        QuickSelect.percentiles(values, PERCENTILES), sketch.percentiles(PERCENTILES));
+    assertEquals(QuickSelect.percentile(values, 0), sketch.getMin());
+    assertEquals(QuickSelect.percentile(values, 100), sketch.getMax());
+  }
+
+  @Test
+  public void testPercentiles_LongStream_WithinRankError() {
+    int count = 200_000;
+    QuantileSketch sketch = new QuantileSketch();
+    for (double value : permutation(count, 42)) {
+      sketch.update(value);
+    }
+
+    assertEquals(count, sketch.getCount());
+    assertEquals(0, sketch.getMin());
+    assertEquals(count - 1, sketch.getMax());
+    for (double p : PERCENTILES) {
+      // The values are 0 to count - 1, so that the true rank of each value is the value itself
+      assertEquals(p / 100, sketch.percentile(p) / count, RANK_ERROR);
+    }
+    assertEquals(0.5, sketch.rank(count / 2.0), RANK_ERROR);
+  }
+
+  @Test
+  public void testToByteArray_LongStream_StaysBounded() {
+    QuantileSketch sketch = new QuantileSketch();
+    for (int i = 0; i < 1_000_000; i++) {
+      sketch.update(i);
+    }
+
+    assertTrue(sketch.toByteArray().length < 8 * 3 * QuantileSketch.DEFAULT_K + 1_000);
+  }
+
+  @Test
+  public void testMerge_Halves_WithinRankErrorOfWholeStream() {
+    int count = 100_000;
+    double[] values = permutation(count, 7);
+    QuantileSketch first = new QuantileSketch();
+    QuantileSketch second = new QuantileSketch();
+    for (int i = 0; i < count; i++) {
+      (i < count / 2 ? first : second).update(values[i]);
+    }
+    first.merge(second);
+
+    assertEquals(count, first.getCount());
+    assertEquals(0, first.getMin());
+    assertEquals(count - 1, first.getMax());
+    for (double p : PERCENTILES) {
+      assertEquals(p / 100, first.percentile(p) / count, RANK_ERROR);
+    }
+    assertEquals(count / 2, second.getCount());
+  }
+
+  @Test
+  public void testMerge_Itself_DoublesCount() {
+    QuantileSketch sketch = new QuantileSketch();
+    for (int i = 0; i < 1_000; i++) {
+      sketch.update(i);
+    }
+    sketch.merge(sketch);
+
+    assertEquals(2_000, sketch.getCount());
+    assertEquals(0.5, sketch.rank(499.5), RANK_ERROR);
+  }
+
+  @Test
+  public void testMerge_DifferentK_ThrowsError() {
+    QuantileSketch sketch = new QuantileSketch();
+    IllegalArgumentException exception =
+        assertThrows(IllegalArgumentException.class, () -> sketch.merge(new QuantileSketch(100)));
+
+    assertEquals("The sketch must have a k of 200, but had 100.", exception.getMessage());
+  }
+
+  @Test
+  public void testFromByteArray_RoundTrip_KeepsSketch() {
+    QuantileSketch sketch = new QuantileSketch(64);
+    for (double value : permutation(50_000, 3)) {
+      sketch.update(value);
+    }
+    QuantileSketch read = QuantileSketch.fromByteArray(sketch.toByteArray());
+
+    assertEquals(64, read.getK());
+    assertEquals(sketch.getCount(), read.getCount());
+    assertEquals(sketch.getMin(), read.getMin());
+    assertEquals(sketch.getMax(), read.getMax());
+    assertArrayEquals(sketch.percentiles(PERCENTILES), read.percentiles(PERCENTILES));
+    assertArrayEquals(sketch.toByteArray(), read.toByteArray());
+  }
+
+  @Test
+  public void testFromByteArray_EmptySketch_RoundTrips() {
+    QuantileSketch read = QuantileSketch.fromByteArray(new QuantileSketch().toByteArray());
+
+    assertTrue(read.isEmpty());
+  }
+
+  @Test
+  public void testFromByteArray_InvalidBytes_ThrowsError() {
+    QuantileSketch sketch = new QuantileSketch();
+    for (int i = 0; i < 1_000; i++) {
+      sketch.update(i);
+    }
+    byte[] bytes = sketch.toByteArray();
+    byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+    byte[] corrupted = Arrays.copyOf(bytes, bytes.length + 1);
+    byte[] garbage = new byte[bytes.length];
+
+    assertEquals(
+        "The sketch must not be truncated.",
+        assertThrows(IllegalArgumentException.class, () -> QuantileSketch.fromByteArray(truncated))
+            .getMessage());
+    assertEquals(
+        "The sketch must not be corrupted.",
+        assertThrows(IllegalArgumentException.class, () -> QuantileSketch.fromByteArray(corrupted))
+            .getMessage());
+    assertEquals(
+        "The bytes must hold a quantile sketch.",
+        assertThrows(IllegalArgumentException.class, () -> QuantileSketch.fromByteArray(garbage))
+            .getMessage());
+  }
+
+  @Test
+  public void testFromByteArray_InvalidValues_ThrowsError() {
+    QuantileSketch sketch = new QuantileSketch();
+    for (int i = 0; i < 10; i++) {
+      sketch.update(i);
+    }
+    // The minimum, the maximum and the first retained value follow the header
+    int minimum = 3 * Integer.BYTES + Long.BYTES;
+    int maximum = minimum + Double.BYTES;
+    int value = maximum + Double.BYTES + Byte.BYTES + Integer.BYTES;
+    byte[] nanValue = overwriteDouble(sketch.toByteArray(), value, Double.NaN);
+    byte[] outOfRange = overwriteDouble(sketch.toByteArray(), value, 10);
+    byte[] nanMinimum = overwriteDouble(sketch.toByteArray(), minimum, Double.NaN);
+    byte[] swappedExtremes = overwriteDouble(sketch.toByteArray(), maximum, -1);
+
+    assertEquals(
+        "The value must not be NaN.",
+        assertThrows(IllegalArgumentException.class, () -> QuantileSketch.fromByteArray(nanValue))
+            .getMessage());
+    for (byte[] bytes : List.of(outOfRange, nanMinimum, swappedExtremes)) {
+      assertEquals(
+          "The sketch must not be corrupted.",
+          assertThrows(IllegalArgumentException.class, () -> QuantileSketch.fromByteArray(bytes))
+              .getMessage());
+    }
+  }
+
+  @Test
+  public void testFromByteArray_OtherVersion_ThrowsError() {
+    byte[] bytes = new QuantileSketch().toByteArray();
+    bytes[Integer.BYTES + 3] = 2;
+    IllegalArgumentException exception =
+        assertThrows(IllegalArgumentException.class, () -> QuantileSketch.fromByteArray(bytes));
+
+    assertEquals("The sketch format version must be 1, but was 2.", exception.getMessage());
+  }
+
+  private static byte[] overwriteDouble(byte[] bytes, int position, double value) {
+    ByteBuffer.wrap(bytes).putDouble(position, value);
+    return bytes;
+  }
+
+  private static double[] permutation(int count, long seed) {
+    double[] values = new double[count];
+    for (int i = 0; i < count; i++) {
+      values[i] = i;
+    }
+    SplittableRandom random = new SplittableRandom(seed);
+    for (int i = count - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      double swapped = values[i];
+      values[i] = values[j];
+      values[j] = swapped;
+    }
+    return values;
+  }
+}
@@ -5,6 +5,8 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Arrays;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 /** The {@code QuickSelectTest} class implements tests for {@code QuickSelect}. */
@@ -13,7 +15,8 @@ public class QuickSelectTest {
   @Test
   public void testQuickSelect_NullArray_ThrowsError() {
     NullPointerException exception =
-        assertThrows(NullPointerException.class, () -> QuickSelect.quickSelect(null, 0));
+        assertThrows(
+            NullPointerException.class, () -> QuickSelect.quickSelect((Integer[]) null, 0));
 
     assertEquals("The array must not be null.", exception.getMessage());
   }
@@ -118,4 +121,389 @@ public class QuickSelectTest {
 
     assertEquals(2, element);
   }
+
+  @Test
+  public void testQuickSelectInPlace_GenericArray_PartitionsAroundK() {
+    Integer[] array = new SplittableRandom(7).ints(500, 0, 100).boxed().toArray(Integer[]::new);
+    Integer[] sorted = array.clone();
+    Arrays.sort(sorted);
+
+    assertEquals(sorted[250], QuickSelect.quickSelectInPlace(array, 250));
+    assertEquals(sorted[250], array[250]);
+    for (int i = 0; i < array.length; i++) {
+      assertTrue(i < 250 ? array[i] <= array[250] : array[i] >= array[250]);
+    }
+  }
+
+  @Test
+  public void testQuickSelectInPlace_GenericRange_LeavesOtherElements() {
+    String[] array = new String[] {"z", "y", "e", "d", "c", "b", "a", "x"};
+
+    assertEquals("c", QuickSelect.quickSelectInPlace(array, 2, 7, 2));
+    assertEquals("c", array[4]);
+    Assertions.assertArrayEquals(new String[] {"z", "y"}, Arrays.copyOfRange(array, 0, 2));
+    assertEquals("x", array[7]);
+  }
+
+  @Test
+  public void testQuickSelect_Scratch_MatchesSortedArray() {
+    Integer[] array = new SplittableRandom(42).ints(1_000).boxed().toArray(Integer[]::new);
+    Integer[] sorted = array.clone();
+    Arrays.sort(sorted);
+    Integer[] snapshot = array.clone();
+    Integer[] scratch = new Integer[1_024];
+
+    for (int k = 0; k < array.length; k += 37) {
+      assertEquals(sorted[k], QuickSelect.quickSelect(array, k, scratch));
+    }
+    Assertions.assertArrayEquals(snapshot, array);
+  }
+
+  @Test
+  public void testQuickSelect_PrimitiveScratch_MatchesSortedArray() {
+    long[] array = new SplittableRandom(42).longs(1_000).toArray();
+    long[] sorted = array.clone();
+    Arrays.sort(sorted);
+    long[] snapshot = array.clone();
+
+    assertEquals(sorted[500], QuickSelect.quickSelect(array, 500, new long[1_000]));
+    Assertions.assertArrayEquals(snapshot, array);
+    assertEquals(4, QuickSelect.quickSelect(new int[] {5, 4, 3, 2, 1}, 3, new int[5]));
+    assertEquals(
+        Double.NaN, QuickSelect.quickSelect(new double[] {1, Double.NaN, 0.5}, 2, new double[3]));
+  }
+
+  @Test
+  public void testQuickSelect_NullScratch_ThrowsError() {
+    Integer[] array = new Integer[] {1, 2};
+    NullPointerException exception =
+        assertThrows(NullPointerException.class, () -> QuickSelect.quickSelect(array, 0, null));
+
+    assertEquals("The scratch must not be null.", exception.getMessage());
+  }
+
+  @Test
+  public void testQuickSelect_ShortScratch_ThrowsError() {
+    int[] array = new int[] {1, 2, 3};
+    IllegalArgumentException exception =
+        assertThrows(
+            IllegalArgumentException.class, () -> QuickSelect.quickSelect(array, 0, new int[2]));
+
+    assertEquals(
+        "The scratch must have a length of at least 3, but had 2.", exception.getMessage());
+  }
+
+  @Test
+  public void testQuickSelect_NullIntArray_ThrowsError() {
+    NullPointerException exception =
+        assertThrows(NullPointerException.class, () -> QuickSelect.quickSelect((int[]) null, 0));
+
+    assertEquals("The array must not be null.", exception.getMessage());
+  }
+
+  @Test
+  public void testQuickSelectInPlace_EmptyLongArray_ThrowsError() {
+    long[] array = new long[] {};
+    IllegalArgumentException exception =
+        assertThrows(
+            IllegalArgumentException.class, () -> QuickSelect.quickSelectInPlace(array, 0));
+
+    assertEquals("The array must not be empty.", exception.getMessage());
+  }
+
+  @Test
+  public void testQuickSelect_EmptyRange_ThrowsError() {
+    double[] array = new double[] {1, 2, 3};
+    IllegalArgumentException exception =
+        assertThrows(IllegalArgumentException.class, () -> QuickSelect.quickSelect(array, 1, 1, 0));
+
+    assertEquals("The range must not be empty.", exception.getMessage());
+  }
+
+  @Test
+  public void testQuickSelect_RangeOutOfBounds_ThrowsError() {
+    int[] array = new int[] {1, 2, 3};
+
+    assertThrows(
+        IndexOutOfBoundsException.class, () -> QuickSelect.quickSelectInPlace(array, 2, 4, 0));
+    assertThrows(IndexOutOfBoundsException.class, () -> QuickSelect.quickSelect(array, 2, 1, 0));
+  }
+
+  @Test
+  public void testQuickSelect_K_OutsideRange_ThrowsError() {
+    int[] array = new int[] {1, 2, 3, 4, 5};
+    IllegalArgumentException exception =
+        assertThrows(IllegalArgumentException.class, () -> QuickSelect.quickSelect(array, 1, 4, 3));
+
+    assertEquals("k must be between 0 and 2, but was 3.", exception.getMessage());
+  }
+
+  @Test
+  public void testQuickSelect_IntArray_MatchesSortedArray() {
+    int[] array = new SplittableRandom(42).ints(1_000, -50, 50).toArray();
+    int[] sorted = array.clone();
+    Arrays.sort(sorted);
+    int[] snapshot = array.clone();
+
+    for (int k = 0; k < array.length; k += 37) {
+      assertEquals(sorted[k], QuickSelect.quickSelect(array, k));
+    }
+    Assertions.assertArrayEquals(snapshot, array);
+  }
+
+  @Test
+  public void testQuickSelectInPlace_IntArray_PartitionsAroundK() {
+    int[] array = new SplittableRandom(7).ints(500, 0, 1_000).toArray();
+    int[] sorted = array.clone();
+    Arrays.sort(sorted);
+
+    assertEquals(sorted[250], QuickSelect.quickSelectInPlace(array, 250));
+    assertEquals(sorted[250], array[250]);
+    for (int i = 0; i < array.length; i++) {
+      assertTrue(i < 250 ? array[i] <= array[250] : array[i] >= array[250]);
+    }
+  }
+
+  @Test
+  public void testQuickSelectInPlace_IntRange_LeavesOtherElements() {
+    int[] array = new int[] {9, 8, 7, 6, 5, 4, 3, 2, 1, 0};
+
+    assertEquals(4, QuickSelect.quickSelectInPlace(array, 2, 8, 2));
+    assertEquals(4, array[4]);
+    Assertions.assertArrayEquals(new int[] {9, 8}, Arrays.copyOfRange(array, 0, 2));
+    Assertions.assertArrayEquals(new int[] {1, 0}, Arrays.copyOfRange(array, 8, 10));
+  }
+
+  @Test
+  public void testQuickSelect_IntArray_AllSameElements() {
+    int[] array = new int[] {2, 2, 2, 2, 2, 2, 2, 2, 2, 2};
+
+    assertEquals(2, QuickSelect.quickSelect(array, 4));
+    assertEquals(2, QuickSelect.quickSelectInPlace(array, 9));
+  }
+
+  @Test
+  public void testQuickSelect_LongArray_MatchesSortedArray() {
+    long[] array = new SplittableRandom(42).longs(1_000).toArray();
+    long[] sorted = array.clone();
+    Arrays.sort(sorted);
+
+    assertEquals(sorted[0], QuickSelect.quickSelect(array, 0));
+    assertEquals(sorted[500], QuickSelect.quickSelect(array, 500));
+    assertEquals(sorted[999], QuickSelect.quickSelectInPlace(array.clone(), 999));
+  }
+
+  @Test
+  public void testQuickSelect_LongRange_SelectsWithinRange() {
+    long[] array = new long[] {100, 5, 4, 3, 2, 1, -100};
+
+    assertEquals(1, QuickSelect.quickSelect(array, 1, 6, 0));
+    assertEquals(3, QuickSelect.quickSelect(array, 1, 6, 2));
+    assertEquals(5, QuickSelect.quickSelectInPlace(array.clone(), 1, 6, 4));
+    Assertions.assertArrayEquals(new long[] {100, 5, 4, 3, 2, 1, -100}, array);
+  }
+
+  @Test
+  public void testQuickSelect_DoubleArray_OrdersNanLastAndNegativeZeroFirst() {
+    double[] array = new double[] {Double.NaN, 0.0, 1.5, -0.0, Double.POSITIVE_INFINITY, -2.5};
+
+    assertEquals(-2.5, QuickSelect.quickSelect(array, 0));
+    assertEquals(-0.0, QuickSelect.quickSelect(array, 1));
+    assertEquals(0.0, QuickSelect.quickSelect(array, 2));
+    assertEquals(1.5, QuickSelect.quickSelect(array, 3));
+    assertEquals(Double.POSITIVE_INFINITY, QuickSelect.quickSelect(array, 4));
+    assertEquals(Double.NaN, QuickSelect.quickSelect(array, 5));
+  }
+
+  @Test
+  public void testQuickSelectInPlace_DoubleArray_MatchesSortedArray() {
+    double[] array = new SplittableRandom(42).doubles(1_000).toArray();
+    for (int i = 0; i < array.length; i += 10) {
+      array[i] = Double.NaN;
+    }
+    double[] sorted = array.clone();
+    Arrays.sort(sorted);
+
+    for (int k = 0; k < array.length; k += 37) {
+      assertEquals(sorted[k], QuickSelect.quickSelectInPlace(array, k));
+    }
+    assertEquals(Double.NaN, QuickSelect.quickSelectInPlace(array, 999));
+  }
+
+  @Test
+  public void testQuickSelect_ManyDuplicateElements_MatchesSortedArray() {
+    SplittableRandom random = new SplittableRandom(42);
+    Integer[] array = new Integer[2_000];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = random.nextInt(4);
+    }
+    Integer[] sorted = array.clone();
+    Arrays.sort(sorted);
+
+    for (int k = 0; k < array.length; k += 99) {
+      assertEquals(sorted[k], QuickSelect.quickSelect(array, k));
+    }
+  }
+
+  @Test
+  public void testQuickSelect_LargeAllSameElements_ReturnsElement() {
+    Integer[] boxed = new Integer[200_000];
+    Arrays.fill(boxed, 7);
+    long[] array = new long[1_000_000];
+    Arrays.fill(array, 7);
+
+    assertEquals(7, QuickSelect.quickSelect(boxed, 100_000));
+    assertEquals(7, QuickSelect.quickSelectInPlace(array, 500_000));
+  }
+
+  @Test
+  public void testQuickSelectInPlace_QuantizedDoubles_MatchesSortedArray() {
+    SplittableRandom random = new SplittableRandom(7);
+    double[] array = new double[5_000];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = random.nextInt(10) * 0.5;
+    }
+    double[] sorted = array.clone();
+    Arrays.sort(sorted);
+
+    for (int k = 0; k < array.length; k += 251) {
+      assertEquals(sorted[k], QuickSelect.quickSelectInPlace(array, k));
+      assertEquals(sorted[k], array[k]);
+    }
+  }
+
+  @Test
+  public void testQuickSelect_SawtoothInts_MatchesSortedArray() {
+    int[] array = new int[10_000];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = i % 100 * (i % 2 == 0 ? 1 : -1);
+    }
+    int[] sorted = array.clone();
+    Arrays.sort(sorted);
+
+    for (int k = 0; k < array.length; k += 503) {
+      assertEquals(sorted[k], QuickSelect.quickSelect(array, k));
+    }
+  }
+
+  @Test
+  public void testQuickSelectAll_ReturnsElementsInOrderOfKs() {
+    Integer[] array = new Integer[] {7, 3, 9, 1, 5, 8, 2, 10, 6, 4};
+    Integer[] snapshot = array.clone();
+
+    Assertions.assertArrayEquals(
+        new Integer[] {5, 1, 5, 10}, QuickSelect.quickSelectAll(array, 4, 0, 4, 9));
+    Assertions.assertArrayEquals(snapshot, array);
+  }
+
+  @Test
+  public void testQuickSelectAll_NoKs_ReturnsEmptyArray() {
+    Assertions.assertArrayEquals(new long[0], QuickSelect.quickSelectAll(new long[] {1, 2}));
+  }
+
+  @Test
+  public void testQuickSelectAll_NullKs_ThrowsError() {
+    int[] array = new int[] {1, 2};
+    NullPointerException exception =
+        assertThrows(
+            NullPointerException.class, () -> QuickSelect.quickSelectAll(array, (int[]) null));
+
+    assertEquals("The ks must not be null.", exception.getMessage());
+  }
+
+  @Test
+  public void testQuickSelectAll_EmptyArray_ThrowsError() {
+    double[] array = new double[] {};
+    IllegalArgumentException exception =
+        assertThrows(IllegalArgumentException.class, () -> QuickSelect.quickSelectAll(array));
+
+    assertEquals("The array must not be empty.", exception.getMessage());
+  }
+
+  @Test
+  public void testQuickSelectAll_K_GreaterArrayLength_ThrowsError() {
+    int[] array = new int[] {1, 2, 3};
+    IllegalArgumentException exception =
+        assertThrows(IllegalArgumentException.class, () -> QuickSelect.quickSelectAll(array, 0, 3));
+
+    assertEquals("k must be between 0 and 2, but was 3.", exception.getMessage());
+  }
+
+  @Test
+  public void testQuickSelectAll_IntArray_MatchesSortedArray() {
+    SplittableRandom random = new SplittableRandom(42);
+    int[] array = random.ints(10_000, 0, 500).toArray();
+    int[] ks = random.ints(50, 0, array.length).toArray();
+    int[] sorted = array.clone();
+    Arrays.sort(sorted);
+
+    int[] selected = QuickSelect.quickSelectAll(array, ks);
+    for (int i = 0; i < ks.length; i++) {
+      assertEquals(sorted[ks[i]], selected[i]);
+    }
+  }
+
+  @Test
+  public void testQuickSelectAll_DoubleArray_OrdersNanLast() {
+    double[] array = new double[] {Double.NaN, 2.0, -1.0, 0.5};
+
+    Assertions.assertArrayEquals(
+        new double[] {Double.NaN, -1.0, 0.5}, QuickSelect.quickSelectAll(array, 3, 0, 1));
+  }
+
+  @Test
+  public void testPercentile_ReturnsNearestRank() {
+    int[] array = new int[] {50, 10, 40, 20, 30};
+
+    assertEquals(10, QuickSelect.percentile(array, 0));
+    assertEquals(20, QuickSelect.percentile(array, 30));
+    assertEquals(30, QuickSelect.percentile(array, 50));
+    assertEquals(50, QuickSelect.percentile(array, 100));
+    assertEquals("c", QuickSelect.percentile(new String[] {"b", "c", "a"}, 90));
+    assertEquals(2.5, QuickSelect.percentile(new double[] {2.5, -1.0}, 75));
+  }
+
+  @Test
+  public void testPercentile_OutOfRange_ThrowsError() {
+    long[] array = new long[] {1, 2};
+
+    for (double p : new double[] {-1, 100.5, Double.NaN}) {
+      IllegalArgumentException exception =
+          assertThrows(IllegalArgumentException.class, () -> QuickSelect.percentile(array, p));
+      assertEquals("p must be between 0 and 100, but was " + p + ".", exception.getMessage());
+    }
+  }
+
+  @Test
+  public void testPercentile_EmptyArray_ThrowsError() {
+    long[] array = new long[] {};
+    IllegalArgumentException exception =
+        assertThrows(IllegalArgumentException.class, () -> QuickSelect.percentile(array, 50));
+
+    assertEquals("The array must not be empty.", exception.getMessage());
+  }
+
+  @Test
+  public void testPercentiles_LatencySamples_ReturnsEachPercentile() {
+    long[] array = new long[1_000];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = 1_000L - i;
+    }
+
+    Assertions.assertArrayEquals(
+        new long[] {501, 900, 990, 999}, QuickSelect.percentiles(array, 50, 90, 99, 99.9));
+    Assertions.assertArrayEquals(
+        new Integer[] {3, 1}, QuickSelect.percentiles(new Integer[] {1, 2, 3}, 100, 0));
+    Assertions.assertArrayEquals(new int[] {}, QuickSelect.percentiles(new int[] {1}));
+  }
+
+  @Test
+  public void testPercentiles_NullPercentiles_ThrowsError() {
+    double[] array = new double[] {1.0};
+    NullPointerException exception =
+        assertThrows(
+            NullPointerException.class, () -> QuickSelect.percentiles(array, (double[]) null));
+
+    assertEquals("The percentiles must not be null.", exception.getMessage());
+  }
 }
@@ -22,4 +22,28 @@ public class UtilsTest {
 
     assertArrayEquals(new Integer[] {2, 1}, array);
   }
+
+  @Test
+  public void testSwap_IntArray() {
+    int[] array = new int[] {1, 2, 3};
+    Utils.swap(array, 0, 2);
+
+    assertArrayEquals(new int[] {3, 2, 1}, array);
+  }
+
+  @Test
+  public void testSwap_LongArray() {
+    long[] array = new long[] {1, 2, 3};
+    Utils.swap(array, 1, 2);
+
+    assertArrayEquals(new long[] {1, 3, 2}, array);
+  }
+
+  @Test
+  public void testSwap_DoubleArray() {
+    double[] array = new double[] {1.5, Double.NaN};
+    Utils.swap(array, 0, 1);
+
+    assertArrayEquals(new double[] {Double.NaN, 1.5}, array);
+  }
 }